@@ -0,0 +1,138 @@
+package edu.pnu.service.csv;
+
+import edu.pnu.config.CsvIngestProperties;
+import edu.pnu.domain.CsvFile;
+import edu.pnu.domain.CsvLocation;
+import edu.pnu.domain.CsvProduct;
+import edu.pnu.domain.Epc;
+import edu.pnu.repository.CsvLocationRepository;
+import edu.pnu.service.csv.ingest.CsvLocationRegistry;
+import edu.pnu.service.csv.ingest.CsvRowParser;
+import edu.pnu.service.csv.ingest.ErrorRowIndex;
+import edu.pnu.service.csv.ingest.EventKeySet;
+import edu.pnu.service.csv.ingest.ParsedChunk;
+import edu.pnu.service.csv.synthetic.SyntheticCsvGenerator;
+import edu.pnu.service.csv.synthetic.SyntheticCsvOptions;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// [청크 처리] : 파싱된 청크 → Location/Product/EPC 수집·중복 제거 → EventHistory 생성까지, 행 하나당 ops/s
+// DB 저장은 StubJdbcService가 generated key만 채우고 버리므로 CsvSaveService 쪽 CPU·할당만 측정 (EventHistory 저장 제외)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Dlogging.level.root=WARN")
+public class ProcessChunkBenchmark {
+
+    private static final int ROWS = 100_000;
+    private static final int CHUNK_SIZE = 1000;
+
+    @Param({"0.0", "0.1"}) // 중복 행 비율
+    public double duplicateRate;
+
+    private CsvSaveService service;
+    private StubJdbcService jdbc;
+    private CsvFile csv;
+    private List<ParsedChunk> chunks;
+    private CsvSaveService.ImportCache cache;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        List<String[]> rows = new SyntheticCsvGenerator(SyntheticCsvOptions.builder()
+                .rows(ROWS).seed(3).duplicateRowRate(duplicateRate).build()).generateRows();
+        CsvRowParser parser = CsvRowParser.fromHeader(SyntheticCsvGenerator.HEADER);
+        chunks = new ArrayList<>();
+        for (int from = 0, seq = 0; from < rows.size(); from += CHUNK_SIZE, seq++) {
+            int to = Math.min(rows.size(), from + CHUNK_SIZE);
+            chunks.add(parser.parseChunk(seq, from + 1, rows.subList(from, to), to == rows.size()));
+        }
+        jdbc = new StubJdbcService();
+        service = newService(jdbc);
+        csv = CsvFile.builder().fileId(1L).fileName("bench.csv").build();
+    }
+
+    @Setup(Level.Invocation)
+    public void reset() {
+        cache = new CsvSaveService.ImportCache(new HashMap<>(), new HashMap<>(), new EventKeySet(ROWS));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public long processChunks() {
+        ErrorRowIndex errors = new ErrorRowIndex();
+        long events = 0;
+        for (ParsedChunk chunk : chunks) {
+            events += service.processChunk(chunk, csv, errors, cache).size();
+        }
+        return events;
+    }
+
+    // processChunk가 쓰는 의존성은 CsvSaveJdbcService와 CsvLocationRegistry뿐이므로 나머지 생성자 인자는 null
+    // 레지스트리는 빈 DB에서 시작 → 첫 호출에서 로케이션을 등록하고 이후 호출은 등록된 상태(운영 중 상시 상태)로 측정
+    // (생성자 인자 순서가 바뀌어도 타입으로 찾아 넣음)
+    private static CsvSaveService newService(CsvSaveJdbcService jdbc) throws Exception {
+        Constructor<?> ctor = CsvSaveService.class.getConstructors()[0];
+        Object[] args = new Object[ctor.getParameterCount()];
+        Class<?>[] types = ctor.getParameterTypes();
+        for (int i = 0; i < types.length; i++) {
+            if (types[i] == CsvSaveJdbcService.class) args[i] = jdbc;
+            else if (types[i] == CsvIngestProperties.class) args[i] = new CsvIngestProperties();
+            else if (types[i] == CsvLocationRegistry.class) args[i] = new CsvLocationRegistry(emptyLocationRepo(), jdbc);
+        }
+        return (CsvSaveService) ctor.newInstance(args);
+    }
+
+    private static CsvLocationRepository emptyLocationRepo() {
+        return (CsvLocationRepository) Proxy.newProxyInstance(CsvLocationRepository.class.getClassLoader(),
+                new Class<?>[]{CsvLocationRepository.class}, (proxy, method, methodArgs) -> {
+                    if (method.getName().equals("findAllLocationIds")) return Set.of();
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    // generated key만 순번으로 채우고 저장은 생략
+    static final class StubJdbcService extends CsvSaveJdbcService {
+        private long productId;
+        private long epcId;
+
+        StubJdbcService() {
+            super(null, new CsvIngestProperties());
+        }
+
+        @Override
+        public void saveCsvLocations(List<CsvLocation> locations) {
+        }
+
+        @Override
+        public void saveCsvProducts(List<CsvProduct> products) {
+            for (CsvProduct p : products) p.setCsvProductId(++productId);
+        }
+
+        @Override
+        public void saveEpcs(List<Epc> epcs) {
+            for (Epc e : epcs) e.setEpcId(++epcId);
+        }
+    }
+}
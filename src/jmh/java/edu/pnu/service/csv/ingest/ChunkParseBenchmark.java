@@ -0,0 +1,75 @@
+package edu.pnu.service.csv.ingest;
+
+import edu.pnu.service.csv.synthetic.SyntheticCsvGenerator;
+import edu.pnu.service.csv.synthetic.SyntheticCsvOptions;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// [청크 파싱] : 저장본 CSV → ParsedChunk (필드 분리·값 읽기·시간 파싱·business_step 정규화·사전 인코딩), 행 하나당 ops/s
+// 파서 풀 없이 한 스레드에서 순서대로 실행해 토크나이저 자체 비용만 측정
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ChunkParseBenchmark {
+
+    private static final int ROWS = 100_000;
+    private static final int CHUNK_SIZE = 1000;
+
+    @Param({"MMAP", "OPENCSV"})
+    public String tokenizer;
+
+    private Path file;
+
+    @Setup
+    public void setup() throws IOException {
+        file = Files.createTempFile("jmh-ingest", ".csv");
+        new SyntheticCsvGenerator(SyntheticCsvOptions.builder().rows(ROWS).seed(1).build()).writeCsv(file, null);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public long parse() throws Exception {
+        long rows = 0;
+        try (ChunkSource source = open()) {
+            Callable<ParsedChunk> task;
+            while ((task = source.nextChunk()) != null) {
+                rows += task.call().size();
+            }
+        }
+        return rows;
+    }
+
+    private ChunkSource open() throws IOException {
+        if ("MMAP".equals(tokenizer)) {
+            return MappedCsvChunkSource.open(file, CHUNK_SIZE);
+        }
+        return OpenCsvChunkSource.open(Files.newBufferedReader(file, StandardCharsets.UTF_8), CHUNK_SIZE);
+    }
+}
@@ -0,0 +1,95 @@
+package edu.pnu.service.csv.ingest;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// [이벤트 중복 제거] : EventKeySet(원시 배열 open addressing) vs 문자열 키 HashSet 기준선, 키 하나당 ops/s
+// 키의 10%는 앞에서 나온 키를 다시 넣는 중복
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class EventKeySetBenchmark {
+
+    private static final int KEYS = 1 << 20;
+
+    @Param({"1024", "1048576"}) // 초기 크기 : 작게 시작해 확장 / 예상 건수로 시작
+    public int expectedSize;
+
+    private long[] epcIds, locationIds, productIds, eventTimes;
+    private int[] steps, types;
+
+    private EventKeySet keySet;
+    private Set<String> stringKeys;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        SplittableRandom random = new SplittableRandom(7);
+        epcIds = new long[KEYS];
+        locationIds = new long[KEYS];
+        productIds = new long[KEYS];
+        eventTimes = new long[KEYS];
+        steps = new int[KEYS];
+        types = new int[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            int src = i > 0 && random.nextInt(10) == 0 ? random.nextInt(i) : i; // 10% 중복
+            if (src != i) {
+                epcIds[i] = epcIds[src];
+                locationIds[i] = locationIds[src];
+                productIds[i] = productIds[src];
+                eventTimes[i] = eventTimes[src];
+                steps[i] = steps[src];
+                types[i] = types[src];
+                continue;
+            }
+            epcIds[i] = i / 6 + 1;
+            locationIds[i] = random.nextInt(30);
+            productIds[i] = random.nextInt(20) + 1;
+            eventTimes[i] = 1_751_328_000L + i * 37L;
+            steps[i] = i % 6;
+            types[i] = i % 6;
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void reset() {
+        keySet = new EventKeySet(expectedSize);
+        stringKeys = new HashSet<>(expectedSize * 2);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(KEYS)
+    public int eventKeySet() {
+        for (int i = 0; i < KEYS; i++) {
+            keySet.add(epcIds[i], locationIds[i], productIds[i], eventTimes[i], steps[i], types[i]);
+        }
+        return keySet.size();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(KEYS)
+    public int stringKeyBaseline() {
+        for (int i = 0; i < KEYS; i++) {
+            stringKeys.add(epcIds[i] + "|" + locationIds[i] + "|" + productIds[i] + "|" + eventTimes[i] + "|" + steps[i] + "|" + types[i]);
+        }
+        return stringKeys.size();
+    }
+}
@@ -0,0 +1,75 @@
+package edu.pnu.service.csv.support;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// [event_time 파싱] : EventTimeCodec(문자열/바이트) vs java.time 포맷터 기준선, 값 하나당 ops/s
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventTimeCodecBenchmark {
+
+    private static final int VALUES = 1024;
+    private static final DateTimeFormatter FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private String[] texts;
+    private byte[][] bytes;
+    private EventTimeCodec codec;
+
+    @Setup
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(42);
+        LocalDateTime base = LocalDateTime.of(2025, 7, 1, 0, 0);
+        texts = new String[VALUES];
+        bytes = new byte[VALUES][];
+        for (int i = 0; i < VALUES; i++) {
+            // 실제 파일처럼 같은 날짜가 연속되는 구간이 많도록 시간 순으로 증가
+            texts[i] = FORMAT.format(base.plusSeconds(i * 97L + random.nextInt(60)));
+            bytes[i] = texts[i].getBytes(StandardCharsets.US_ASCII);
+        }
+        codec = new EventTimeCodec();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public long codecChars() {
+        long acc = 0;
+        for (String t : texts) acc += codec.parseDateTime(t);
+        return acc;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public long codecBytes() {
+        long acc = 0;
+        for (byte[] b : bytes) acc += codec.parseDateTime(b, 0, b.length);
+        return acc;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public long javaTimeBaseline() {
+        long acc = 0;
+        for (String t : texts) acc += LocalDateTime.parse(t, FORMAT).toEpochSecond(ZoneOffset.UTC);
+        return acc;
+    }
+}
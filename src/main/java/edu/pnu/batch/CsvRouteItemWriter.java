@@ -0,0 +1,26 @@
+package edu.pnu.batch;
+
+import edu.pnu.service.analysis.trips.CsvRouteJdbcService;
+import edu.pnu.service.analysis.trips.TripBatch;
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+
+// [경로 생성 Writer] : 청크에 담긴 EPC별 경로를 한 묶음으로 모아 JDBC 배치 INSERT 한 번으로 저장 (청크 트랜잭션 안에서 실행)
+@RequiredArgsConstructor
+public class CsvRouteItemWriter implements ItemWriter<TripBatch> {
+
+    private final CsvRouteJdbcService csvRouteJdbcService;
+
+    @Override
+    public void write(Chunk<? extends TripBatch> chunk) {
+        int total = 0;
+        for (TripBatch trips : chunk) total += trips.size();
+        if (total == 0) return;
+
+        TripBatch all = new TripBatch(total);
+        for (TripBatch trips : chunk) all.addAll(trips);
+        csvRouteJdbcService.saveTrips(all);
+    }
+}
@@ -0,0 +1,29 @@
+package edu.pnu.batch;
+
+import edu.pnu.service.analysis.trips.TripBatch;
+
+import java.util.List;
+
+import org.springframework.batch.item.ItemProcessor;
+
+// [경로 생성 Processor] : EPC 하나의 시간순 이벤트에서 연속한 두 이벤트마다 CsvRoute 한 행 (이벤트가 1개뿐이면 건너뜀)
+public class EpcTripProcessor implements ItemProcessor<List<TripEvent>, TripBatch> {
+
+    @Override
+    public TripBatch process(List<TripEvent> events) {
+        if (events.size() < 2) return null;
+
+        TripBatch trips = new TripBatch(events.size() - 1);
+        for (int i = 1; i < events.size(); i++) {
+            TripEvent from = events.get(i - 1);
+            TripEvent to = events.get(i);
+            trips.add(to.epcId(),
+                    from.locationId(), to.locationId(),
+                    from.scanLocation(), to.scanLocation(),
+                    from.businessStep(), to.businessStep(),
+                    from.eventTime(), to.eventTime(),
+                    to.eventId()); // 도착점 이벤트 ID 기록
+        }
+        return trips;
+    }
+}
@@ -0,0 +1,98 @@
+package edu.pnu.batch;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.item.database.JdbcCursorItemReader;
+import org.springframework.batch.item.database.builder.JdbcCursorItemReaderBuilder;
+
+/*
+ * [경로 생성 Reader] : 파티션의 epc_id 구간 이벤트를 (epc_id, event_time) 순 커서로 읽어 EPC 단위 목록으로 반환
+ * - 아이템 = EPC 하나의 이벤트 전체 → Processor가 청크 경계와 무관하게 경로 쌍을 만들 수 있음
+ * - 재시작 : 청크 커밋마다 마지막으로 넘긴 epc_id를 StepExecutionContext에 저장하고, 재시작 시 그 다음 EPC부터 커서를 다시 엶
+ *   (아이템 수만큼 건너뛰지 않고 인덱스 ix_eh_epc_time 으로 바로 이동)
+ * 커서는 자체 커넥션의 스트리밍 결과셋 (Writer는 청크 트랜잭션 커넥션을 사용하므로 충돌 없음)
+ */
+public class EpcTripReader implements ItemStreamReader<List<TripEvent>> {
+
+    static final String LAST_EPC_ID = "lastEpcId";
+
+    private static final String SQL = "SELECT eh.event_id, eh.epc_id, eh.csv_location_id, l.scan_location, "
+            + "eh.business_step, eh.event_time "
+            + "FROM event_history eh JOIN csv_location l ON l.csv_location_id = eh.csv_location_id "
+            + "WHERE eh.file_id = ? AND eh.epc_id > ? AND eh.epc_id <= ? "
+            + "ORDER BY eh.epc_id, eh.event_time, eh.event_id"; // 같은 시각은 event_id 순 (SQL 엔진의 LAG 순서와 동일)
+
+    private final DataSource dataSource;
+    private final long fileId;
+    private final long fromEpcId;
+    private final long toEpcId;
+
+    private JdbcCursorItemReader<TripEvent> cursor;
+    private TripEvent peeked;   // 다음 EPC의 첫 행 (이미 읽었지만 아직 넘기지 않음)
+    private long lastEpcId;    // 마지막으로 넘긴 EPC
+
+    public EpcTripReader(DataSource dataSource, long fileId, long fromEpcId, long toEpcId) {
+        this.dataSource = dataSource;
+        this.fileId = fileId;
+        this.fromEpcId = fromEpcId;
+        this.toEpcId = toEpcId;
+    }
+
+    @Override
+    public void open(ExecutionContext executionContext) throws ItemStreamException {
+        lastEpcId = executionContext.containsKey(LAST_EPC_ID) ? executionContext.getLong(LAST_EPC_ID) : fromEpcId;
+        final long resumeAfter = lastEpcId;
+        cursor = new JdbcCursorItemReaderBuilder<TripEvent>()
+                .name("epcTripCursor")
+                .dataSource(dataSource)
+                .sql(SQL)
+                .preparedStatementSetter(ps -> {
+                    ps.setLong(1, fileId);
+                    ps.setLong(2, resumeAfter);
+                    ps.setLong(3, toEpcId);
+                })
+                .rowMapper((rs, i) -> new TripEvent(rs.getLong(1), rs.getLong(2), rs.getLong(3),
+                        rs.getString(4), rs.getString(5), rs.getObject(6, LocalDateTime.class)))
+                .fetchSize(Integer.MIN_VALUE)  // Connector/J 스트리밍 결과셋 (전체를 메모리에 올리지 않음)
+                .verifyCursorPosition(false)   // 스트리밍 결과셋은 getRow() 미지원
+                .saveState(false)              // 위치는 lastEpcId로 관리
+                .build();
+        cursor.open(new ExecutionContext());
+    }
+
+    @Override
+    public List<TripEvent> read() throws Exception {
+        TripEvent first = peeked != null ? peeked : cursor.read();
+        peeked = null;
+        if (first == null) return null;
+
+        List<TripEvent> events = new ArrayList<>();
+        events.add(first);
+        TripEvent next;
+        while ((next = cursor.read()) != null && next.epcId() == first.epcId()) {
+            events.add(next);
+        }
+        peeked = next;
+        lastEpcId = first.epcId();
+        return events;
+    }
+
+    @Override
+    public void update(ExecutionContext executionContext) throws ItemStreamException {
+        executionContext.putLong(LAST_EPC_ID, lastEpcId);
+    }
+
+    @Override
+    public void close() throws ItemStreamException {
+        if (cursor != null) cursor.close();
+        cursor = null;
+        peeked = null;
+    }
+}
@@ -0,0 +1,60 @@
+package edu.pnu.batch;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/*
+ * [경로 생성 파티셔너] : 파일의 EventHistory를 epc_id 구간으로 나눠 파티션마다 (fileId, fromEpcId, toEpcId] 를 넘김
+ * - epc_id는 파일 적재 시 연속으로 발급되므로 같은 폭의 구간으로 나누면 파티션별 EPC 수가 거의 같음
+ * - 한 EPC의 이벤트는 항상 한 파티션에만 속함 (경로는 같은 EPC의 연속 이벤트 쌍이므로 파티션 경계에서 끊기지 않음)
+ * 이벤트가 없으면 빈 구간 파티션 1개 (Step은 정상 완료)
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class TripEpcRangePartitioner implements Partitioner {
+
+    public static final String FILE_ID = "fileId";
+    public static final String FROM_EPC_ID = "fromEpcId"; // 제외
+    public static final String TO_EPC_ID = "toEpcId";     // 포함
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long fileId;
+
+    @Override
+    public Map<String, ExecutionContext> partition(int gridSize) {
+        long[] range = jdbcTemplate.queryForObject(
+                "SELECT MIN(epc_id), MAX(epc_id) FROM event_history WHERE file_id = ?",
+                (rs, i) -> rs.getObject(1) == null ? null : new long[]{rs.getLong(1), rs.getLong(2)}, fileId);
+
+        Map<String, ExecutionContext> partitions = new HashMap<>();
+        if (range == null) {
+            partitions.put("partition0", context(0, 0));
+            return partitions;
+        }
+
+        long from = range[0] - 1;
+        long span = range[1] - from;
+        int n = (int) Math.max(1, Math.min(gridSize, span));
+        for (int p = 0; p < n; p++) {
+            long to = p == n - 1 ? range[1] : from + span * (p + 1) / n;
+            partitions.put("partition" + p, context(from + span * p / n, to));
+        }
+        log.info("[TripEpcRangePartitioner] [완료] : fileId = {}, epc_id {} ~ {} → 파티션 {}개", fileId, range[0], range[1], n);
+        return partitions;
+    }
+
+    private ExecutionContext context(long fromExclusive, long toInclusive) {
+        ExecutionContext ctx = new ExecutionContext();
+        ctx.putLong(FILE_ID, fileId);
+        ctx.putLong(FROM_EPC_ID, fromExclusive);
+        ctx.putLong(TO_EPC_ID, toInclusive);
+        return ctx;
+    }
+}
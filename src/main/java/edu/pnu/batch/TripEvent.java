@@ -0,0 +1,12 @@
+package edu.pnu.batch;
+
+import java.time.LocalDateTime;
+
+// [이동 경로 입력 행] : 경로 생성에 필요한 EventHistory 컬럼만 읽은 값 (엔티티/영속성 컨텍스트 없이 파티션 스레드에서 사용)
+public record TripEvent(long eventId,
+                        long epcId,
+                        long locationId,
+                        String scanLocation,
+                        String businessStep,
+                        LocalDateTime eventTime) {
+}
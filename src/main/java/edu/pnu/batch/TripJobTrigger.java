@@ -1,44 +1,111 @@
 package edu.pnu.batch;
 
 import edu.pnu.events.DbSavedEvent;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.LocalDateTime;
+
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
 import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
 import org.springframework.batch.core.JobParameters;
 import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.explore.JobExplorer;
 import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.batch.core.repository.JobInstanceAlreadyCompleteException;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.event.TransactionPhase;
 import org.springframework.transaction.event.TransactionalEventListener;
 
 @Slf4j
 @Component // 스프링 빈(Bean)으로 등록, 자동 의존성 주입 가능
-@RequiredArgsConstructor
 public class TripJobTrigger {
 
+    private static final String JOB_NAME = "tripBuildJob";
 
-    private final JobLauncher jobLauncher; // Spring Batch의 Job 실행을 담당하는 런처(필수)
+    private final JobLauncher jobLauncher; // Spring Batch의 Job 실행을 담당하는 런처 (BatchConfig.asyncJobLauncher : 비동기)
     private final Job tripBuildJob; // 실행할 Batch Job / BatchConfig에서 생성된 Job bean
+    private final JobExplorer jobExplorer;
+    private final JobRepository jobRepository;
+
+    public TripJobTrigger(@Qualifier("asyncJobLauncher") JobLauncher jobLauncher,
+                          Job tripBuildJob,
+                          JobExplorer jobExplorer,
+                          JobRepository jobRepository) {
+        this.jobLauncher = jobLauncher;
+        this.tripBuildJob = tripBuildJob;
+        this.jobExplorer = jobExplorer;
+        this.jobRepository = jobRepository;
+    }
 
     // [이벤트 리스너] - EventHistorySavedEvent가 발생하면 자동 호출됨
     // 주로 CSV 업로드 완료 후, Service에서 eventPublisher.publishEvent()로 발행
-    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    // 적재는 완료 상태를 커밋하고 자원을 반납한 뒤 트랜잭션 밖에서 발행하므로 fallbackExecution으로 바로 실행
+    // (트랜잭션 안에서 발행하면 커밋 후 실행). Job은 비동기 런처에서 돌고 여기서는 기다리지 않음
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
     public void handleEvent(DbSavedEvent event) throws Exception {
 
         log.info("[배치트리거] : [TripJobTrigger] CSV 업로드 로그 ID = {}로 배치 진입", event.getFileId());
 
-        // [JobParameters] - Spring Batch에서는 파라미터가 동일하면 이미 실행된 Job으로 간주하고 다시 실행하지 않음
+        // [JobParameters] - fileId만으로 JobInstance를 식별 (파일당 JobInstance 하나)
+        // - 같은 파일의 실패한 실행이 있으면 새 인스턴스가 아니라 재시작 → COMPLETED 파티션은 건너뛰고
+        //   실패한 파티션만 마지막 커밋 다음 EPC부터 다시 실행 (BatchConfig.generateTripsStep)
         JobParameters params = new JobParametersBuilder()
-                .addLong("time", System.currentTimeMillis())  // - 매번 고유한 값(여기서는 현재시간 time)을 추가해서 항상 새로운 JobInstance로 실행되게 함
                 .addLong("fileId", event.getFileId())
                 .toJobParameters();
 
         // [Job 실행]
         // - tripBuildJob을 jobLauncher를 통해 실행
         // - 실제 배치 Step 및 로직은 MyBatchConfig 등에서 별도로 정의
-        jobLauncher.run(tripBuildJob, params);
+        run(params);
+    }
 
+    // [재시작 복구] : 서버가 경로 생성 도중 종료되어 STARTED 등 실행 중 상태로 남은 실행을 FAILED로 정리한 뒤 같은 파라미터로 재시작
+    // (실행 중 상태로 남아 있으면 같은 JobInstance를 다시 실행할 수 없음. 서버 한 대 기준 : 적재 재개와 같은 전제)
+    @EventListener(ApplicationReadyEvent.class)
+    public void restartInterruptedJobs() {
+        for (JobExecution execution : jobExplorer.findRunningJobExecutions(JOB_NAME)) {
+            markInterrupted(execution);
+            log.info("[배치트리거] [재시작] : 중단된 경로 생성 재시작 fileId = {}, executionId = {}",
+                    execution.getJobParameters().getLong("fileId"), execution.getId());
+            try {
+                run(execution.getJobParameters());
+            } catch (Exception e) {
+                log.error("[배치트리거] [실패] : 경로 생성 재시작 실패 executionId = {}", execution.getId(), e);
+            }
+        }
+    }
+
+    // ■■■■■■■■■■■■■■ [ Helper ] ■■■■■■■■■■■■■
+
+    private void run(JobParameters params) throws Exception {
+        try {
+            jobLauncher.run(tripBuildJob, params);
+        } catch (JobInstanceAlreadyCompleteException e) {
+            // 이미 경로 생성이 끝난 파일 (같은 파일의 적재 완료 이벤트가 다시 발행된 경우)
+            log.info("[배치트리거] [중복] : 이미 완료된 경로 생성 fileId = {}", params.getLong("fileId"));
+        }
+    }
 
+    // 실행 중 상태로 남은 실행과 그 Step 실행(파티션 워커 포함)을 FAILED로 기록
+    private void markInterrupted(JobExecution execution) {
+        LocalDateTime now = LocalDateTime.now();
+        for (StepExecution step : execution.getStepExecutions()) {
+            if (!step.getStatus().isRunning()) continue;
+            step.setStatus(BatchStatus.FAILED);
+            step.setExitStatus(ExitStatus.FAILED.addExitDescription("서버 재시작으로 중단됨"));
+            step.setEndTime(now);
+            jobRepository.update(step);
+        }
+        execution.setStatus(BatchStatus.FAILED);
+        execution.setExitStatus(ExitStatus.FAILED.addExitDescription("서버 재시작으로 중단됨"));
+        execution.setEndTime(now);
+        jobRepository.update(execution);
     }
 }
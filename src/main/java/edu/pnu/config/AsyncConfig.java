@@ -23,5 +23,44 @@ public class AsyncConfig {
         ex.initialize();
         return ex;
     }
+
+    // [CSV 적재 전용] : 업로드 요청은 접수만 하고 파싱·DB 적재는 이 풀에서 수행
+    // 대기/허용 판단은 IngestScheduler가 하므로 큐는 끝나가는 스레드와 다음 작업이 겹치는 순간만 받으면 됨
+    @Bean(name = "ingestExecutor")
+    public Executor ingestExecutor(CsvIngestProperties props) {
+        ThreadPoolTaskExecutor ex = new ThreadPoolTaskExecutor();
+        ex.setCorePoolSize(props.getJobThreads());
+        ex.setMaxPoolSize(props.getJobThreads());
+        ex.setQueueCapacity(props.getJobThreads());
+        ex.setThreadNamePrefix("ingest-");
+        ex.initialize();
+        return ex;
+    }
+
+    // [CSV 파서 풀] : 모든 적재가 공유하는 청크 파싱 스레드 (csv.ingest.parser-threads, 0이면 코어 수 - 2)
+    // 적재마다 순서 큐(queue-capacity)만큼만 제출하므로 대기 작업은 적재 수 × (queue-capacity + 1)개를 넘지 않음
+    @Bean(name = "csvParserExecutor")
+    public ThreadPoolTaskExecutor csvParserExecutor(CsvIngestProperties props) {
+        ThreadPoolTaskExecutor ex = new ThreadPoolTaskExecutor();
+        ex.setCorePoolSize(props.resolveParserThreads());
+        ex.setMaxPoolSize(props.resolveParserThreads());
+        ex.setQueueCapacity(props.getJobThreads() * (props.getQueueCapacity() + 1));
+        ex.setThreadNamePrefix("csv-parser-");
+        ex.initialize();
+        return ex;
+    }
+
+    // [EventHistory 병렬 저장 전용] : 스레드마다 커넥션 1개를 쓰므로 스레드 수 = csv.ingest.event-writers (모든 적재가 공유)
+    // 적재 스레드는 자기 청크의 묶음이 끝날 때까지 기다리므로 대기 작업은 (적재 수 × K)개를 넘지 않음
+    @Bean(name = "eventWriterExecutor")
+    public Executor eventWriterExecutor(CsvIngestProperties props) {
+        ThreadPoolTaskExecutor ex = new ThreadPoolTaskExecutor();
+        ex.setCorePoolSize(props.getEventWriters());
+        ex.setMaxPoolSize(props.getEventWriters());
+        ex.setQueueCapacity(props.getJobThreads() * props.getEventWriters());
+        ex.setThreadNamePrefix("event-writer-");
+        ex.initialize();
+        return ex;
+    }
 }
 
@@ -1,21 +1,38 @@
 package edu.pnu.config;
 
 import edu.pnu.batch.AfterTripJobPipelineTrigger;
-import edu.pnu.service.analysis.trips.AnalysisTripGenerationService;
+import edu.pnu.batch.CsvRouteItemWriter;
+import edu.pnu.batch.EpcTripProcessor;
+import edu.pnu.batch.EpcTripReader;
+import edu.pnu.batch.TripEpcRangePartitioner;
+import edu.pnu.batch.TripEvent;
+import edu.pnu.service.analysis.trips.CsvRouteJdbcService;
+import edu.pnu.service.analysis.trips.TripBatch;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.List;
+
+import javax.sql.DataSource;
+
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.Step;
 import org.springframework.batch.core.configuration.annotation.EnableBatchProcessing;
+import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.batch.core.launch.support.TaskExecutorJobLauncher;
 import org.springframework.batch.core.launch.support.RunIdIncrementer;
+import org.springframework.batch.core.partition.support.TaskExecutorPartitionHandler;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.builder.StepBuilder;
 import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.transaction.PlatformTransactionManager;
 
 @Slf4j
@@ -28,36 +45,120 @@ public class BatchConfig {
     private final JobRepository jobRepo; // batch에서 필수!
     private final PlatformTransactionManager transactionManager; // Step 생성에 필요
     private final AfterTripJobPipelineTrigger afterTripJobPipelineTrigger;
-    private final AnalysisTripGenerationService analysisTripGenerationService;
+    private final CsvRouteJdbcService csvRouteJdbcService;
+
+    @Value("${batch.trips.grid-size:4}")
+    private int tripGridSize;   // 경로 생성 파티션(동시 워커) 수
+
+    @Value("${batch.trips.chunk-size:200}")
+    private int tripChunkSize;  // 청크(트랜잭션)당 EPC 수
+
+    @Value("${batch.trips.engine:jvm}")
+    private TripEngine tripEngine;
+
+    @Value("${batch.trips.job-threads:1}")
+    private int tripJobThreads; // 동시에 실행하는 경로 생성 Job 수 (Job마다 파티션 워커 × 2 커넥션)
+
+    // JVM: 파티션 워커가 이벤트를 읽어 경로 생성 / SQL: DB 안에서 LAG() 윈도 함수로 INSERT ... SELECT (이벤트 전송 없음)
+    public enum TripEngine { JVM, SQL }
 
 
     @Bean
 // 정적분석 플러그인에서 	@Bean으로 선언한 메서드는 public이 아니어도 된다
-    Job tripBuildJob(Step generateTripsStep) {
+    Job tripBuildJob(Step generateTripsStep, Step generateTripsSqlStep) {
+        log.info("[BatchConfig] [설정] : 경로 생성 엔진 = {}", tripEngine);
         return new JobBuilder("tripBuildJob", jobRepo)
                 .incrementer(new RunIdIncrementer()) // RunIdIncrementer 추가
                 .listener(afterTripJobPipelineTrigger)   // ★ 배치 완료 → 파이프라인 호출
-                .start(generateTripsStep)             // ★ 주입된 파라미터 사용(괄호 X)
+                .start(tripEngine == TripEngine.SQL ? generateTripsSqlStep : generateTripsStep) // ★ 주입된 파라미터 사용(괄호 X)
                 .build();
     }
 
+    // [비동기 JobLauncher] : 적재 스레드가 경로 생성 Job을 기다리지 않도록 tripJobExecutor에서 실행 (run은 바로 반환)
+    // 적재 슬롯/메모리 예산은 Job 시작 전에 반납되고, Job이 쓰는 커넥션은 IngestScheduler가 Hikari 사용 중 커넥션으로 봄
+    @Bean
+    JobLauncher asyncJobLauncher() throws Exception {
+        TaskExecutorJobLauncher launcher = new TaskExecutorJobLauncher();
+        launcher.setJobRepository(jobRepo);
+        launcher.setTaskExecutor(tripJobExecutor());
+        launcher.afterPropertiesSet();
+        return launcher;
+    }
+
+    @Bean
+    ThreadPoolTaskExecutor tripJobExecutor() {
+        ThreadPoolTaskExecutor ex = new ThreadPoolTaskExecutor();
+        ex.setCorePoolSize(tripJobThreads);
+        ex.setMaxPoolSize(tripJobThreads);
+        ex.setThreadNamePrefix("trip-job-");
+        ex.initialize();
+        return ex;
+    }
 
+    // [경로 생성 SQL Step] : INSERT ... SELECT 한 문장 (한 트랜잭션, 실패 시 전체 롤백 후 재시작하면 처음부터 다시 실행)
     @Bean
-    Step generateTripsStep() {
-        return new StepBuilder("generateTripsStep", jobRepo)
+    Step generateTripsSqlStep() {
+        return new StepBuilder("generateTripsSqlStep", jobRepo)
                 .tasklet((contribution, chunkContext) -> {
-
-                    // 1. fileId를 JobParameter에서 꺼내옴.
                     Long fileId = Long.valueOf(chunkContext.getStepContext()
                             .getJobParameters()
                             .get("fileId").toString());
-
-                    log.info("[실행] : [BatchConfig] Step 실행됨!");
-                    // [1] 새로운 Csv 저장되면, AnalyzedTsrip 로직 저장
-                    analysisTripGenerationService.generateTripsForFile(fileId);
-
+                    contribution.incrementWriteCount(csvRouteJdbcService.insertTripsBySql(fileId));
                     return RepeatStatus.FINISHED;
                 }, transactionManager)
                 .build();
     }
+
+    // [경로 생성 Manager Step] : 파일을 epc_id 구간 파티션으로 나눠 워커 Step을 tripPartitionExecutor 스레드에서 병렬 실행
+    // 같은 JobInstance를 재시작하면 COMPLETED 파티션은 건너뛰고 실패한 파티션만 마지막 커밋 다음 EPC부터 다시 실행
+    @Bean
+    Step generateTripsStep(TripEpcRangePartitioner tripPartitioner, Step generateTripsWorkerStep) {
+        TaskExecutorPartitionHandler handler = new TaskExecutorPartitionHandler();
+        handler.setStep(generateTripsWorkerStep);
+        handler.setTaskExecutor(tripPartitionExecutor());
+        handler.setGridSize(tripGridSize);
+
+        return new StepBuilder("generateTripsStep", jobRepo)
+                .partitioner("generateTripsWorkerStep", tripPartitioner)
+                .partitionHandler(handler)
+                .build();
+    }
+
+    // [경로 생성 Worker Step] : EPC 단위 Reader → 경로 쌍 Processor → JDBC 배치 Writer (청크마다 커밋 + 읽은 위치 저장)
+    @Bean
+    Step generateTripsWorkerStep(EpcTripReader epcTripReader) {
+        return new StepBuilder("generateTripsWorkerStep", jobRepo)
+                .<List<TripEvent>, TripBatch>chunk(tripChunkSize, transactionManager)
+                .reader(epcTripReader)
+                .processor(new EpcTripProcessor())
+                .writer(new CsvRouteItemWriter(csvRouteJdbcService))
+                .build();
+    }
+
+    @Bean
+    @StepScope
+    TripEpcRangePartitioner tripPartitioner(JdbcTemplate jdbcTemplate,
+                                            @Value("#{jobParameters['fileId']}") Long fileId) {
+        return new TripEpcRangePartitioner(jdbcTemplate, fileId);
+    }
+
+    @Bean
+    @StepScope
+    EpcTripReader epcTripReader(DataSource dataSource,
+                                @Value("#{stepExecutionContext['fileId']}") Long fileId,
+                                @Value("#{stepExecutionContext['fromEpcId']}") Long fromEpcId,
+                                @Value("#{stepExecutionContext['toEpcId']}") Long toEpcId) {
+        return new EpcTripReader(dataSource, fileId, fromEpcId, toEpcId);
+    }
+
+    // 파티션 워커 스레드 (워커마다 커서 1 + 청크 트랜잭션 1 커넥션 사용)
+    @Bean
+    ThreadPoolTaskExecutor tripPartitionExecutor() {
+        ThreadPoolTaskExecutor ex = new ThreadPoolTaskExecutor();
+        ex.setCorePoolSize(tripGridSize);
+        ex.setMaxPoolSize(tripGridSize);
+        ex.setThreadNamePrefix("trip-");
+        ex.initialize();
+        return ex;
+    }
 }
@@ -0,0 +1,62 @@
+package edu.pnu.config;
+
+import jakarta.validation.constraints.Min;
+import lombok.Getter;
+import lombok.Setter;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.annotation.Validated;
+
+@Getter
+@Setter
+@Component
+@Validated // @Min 위반 값은 시작 시 바인딩 오류로 실패
+@ConfigurationProperties(prefix = "csv.ingest")
+public class CsvIngestProperties {
+    @Min(0)
+    private int parserThreads;          // 0이면 (CPU 코어 수 - 2, 최소 1)로 자동 결정
+    @Min(1)
+    private int queueCapacity = 8;      // 파싱 대기/완료 청크를 동시에 보관할 최대 개수 (메모리 상한)
+    @Min(1)
+    private int jobThreads = 2;         // 동시에 적재(파싱·저장)하는 업로드 수 (ingestExecutor 스레드 수)
+    @Min(0)
+    private int jobQueueCapacity = 16;  // 적재 대기 업로드 수 상한 (초과 시 503 응답)
+    private DataSize memoryBudget;      // 동시 적재들의 추정 힙 사용량 합 상한 (미설정이면 최대 힙의 절반)
+    @Min(0)
+    private int minFreeConnections = 5; // 새 적재를 시작할 때 남아 있어야 하는 Hikari 여유 커넥션 수 (분석/배치 몫)
+    private Tokenizer tokenizer = Tokenizer.MMAP;     // 디스크 저장본을 파싱할 때 사용할 토크나이저
+
+    private EventWriter eventWriter = EventWriter.JDBC; // EventHistory 저장 방식
+    @Min(1)
+    private int loadDataChunkRows = 20_000; // LOAD_DATA일 때 청크(= 스테이징 적재·중복 제거·체크포인트 단위) 행 수 (JDBC는 1000행)
+    @Min(1)
+    private int eventWriters = 1;       // EventHistory를 동시에 저장하는 커넥션 수 K (모든 적재가 공유, 1이면 청크 트랜잭션 안에서 저장)
+    private EventOrder eventOrder = EventOrder.CSV;        // EventHistory INSERT 순서
+    private DataSize sortBuffer = DataSize.ofMegabytes(256); // EPC_TIME 정렬 시 메모리 버퍼 (넘으면 디스크 run으로 외부 정렬)
+    private DataSize uploadPartSize = DataSize.ofMegabytes(16); // 분할 업로드 기본 조각 크기 (1MB ~ 64MB)
+    private DataSize uploadMaxSize = DataSize.ofGigabytes(20);  // 분할 업로드 전체 크기 상한
+    private boolean compressArchive = true; // 적재 완료 후 원문 CSV 보관본을 gzip(.csv.gz)으로 다시 저장
+
+    // OPENCSV: 범용 CSVReader / MMAP: 저장본을 메모리 매핑해 UTF-8 바이트를 직접 토큰화 (형식이 복잡하면 OpenCSV로 자동 전환)
+    public enum Tokenizer { OPENCSV, MMAP }
+
+    // JDBC: PreparedStatement 배치 INSERT / LOAD_DATA: LOAD DATA LOCAL INFILE 스트림 적재 (allowLoadLocalInfile=true, 서버 local_infile=ON 필요)
+    public enum EventWriter { JDBC, LOAD_DATA }
+
+    // CSV: 청크마다 업로드 순서대로 저장 / EPC_TIME: 파일 전체를 (epc_id, event_time) 순으로 정렬한 뒤 저장
+    // (다운스트림 조회가 모두 epc_id, event_time 순이라 event_id 순서와 맞추면 클러스터 인덱스를 거의 순차로 읽음)
+    public enum EventOrder { CSV, EPC_TIME }
+
+    // 청크 행 수 : LOAD_DATA는 문장당 고정 비용(스테이징 비우기, INSERT ... SELECT)을 큰 묶음으로 나눠 냄
+    public int resolveChunkRows(int jdbcChunkRows) {
+        return eventWriter == EventWriter.LOAD_DATA ? loadDataChunkRows : jdbcChunkRows;
+    }
+
+    // 실제 사용할 파서 스레드 수
+    public int resolveParserThreads() {
+        if (parserThreads > 0) return parserThreads;
+        return Math.max(1, Runtime.getRuntime().availableProcessors() - 2);
+    }
+}
@@ -3,13 +3,17 @@ package edu.pnu.controller;
 import edu.pnu.config.CustomUserDetails;
 import edu.pnu.dto.CsvFileDTO;
 import edu.pnu.service.analysis.AnalysisPipelineService;
+import edu.pnu.service.csv.CsvIngestJobService;
 import edu.pnu.service.csv.CsvLogService;
-import edu.pnu.service.csv.CsvSaveService;
+import edu.pnu.service.csv.ingest.IngestJob;
+import edu.pnu.service.csv.upload.CsvUploadSessionService;
+import edu.pnu.service.csv.upload.UploadSession;
 import jakarta.servlet.annotation.MultipartConfig;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.IOException;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
@@ -21,14 +25,18 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @Slf4j
 @RestController
@@ -39,12 +47,14 @@ import org.springframework.web.server.ResponseStatusException;
 @RequestMapping("/api/manager")
 public class CsvController {
 
-    private final CsvSaveService csvSaveService;
+    private final CsvIngestJobService csvIngestJobService;
+    private final CsvUploadSessionService csvUploadSessionService;
     private final CsvLogService csvLogService;
     private final AnalysisPipelineService analysisPipelineService;
 
 
     // Front -> Back csv 전달 및 저장
+    // 디스크 저장까지만 요청 스레드에서 처리하고 202 + jobId로 바로 응답 (파싱/적재는 ingestExecutor에서 진행)
     @PostMapping("/upload")
     public ResponseEntity<Map<String, String>> uploadCsv(
             @RequestParam("file") MultipartFile file,
@@ -52,13 +62,93 @@ public class CsvController {
 
         log.info("[API-REQ] CSV 파일 업로드 요청 - user: {}, file: {}", user.getUsername(), file.getOriginalFilename());
 
-        Long fileId = csvSaveService.postCsvAndTriggerAsyncProcessing(file, user);
+        IngestJob job = csvIngestJobService.acceptUpload(file, user);
 
-        // 기존 응답 JSON 구조와 동일하게 Map을 생성하여 반환
-        Map<String, String> responseBody = new HashMap<>();
-        responseBody.put("message", "업로드 시작됨. 파일 ID: " + fileId + ". 진행상황은 실시간으로 알림됩니다.");
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(acceptedBody(job));
+    }
 
-        return ResponseEntity.ok(responseBody);
+
+    // Front -> Back raw CSV 스트리밍 업로드
+    // multipart 없이 요청 body를 그대로 보관본으로 저장한 뒤 202 + jobId로 응답
+    @PostMapping(value = "/upload/stream", consumes = {"text/csv", MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<Map<String, String>> uploadCsvStream(
+            @RequestParam("fileName") String fileName,
+            HttpServletRequest request,
+            @AuthenticationPrincipal CustomUserDetails user) throws IOException {
+
+        log.info("[API-REQ] CSV 스트리밍 업로드 요청 - user: {}, file: {}, length: {}",
+                user.getUsername(), fileName, request.getContentLengthLong());
+
+        IngestJob job = csvIngestJobService.acceptUploadStream(
+                fileName, request.getContentLengthLong(), request.getInputStream(), user);
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(acceptedBody(job));
+    }
+
+
+    // ■■■■■■■■■■■■■■ [ 분할 업로드 ] ■■■■■■■■■■■■■
+    // 세션 생성 → 조각 PUT(1번부터, X-Checksum-SHA256 헤더) → 받은 조각 조회 → 완료(202 + jobId)
+    @PostMapping("/upload/sessions")
+    public ResponseEntity<CsvFileDTO.UploadSessionResponse> createUploadSession(
+            @RequestParam("fileName") String fileName,
+            @RequestParam("totalSize") long totalSize,
+            @RequestParam(value = "partSize", required = false) Integer partSize,
+            @AuthenticationPrincipal CustomUserDetails user) {
+
+        log.info("[API-REQ] 분할 업로드 세션 생성 - user: {}, file: {}, size: {}", user.getUsername(), fileName, totalSize);
+        UploadSession session = csvUploadSessionService.create(fileName, totalSize, partSize, user);
+        return ResponseEntity.status(HttpStatus.CREATED).body(CsvFileDTO.UploadSessionResponse.fromSession(session));
+    }
+
+    @PutMapping("/upload/sessions/{sessionId}/parts/{partNumber}")
+    public ResponseEntity<CsvFileDTO.UploadSessionResponse> putUploadPart(
+            @PathVariable String sessionId,
+            @PathVariable int partNumber,
+            @RequestHeader("X-Checksum-SHA256") String checksum,
+            HttpServletRequest request,
+            @AuthenticationPrincipal CustomUserDetails user) throws IOException {
+
+        UploadSession session = csvUploadSessionService.putPart(sessionId, partNumber, checksum, request.getInputStream(), user);
+        return ResponseEntity.ok(CsvFileDTO.UploadSessionResponse.fromSession(session));
+    }
+
+    @GetMapping("/upload/sessions/{sessionId}")
+    public ResponseEntity<CsvFileDTO.UploadSessionResponse> getUploadSession(
+            @PathVariable String sessionId,
+            @AuthenticationPrincipal CustomUserDetails user) {
+
+        UploadSession session = csvUploadSessionService.status(sessionId, user);
+        return ResponseEntity.ok(CsvFileDTO.UploadSessionResponse.fromSession(session));
+    }
+
+    @PostMapping("/upload/sessions/{sessionId}/complete")
+    public ResponseEntity<Map<String, String>> completeUploadSession(
+            @PathVariable String sessionId,
+            @AuthenticationPrincipal CustomUserDetails user) {
+
+        log.info("[API-REQ] 분할 업로드 완료 - user: {}, session: {}", user.getUsername(), sessionId);
+        IngestJob job = csvUploadSessionService.complete(sessionId, user);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(acceptedBody(job));
+    }
+
+    @DeleteMapping("/upload/sessions/{sessionId}")
+    public ResponseEntity<Void> abortUploadSession(
+            @PathVariable String sessionId,
+            @AuthenticationPrincipal CustomUserDetails user) {
+
+        csvUploadSessionService.abort(sessionId, user);
+        return ResponseEntity.noContent().build();
+    }
+
+
+    // 업로드 적재 진행 상황 조회 (단계, 처리 행 수, 오류 수, 처리 속도)
+    @GetMapping("/upload/{jobId}")
+    public ResponseEntity<CsvFileDTO.IngestJobResponse> getUploadStatus(
+            @PathVariable String jobId,
+            @AuthenticationPrincipal CustomUserDetails user) {
+
+        IngestJob job = csvIngestJobService.getJob(jobId, user);
+        return ResponseEntity.ok(CsvFileDTO.IngestJobResponse.fromJob(job));
     }
 
 
@@ -87,15 +177,36 @@ public class CsvController {
             @PathVariable Long fileId,
             HttpServletRequest request) {
 
-        Resource resource = csvLogService.loadCsvResource(fileId);
-        String originalFilename = csvLogService.getOriginalFilename(fileId);
+        boolean acceptGzip = acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        CsvFileDTO.DownloadResource download = csvLogService.loadCsvResource(fileId, acceptGzip);
+
+        String encodedFilename = encodeFilename(download.getFileName(), request.getHeader("User-Agent"));
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + encodedFilename + "\"")
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.parseMediaType("text/csv; charset=UTF-8"));
+        if (download.isGzipEncoded()) {
+            // 압축 보관본을 그대로 전송 (브라우저가 풀어서 .csv로 저장)
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(download.getResource());
+    }
+
+    // [오류 리포트] : 적재 중 오류가 난 행만 원문 그대로 모은 CSV (row_num, error_type, 원문 컬럼...)
+    @GetMapping("/download/{fileId}/errors")
+    public ResponseEntity<StreamingResponseBody> downloadErrorReport(
+            @PathVariable Long fileId,
+            HttpServletRequest request) {
 
-        String encodedFilename = encodeFilename(originalFilename, request.getHeader("User-Agent"));
+        CsvFileDTO.ErrorReport report = csvLogService.loadErrorReport(fileId);
+        log.info("[API-REQ] 오류 리포트 다운로드 - fileId: {}, 오류 {}건", fileId, report.getErrors().total());
 
+        String encodedFilename = encodeFilename(report.getFileName(), request.getHeader("User-Agent"));
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + encodedFilename + "\"")
                 .contentType(MediaType.parseMediaType("text/csv; charset=UTF-8"))
-                .body(resource);
+                .body(out -> csvLogService.writeErrorReport(report, out));
     }
 
     @PostMapping("/resend/{fileId}")
@@ -104,7 +215,7 @@ public class CsvController {
             @AuthenticationPrincipal CustomUserDetails user) {
 
         log.info("[API-REQ] 분석 재요청 - user: {}, fileId: {}", user.getUsername(), fileId);
-        analysisPipelineService.runAnalysisPipeline(fileId, user.getUserId());
+        analysisPipelineService.runAnalysisPipeline(csvLogService.resolveAnalysisFileId(fileId), user.getUserId());
 
         try {
             // 기존 응답과 동일하게 String 반환
@@ -119,6 +230,45 @@ public class CsvController {
         }
     }
 
+    // 기존 응답 JSON 구조(message)에 jobId/fileId를 더해 반환
+    private Map<String, String> acceptedBody(IngestJob job) {
+        Map<String, String> responseBody = new HashMap<>();
+        responseBody.put("message", "업로드 접수됨. 파일 ID: " + job.getFileId() + ". 진행상황은 실시간으로 알림됩니다.");
+        responseBody.put("jobId", job.getJobId());
+        responseBody.put("fileId", String.valueOf(job.getFileId()));
+        return responseBody;
+    }
+
+    // Accept-Encoding의 coding별 q 값으로 gzip 허용 여부 판단 (RFC 9110 12.5.3)
+    // gzip/x-gzip을 명시했으면 그 q 값, 없으면 * 의 q 값을 따름. q=0 은 거부, q 값을 읽을 수 없으면 압축하지 않음
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) return false;
+        Double gzip = null;
+        Double any = null;
+        for (String item : acceptEncoding.split(",")) {
+            String[] params = item.split(";");
+            String coding = params[0].trim().toLowerCase();
+            double q = 1.0;
+            for (int i = 1; i < params.length; i++) {
+                String param = params[i].trim();
+                if (param.length() > 2 && param.substring(0, 2).equalsIgnoreCase("q=")) {
+                    try {
+                        q = Double.parseDouble(param.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        q = 0;
+                    }
+                }
+            }
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzip = gzip == null ? q : Math.max(gzip, q);
+            } else if (coding.equals("*")) {
+                any = q;
+            }
+        }
+        double q = gzip != null ? gzip : (any != null ? any : 0);
+        return q > 0;
+    }
+
     private String encodeFilename(String filename, String userAgent) {
         try {
             if (userAgent != null && (userAgent.contains("MSIE") || userAgent.contains("Trident") || userAgent.contains("Edge"))) {
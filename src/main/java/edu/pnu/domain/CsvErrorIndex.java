@@ -0,0 +1,58 @@
+package edu.pnu.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.Lob;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.MapsId;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+// [적재 오류 색인] : 업로드 1건의 오류 행(유형별 압축 비트맵)과 원문 byte offset 앵커 (형식은 ErrorRowIndex 참고)
+// 오류 리포트 다운로드 시 이 색인으로 보관본에서 해당 행만 읽어 옴
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString(exclude = {"csvFile", "errorRows", "rowAnchors", "archiveRestarts"})
+@Entity
+@Builder
+@Table(name = "csv_error_index")
+public class CsvErrorIndex {
+
+	@Id
+	@Column(name = "file_id")
+	private Long fileId;
+
+	// CsvFile의 PK를 그대로 PK로 사용 (AnalysisSummary와 같은 방식)
+	@ManyToOne(fetch = FetchType.LAZY)
+	@MapsId
+	@JoinColumn(name = "file_id")
+	private CsvFile csvFile;
+
+	private long totalErrorRows; // 유형별 오류 행 수의 합
+
+	@Lob
+	@Column(columnDefinition = "MEDIUMBLOB")
+	private byte[] errorRows;    // 유형별 RowBitmap
+
+	@Lob
+	@Column(columnDefinition = "MEDIUMBLOB")
+	private byte[] rowAnchors;   // (행 번호, byte offset) 앵커
+
+	@Lob
+	@Column(columnDefinition = "MEDIUMBLOB")
+	private byte[] archiveRestarts; // gzip 보관본 재시작 지점 (형식은 GzipRestartPoints, 압축 전이나 업로드부터 gzip이면 null)
+
+	private LocalDateTime createdAt;
+}
@@ -2,12 +2,16 @@ package edu.pnu.domain;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -26,6 +30,9 @@ import org.hibernate.annotations.CreationTimestamp;
 @ToString
 @Entity
 @Builder
+@Table(indexes = {
+        @Index(name = "ix_csv_file_content_hash", columnList = "content_hash") // 중복 업로드 조회
+})
 public class CsvFile {
 	@Id
 	@GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -45,4 +52,17 @@ public class CsvFile {
     @CreationTimestamp
     @Column(updatable = false, name = "created_at")
     private LocalDateTime createdAt; // 업로드 시각
+
+    // [적재 체크포인트] : 청크 단위 커밋마다 함께 갱신 (재시작 시 마지막으로 커밋된 청크 다음부터 적재)
+    @Enumerated(EnumType.STRING)
+    private IngestStatus ingestStatus; // null: 체크포인트 도입 이전 업로드 (적재 완료로 간주)
+    private Integer ingestedRows;      // 커밋된 데이터 행 수 (헤더 제외)
+    private Long ingestedOffset;       // 커밋된 마지막 청크의 끝 byte offset (알 수 없으면 null → 행 단위로 건너뜀)
+    private Long ingestedChunks;       // 커밋된 청크 수 (이어 읽을 때의 다음 청크 순번)
+    private Long ingestedEventId;      // 체크포인트 시점의 event_id 상한 (병렬 저장이 체크포인트보다 먼저 커밋한 뒤 청크 행을 재개 시 삭제)
+
+    // [중복 업로드] : 업로드 바이트의 SHA-256과, 같은 내용으로 분석이 끝난 원본 업로드 (원본의 적재/분석 결과를 그대로 사용)
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+    private Long duplicateOfFileId;    // null: 직접 적재·분석한 업로드
 }
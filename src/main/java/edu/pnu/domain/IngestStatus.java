@@ -0,0 +1,6 @@
+package edu.pnu.domain;
+
+// CSV 적재 상태 (QUEUED/INGESTING 상태로 남은 업로드는 서버 재시작 시 마지막 체크포인트부터 이어서 적재)
+public enum IngestStatus {
+	QUEUED, INGESTING, COMPLETED, FAILED
+}
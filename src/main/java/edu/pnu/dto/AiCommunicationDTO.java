@@ -1,5 +1,6 @@
 package edu.pnu.dto;
 
+import edu.pnu.service.csv.support.EventTimeCodec;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -11,6 +12,7 @@ import java.util.List;
 
 import com.fasterxml.jackson.annotation.JsonSetter;
 import com.fasterxml.jackson.annotation.Nulls;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 
 public class AiCommunicationDTO {
 
@@ -26,6 +28,7 @@ public class AiCommunicationDTO {
 		private Long locationId;
 		private String businessStep;
 		private String eventType;
+		@JsonSerialize(using = EventTimeCodec.JsonWriter.class) // "yyyy-MM-dd HH:mm:ss" 고정 형식으로 바로 기록
 		private LocalDateTime eventTime;
 	}
 
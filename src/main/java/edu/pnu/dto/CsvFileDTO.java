@@ -1,6 +1,10 @@
 package edu.pnu.dto;
 
 import edu.pnu.domain.CsvFile;
+import edu.pnu.service.csv.ingest.ErrorRowIndex;
+import edu.pnu.service.csv.ingest.IngestJob;
+import edu.pnu.service.csv.support.GzipRestartPoints;
+import edu.pnu.service.csv.upload.UploadSession;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -8,10 +12,14 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
 
+import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
+import org.springframework.core.io.Resource;
+
 public class CsvFileDTO {
 
 
@@ -66,6 +74,93 @@ public class CsvFileDTO {
         }
     }
 
+    // [적재 작업 상태] : 비동기 업로드 적재 진행 상황 (GET /api/manager/upload/{jobId})
+    @Getter
+    @Setter
+    @ToString
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class IngestJobResponse {
+        private String jobId;
+        private Long fileId;
+        private String stage;                   // QUEUED / PARSING / COMPLETED / FAILED
+        private Integer queuePosition;          // 적재 대기 순번 (QUEUED일 때만, 1부터)
+        private Long rowsProcessed;
+        private Long errorRows;
+        private Map<String, Integer> errorCounts; // 오류 유형별 행 수 (완료 후)
+        private Long elapsedMillis;
+        private Double rowsPerSecond;
+        private String message;                 // 실패 사유 / 중복 업로드 안내
+        private Long duplicateOfFileId;         // 결과를 재사용한 원본 fileId (중복 업로드일 때만)
+
+        public static IngestJobResponse fromJob(IngestJob job) {
+            return IngestJobResponse.builder()
+                    .jobId(job.getJobId())
+                    .fileId(job.getFileId())
+                    .stage(job.getStage().name())
+                    .queuePosition(job.getQueuePosition() > 0 ? job.getQueuePosition() : null)
+                    .rowsProcessed(job.getRowsProcessed())
+                    .errorRows(job.getErrorRows())
+                    .errorCounts(job.getErrorCounts())
+                    .elapsedMillis(job.elapsedMillis())
+                    .rowsPerSecond(Math.round(job.rowsPerSecond() * 10) / 10.0)
+                    .message(job.getMessage())
+                    .duplicateOfFileId(job.getDuplicateOfFileId())
+                    .build();
+        }
+    }
+
+    // [분할 업로드 세션] : 세션 생성/조각 수신/조회 응답 (receivedParts로 다시 보낼 조각을 판단)
+    @Getter
+    @Setter
+    @ToString
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class UploadSessionResponse {
+        private String sessionId;
+        private String fileName;
+        private Long totalSize;
+        private Integer partSize;
+        private Integer totalParts;
+        private List<Integer> receivedParts;
+        private Boolean assembled;              // 모든 조각을 받아 완료 요청이 가능한지
+
+        public static UploadSessionResponse fromSession(UploadSession s) {
+            synchronized (s) {
+                return UploadSessionResponse.builder()
+                        .sessionId(s.getSessionId())
+                        .fileName(s.getFileName())
+                        .totalSize(s.getTotalSize())
+                        .partSize(s.getPartSize())
+                        .totalParts(s.getTotalParts())
+                        .receivedParts(s.receivedParts())
+                        .assembled(s.isAssembled())
+                        .build();
+            }
+        }
+    }
+
+    // [CSV 다운로드] : 전송할 보관본과 표시 파일명, gzip 압축 바이트 그대로 전송 여부
+    @Getter
+    @AllArgsConstructor
+    public static class DownloadResource {
+        private Resource resource;
+        private String fileName;        // 논리 파일명 (.csv.gz 업로드도 .csv로 표시)
+        private boolean gzipEncoded;    // true면 Content-Encoding: gzip
+    }
+
+    // [오류 리포트] : 원문 행을 읽을 보관본, 표시 파일명, 저장된 오류 행 색인
+    @Getter
+    @AllArgsConstructor
+    public static class ErrorReport {
+        private Path storedFile;
+        private String fileName;        // {원본 이름}_errors.csv
+        private ErrorRowIndex errors;
+        private GzipRestartPoints restarts; // gzip 보관본의 재시작 지점 (없으면 빈 목록)
+    }
+
     // 리포트 표지 정보 응답을 위한 DTO (기존 ReportCoverDTO 역할)
     @Getter
     @Setter
@@ -7,6 +7,7 @@ import org.apache.tomcat.util.http.fileupload.FileUploadException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.crossstore.ChangeSetPersister.NotFoundException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -42,6 +43,14 @@ public class GlobalExceptionHandler {
     }
     
     
+    // 적재 대기열 초과 - 잠시 후 다시 업로드
+    @ExceptionHandler(IngestQueueFullException.class)
+    public ResponseEntity<String> handleIngestQueueFull(IngestQueueFullException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "30")
+                .body("업로드를 접수할 수 없습니다: " + ex.getMessage());
+    }
+    
     //  4. 파일 접근 권한 예외
     @ExceptionHandler(FileAccessDeniedException.class)
     public ResponseEntity<String> handleAccessDenied(FileAccessDeniedException ex) {
@@ -0,0 +1,9 @@
+package edu.pnu.exception;
+
+// 적재 대기열(ingestExecutor)이 가득 차 업로드를 접수할 수 없을 때
+public class IngestQueueFullException extends RuntimeException {
+	private static final long serialVersionUID = 1L;
+    public IngestQueueFullException(String msg) {
+    	super(msg);
+    	}
+}
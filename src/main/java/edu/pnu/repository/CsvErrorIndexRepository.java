@@ -0,0 +1,8 @@
+package edu.pnu.repository;
+
+import edu.pnu.domain.CsvErrorIndex;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface CsvErrorIndexRepository extends JpaRepository<CsvErrorIndex, Long> {
+}
@@ -2,6 +2,7 @@ package edu.pnu.repository;
 
 
 import edu.pnu.domain.CsvFile;
+import edu.pnu.domain.IngestStatus;
 
 import java.util.List;
 import java.util.Optional;
@@ -31,5 +32,42 @@ public interface CsvFileRepository extends JpaRepository<CsvFile, Long> {
     // DataShareService에서 가장 최근 파일을 찾기 위한 쿼리
     Optional<CsvFile> findTopByOrderByFileIdDesc();
 
+    // CsvIngestJobService.resumeInterruptedUploads()
+    // 서버 재시작 시 적재가 끝나지 않은 업로드 조회 (업로더 userId가 필요하므로 member까지 조회)
+    @Query("""
+                SELECT c
+                FROM CsvFile c
+                JOIN FETCH c.member
+                WHERE c.ingestStatus IN :statuses
+                ORDER BY c.fileId
+            """)
+    List<CsvFile> findByIngestStatusIn(@Param("statuses") List<IngestStatus> statuses);
+
+    // CsvSaveService.linkToAnalysedDuplicate()
+    // 같은 위치에서 같은 내용(SHA-256)으로 업로드되어 적재와 분석(AnalysisSummary)까지 끝난 원본 업로드
+    @Query("""
+                SELECT c
+                FROM CsvFile c
+                JOIN c.member m
+                WHERE c.contentHash = :contentHash
+                    AND c.duplicateOfFileId IS NULL
+                    AND (c.ingestStatus IS NULL OR c.ingestStatus = edu.pnu.domain.IngestStatus.COMPLETED)
+                    AND m.assetLocation.locationId = :locationId
+                    AND EXISTS (SELECT 1 FROM AnalysisSummary s WHERE s.fileId = c.fileId)
+                ORDER BY c.fileId
+            """)
+    List<CsvFile> findAnalysedByContentHash(
+            @Param("contentHash") String contentHash,
+            @Param("locationId") Long locationId,
+            Pageable pageable);
+
+    // AiAnalysisService.sendAndReceiveFromAi() : 세션 없이 업로더 userId만 조회 (member LAZY 연관을 초기화하지 않음)
+    @Query("SELECT m.userId FROM CsvFile c JOIN c.member m WHERE c.fileId = :fileId")
+    Optional<String> findUploaderUserId(@Param("fileId") Long fileId);
+
+    // 분석 결과를 조회할 fileId (중복 업로드면 원본 fileId)
+    @Query("SELECT COALESCE(c.duplicateOfFileId, c.fileId) FROM CsvFile c WHERE c.fileId = :fileId")
+    Optional<Long> findAnalysisFileId(@Param("fileId") Long fileId);
+
 
 }
@@ -8,7 +8,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
 public interface CsvLocationRepository extends JpaRepository<CsvLocation, Long> {
-	// CSV 파싱 시 중복 체크를 위해 파일 내 모든 locationId를 조회
+	// CsvLocationRegistry 초기 적재용 : 등록된 모든 locationId를 조회 (애플리케이션 기동 후 1회)
 		
 	@Query("""			
 			SELECT cl.csvLocationId
@@ -19,7 +19,7 @@ public interface CsvProductRepository extends JpaRepository<CsvProduct, Long> {
     		""")
     List<CsvProduct> findAllByFileId(@Param("fileId") Long fileId);
     
-    // CsvSaveService.postCsvAndTriggerAsyncProcessing()
+    // CsvSaveService.ingestStoredFile()
     // Key-Value 형태의 Map을 반환하기 위해 List<Object[]>를 먼저 조회
     @Query("""
     		SELECT p.csvEpcCompany, p.csvEpcProduct, p 
@@ -13,7 +13,7 @@ import org.springframework.data.repository.query.Param;
 
 public interface EpcRepository extends JpaRepository<Epc, Long> {
     
-	// CsvSaveService.postCsvAndTriggerAsyncProcessing()
+	// CsvSaveService.ingestStoredFile()
 	// CSV 파싱 시 중복 체크를 위해 파일 내 모든 epcCode를 조회
     @Query("""
     		SELECT e.epcCode 
@@ -23,7 +23,7 @@ public interface EpcRepository extends JpaRepository<Epc, Long> {
     Set<String> findAllEpcCodesByFileId(@Param("fileId") Long fileId);
     
     
-    // CsvSaveService.postCsvAndTriggerAsyncProcessing()
+    // CsvSaveService.ingestStoredFile()
     //	Map 반환을 위한 쿼리
     @Query("""
     		SELECT e.epcCode, e 
@@ -33,7 +33,7 @@ public interface EpcRepository extends JpaRepository<Epc, Long> {
     List<Object[]> findAllByFileIdForMap(@Param("fileId") Long fileId);
 
     
-    // CsvSaveService.postCsvAndTriggerAsyncProcessing()
+    // CsvSaveService.ingestStoredFile()
     // Default 메서드를 사용하여 Map 변환 로직 캡슐화
     default Map<String, Epc> findAllByFileIdAsMap(Long fileId) {
         return findAllByFileIdForMap(fileId).stream()
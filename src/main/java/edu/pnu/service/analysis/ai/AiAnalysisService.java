@@ -7,25 +7,28 @@ import edu.pnu.domain.EventHistory;
 import edu.pnu.dto.AiCommunicationDTO;
 import edu.pnu.repository.AiAnalysisRepository;
 import edu.pnu.repository.CsvFileRepository;
-import edu.pnu.repository.EventHistoryRepository;
+import edu.pnu.service.analysis.events.EventColumn;
+import edu.pnu.service.analysis.events.EventRow;
+import edu.pnu.service.analysis.events.EventScanner;
 import edu.pnu.service.messaging.WebSocketService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.HashMap;
-import java.util.LinkedHashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Callable;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.RestTemplate;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -36,11 +39,15 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 public class AiAnalysisService {
 
     private final CsvFileRepository csvRepo;
-    private final EventHistoryRepository eventHistoryRepo;
+    private final EventScanner eventScanner;
     private final AiAnalysisRepository aiAnalysisRepo;
     private final WebSocketService webSocketService;
     private final AiClientProperties aiClientProperties;
 
+    // AI 전송에 필요한 컬럼만 조회 (event_id, epc_id, event_time 은 항상 포함)
+    private static final Set<EventColumn> EXPORT_COLUMNS =
+            EnumSet.of(EventColumn.EPC_CODE, EventColumn.LOCATION, EventColumn.BUSINESS_STEP, EventColumn.EVENT_TYPE);
+
     // JSON 직/역직렬화를 위한 Jackson 매퍼 (요청/응답 변환에 사용)
     private final ObjectMapper om = new ObjectMapper();
 
@@ -60,71 +67,73 @@ public class AiAnalysisService {
     }
 
 
-    //  ■■■■■■■■■■■■■  [Export] 특정 fileId의 EventHistory → AI 전송용 DTO로 변환  ■■■■■■■■■■■■■
-    //  - DB에서 fileId에 해당하는 이벤트들을 조회
-    //  - EPC 코드별로 그룹핑하여 AiCommunicationDTO.ExportRequest 리스트로 변환
-    //  - EventHistory → EventData 매핑은 toEventData(eh) 담당
-    @Transactional(readOnly = true)
-    public List<AiCommunicationDTO.ExportRequest> exportByFileId(Long fileId) {
+    //  ■■■■■■■■■■■■■  [Export] 특정 fileId의 EventHistory → AI 전송용 DTO 묶음으로 페이지 조회  ■■■■■■■■■■■■■
+    //  - epc_id keyset 페이지 : 다음 batchSize개 EPC의 상한을 구해 그 구간만 EventScanner로 읽음 (엔티티 로딩 없음)
+    //  - 구간 스캔이 끝나 결과셋을 닫은 뒤 sink 호출 → AI 전송/재시도/대기 동안 열린 커서가 없음
+    //  - 메모리는 전송 배치 하나 분량 (파일 전체 DTO 목록을 만들지 않음), 전달한 EPC 수 반환
+    public long exportByFileId(Long fileId, int batchSize, Consumer<List<AiCommunicationDTO.ExportRequest>> sink) {
 
         // [1] fileId null 체크를 쿼리 전에!
         if (fileId == null)
             throw new IllegalArgumentException("fileId is null");
 
-        // [2] 쿼리 실행
-        List<EventHistory> rows = eventHistoryRepo.findAllByCsv_FileIdForAiExport(fileId);
-
-        Map<String, List<EventHistory>> byEpc = rows.stream()
-                .collect(Collectors.groupingBy(e -> e.getEpc().getEpcCode(),
-                        LinkedHashMap::new, Collectors.toList()));
-
-        List<AiCommunicationDTO.ExportRequest> result = new ArrayList<>(byEpc.size());
-        for (Map.Entry<String, List<EventHistory>> e : byEpc.entrySet()) {
-            List<AiCommunicationDTO.EventData> events = e.getValue().stream()
-                    .map(this::toEventData)
-                    .toList();
-            result.add(AiCommunicationDTO.ExportRequest.builder()
-                    .epcCode(e.getKey())
-                    .events(events)
-                    .build());
+        // [2] EPC 구간 단위 조회 → 배치 단위 전달
+        final List<AiCommunicationDTO.ExportRequest> batch = new ArrayList<>(batchSize);
+        long epcs = 0;
+        long afterEpcId = 0;
+        Long toEpcId;
+        while ((toEpcId = eventScanner.nextEpcBound(fileId, afterEpcId, batchSize)) != null) {
+            batch.clear();
+            epcs += eventScanner.scanByEpc(fileId, afterEpcId, toEpcId, EXPORT_COLUMNS, events -> {
+                List<AiCommunicationDTO.EventData> data = new ArrayList<>(events.size());
+                for (EventRow row : events) data.add(toEventData(row));
+                batch.add(AiCommunicationDTO.ExportRequest.builder()
+                        .epcCode(events.get(0).getEpcCode())
+                        .events(data)
+                        .build());
+            });
+            if (!batch.isEmpty()) sink.accept(batch);
+            afterEpcId = toEpcId;
         }
-        return result;
+        return epcs;
     }
 
     //	 ■■■■■■■■■■  [전송/수신] AI 서버에 데이터 전송 및 결과 수신/저장 메인 로직  ■■■■■■■■■■
     //  흐름:
     //   1) 업로더 userId 조회 → 진행상황 WebSocket 통지 채널 확보
-    //   2) exportByFileId로 EPC 단위 DTO 구축
-    //   3) 배치 사이즈로 분할하여 {"data":[...]} 형식으로 POST
+    //   2) exportByFileId로 EPC 단위 DTO를 배치 사이즈만큼 스트리밍
+    //   3) 배치마다 {"data":[...]} 형식으로 POST
     //   4) 응답(JSON)을 parseImportPayload로 파싱(List<ImportPayload> 또는 단건)
     //   5) saveAiAnalyses로 AiAnalysis 엔티티 저장 (EventHistory:AiAnalysis = 1:1)
     //   6) 배치 간 딜레이/재시도는 설정 값(aiClientProperties) 사용
-    @Transactional  // 반드시 readOnly = false 또는 생략!
+    //  배치마다 저장/커밋하므로 메서드 트랜잭션을 두지 않음 (taskExecutor 스레드, 세션 없음)
+    //  → 업로더 userId는 엔티티 LAZY 연관 대신 projection 쿼리로 조회
     public void sendAndReceiveFromAi(Long fileId) {
-        CsvFile csv = csvRepo.findById(fileId)
-                .orElseThrow(() -> new IllegalArgumentException("Csv not found: " + fileId));
-        final String userId = csv.getMember() != null ? csv.getMember().getUserId() : null;
+        if (!csvRepo.existsById(fileId)) {
+            throw new IllegalArgumentException("Csv not found: " + fileId);
+        }
+        final String userId = csvRepo.findUploaderUserId(fileId).orElse(null);
 
-        notify(userId, "[AI] 이벤트 수집 시작");
-        List<AiCommunicationDTO.ExportRequest> dtoList = exportByFileId(fileId);
-        if (dtoList.isEmpty()) {
+        final long total = eventScanner.countEpcs(fileId);
+        if (total == 0) {
             notify(userId, "[AI] 전송할 이벤트 없음");
             return;
         }
-        notify(userId, "[AI] 이벤트 수집 완료: EPC " + dtoList.size() + "개");
+        notify(userId, "[AI] 이벤트 전송 시작: EPC " + total + "개");
 
         RestTemplate rest = restTemplate(aiClientProperties.getRestConnectTimeout(),
                 aiClientProperties.getRestReadTimeout());
 
-        int total = dtoList.size();
-        int savedTotal = 0;
+        final int batchSize = aiClientProperties.getBatchSize();
+        final long[] sent = {0};
+        final int[] savedTotal = {0};
 
-        for (int i = 0; i < total; i += aiClientProperties.getBatchSize()) {
-            int end = Math.min(i + aiClientProperties.getBatchSize(), total);
-            List<AiCommunicationDTO.ExportRequest> batch = dtoList.subList(i, end);
-            int batchIndex = (i / aiClientProperties.getBatchSize()) + 1;
+        exportByFileId(fileId, batchSize, batch -> {
+            long from = sent[0] + 1;
+            sent[0] += batch.size();
+            int batchIndex = (int) ((from - 1) / batchSize) + 1;
 
-            notify(userId, String.format("[AI] 전송: EPC %d ~ %d / %d", i + 1, end, total));
+            notify(userId, String.format("[AI] 전송: EPC %d ~ %d / %d", from, sent[0], total));
 
 
             String reqJson = wrapAsV1DataArray(batch);
@@ -136,27 +145,36 @@ public class AiAnalysisService {
             );
 
             List<AiCommunicationDTO.ImportPayload> payloads = parseImportPayload(respJson);
-            int saved = saveAiAnalyses(payloads);
-            savedTotal += saved;
+            int saved = saveAiAnalyses(payloads, sentEventIds(batch));
+            savedTotal[0] += saved;
 
-            notify(userId, String.format("[AI] 수신/저장: %d건 (누적 %d)", saved, savedTotal));
+            notify(userId, String.format("[AI] 수신/저장: %d건 (누적 %d)", saved, savedTotal[0]));
             sleep(aiClientProperties.getBatchDelayMs());
-        }
+        });
 
-        notify(userId, "[AI] 전체 처리 완료: 총 저장 " + savedTotal + "건");
+        notify(userId, "[AI] 전체 처리 완료: 총 저장 " + savedTotal[0] + "건");
     }
 
-    //  ■■■■■■■■■■■■■  [매핑] EventHistory → AI 전송 이벤트 DTO(EventData) 변환  ■■■■■■■■■■■■■
-    private AiCommunicationDTO.EventData toEventData(EventHistory eh) {
+    //  ■■■■■■■■■■■■■  [매핑] EventRow → AI 전송 이벤트 DTO(EventData) 변환  ■■■■■■■■■■■■■
+    private AiCommunicationDTO.EventData toEventData(EventRow row) {
         return AiCommunicationDTO.EventData.builder()
-                .eventId(eh.getEventId())
-                .locationId(eh.getCsvLocation().getCsvLocationId())
-                .businessStep(eh.getBusinessStep())
-                .eventType(eh.getEventType())
-                .eventTime(eh.getEventTime())
+                .eventId(row.getEventId())
+                .locationId(row.getLocationId())
+                .businessStep(row.getBusinessStep())
+                .eventType(row.getEventType())
+                .eventTime(row.getEventDateTime())
                 .build();
     }
 
+    // 배치로 보낸 event_id 집합 (응답 검증용)
+    private Set<Long> sentEventIds(List<AiCommunicationDTO.ExportRequest> batch) {
+        Set<Long> ids = new HashSet<>();
+        for (AiCommunicationDTO.ExportRequest r : batch) {
+            for (AiCommunicationDTO.EventData e : r.getEvents()) ids.add(e.getEventId());
+        }
+        return ids;
+    }
+
     //  ■■■■■■■■■■■■■  [파싱] AI 응답(JSON) → ImportPayload(List or 단건) 변환  ■■■■■■■■■■■■■
     //  - 1순위: List<ImportPayload> 파싱 시도
     //  - 실패 시: 단일 ImportPayload 파싱 재시도
@@ -178,10 +196,9 @@ public class AiAnalysisService {
     }
 
     //  ■■■■■■■■■■■■■  [저장] ImportPayload → AiAnalysis 엔티티(점수 기반) 일괄 저장  ■■■■■■■■■■■■■
-    //  - payloads의 eventId마다 EventHistory 조회 → AiAnalysis(event, anomalyScore) 생성
-    //  - list가 비어있지 않으면 saveAll
-    @Transactional
-    protected int saveAiAnalyses(List<AiCommunicationDTO.ImportPayload> items) {
+    //  - 이번 배치로 보낸 eventId만 수용 → 이벤트마다 findById 하지 않고 event_id 참조로 AiAnalysis(event, anomalyScore) 생성
+    //  - list가 비어있지 않으면 saveAll (배치 단위 트랜잭션)
+    protected int saveAiAnalyses(List<AiCommunicationDTO.ImportPayload> items, Set<Long> sentEventIds) {
         if (items == null || items.isEmpty()) return 0;
         List<AiAnalysis> list = new ArrayList<>();
 
@@ -191,11 +208,10 @@ public class AiAnalysisService {
             for (AiCommunicationDTO.AnomalyEvent a : p.getEventHistory()) {
                 if (a.getEventId() == null) continue;
 
-                EventHistory eh = eventHistoryRepo.findById(a.getEventId()).orElse(null);
-                if (eh == null) continue;
+                if (!sentEventIds.contains(a.getEventId())) continue;
 
                 list.add(AiAnalysis.builder()
-                        .eventHistory(eh)
+                        .eventHistory(EventHistory.builder().eventId(a.getEventId()).build())
                         .anomalyScore(a.getAnomalyScore())
                         .build());
             }
@@ -2,25 +2,31 @@ package edu.pnu.service.analysis.be;
 
 import edu.pnu.domain.CsvRoute;
 import edu.pnu.domain.BeAnalysis;
-import edu.pnu.domain.EventHistory;
 import edu.pnu.repository.CsvRouteRepository;
-import edu.pnu.repository.EventHistoryRepository;
 import edu.pnu.service.analysis.be.api.BeDetector;
 import edu.pnu.service.analysis.be.support.AssetCache;
 import edu.pnu.service.analysis.be.support.BeAnalysisBatchSaver;
+import edu.pnu.service.analysis.be.support.EpcTripCursor;
+import edu.pnu.service.analysis.events.EventColumn;
+import edu.pnu.service.analysis.events.EventRow;
+import edu.pnu.service.analysis.events.EventScanner;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,19 +34,48 @@ import org.springframework.transaction.annotation.Transactional;
 @Service
 @RequiredArgsConstructor
 public class BeAnalysisService {
-    private final EventHistoryRepository eventHistoryRepo;
+    private final EventScanner eventScanner;
     private final CsvRouteRepository analysisTripRepo;
     private final BeAnalysisBatchSaver batchSaver;
     private final AssetCache assetCache;
     private final List<BeDetector> detectors;
+    private final DataSource dataSource;
+
+    // 탐지기가 쓰는 컬럼만 조회 (event_id, epc_id, event_time 은 항상 포함)
+    private static final Set<EventColumn> DETECT_COLUMNS = EnumSet.of(
+            EventColumn.EPC_CODE, EventColumn.EPC_LOT_SERIAL, EventColumn.LOCATION, EventColumn.PRODUCT);
+
+    // 스트리밍 모드에서 한 번에 저장할 이상 건수 (대기 목록 상한)
+    private static final int STREAMING_SAVE_BATCH = 1000;
+
+    // 탐지 모드 : batch(파일 전체를 EPC별 맵으로 올린 뒤 탐지기별 실행) / streaming(EPC 하나씩 모든 탐지기 실행 후 버림)
+    @Value("${analysis.be.mode:batch}")
+    private BeMode mode;
+
+    public enum BeMode { BATCH, STREAMING }
 
     @Transactional(readOnly = true)
     public void executeAnalysis(Long fileId) {
-        log.info("[시작] fileId={}의 백엔드 이상 탐지(BeAnalysis)를 시작합니다.", fileId);
+        log.info("[시작] fileId={}의 백엔드 이상 탐지(BeAnalysis)를 시작합니다. mode={}", fileId, mode);
+        if (mode == BeMode.STREAMING) {
+            executeStreaming(fileId);
+        } else {
+            executeBatch(fileId);
+        }
+    }
+
+    // ■■■■■■■■■■■■■■ [ batch 모드 ] ■■■■■■■■■■■■■
+    private void executeBatch(Long fileId) {
 
-        // 1. 분석에 필요한 모든 EventHistory와 AnalysisTrip 데이터를 한 번에 로드
-        List<EventHistory> allEvents = eventHistoryRepo.findAllWithDetailsByFileId(fileId);
-        if (allEvents.isEmpty()) {
+        // 1. 분석에 필요한 EventHistory 컬럼을 EventScanner로 읽어 EPC 코드별로 그룹화
+        //    (epc_id, event_time) 순으로 읽으므로 EPC별 목록은 이미 시간순
+        Map<String, List<EventRow>> eventsByEpc = new HashMap<>();
+        eventScanner.scanByEpc(fileId, DETECT_COLUMNS, events -> {
+            List<EventRow> copies = new ArrayList<>(events.size());
+            for (EventRow row : events) copies.add(row.copy());
+            eventsByEpc.put(events.get(0).getEpcCode(), copies);
+        });
+        if (eventsByEpc.isEmpty()) {
             log.warn("fileId={}에 대한 이벤트가 없어 분석을 종료합니다.", fileId);
             return;
         }
@@ -51,16 +86,10 @@ public class BeAnalysisService {
             s.forEach(t -> tripsByEpc.computeIfAbsent(t.getEpc().getEpcCode(), k -> new ArrayList<>()).add(t));
         }
 
-        // 2. EPC 코드로 EventHistory 그룹화 및 시간순 정렬
-        Map<String, List<EventHistory>> eventsByEpc = allEvents.stream()
-                .collect(Collectors.groupingBy(event -> event.getEpc().getEpcCode()));
-
-        eventsByEpc.values().forEach(list -> list.sort(Comparator.comparing(EventHistory::getEventTime)));
-
         List<BeAnalysis> totalAnomalies = new ArrayList<>();
         Set<String> alreadyDetectedEpcIds = new HashSet<>();
 
-        // 3. 우선순위에 따라 Detector 순차 실행
+        // 2. 우선순위에 따라 Detector 순차 실행
         detectors.stream()
                 .sorted(Comparator.comparingInt(BeDetector::getPriority))
                 .forEach(detector -> {
@@ -76,11 +105,63 @@ public class BeAnalysisService {
                     }
                 });
 
-        // 4. 최종 결과 배치 저장
+        // 3. 최종 결과 배치 저장
         if (!totalAnomalies.isEmpty()) {
             batchSaver.saveAll(totalAnomalies);
         }
 
         log.info("[완료] fileId={}의 백엔드 이상 탐지를 완료했습니다. 총 {}건의 이상 발견.", fileId, totalAnomalies.size());
     }
+
+    // ■■■■■■■■■■■■■■ [ streaming 모드 ] ■■■■■■■■■■■■■
+    // - 이벤트(EventScanner)와 경로(EpcTripCursor)를 epc_id 순으로 나란히 읽어 EPC 하나씩 모든 탐지기에 우선순위 순으로 전달
+    // - 탐지기는 EPC 코드 키로만 판단하고 alreadyDetectedEpcIds도 EPC 단위이므로, EPC 하나짜리 맵으로 호출한 결과는 batch 모드와 같음
+    // - 이상은 대기 목록(최대 STREAMING_SAVE_BATCH건)이 차면 저장하고 비움 → 힙은 가장 긴 EPC 이력 + 저장 대기분
+    private void executeStreaming(Long fileId) {
+        final List<BeDetector> ordered = detectors.stream()
+                .sorted(Comparator.comparingInt(BeDetector::getPriority))
+                .toList();
+        final Map<String, Long> foundByDetector = new LinkedHashMap<>();
+        ordered.forEach(d -> foundByDetector.put(d.getClass().getSimpleName(), 0L));
+
+        final List<BeAnalysis> pending = new ArrayList<>(STREAMING_SAVE_BATCH);
+        final Set<String> alreadyDetectedEpcIds = new HashSet<>();
+        final long[] total = {0};
+
+        long epcs;
+        try (EpcTripCursor tripCursor = new EpcTripCursor(dataSource, fileId)) {
+            epcs = eventScanner.scanByEpc(fileId, DETECT_COLUMNS, events -> {
+                final String epcCode = events.get(0).getEpcCode();
+                final List<CsvRoute> trips = tripCursor.tripsOf(events.get(0).getEpcId());
+                final Map<String, List<EventRow>> eventsByEpc = Map.of(epcCode, events);
+                final Map<String, List<CsvRoute>> tripsByEpc = trips.isEmpty() ? Map.of() : Map.of(epcCode, trips);
+
+                alreadyDetectedEpcIds.clear();
+                for (BeDetector detector : ordered) {
+                    List<BeAnalysis> found = detector.detect(eventsByEpc, tripsByEpc, alreadyDetectedEpcIds, assetCache);
+                    if (found.isEmpty()) continue;
+                    pending.addAll(found);
+                    foundByDetector.merge(detector.getClass().getSimpleName(), (long) found.size(), Long::sum);
+                }
+                if (pending.size() >= STREAMING_SAVE_BATCH) {
+                    total[0] += pending.size();
+                    batchSaver.saveAll(pending);
+                    pending.clear();
+                }
+            });
+        }
+        if (!pending.isEmpty()) {
+            total[0] += pending.size();
+            batchSaver.saveAll(pending);
+        }
+
+        if (epcs == 0) {
+            log.warn("fileId={}에 대한 이벤트가 없어 분석을 종료합니다.", fileId);
+            return;
+        }
+        foundByDetector.forEach((name, count) -> {
+            if (count > 0) log.info("[완료] [{}] 에서 {}건의 이상을 탐지했습니다.", name, count);
+        });
+        log.info("[완료] fileId={}의 백엔드 이상 탐지를 완료했습니다. EPC {}개, 총 {}건의 이상 발견.", fileId, epcs, total[0]);
+    }
 }
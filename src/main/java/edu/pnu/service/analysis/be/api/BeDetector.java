@@ -2,8 +2,8 @@ package edu.pnu.service.analysis.be.api;
 
 import edu.pnu.domain.CsvRoute;
 import edu.pnu.domain.BeAnalysis;
-import edu.pnu.domain.EventHistory;
 import edu.pnu.service.analysis.be.support.AssetCache;
+import edu.pnu.service.analysis.events.EventRow;
 
 import java.util.List;
 import java.util.Map;
@@ -17,14 +17,13 @@ public interface BeDetector {
 
     /**
      * 이상 징후를 탐지하여 BeAnalysis 엔티티 목록을 반환합니다.
-     * @param eventsByEpc EPC 코드로 그룹화된 전체 이벤트 기록 맵
+     * @param eventsByEpc EPC 코드로 그룹화된 전체 이벤트 기록 맵 (EventScanner가 읽은 행, EPC별 시간순)
      * @param alreadyDetectedEpcIds 다른 탐지기에 의해 이미 이상으로 판정된 EPC ID Set
      * @param assetCache 미리 로드된 기준 정보 캐시
      * @return 탐지된 이상 징후(BeAnalysis) 목록
      */
     List<BeAnalysis> detect(
-            Map<String,
-            List<EventHistory>> eventsByEpc,
+            Map<String, List<EventRow>> eventsByEpc,
             Map<String, List<CsvRoute>> tripsByEpc,
             Set<String> alreadyDetectedEpcIds,
             AssetCache assetCache
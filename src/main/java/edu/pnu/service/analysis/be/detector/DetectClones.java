@@ -5,6 +5,7 @@ import edu.pnu.domain.BeAnalysis;
 import edu.pnu.domain.EventHistory;
 import edu.pnu.service.analysis.be.api.BeDetector;
 import edu.pnu.service.analysis.be.support.AssetCache;
+import edu.pnu.service.analysis.events.EventRow;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -25,7 +26,7 @@ public class DetectClones implements BeDetector {
 
 
     @Override
-    public List<BeAnalysis> detect(Map<String, List<EventHistory>> eventsByEpc,
+    public List<BeAnalysis> detect(Map<String, List<EventRow>> eventsByEpc,
                                    Map<String, List<CsvRoute>> tripsByEpc,
                                    Set<String> alreadyDetectedEpcIds,
                                    AssetCache assetCache) {
@@ -33,7 +34,7 @@ public class DetectClones implements BeDetector {
         List<BeAnalysis> results = new ArrayList<>();
         Set<String> validRoutes = assetCache.getValidRoutes();
         if (tripsByEpc == null || tripsByEpc.isEmpty()) {
-            log.info("[DetectRouteViolation] tripsByEpc가 비어있습니다. 검사 종료.");
+            log.debug("[DetectRouteViolation] tripsByEpc가 비어있습니다. 검사 종료."); // 스트리밍 모드에서는 경로 없는 EPC마다 호출됨
             return results;
         }
 
@@ -72,7 +73,7 @@ public class DetectClones implements BeDetector {
 
                 if (!validRoutes.contains(currentRoute)) {
                     // 연관 EventHistory를 찾아 이상 기록용 이벤트를 확보
-                    EventHistory relatedEvent = findEventById(eventsByEpc.get(epcCode), trip.getRelatedEventId());
+                    EventRow relatedEvent = findEventById(eventsByEpc.get(epcCode), trip.getRelatedEventId());
 
                     if (relatedEvent == null) {
                         // EventHistory가 없으면 이상을 저장할 수 없음 — 운영 로그 남김, 검사 계속 (기록하지 않음)
@@ -97,17 +98,17 @@ public class DetectClones implements BeDetector {
         return results;
     }
 
-    // EventHistory 조회 헬퍼 (null-safe)
-    private EventHistory findEventById(List<EventHistory> events, Long eventId) {
+    // EventRow 조회 헬퍼 (null-safe)
+    private EventRow findEventById(List<EventRow> events, Long eventId) {
         if (events == null || eventId == null) return null;
-        return events.stream().filter(e -> eventId.equals(e.getEventId())).findFirst().orElse(null);
+        return events.stream().filter(e -> eventId == e.getEventId()).findFirst().orElse(null);
     }
 
-    // BeAnalysis 빌더 (event null이면 null 반환)
-    private BeAnalysis createAnomaly(EventHistory event, String type, String detail) {
+    // BeAnalysis 빌더 (event null이면 null 반환, EventHistory는 event_id 참조만 채움)
+    private BeAnalysis createAnomaly(EventRow event, String type, String detail) {
         if (event == null) return null;
         return BeAnalysis.builder()
-                .eventHistory(event)
+                .eventHistory(EventHistory.builder().eventId(event.getEventId()).build())
                 .anomalyType(type)
                 .anomalyDetailedType(detail)
                 .analyzedAt(LocalDateTime.now())
@@ -6,15 +6,14 @@ import edu.pnu.domain.EventHistory;
 import edu.pnu.service.analysis.be.api.BeDetector;
 import edu.pnu.service.analysis.be.support.AssetCache;
 import edu.pnu.service.analysis.be.support.EpcSerialValidatorService;
+import edu.pnu.service.analysis.events.EventRow;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Set;
 
 import org.springframework.stereotype.Component;
@@ -28,7 +27,7 @@ public class DetectProductMismatch implements BeDetector {
 
     @Override
     public List<BeAnalysis> detect(
-            Map<String, List<EventHistory>> eventsByEpc,
+            Map<String, List<EventRow>> eventsByEpc,
             Map<String, List<CsvRoute>> tripsByEpc,
             Set<String> alreadyDetectedEpcIds,
             AssetCache assetCache) {
@@ -36,35 +35,23 @@ public class DetectProductMismatch implements BeDetector {
         List<BeAnalysis> results = new ArrayList<>();
         Set<String> knownLots = serialValidator.getAllKnownLots();
 
-        for (Map.Entry<String, List<EventHistory>> entry : eventsByEpc.entrySet()) {
+        for (Map.Entry<String, List<EventRow>> entry : eventsByEpc.entrySet()) {
             String epcCode = entry.getKey();
             if (epcCode == null) continue;
             if (alreadyDetectedEpcIds.contains(epcCode)) {
                 continue;
             }
 
-            List<EventHistory> events = entry.getValue();
+            List<EventRow> events = entry.getValue();
             if (events == null || events.isEmpty()) continue;
 
-            // 시간순 정렬 (null-safe) — representativeEvent 결정의 신뢰성 확보
-            List<EventHistory> sorted = events.stream()
-                    .filter(Objects::nonNull)
-                    .sorted(Comparator.comparing(EventHistory::getEventTime,
-                            Comparator.nullsLast(Comparator.naturalOrder())))
-                    .toList();
-            if (sorted.isEmpty()) continue;
+            // EventScanner가 (epc_id, event_time) 순으로 읽으므로 첫 행이 가장 이른 이벤트
+            // 제품/EPC 정보는 NOT NULL FK 조인으로 읽어 항상 존재
+            EventRow representativeEvent = events.get(0);
 
-            EventHistory representativeEvent = events.get(0);
-
-            if (representativeEvent.getCsvProduct() == null || representativeEvent.getEpc() == null) {
-                log.warn("[DetectProductMismatch] 대표 이벤트에 제품/epc 정보 없음: epc={}, repEventId={}",
-                        epcCode, representativeEvent.getEventId());
-                continue;
-            }
-
-            String productCode = representativeEvent.getCsvProduct().getCsvEpcProduct();
-            String companyCode = representativeEvent.getCsvProduct().getCsvEpcCompany();
-            String productName = representativeEvent.getCsvProduct().getCsvProductName();
+            String productCode = representativeEvent.getProductCode();
+            String companyCode = representativeEvent.getCompanyCode();
+            String productName = representativeEvent.getProductName();
 
             boolean isKnownProduct = assetCache.getKnownProductCodes().contains(productCode);
             boolean isKnownCompany = assetCache.getKnownCompanyCodes().contains(companyCode);
@@ -75,11 +62,11 @@ public class DetectProductMismatch implements BeDetector {
             if (!isFullMatch) {
                 boolean isPartialMatch = isKnownProduct || isKnownCompany || isKnownName;
                 // 타입 안전성: epcLot가 null이거나 non-string일 경우 대비
-                String epcLotVal = String.valueOf(representativeEvent.getEpc().getEpcLot());
+                String epcLotVal = String.valueOf(representativeEvent.getEpcLot());
                 boolean isKnownLot = epcLotVal != null && knownLots.contains(epcLotVal);
 
                 boolean isPotentialSerial = false;
-                String epcSerialStr = String.valueOf(representativeEvent.getEpc().getEpcSerial());
+                String epcSerialStr = String.valueOf(representativeEvent.getEpcSerial());
 
                 try {
                     isPotentialSerial = serialValidator.isPotentiallyValidSerial(Integer.parseInt(epcSerialStr));
@@ -94,7 +81,7 @@ public class DetectProductMismatch implements BeDetector {
                 String detail = (isPartialMatch || isKnownLot || isPotentialSerial) ? "Partial Product Info Mismatch" : "Unknown Product";
 
                 // 이벤트별로 anomaly 생성 — createAnomaly null 체크 후 추가
-                for (EventHistory event : events) {
+                for (EventRow event : events) {
                     results.add(createAnomaly(event, anomalyType, detail));
                 }
                 // 이상이 기록된 경우에만 alreadyDetected 추가
@@ -106,10 +93,10 @@ public class DetectProductMismatch implements BeDetector {
         return results;
     }
 
-    private BeAnalysis createAnomaly(EventHistory event, String type, String detail) {
+    private BeAnalysis createAnomaly(EventRow event, String type, String detail) {
         if (event == null) return null;
         return BeAnalysis.builder()
-                .eventHistory(event)
+                .eventHistory(EventHistory.builder().eventId(event.getEventId()).build())
                 .anomalyType(type)
                 .anomalyDetailedType(detail)
                 .analyzedAt(LocalDateTime.now())
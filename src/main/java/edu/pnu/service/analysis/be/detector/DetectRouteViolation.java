@@ -5,11 +5,11 @@ import edu.pnu.domain.BeAnalysis;
 import edu.pnu.domain.EventHistory;
 import edu.pnu.service.analysis.be.api.BeDetector;
 import edu.pnu.service.analysis.be.support.AssetCache;
+import edu.pnu.service.analysis.events.EventRow;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -22,48 +22,31 @@ import org.springframework.stereotype.Component;
 public class DetectRouteViolation implements BeDetector {
 
     @Override
-    public List<BeAnalysis> detect(Map<String, List<EventHistory>> eventsByEpc,
+    public List<BeAnalysis> detect(Map<String, List<EventRow>> eventsByEpc,
                                    Map<String, List<CsvRoute>> tripsByEpc,
                                    Set<String> alreadyDetectedEpcIds,
                                    AssetCache assetCache) {
         List<BeAnalysis> results = new ArrayList<>();
         Set<String> validRoutes = assetCache.getValidRoutes();
 
-        for (Map.Entry<String, List<EventHistory>> entry : eventsByEpc.entrySet()) {
+        for (Map.Entry<String, List<EventRow>> entry : eventsByEpc.entrySet()) {
             String epcCode = entry.getKey();
             // 이미 다른 높은 우선순위의 탐지기에 의해 감지되었다면 건너뜁니다.
             if (alreadyDetectedEpcIds.contains(epcCode)) {
                 continue;
             }
 
-            List<EventHistory> events = entry.getValue();
+            List<EventRow> events = entry.getValue();
 
-            // EPC별 이벤트는 시간순 정렬
-            events.sort(Comparator.comparing(EventHistory::getEventTime, Comparator.nullsLast(Comparator.naturalOrder())));
+            // EPC별 이벤트는 EventScanner가 시간순으로 읽음
             // 이벤트가 2개 이상이어야 경로가 생성됩니다.
             for (int i = 0; i < events.size() - 1; i++) {
-                EventHistory fromEvent = events.get(i);
-                EventHistory toEvent = events.get(i + 1);
+                EventRow fromEvent = events.get(i);
+                EventRow toEvent = events.get(i + 1);
 
-                if (fromEvent == null || toEvent == null) continue;
-
-                // csvLocation 혹은 locationId가 null이면 그 쌍은 검사 불가 -> 건너뜀
-                if (fromEvent.getCsvLocation() == null || toEvent.getCsvLocation() == null) {
-                    log.warn("[DetectRouteViolation] missing csvLocation: epc={}, fromEventId={}, toEventId={}",
-                            epcCode,
-                            fromEvent.getEventId(),
-                            toEvent.getEventId());
-                    continue;
-                }
-
-                Long fromLocId = fromEvent.getCsvLocation().getCsvLocationId();
-                Long toLocId = toEvent.getCsvLocation().getCsvLocationId();
-
-                if (fromLocId == null || toLocId == null) {
-                    log.warn("[DetectRouteViolation] missing locationId: epc={}, fromEventId={}, toEventId={}",
-                            epcCode, fromEvent.getEventId(), toEvent.getEventId());
-                    continue;
-                }
+                // csv_location_id는 NOT NULL 컬럼이라 항상 존재
+                long fromLocId = fromEvent.getLocationId();
+                long toLocId = toEvent.getLocationId();
 
                 // Long 타입을 String 포맷으로 결합 (예: "1->2")
                 String currentRoute = fromLocId + "->" + toLocId;
@@ -71,7 +54,7 @@ public class DetectRouteViolation implements BeDetector {
                 if (!validRoutes.contains(currentRoute)) {
                     // 도착점(toEvent) 기준으로 이상을 기록합니다.
                     BeAnalysis anomaly = new BeAnalysis();
-                    anomaly.setEventHistory(toEvent);
+                    anomaly.setEventHistory(EventHistory.builder().eventId(toEvent.getEventId()).build());
                     anomaly.setAnomalyType("Tamper");
                     anomaly.setAnomalyDetailedType("Route");
                     anomaly.setAnalyzedAt(java.time.LocalDateTime.now());
@@ -2,9 +2,11 @@ package edu.pnu.service.analysis.be.support;
 
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -32,12 +34,18 @@ public class EpcSerialValidatorService {
     // factory → (lot → serial range) 맵
     private final Map<String, Map<String, SerialRange>> factoryLotSerialRanges = new HashMap<>();
 
+    // 전체 Lot 집합 (규칙이 고정이므로 한 번만 생성, 스트리밍 BE 탐지는 EPC마다 조회함)
+    private final Set<String> allKnownLots;
+
     public EpcSerialValidatorService() {
         // v1의 초기화 로직을 그대로 사용
         factoryLotSerialRanges.put("화성", initFactoryLotsWithResets(50001, 26, 2000, 16));
         factoryLotSerialRanges.put("인천", initFactoryLotsWithResets(10001, 51, 2000, 16));
         factoryLotSerialRanges.put("구미", initFactoryLotsWithResets(150001, 11, 2000, 16));
         factoryLotSerialRanges.put("양산", initFactoryLotsWithResets(100001, 32, 2000, 16));
+        Set<String> lots = new HashSet<>();
+        factoryLotSerialRanges.values().forEach(lotMap -> lots.addAll(lotMap.keySet()));
+        allKnownLots = Collections.unmodifiableSet(lots);
         log.info("EpcSerialValidatorService 초기화 완료. 4개 공장 규칙 로드.");
     }
 
@@ -71,9 +79,24 @@ public class EpcSerialValidatorService {
      * 알려진 모든 Lot 번호를 Set으로 반환합니다. (Fake/Tamper 구분에 사용)
      */
     public Set<String> getAllKnownLots() {
-        Set<String> lots = new HashSet<>();
-        factoryLotSerialRanges.values().forEach(lotMap -> lots.addAll(lotMap.keySet()));
-        return lots;
+        return allKnownLots;
+    }
+
+    /**
+     * 공장별 Lot 번호 목록을 정의 순서대로 반환합니다. (합성 CSV 생성기에서 유효 EPC 발급에 사용)
+     */
+    public List<String> getLots(String factory) {
+        Map<String, SerialRange> lotRanges = factoryLotSerialRanges.get(factory);
+        return lotRanges == null ? List.of() : List.copyOf(lotRanges.keySet());
+    }
+
+    /**
+     * 공장/Lot의 유효 시리얼 범위 {start, end} (양 끝 포함). 정의되지 않았으면 null
+     */
+    public int[] getSerialRange(String factory, String lot) {
+        Map<String, SerialRange> lotRanges = factoryLotSerialRanges.get(factory);
+        SerialRange range = lotRanges == null ? null : lotRanges.get(lot);
+        return range == null ? null : new int[]{range.start, range.end};
     }
 
     /**
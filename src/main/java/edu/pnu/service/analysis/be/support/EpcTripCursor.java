@@ -0,0 +1,92 @@
+package edu.pnu.service.analysis.be.support;
+
+import edu.pnu.domain.CsvRoute;
+import edu.pnu.domain.Epc;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.database.JdbcCursorItemReader;
+import org.springframework.batch.item.database.builder.JdbcCursorItemReaderBuilder;
+
+/*
+ * [EPC별 경로 커서] : 파일의 CsvRoute를 epc_id 순 스트리밍 결과셋으로 읽어, 요청한 EPC의 경로만 돌려줌 (스트리밍 BE 탐지용)
+ * - EventScanner의 EPC 묶음(epc_id 오름차순)과 나란히 진행하는 병합 조인 : tripsOf(epcId)는 epc_id 오름차순으로만 호출
+ * - 탐지기가 쓰는 컬럼만 읽고 엔티티 대신 epc_id만 채운 CsvRoute를 만듦 (영속성 컨텍스트 없음)
+ * 커서는 자체 커넥션의 결과셋 (EventScanner가 쓰는 트랜잭션 커넥션과 동시에 스트리밍하기 위해)
+ */
+public class EpcTripCursor implements AutoCloseable {
+
+    private static final String SQL = "SELECT r.epc_id, r.from_location_id, r.to_location_id, "
+            + "r.from_event_time, r.to_event_time, r.related_event_id "
+            + "FROM csv_route r JOIN epc e ON e.epc_id = r.epc_id "
+            + "WHERE e.file_id = ? "
+            + "ORDER BY r.epc_id, r.from_event_time, r.trip_id";
+
+    private final JdbcCursorItemReader<CsvRoute> cursor;
+    private final List<CsvRoute> trips = new ArrayList<>();
+    private CsvRoute peeked;    // 아직 넘기지 않은 다음 EPC의 첫 경로
+    private boolean exhausted;
+
+    public EpcTripCursor(DataSource dataSource, long fileId) {
+        this.cursor = new JdbcCursorItemReaderBuilder<CsvRoute>()
+                .name("beTripCursor")
+                .dataSource(dataSource)
+                .sql(SQL)
+                .preparedStatementSetter(ps -> ps.setLong(1, fileId))
+                .rowMapper((rs, i) -> CsvRoute.builder()
+                        .epc(Epc.builder().epcId(rs.getLong(1)).build())
+                        .fromLocationId(rs.getObject(2, Long.class))
+                        .toLocationId(rs.getObject(3, Long.class))
+                        .fromEventTime(rs.getObject(4, LocalDateTime.class))
+                        .toEventTime(rs.getObject(5, LocalDateTime.class))
+                        .relatedEventId(rs.getObject(6, Long.class))
+                        .build())
+                .fetchSize(Integer.MIN_VALUE)  // Connector/J 스트리밍 결과셋
+                .verifyCursorPosition(false)   // 스트리밍 결과셋은 getRow() 미지원
+                .saveState(false)
+                .build();
+        this.cursor.open(new ExecutionContext());
+    }
+
+    // [EPC 경로] : epcId의 경로 목록 (없으면 빈 목록). 앞선 EPC의 남은 경로는 건너뜀
+    // 반환 목록은 다음 호출에서 재사용됨
+    public List<CsvRoute> tripsOf(long epcId) {
+        trips.clear();
+        while (!exhausted) {
+            CsvRoute trip = peeked != null ? peeked : read();
+            peeked = null;
+            if (trip == null) {
+                exhausted = true;
+                break;
+            }
+            long tripEpcId = trip.getEpc().getEpcId();
+            if (tripEpcId < epcId) continue;      // 이벤트가 없는 EPC의 경로
+            if (tripEpcId > epcId) {
+                peeked = trip;
+                break;
+            }
+            trips.add(trip);
+        }
+        return trips;
+    }
+
+    private CsvRoute read() {
+        try {
+            return cursor.read();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException("경로 커서를 읽을 수 없습니다.", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        cursor.close();
+    }
+}
@@ -0,0 +1,39 @@
+package edu.pnu.service.analysis.events;
+
+/*
+ * [조회 컬럼] : EventScanner가 event_history 행마다 추가로 읽을 컬럼 묶음
+ * - event_id, epc_id, event_time 은 항상 읽음 (정렬/그룹 기준)
+ * - 요청한 묶음만 SELECT에 넣고, 필요한 테이블만 JOIN (epc / csv_location / csv_product)
+ */
+public enum EventColumn {
+    EPC_CODE(Join.EPC, "e.epc_code"),
+    EPC_LOT_SERIAL(Join.EPC, "e.epc_lot", "e.epc_serial"),
+    LOCATION(Join.NONE, "eh.csv_location_id"),
+    SCAN_LOCATION(Join.LOCATION, "l.scan_location"),
+    PRODUCT(Join.PRODUCT, "eh.csv_product_id", "p.csv_epc_product", "p.csv_epc_company", "p.csv_product_name"),
+    BUSINESS_STEP(Join.NONE, "eh.business_step"),
+    EVENT_TYPE(Join.NONE, "eh.event_type"),
+    HUB_TYPE(Join.NONE, "eh.hub_type"),
+    BUSINESS_ORIGINAL(Join.NONE, "eh.business_original");
+
+    final Join join;
+    final String[] expressions;
+
+    EventColumn(Join join, String... expressions) {
+        this.join = join;
+        this.expressions = expressions;
+    }
+
+    enum Join {
+        NONE(null),
+        EPC("JOIN epc e ON e.epc_id = eh.epc_id"),
+        LOCATION("JOIN csv_location l ON l.csv_location_id = eh.csv_location_id"),
+        PRODUCT("JOIN csv_product p ON p.csv_product_id = eh.csv_product_id");
+
+        final String clause;
+
+        Join(String clause) {
+            this.clause = clause;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package edu.pnu.service.analysis.events;
+
+import edu.pnu.service.csv.support.EventTimeCodec;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/*
+ * [이벤트 행] : EventScanner가 넘기는 event_history 한 행 (엔티티/프록시/영속성 컨텍스트 없음)
+ * - 요청하지 않은 컬럼은 0 / null
+ * - 스캐너가 같은 인스턴스를 다음 행에 재사용하므로, 콜백이 끝난 뒤에도 보관하려면 copy() 사용
+ */
+@Getter
+public final class EventRow {
+
+    long eventId;
+    long epcId;
+    long eventTime;           // epoch seconds (EventTimeCodec 기준)
+    long locationId;
+    long productId;
+    String epcCode;
+    String epcLot;
+    String epcSerial;
+    String scanLocation;
+    String productCode;
+    String companyCode;
+    String productName;
+    String businessStep;
+    String eventType;
+    String hubType;
+    String businessOriginal;
+
+    public LocalDateTime getEventDateTime() {
+        return EventTimeCodec.toLocalDateTime(eventTime);
+    }
+
+    public EventRow copy() {
+        EventRow c = new EventRow();
+        c.eventId = eventId;
+        c.epcId = epcId;
+        c.eventTime = eventTime;
+        c.locationId = locationId;
+        c.productId = productId;
+        c.epcCode = epcCode;
+        c.epcLot = epcLot;
+        c.epcSerial = epcSerial;
+        c.scanLocation = scanLocation;
+        c.productCode = productCode;
+        c.companyCode = companyCode;
+        c.productName = productName;
+        c.businessStep = businessStep;
+        c.eventType = eventType;
+        c.hubType = hubType;
+        c.businessOriginal = businessOriginal;
+        return c;
+    }
+}
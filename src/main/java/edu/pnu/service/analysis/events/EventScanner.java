@@ -0,0 +1,197 @@
+package edu.pnu.service.analysis.events;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+/*
+ * [이벤트 스캐너] : 분석 단계(AI 전송/BE 탐지/KPI 집계)가 공유하는 event_history 읽기 API
+ * - 엔티티 대신 EventRow 하나를 재사용해 행마다 콜백 (영속성 컨텍스트/스냅샷/프록시 없음)
+ * - fetchSize = Integer.MIN_VALUE 스트리밍 결과셋이라 파일 크기와 무관하게 메모리 일정, 요청한 컬럼만 SELECT/JOIN
+ * - 순서 : (epc_id, event_time, event_id) → 인덱스 ix_eh_epc_time 순서 그대로 읽고, 경로 생성(EpcTripReader)과 같은 순서
+ * - EPC 구간 조회 : nextEpcBound로 다음 N개 EPC의 epc_id 상한을 구하고 (하한, 상한] 구간만 스캔 (keyset 페이지)
+ *   콜백에서 네트워크 I/O 같은 긴 작업을 해야 하면 구간마다 스캔을 끝낸 뒤 처리할 것 (결과셋을 연 채로 오래 멈추면
+ *   서버가 net_write_timeout으로 연결을 끊음)
+ * 호출 스레드에 트랜잭션이 있으면 그 커넥션으로 읽음. 스캔이 끝나기 전에는 같은 커넥션에서 다른 쿼리를 실행할 수 없으므로
+ * (MySQL 스트리밍 결과셋 제약) 콜백 안에서 저장하려면 트랜잭션 밖에서 호출해 저장이 별도 커넥션을 쓰게 할 것
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EventScanner {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // [행 단위] : 파일의 이벤트를 한 행씩 consumer에 전달, 읽은 행 수 반환 (row는 재사용됨)
+    public long scan(long fileId, Set<EventColumn> columns, Consumer<EventRow> consumer) {
+        final EventRow row = new EventRow();
+        final long[] rows = {0};
+        query(fileId, null, columns, row, r -> {
+            consumer.accept(r);
+            rows[0]++;
+        });
+        return rows[0];
+    }
+
+    // [EPC 단위] : 한 EPC의 시간순 이벤트를 모아 consumer에 전달, EPC 수 반환
+    // 목록과 행은 다음 EPC에서 재사용됨 → 메모리는 가장 긴 EPC 이력 하나 분량
+    public long scanByEpc(long fileId, Set<EventColumn> columns, Consumer<List<EventRow>> consumer) {
+        return scanByEpc(fileId, null, columns, consumer);
+    }
+
+    // [EPC 구간] : epc_id가 (afterEpcId, toEpcId] 인 EPC만 EPC 단위로 전달, EPC 수 반환
+    public long scanByEpc(long fileId, long afterEpcId, long toEpcId, Set<EventColumn> columns,
+                          Consumer<List<EventRow>> consumer) {
+        return scanByEpc(fileId, new long[]{afterEpcId, toEpcId}, columns, consumer);
+    }
+
+    // [다음 구간 상한] : afterEpcId 다음 epc_id 최대 limit개 중 마지막 epc_id (남은 EPC가 없으면 null)
+    public Long nextEpcBound(long fileId, long afterEpcId, int limit) {
+        return jdbcTemplate.queryForObject(
+                "SELECT MAX(epc_id) FROM (SELECT epc_id FROM epc WHERE file_id = ? AND epc_id > ? "
+                        + "ORDER BY epc_id LIMIT ?) page",
+                Long.class, fileId, afterEpcId, limit);
+    }
+
+    public long countEpcs(long fileId) {
+        Long n = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM epc WHERE file_id = ?", Long.class, fileId);
+        return n != null ? n : 0;
+    }
+
+    // ■■■■■■■■■■■■■■ [ Helper ] ■■■■■■■■■■■■■
+
+    private long scanByEpc(long fileId, long[] epcRange, Set<EventColumn> columns, Consumer<List<EventRow>> consumer) {
+        final EpcGrouper grouper = new EpcGrouper(consumer);
+        query(fileId, epcRange, columns, null, grouper);
+        grouper.flush();
+        return grouper.groups;
+    }
+
+    // epcRange : null이면 파일 전체, 아니면 {afterEpcId, toEpcId}
+    private void query(long fileId, long[] epcRange, Set<EventColumn> columns, EventRow fixedRow, RowHandler handler) {
+        final Set<EventColumn> selected = columns.isEmpty() ? EnumSet.noneOf(EventColumn.class) : EnumSet.copyOf(columns);
+        final String sql = buildSql(selected, epcRange != null);
+        log.debug("[EventScanner] [진입] : fileId = {}, columns = {}", fileId, selected);
+
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(Integer.MIN_VALUE); // Connector/J 스트리밍 결과셋 (전체를 메모리에 올리지 않음)
+            ps.setLong(1, fileId);
+            if (epcRange != null) {
+                ps.setLong(2, epcRange[0]);
+                ps.setLong(3, epcRange[1]);
+            }
+            return ps;
+        }, (RowCallbackHandler) rs -> {
+            EventRow row = fixedRow != null ? fixedRow : handler.target();
+            read(rs, selected, row);
+            handler.handle(row);
+        });
+    }
+
+    private static String buildSql(Set<EventColumn> selected, boolean epcRange) {
+        StringBuilder select = new StringBuilder("SELECT eh.event_id, eh.epc_id, eh.event_time");
+        Set<EventColumn.Join> joins = new LinkedHashSet<>();
+        for (EventColumn c : selected) {
+            for (String expr : c.expressions) select.append(", ").append(expr);
+            if (c.join != EventColumn.Join.NONE) joins.add(c.join);
+        }
+        select.append(" FROM event_history eh");
+        for (EventColumn.Join j : joins) select.append(' ').append(j.clause);
+        select.append(" WHERE eh.file_id = ?");
+        if (epcRange) select.append(" AND eh.epc_id > ? AND eh.epc_id <= ?");
+        return select.append(" ORDER BY eh.epc_id, eh.event_time, eh.event_id").toString();
+    }
+
+    // SELECT 순서(buildSql)와 같은 순서로 읽음
+    private static void read(ResultSet rs, Set<EventColumn> selected, EventRow row) throws SQLException {
+        row.eventId = rs.getLong(1);
+        row.epcId = rs.getLong(2);
+        LocalDateTime t = rs.getObject(3, LocalDateTime.class);
+        row.eventTime = t.toEpochSecond(ZoneOffset.UTC); // event_time NOT NULL
+        int i = 4;
+        for (EventColumn c : selected) {
+            switch (c) {
+                case EPC_CODE -> row.epcCode = rs.getString(i++);
+                case EPC_LOT_SERIAL -> {
+                    row.epcLot = rs.getString(i++);
+                    row.epcSerial = rs.getString(i++);
+                }
+                case LOCATION -> row.locationId = rs.getLong(i++);
+                case SCAN_LOCATION -> row.scanLocation = rs.getString(i++);
+                case PRODUCT -> {
+                    row.productId = rs.getLong(i++);
+                    row.productCode = rs.getString(i++);
+                    row.companyCode = rs.getString(i++);
+                    row.productName = rs.getString(i++);
+                }
+                case BUSINESS_STEP -> row.businessStep = rs.getString(i++);
+                case EVENT_TYPE -> row.eventType = rs.getString(i++);
+                case HUB_TYPE -> row.hubType = rs.getString(i++);
+                case BUSINESS_ORIGINAL -> row.businessOriginal = rs.getString(i++);
+            }
+        }
+    }
+
+    private interface RowHandler {
+        void handle(EventRow row);
+
+        default EventRow target() {
+            throw new IllegalStateException("행을 읽을 대상이 없습니다.");
+        }
+    }
+
+    // 행 풀에 바로 읽어 EPC가 바뀌면 앞 묶음을 넘기고, 새 EPC의 첫 행을 풀 맨 앞으로 옮김
+    private static final class EpcGrouper implements RowHandler {
+        private final Consumer<List<EventRow>> consumer;
+        private final List<EventRow> pool = new ArrayList<>();
+        private int size;
+        long groups;
+
+        EpcGrouper(Consumer<List<EventRow>> consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        public EventRow target() {
+            if (size == pool.size()) pool.add(new EventRow());
+            return pool.get(size);
+        }
+
+        @Override
+        public void handle(EventRow row) {
+            if (size > 0 && row.epcId != pool.get(0).epcId) {
+                emit();
+                Collections.swap(pool, 0, size);
+                size = 0;
+            }
+            size++;
+        }
+
+        void flush() {
+            if (size > 0) emit();
+            size = 0;
+        }
+
+        private void emit() {
+            consumer.accept(Collections.unmodifiableList(pool.subList(0, size)));
+            groups++;
+        }
+    }
+}
@@ -1,7 +1,6 @@
 package edu.pnu.service.analysis.statistics.process;
 
 import edu.pnu.domain.AnalysisSummary;
-import edu.pnu.domain.CsvRoute;
 import edu.pnu.domain.CsvFile;
 import edu.pnu.exception.CsvFileNotFoundException;
 import edu.pnu.repository.AiAnalysisRepository;
@@ -9,12 +8,15 @@ import edu.pnu.repository.AnalysisSummaryRepository;
 import edu.pnu.repository.CsvRouteRepository;
 import edu.pnu.repository.BeAnalysisRepository;
 import edu.pnu.repository.CsvFileRepository;
+import edu.pnu.service.analysis.events.EventColumn;
+import edu.pnu.service.analysis.events.EventRow;
+import edu.pnu.service.analysis.events.EventScanner;
 import edu.pnu.service.analysis.statistics.api.StatisticsInterface;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
-import java.time.Duration;
-import java.util.stream.Stream;
+import java.util.EnumSet;
+import java.util.function.Consumer;
 
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
@@ -28,6 +30,7 @@ public class KPIAnalysisProcess implements StatisticsInterface {
     private final AiAnalysisRepository aiAnalysisRepo;
     private final BeAnalysisRepository beAnalysisRepo;
     private final CsvFileRepository csvRepo;
+    private final EventScanner eventScanner;
 
     @Override
     public String getProcessorName() {
@@ -62,16 +65,33 @@ public class KPIAnalysisProcess implements StatisticsInterface {
         analysisSummaryRepo.save(summary);
     }
 
+    // [평균 리드타임] : 경로(CsvRoute) = EPC별 시간순 연속 이벤트 쌍이므로 경로 소요시간의 합은 EPC별 (마지막 - 처음),
+    // 경로 수는 EPC별 (이벤트 수 - 1)의 합 → event_history를 epc_id, event_time 두 컬럼만 스트리밍해서 계산 (엔티티 로딩 없음)
     private double computeAverageLeadTimeSeconds(Long fileId) {
-        long n = 0, sum = 0;
-        try (Stream<CsvRoute> s = csvRouteRepo.streamByEpc_CsvFile_FileId(fileId)) {
-            for (CsvRoute t : (Iterable<CsvRoute>) s::iterator) {
-                if (t.getFromEventTime() != null && t.getToEventTime() != null) {
-                    sum += Duration.between(t.getFromEventTime(), t.getToEventTime()).getSeconds();
-                    n++;
-                }
+        LeadTime leadTime = new LeadTime();
+        eventScanner.scan(fileId, EnumSet.noneOf(EventColumn.class), leadTime);
+        return leadTime.average();
+    }
+
+    private static final class LeadTime implements Consumer<EventRow> {
+        private long trips, seconds;
+        private long epcId = Long.MIN_VALUE, first, last;
+
+        @Override
+        public void accept(EventRow row) {
+            if (row.getEpcId() != epcId) {
+                seconds += last - first; // 직전 EPC 마감 (첫 행 전에는 0)
+                epcId = row.getEpcId();
+                first = row.getEventTime();
+            } else {
+                trips++;
             }
+            last = row.getEventTime();
+        }
+
+        double average() {
+            long total = seconds + last - first;
+            return trips == 0 ? 0.0 : (double) total / trips;
         }
-        return n == 0 ? 0.0 : (double) sum / n;
     }
 }
@@ -0,0 +1,82 @@
+package edu.pnu.service.analysis.trips;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Service;
+
+// [이동 경로 저장] : CsvRoute(csv_route)를 JdbcTemplate 배치 INSERT로 저장
+// CsvRoute는 IDENTITY 키라 Hibernate가 JDBC 배치를 끄고 행마다 INSERT함 → 키가 필요 없는 생성 단계는 JDBC로 직접 저장
+// (rewriteBatchedStatements=true 로 multi-row INSERT 전송, 호출한 트랜잭션의 커넥션을 그대로 사용)
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CsvRouteJdbcService {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void saveTrips(TripBatch batch) {
+        if (batch.isEmpty()) return;
+
+        String sql = "INSERT INTO csv_route " +
+                "(epc_id, from_location_id, to_location_id, from_scan_location, to_scan_location, " +
+                "from_business_step, to_business_step, from_event_time, to_event_time, has_anomaly, related_event_id) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(@NonNull PreparedStatement ps, int i) throws SQLException {
+                ps.setLong(1, batch.getEpcIds()[i]);
+                ps.setLong(2, batch.getFromLocationIds()[i]);
+                ps.setLong(3, batch.getToLocationIds()[i]);
+                ps.setString(4, batch.getFromScanLocations()[i]);
+                ps.setString(5, batch.getToScanLocations()[i]);
+                ps.setString(6, batch.getFromBusinessSteps()[i]);
+                ps.setString(7, batch.getToBusinessSteps()[i]);
+                ps.setObject(8, batch.getFromEventTimes()[i], Types.TIMESTAMP);
+                ps.setObject(9, batch.getToEventTimes()[i], Types.TIMESTAMP);
+                ps.setBoolean(10, false); // CsvRoute.hasAnomaly 기본값
+                ps.setLong(11, batch.getRelatedEventIds()[i]);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return batch.size();
+            }
+        });
+        log.debug("[CsvRouteJdbcService] [성공] : [saveTrips] CsvRoute batch insert 완료! 저장 건수: {}", batch.size());
+    }
+
+    // [SQL 경로 생성] : 파일의 EventHistory를 EPC별 시간순으로 LAG()해 연속 이벤트 쌍을 INSERT ... SELECT 한 번으로 저장
+    // 이벤트가 애플리케이션으로 오가지 않음 (batch.trips.engine=sql). 순서·컬럼은 JVM 엔진(EpcTripProcessor)과 동일
+    // (같은 시각의 이벤트는 event_id 순, EPC의 첫 이벤트는 출발점이 없으므로 제외)
+    public int insertTripsBySql(long fileId) {
+        String sql = "INSERT INTO csv_route " +
+                "(epc_id, from_location_id, to_location_id, from_scan_location, to_scan_location, " +
+                "from_business_step, to_business_step, from_event_time, to_event_time, has_anomaly, related_event_id) " +
+                "SELECT t.epc_id, t.from_location_id, t.csv_location_id, t.from_scan_location, t.scan_location, " +
+                "t.from_business_step, t.business_step, t.from_event_time, t.event_time, FALSE, t.event_id " +
+                "FROM (" +
+                "  SELECT eh.event_id, eh.epc_id, eh.csv_location_id, l.scan_location, eh.business_step, eh.event_time, " +
+                "         LAG(eh.csv_location_id) OVER w AS from_location_id, " +
+                "         LAG(l.scan_location) OVER w AS from_scan_location, " +
+                "         LAG(eh.business_step) OVER w AS from_business_step, " +
+                "         LAG(eh.event_time) OVER w AS from_event_time, " +
+                "         ROW_NUMBER() OVER w AS seq " +
+                "  FROM event_history eh " +
+                "  JOIN csv_location l ON l.csv_location_id = eh.csv_location_id " +
+                "  WHERE eh.file_id = ? " +
+                "  WINDOW w AS (PARTITION BY eh.epc_id ORDER BY eh.event_time, eh.event_id)" +
+                ") t " +
+                "WHERE t.seq > 1";
+        int inserted = jdbcTemplate.update(sql, fileId);
+        log.info("[CsvRouteJdbcService] [성공] : [insertTripsBySql] fileId = {}, CsvRoute {}건 생성", fileId, inserted);
+        return inserted;
+    }
+}
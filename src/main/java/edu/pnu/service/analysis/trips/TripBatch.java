@@ -0,0 +1,94 @@
+package edu.pnu.service.analysis.trips;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+// [이동 경로 배치] : 저장 전 CsvRoute 행 묶음 (struct-of-arrays)
+// CsvRouteJdbcService가 엔티티 없이 배열에서 바로 PreparedStatement에 바인딩함. clear 후 재사용
+@Getter
+public class TripBatch {
+
+    private final long[] epcIds;
+    private final long[] fromLocationIds;
+    private final long[] toLocationIds;
+    private final String[] fromScanLocations;
+    private final String[] toScanLocations;
+    private final String[] fromBusinessSteps;
+    private final String[] toBusinessSteps;
+    private final LocalDateTime[] fromEventTimes;
+    private final LocalDateTime[] toEventTimes;
+    private final long[] relatedEventIds;       // 도착점 이벤트 ID
+
+    @Getter(AccessLevel.NONE)
+    private int size;
+
+    public TripBatch(int capacity) {
+        this.epcIds = new long[capacity];
+        this.fromLocationIds = new long[capacity];
+        this.toLocationIds = new long[capacity];
+        this.fromScanLocations = new String[capacity];
+        this.toScanLocations = new String[capacity];
+        this.fromBusinessSteps = new String[capacity];
+        this.toBusinessSteps = new String[capacity];
+        this.fromEventTimes = new LocalDateTime[capacity];
+        this.toEventTimes = new LocalDateTime[capacity];
+        this.relatedEventIds = new long[capacity];
+    }
+
+    public void add(long epcId,
+                    long fromLocationId, long toLocationId,
+                    String fromScanLocation, String toScanLocation,
+                    String fromBusinessStep, String toBusinessStep,
+                    LocalDateTime fromEventTime, LocalDateTime toEventTime,
+                    long relatedEventId) {
+        epcIds[size] = epcId;
+        fromLocationIds[size] = fromLocationId;
+        toLocationIds[size] = toLocationId;
+        fromScanLocations[size] = fromScanLocation;
+        toScanLocations[size] = toScanLocation;
+        fromBusinessSteps[size] = fromBusinessStep;
+        toBusinessSteps[size] = toBusinessStep;
+        fromEventTimes[size] = fromEventTime;
+        toEventTimes[size] = toEventTime;
+        relatedEventIds[size] = relatedEventId;
+        size++;
+    }
+
+    // 다른 묶음의 행을 뒤에 이어 붙임 (남은 용량이 충분해야 함)
+    public void addAll(TripBatch other) {
+        for (int i = 0; i < other.size; i++) {
+            add(other.epcIds[i],
+                    other.fromLocationIds[i], other.toLocationIds[i],
+                    other.fromScanLocations[i], other.toScanLocations[i],
+                    other.fromBusinessSteps[i], other.toBusinessSteps[i],
+                    other.fromEventTimes[i], other.toEventTimes[i],
+                    other.relatedEventIds[i]);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean isFull() {
+        return size == epcIds.length;
+    }
+
+    // 참조 배열만 비워서 다음 묶음에 재사용 (원시 배열은 덮어씀)
+    public void clear() {
+        Arrays.fill(fromScanLocations, 0, size, null);
+        Arrays.fill(toScanLocations, 0, size, null);
+        Arrays.fill(fromBusinessSteps, 0, size, null);
+        Arrays.fill(toBusinessSteps, 0, size, null);
+        Arrays.fill(fromEventTimes, 0, size, null);
+        Arrays.fill(toEventTimes, 0, size, null);
+        size = 0;
+    }
+}
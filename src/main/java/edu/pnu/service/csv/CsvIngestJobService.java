@@ -0,0 +1,113 @@
+package edu.pnu.service.csv;
+
+import edu.pnu.config.CustomUserDetails;
+import edu.pnu.domain.CsvFile;
+import edu.pnu.domain.IngestStatus;
+import edu.pnu.exception.FileAccessDeniedException;
+import edu.pnu.exception.IngestQueueFullException;
+import edu.pnu.exception.NoDataFoundException;
+import edu.pnu.repository.CsvFileRepository;
+import edu.pnu.service.csv.ingest.IngestJob;
+import edu.pnu.service.csv.ingest.IngestJobRegistry;
+import edu.pnu.service.csv.ingest.IngestScheduler;
+import edu.pnu.service.csv.support.CsvCompression;
+import edu.pnu.service.messaging.WebSocketService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+// [업로드 접수] : 요청 스레드에서는 디스크 저장 + 메타데이터 기록만 하고, 적재는 IngestScheduler에 맡긴 뒤 jobId 반환
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CsvIngestJobService {
+
+    private final CsvSaveService csvSaveService;
+    private final CsvFileRepository csvFileRepo;
+    private final IngestJobRegistry ingestJobRegistry;
+    private final IngestScheduler ingestScheduler;
+    private final WebSocketService webSocketService;
+
+    // multipart 업로드 접수
+    public IngestJob acceptUpload(MultipartFile file, CustomUserDetails user) {
+        return submit(csvSaveService.storeUpload(file, user), user.getUserId());
+    }
+
+    // raw CSV 스트리밍 업로드 접수
+    public IngestJob acceptUploadStream(String fileName, long contentLength, InputStream body, CustomUserDetails user) {
+        return submit(csvSaveService.storeUploadStream(fileName, contentLength, body, user), user.getUserId());
+    }
+
+    // 이미 디스크에 저장된 업로드(분할 업로드 완료분) 접수
+    public IngestJob acceptStoredUpload(CsvFile csv, String userId) {
+        return submit(csv, userId);
+    }
+
+    // [상태 조회] : 본인이 접수한 작업만 조회 가능
+    public IngestJob getJob(String jobId, CustomUserDetails user) {
+        IngestJob job = ingestJobRegistry.find(jobId)
+                .orElseThrow(() -> new NoDataFoundException("적재 작업을 찾을 수 없습니다: " + jobId));
+        if (!job.getUserId().equals(user.getUserId())) {
+            throw new FileAccessDeniedException("다른 사용자의 적재 작업입니다.");
+        }
+        return job;
+    }
+
+    // [재시작 복구] : 서버가 적재 도중 종료되어 QUEUED/INGESTING 상태로 남은 업로드를 마지막 체크포인트부터 다시 적재
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedUploads() {
+        List<CsvFile> pending = csvFileRepo.findByIngestStatusIn(List.of(IngestStatus.QUEUED, IngestStatus.INGESTING));
+        for (CsvFile csv : pending) {
+            String userId = csv.getMember().getUserId();
+            IngestJob job = ingestJobRegistry.register(csv.getFileId(), userId);
+            if (schedule(job, csv)) {
+                log.info("[CsvIngestJobService] [재개] : jobId = {}, fileId = {}, 커밋된 행 = {}",
+                        job.getJobId(), csv.getFileId(), csv.getIngestedRows());
+            } else {
+                // 대기열이 가득 차면 상태를 그대로 두고 다음 재시작 때 다시 시도
+                ingestJobRegistry.remove(job);
+                log.warn("[CsvIngestJobService] [보류] : 적재 대기열 초과로 재개 보류 fileId = {}", csv.getFileId());
+            }
+        }
+    }
+
+    // 같은 위치에 같은 내용으로 분석이 끝난 업로드가 있으면 대기열에 넣지 않고 결과를 연결해 바로 완료
+    private IngestJob submit(CsvFile csv, String userId) {
+        IngestJob job = ingestJobRegistry.register(csv.getFileId(), userId);
+        Optional<CsvFile> source = csvSaveService.linkToAnalysedDuplicate(csv);
+        if (source.isPresent()) {
+            CsvFile original = source.get();
+            job.completeAsDuplicate(original.getFileId(), original.getIngestedRows() != null ? original.getIngestedRows() : 0);
+            log.info("[CsvIngestJobService] [중복] : jobId = {}, fileId = {} → 원본 fileId = {}",
+                    job.getJobId(), csv.getFileId(), original.getFileId());
+            webSocketService.sendMessage(userId, "[1단계/CSV] DONE  - 이미 분석된 파일과 내용이 같아 기존 결과를 사용합니다 (원본 fileId="
+                    + original.getFileId() + ")");
+            return job;
+        }
+        if (!schedule(job, csv)) {
+            log.warn("[CsvIngestJobService] [거절] : 적재 대기열 초과 fileId = {}", csv.getFileId());
+            ingestJobRegistry.remove(job);
+            csvSaveService.discardUpload(csv.getFileId());
+            webSocketService.sendMessage(userId, "[1단계/CSV] ERROR - 적재 대기열이 가득 찼습니다. 잠시 후 다시 업로드해 주세요.");
+            throw new IngestQueueFullException("적재 대기 중인 업로드가 너무 많습니다. 잠시 후 다시 시도해 주세요.");
+        }
+        log.info("[CsvIngestJobService] [접수] : jobId = {}, fileId = {}, user = {}", job.getJobId(), csv.getFileId(), userId);
+        webSocketService.sendMessage(userId, "[1단계/CSV] INFO  - 적재 대기열 등록 (jobId=" + job.getJobId() + ")");
+        return job;
+    }
+
+    // 적재 스케줄러에 등록 (자원이 허락하면 바로 ingestExecutor에서 실행, 아니면 사용자별 대기열에서 차례를 기다림)
+    private boolean schedule(IngestJob job, CsvFile csv) {
+        long storedBytes = csv.getFileSize() != null ? csv.getFileSize() : 0;
+        return ingestScheduler.submit(job, storedBytes, CsvCompression.isGzip(csv.getSavedFileName()),
+                () -> csvSaveService.ingestStoredFile(job));
+    }
+}
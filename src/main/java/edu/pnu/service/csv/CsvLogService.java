@@ -1,17 +1,36 @@
 package edu.pnu.service.csv;
 
+import edu.pnu.domain.CsvErrorIndex;
 import edu.pnu.domain.CsvFile;
+import edu.pnu.domain.IngestStatus;
 import edu.pnu.dto.CsvFileDTO;
+import edu.pnu.exception.BadRequestException;
 import edu.pnu.exception.CsvFileNotFoundException;
+import edu.pnu.repository.CsvErrorIndexRepository;
 import edu.pnu.repository.CsvFileRepository;
+import edu.pnu.service.csv.ingest.ErrorRowIndex;
+import edu.pnu.service.csv.support.CsvCompression;
+import edu.pnu.service.csv.support.CsvLineSeeker;
+import edu.pnu.service.csv.support.GzipRestartPoints;
+import edu.pnu.service.csv.support.RowBitmap;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.net.MalformedURLException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PrimitiveIterator;
 
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
 import org.springframework.data.domain.PageRequest;
@@ -23,6 +42,7 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class CsvLogService {
     private final CsvFileRepository csvFileRepo;
+    private final CsvErrorIndexRepository csvErrorIndexRepo;
 
 
     @Transactional(readOnly = true)
@@ -45,24 +65,108 @@ public class CsvLogService {
     }
 
     // 업로한 CSV 파일 재다운 로드
-    public Resource loadCsvResource(Long fileId) {
-        CsvFile csv = findCsvById(fileId);
+    // gzip 보관본은 클라이언트가 gzip을 받으면 압축 바이트를 그대로(Content-Encoding: gzip), 아니면 압축을 풀며 전송
+    // 중복 업로드(duplicateOfFileId)는 보관본이 없으므로 원본 업로드의 보관본을 전송
+    public CsvFileDTO.DownloadResource loadCsvResource(Long fileId, boolean acceptGzip) {
+        CsvFile upload = findCsvById(fileId);
+        CsvFile csv = upload.getDuplicateOfFileId() != null ? findCsvById(upload.getDuplicateOfFileId()) : upload;
         try {
             Path filePath = Paths.get(csv.getFilePath()).resolve(csv.getSavedFileName()).normalize();
             Resource resource = new UrlResource(filePath.toUri());
-            if (resource.exists() && resource.isReadable()) {
-                return resource;
-            } else {
+            if (!resource.exists() || !resource.isReadable()) {
                 throw new CsvFileNotFoundException("저장된 파일을 읽을 수 없습니다: " + filePath);
             }
+            String fileName = CsvCompression.logicalFileName(upload.getFileName());
+            if (!CsvCompression.isGzip(csv.getSavedFileName())) {
+                return new CsvFileDTO.DownloadResource(resource, fileName, false);
+            }
+            if (acceptGzip) {
+                return new CsvFileDTO.DownloadResource(resource, fileName, true);
+            }
+            return new CsvFileDTO.DownloadResource(new InputStreamResource(CsvCompression.openCsvStream(filePath)), fileName, false);
         } catch (MalformedURLException e) {
             throw new CsvFileNotFoundException("파일 경로가 유효하지 않습니다: " + e.getMessage());
+        } catch (IOException e) {
+            throw new CsvFileNotFoundException("저장된 파일을 읽을 수 없습니다: " + e.getMessage());
+        }
+    }
+
+    // [오류 리포트 준비] : 적재가 끝난 업로드의 오류 행 색인과 보관본 경로 (중복 업로드는 원본 업로드 기준)
+    // 색인이 없으면 오류 없이 적재된 업로드 → 헤더만 있는 리포트
+    @Transactional(readOnly = true)
+    public CsvFileDTO.ErrorReport loadErrorReport(Long fileId) {
+        CsvFile upload = findCsvById(fileId);
+        CsvFile csv = upload.getDuplicateOfFileId() != null ? findCsvById(upload.getDuplicateOfFileId()) : upload;
+        if (csv.getIngestStatus() != null && csv.getIngestStatus() != IngestStatus.COMPLETED) {
+            throw new BadRequestException("적재가 끝난 업로드만 오류 리포트를 받을 수 있습니다. 상태: " + csv.getIngestStatus());
+        }
+        Path filePath = Paths.get(csv.getFilePath()).resolve(csv.getSavedFileName()).normalize();
+        if (!Files.isReadable(filePath)) {
+            throw new CsvFileNotFoundException("저장된 파일을 읽을 수 없습니다: " + filePath);
+        }
+        Optional<CsvErrorIndex> index = csvErrorIndexRepo.findById(csv.getFileId());
+        ErrorRowIndex errors = index.map(i -> ErrorRowIndex.decode(i.getErrorRows(), i.getRowAnchors()))
+                .orElseGet(ErrorRowIndex::new);
+        GzipRestartPoints restarts = GzipRestartPoints.decode(index.map(CsvErrorIndex::getArchiveRestarts).orElse(null));
+        String fileName = CsvCompression.logicalFileName(upload.getFileName());
+        fileName = (fileName.toLowerCase().endsWith(".csv") ? fileName.substring(0, fileName.length() - 4) : fileName) + "_errors.csv";
+        return new CsvFileDTO.ErrorReport(filePath, fileName, errors, restarts);
+    }
+
+    // [오류 리포트 작성] : row_num, error_type(여러 유형이면 '|'로 연결), 원문 행을 행 번호 순으로 기록
+    // 유형별 비트맵을 행 번호 순으로 병합하고, 원문 행은 가장 가까운 앵커로 이동한 뒤 읽음 (응답 스트림에 바로 씀)
+    public void writeErrorReport(CsvFileDTO.ErrorReport report, OutputStream out) throws IOException {
+        Map<String, RowBitmap> categories = report.getErrors().categories();
+        String[] names = categories.keySet().toArray(new String[0]);
+        PrimitiveIterator.OfInt[] its = new PrimitiveIterator.OfInt[names.length];
+        int[] heads = new int[names.length];
+        for (int c = 0; c < names.length; c++) {
+            its[c] = categories.get(names[c]).iterator();
+            heads[c] = its[c].hasNext() ? its[c].nextInt() : Integer.MAX_VALUE;
         }
+
+        ErrorRowIndex errors = report.getErrors();
+        BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        try (CsvLineSeeker seeker = CsvLineSeeker.open(report.getStoredFile(), report.getRestarts())) {
+            String header = seeker.header();
+            writer.write("row_num,error_type" + (header != null ? "," + header : ""));
+            writer.newLine();
+
+            StringBuilder types = new StringBuilder();
+            while (true) {
+                int row = Integer.MAX_VALUE;
+                for (int head : heads) row = Math.min(row, head);
+                if (row == Integer.MAX_VALUE) break;
+
+                types.setLength(0);
+                for (int c = 0; c < names.length; c++) {
+                    if (heads[c] != row) continue;
+                    if (types.length() > 0) types.append('|');
+                    types.append(names[c]);
+                    heads[c] = its[c].hasNext() ? its[c].nextInt() : Integer.MAX_VALUE;
+                }
+                int a = errors.floorAnchor(row);
+                String line = a >= 0 ? seeker.line(row, errors.anchorRow(a), errors.anchorOffset(a)) : seeker.line(row, -1, -1);
+
+                writer.write(Integer.toString(row));
+                writer.write(",\"");
+                writer.write(types.toString().replace("\"", "\"\""));
+                writer.write('"');
+                if (line != null) {
+                    writer.write(',');
+                    writer.write(line);
+                }
+                writer.newLine();
+            }
+        }
+        writer.flush();
     }
 
-    // 저장된 파일 이름 검색
-    public String getOriginalFilename(Long fileId) {
-        return findCsvById(fileId).getFileName();
+    // 분석 결과(event_history, 분석 테이블)를 조회할 fileId : 중복 업로드면 원본 fileId
+    @Transactional(readOnly = true)
+    public Long resolveAnalysisFileId(Long fileId) {
+        return csvFileRepo.findAnalysisFileId(fileId)
+                .orElseThrow(() -> new CsvFileNotFoundException("요청된 파일 ID를 찾을 수 없습니다: " + fileId));
     }
 
     // file ID 검색
@@ -1,20 +1,37 @@
 package edu.pnu.service.csv;
 
+import com.mysql.cj.jdbc.JdbcStatement;
+import edu.pnu.config.CsvIngestProperties;
 import edu.pnu.domain.CsvLocation;
 import edu.pnu.domain.CsvProduct;
 import edu.pnu.domain.Epc;
-import edu.pnu.domain.EventHistory;
+import edu.pnu.domain.IngestStatus;
+import edu.pnu.service.csv.ingest.ErrorRowIndex;
+import edu.pnu.service.csv.ingest.EventBatch;
+import edu.pnu.service.csv.ingest.StringDictionary;
+import edu.pnu.service.csv.support.EventTimeCodec;
+import edu.pnu.service.csv.support.GzipRestartPoints;
+import edu.pnu.service.csv.support.LoadDataBuffer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.sql.Timestamp;
 import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.BiConsumer;
 
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Service;
 
@@ -23,17 +40,31 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class CsvSaveJdbcService {
 
+    private static final int ESTIMATED_EVENT_ROW_BYTES = 96; // LOAD DATA 버퍼 초기 크기 산정용 (행당 평균 바이트)
+    private static final int MAX_REPORTED_WARNINGS = 5;      // LOAD DATA 실패 시 로그/예외에 남길 경고 수
+    private static final int ER_DUP_ENTRY = 1062;            // INSERT IGNORE가 중복 키 행을 건너뛸 때 남기는 경고 코드
+
+    // [스테이징 테이블] : 커넥션별 임시 테이블 (event_history와 같은 컬럼, 인덱스 없음 → LOAD DATA가 유니크 검사 없이 순차 추가)
+    // 풀 커넥션마다 한 번 만들어 재사용, 임시 테이블 DDL은 진행 중인 트랜잭션을 커밋하지 않음
+    private static final String CREATE_STAGE = "CREATE TEMPORARY TABLE IF NOT EXISTS event_history_stage ("
+            + "file_id BIGINT NOT NULL, epc_id BIGINT NOT NULL, csv_location_id BIGINT NOT NULL, csv_product_id BIGINT NOT NULL, "
+            + "event_time DATETIME(6) NOT NULL, business_step VARCHAR(255) NOT NULL, event_type VARCHAR(255) NOT NULL, "
+            + "hub_type VARCHAR(255), business_original VARCHAR(255)) ENGINE=InnoDB";
+
     // JdbcTemplate을 사용해 엔티티들을 고속으로 배치 삽입
     private final JdbcTemplate jdbcTemplate;
+    private final CsvIngestProperties csvIngestProperties;
 
-    // CsvLocation 배치 삽입
+    // CsvLocation 배치 삽입 (CsvLocationRegistry 경유)
+    // csv_location_id는 전역 PK라 동시 업로드가 같은 ID를 넣을 수 있음 → 이미 있으면 기존 행 유지
     public void saveCsvLocations(List<CsvLocation> locations) {
         if (locations.isEmpty())
             return;
 
         String sql = "INSERT INTO csv_location "
                 + "(file_id, csv_location_id, scan_location, operator_id, device_id) "
-                + "VALUES (?, ?, ?, ?, ?)";
+                + "VALUES (?, ?, ?, ?, ?) "
+                + "ON DUPLICATE KEY UPDATE csv_location_id = csv_location_id";
         jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
 
             @Override
@@ -55,89 +86,307 @@ public class CsvSaveJdbcService {
     }
 
     // CsvProduct 배치 삽입
+    // 배치 INSERT의 generated key(csv_product_id)를 받아 각 엔티티에 채워 넣음 (청크마다 재조회 불필요)
     public void saveCsvProducts(List<CsvProduct> products) {
         if (products.isEmpty()) return;
 
         String sql = "INSERT INTO csv_product "
                 + "(file_id, csv_epc_product, csv_epc_company, csv_product_name) "
                 + "VALUES (?, ?, ?, ?)";
-        jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
-
-            @Override
-            public void setValues(@NonNull PreparedStatement ps, int i) throws SQLException {
-                CsvProduct p = products.get(i);
-                ps.setLong(1, p.getCsvFile().getFileId());
-                ps.setString(2, p.getCsvEpcProduct());
-                ps.setString(3, p.getCsvEpcCompany());
-                ps.setString(4, p.getCsvProductName());
-            }
-
-            @Override
-            public int getBatchSize() {
-                return products.size();
-            }
-        });
+        batchInsertReturningKeys(sql, products, (ps, p) -> {
+            ps.setLong(1, p.getCsvFile().getFileId());
+            ps.setString(2, p.getCsvEpcProduct());
+            ps.setString(3, p.getCsvEpcCompany());
+            ps.setString(4, p.getCsvProductName());
+        }, CsvProduct::setCsvProductId);
 
         log.debug("[CsvSaveJdbcService] [성공] : [saveCsvProducts] Product batch insert 완료! 저장 건수: {}", products.size());
     }
 
     // Epc 배치 삽입
+    // 배치 INSERT의 generated key(epc_id)를 받아 각 엔티티에 채워 넣음 (청크마다 재조회 불필요)
     public void saveEpcs(List<Epc> epcs) {
         if (epcs.isEmpty()) return;
         String sql = "INSERT INTO epc "
                 + "(file_id, epc_code, epc_header, epc_lot, epc_serial, manufacture_date, expiry_date) "
                 + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+        batchInsertReturningKeys(sql, epcs, (ps, e) -> {
+            ps.setLong(1, e.getCsvFile().getFileId());
+            ps.setString(2, e.getEpcCode());
+            ps.setString(3, e.getEpcHeader());
+            ps.setString(4, e.getEpcLot());
+            ps.setString(5, e.getEpcSerial());
+            ps.setObject(6, e.getManufactureDate() != null ? Timestamp.valueOf(e.getManufactureDate()) : null, Types.TIMESTAMP);
+            ps.setObject(7, e.getExpiryDate() != null ? java.sql.Date.valueOf(e.getExpiryDate()) : null, Types.DATE);
+        }, Epc::setEpcId);
+        log.debug("[CsvSaveJdbcService] [성공] : [saveEpcs] Epc batch insert 완료! 저장 건수: {}", epcs.size());
+    }
+
+    // EventHistory 저장 : csv.ingest.event-writer 설정에 따라 JDBC 배치 INSERT 또는 LOAD DATA LOCAL INFILE 사용
+    public void saveEventHistories(EventBatch batch) {
+        if (batch.isEmpty()) return;
+        if (csvIngestProperties.getEventWriter() == CsvIngestProperties.EventWriter.LOAD_DATA) {
+            loadEventHistories(batch);
+        } else {
+            insertEventHistories(batch);
+        }
+    }
+
+    // EventHistory 배치 삽입
+    // writer가 참조 ID까지 확정한 컬럼 배열(EventBatch)에서 바로 바인딩 (행마다 엔티티/프록시를 만들지 않음)
+    private void insertEventHistories(EventBatch batch) {
+
+        String sql = "INSERT INTO event_history " +
+                "(file_id, epc_id, csv_location_id, csv_product_id, " +
+                "event_time, business_step, event_type, hub_type, business_original) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+        final StringDictionary dict = batch.getDictionary();
         jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
             @Override
             public void setValues(@NonNull PreparedStatement ps, int i) throws SQLException {
-                Epc e = epcs.get(i);
-                ps.setLong(1, e.getCsvFile().getFileId());
-                ps.setString(2, e.getEpcCode());
-                ps.setString(3, e.getEpcHeader());
-                ps.setString(4, e.getEpcLot());
-                ps.setString(5, e.getEpcSerial());
-                ps.setObject(6, e.getManufactureDate() != null ? Timestamp.valueOf(e.getManufactureDate()) : null, Types.TIMESTAMP);
-                ps.setObject(7, e.getExpiryDate() != null ? java.sql.Date.valueOf(e.getExpiryDate()) : null, Types.DATE);
+                ps.setLong(1, batch.getFileId());
+                ps.setLong(2, batch.getEpcIds()[i]); // epc_code 대신 epc_id
+                ps.setLong(3, batch.getLocationIds()[i]); // location_id 대신 csv_location_id
+                ps.setLong(4, batch.getProductIds()[i]); // 새로 추가된 product_id
+                ps.setObject(5, EventTimeCodec.toLocalDateTime(batch.getEventTimes()[i]), Types.TIMESTAMP); // 문자열/Calendar 변환 없이 LocalDateTime 그대로 바인딩
+                ps.setString(6, dict.decode(batch.getBusinessSteps()[i]));
+                ps.setString(7, dict.decode(batch.getEventTypes()[i]));
+                ps.setString(8, dict.decode(batch.getHubTypes()[i]));
+                ps.setString(9, dict.decode(batch.getBusinessOriginals()[i]));
             }
 
             @Override
             public int getBatchSize() {
-                return epcs.size();
+                return batch.size();
             }
         });
-        log.debug("[CsvSaveJdbcService] [성공] : [saveEpcs] Epc batch insert 완료! 저장 건수: {}", epcs.size());
+        log.debug("[CsvSaveBatchService] [성공] : [saveEventHistories] EventHistory batch insert 완료! 저장 건수: {}", batch.size());
     }
 
-    // EventHistory 배치 삽입
-    public void saveEventHistories(List<EventHistory> events) {
-        if (events.isEmpty()) return;
+    // EventHistory 대량 적재 (LOAD DATA LOCAL INFILE → 스테이징 테이블 → 집합 단위 중복 제거)
+    // 참조 ID까지 확정된 행을 탭 구분 스트림으로 만들어 Connector/J의 setLocalInfileInputStream으로 스테이징 테이블에 전송 (파일 생성 없음)
+    // LOCAL 적재는 변환 오류를 경고로 바꾸고 행을 잘라 넣음 → 적재 건수가 보낸 행 수와 다르거나 경고가 있으면 예외 (청크 트랜잭션 롤백)
+    // 이어서 INSERT IGNORE ... SELECT 한 문장으로 uq_prevent_duplicate_event_history 기준 중복을 서버에서 제거하며 옮김
+    // (파일 내 중복은 writer의 EventKeySet이 먼저 걸러 오류 리포트에 '중복'으로 남기므로, 여기서 건너뛰는 행은 그 뒤에 남은 것만 :
+    //  이미 커밋된 행과 겹치는 재전송 등. 중복 키(1062) 외의 경고가 있으면 실패)
+    // 필요 설정 : JDBC URL allowLoadLocalInfile=true, MySQL 서버 local_infile=ON
+    private void loadEventHistories(EventBatch batch) {
+        final StringDictionary dict = batch.getDictionary();
+        final LoadDataBuffer rows = new LoadDataBuffer(batch.size() * ESTIMATED_EVENT_ROW_BYTES);
+        for (int i = 0; i < batch.size(); i++) {
+            rows.addLong(batch.getFileId())
+                    .addLong(batch.getEpcIds()[i])
+                    .addLong(batch.getLocationIds()[i])
+                    .addLong(batch.getProductIds()[i])
+                    .addDateTime(batch.getEventTimes()[i])
+                    .addString(dict.decode(batch.getBusinessSteps()[i]))
+                    .addString(dict.decode(batch.getEventTypes()[i]))
+                    .addString(dict.decode(batch.getHubTypes()[i]))
+                    .addString(dict.decode(batch.getBusinessOriginals()[i]))
+                    .endRow();
+        }
 
-        String sql = "INSERT INTO event_history " +
-                "(file_id, epc_id, csv_location_id, csv_product_id, " +
-                "event_time, business_step, event_type, hub_type, business_original) " +
-                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        final String columns = "(file_id, epc_id, csv_location_id, csv_product_id, " +
+                "event_time, business_step, event_type, hub_type, business_original)";
+        final String load = "LOAD DATA LOCAL INFILE 'event_history.tsv' INTO TABLE event_history_stage " +
+                "CHARACTER SET utf8mb4 " +
+                "FIELDS TERMINATED BY '\\t' ESCAPED BY '\\\\' LINES TERMINATED BY '\\n' " + columns;
+        final String merge = "INSERT IGNORE INTO event_history " + columns + " SELECT " +
+                "file_id, epc_id, csv_location_id, csv_product_id, event_time, business_step, event_type, hub_type, business_original " +
+                "FROM event_history_stage";
+
+        Integer inserted = jdbcTemplate.execute((ConnectionCallback<Integer>) con -> {
+            try (Statement st = con.createStatement()) {
+                st.execute(CREATE_STAGE);
+                st.executeUpdate("DELETE FROM event_history_stage"); // 자동 커밋으로 실패한 이전 사용이 남긴 행 정리
+
+                st.unwrap(JdbcStatement.class).setLocalInfileInputStream(rows.asInputStream());
+                int staged = st.executeUpdate(load);
+                // 경고는 같은 커넥션의 다음 문장 전까지만 조회 가능
+                List<String> warnings = loadWarnings(st, false);
+                if (staged != rows.rows() || !warnings.isEmpty()) {
+                    log.error("[CsvSaveJdbcService] [실패] : [loadEventHistories] 보낸 행 {}건 중 {}건 적재, 경고: {}",
+                            rows.rows(), staged, warnings);
+                    throw new DataIntegrityViolationException("EventHistory 적재 중 " + (rows.rows() - staged)
+                            + "건이 누락되거나 변환되었습니다. " + warnings);
+                }
+
+                int n = st.executeUpdate(merge);
+                // 중복 키로 건너뛴 행 외의 경고(FK 등)는 실패 (max_error_count까지만 조회됨)
+                List<String> errors = n < staged ? loadWarnings(st, true) : List.of();
+                if (!errors.isEmpty()) {
+                    log.error("[CsvSaveJdbcService] [실패] : [loadEventHistories] 스테이징 {}건 중 {}건 반영, 경고: {}",
+                            staged, n, errors);
+                    throw new DataIntegrityViolationException("EventHistory 반영 중 오류가 발생했습니다. " + errors);
+                }
+                if (n < staged) {
+                    log.info("[CsvSaveJdbcService] [중복] : [loadEventHistories] 이미 저장된 EventHistory {}건 건너뜀", staged - n);
+                }
+                st.executeUpdate("DELETE FROM event_history_stage");
+                return n;
+            }
+        });
+        log.debug("[CsvSaveJdbcService] [성공] : [loadEventHistories] EventHistory LOAD DATA 완료! 저장 건수: {}, {} bytes",
+                inserted, rows.size());
+    }
+
+    // SHOW WARNINGS 앞부분 (Level Code Message) 최대 MAX_REPORTED_WARNINGS건, skipDuplicates면 중복 키(1062) 경고는 제외
+    private static List<String> loadWarnings(Statement st, boolean skipDuplicates) throws SQLException {
+        List<String> warnings = new ArrayList<>();
+        try (ResultSet rs = st.executeQuery("SHOW WARNINGS")) {
+            while (rs.next() && warnings.size() < MAX_REPORTED_WARNINGS) {
+                if (skipDuplicates && rs.getInt(2) == ER_DUP_ENTRY) continue;
+                warnings.add(rs.getString(1) + " " + rs.getInt(2) + " " + rs.getString(3));
+            }
+        }
+        return warnings;
+    }
+
+    // [EventHistory 삭제] : 병렬 저장 중 일부 묶음만 커밋된 청크를 되돌릴 때 사용 (EventHistoryWriters)
+    // 유니크 키(uq_prevent_duplicate_event_history)로 찾으므로 인덱스로 바로 삭제됨. 코드 컬럼은 NULL도 일치하도록 <=> 비교
+    public void deleteEventHistories(EventBatch batch) {
+        if (batch.isEmpty()) return;
 
+        String sql = "DELETE FROM event_history WHERE file_id = ? AND epc_id = ? AND csv_location_id = ? "
+                + "AND csv_product_id = ? AND event_time = ? AND business_step <=> ? AND event_type <=> ?";
+        final StringDictionary dict = batch.getDictionary();
         jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
             @Override
             public void setValues(@NonNull PreparedStatement ps, int i) throws SQLException {
-                EventHistory eh = events.get(i);
-                ps.setLong(1, eh.getCsvFile().getFileId());
-                ps.setLong(2, eh.getEpc().getEpcId()); // epc_code 대신 epc_id
-                ps.setLong(3, eh.getCsvLocation().getCsvLocationId()); // location_id 대신 csv_location_id
-                ps.setLong(4, eh.getCsvProduct().getCsvProductId()); // 새로 추가된 product_id
-                ps.setTimestamp(5, Timestamp.valueOf(eh.getEventTime()));
-                ps.setString(6, eh.getBusinessStep());
-                ps.setString(7, eh.getEventType());
-                ps.setString(8, eh.getHubType());
-                ps.setString(9, eh.getBusinessOriginal());
+                ps.setLong(1, batch.getFileId());
+                ps.setLong(2, batch.getEpcIds()[i]);
+                ps.setLong(3, batch.getLocationIds()[i]);
+                ps.setLong(4, batch.getProductIds()[i]);
+                ps.setObject(5, EventTimeCodec.toLocalDateTime(batch.getEventTimes()[i]), Types.TIMESTAMP);
+                ps.setString(6, dict.decode(batch.getBusinessSteps()[i]));
+                ps.setString(7, dict.decode(batch.getEventTypes()[i]));
             }
 
             @Override
             public int getBatchSize() {
-                return events.size();
+                return batch.size();
             }
         });
-        log.debug("[CsvSaveBatchService] [성공] : [saveEventHistories] EventHistory batch insert 완료! 저장 건수: {}, ID 설정 완료", events.size());
+        log.debug("[CsvSaveJdbcService] [성공] : [deleteEventHistories] EventHistory 삭제 완료! 대상 건수: {}", batch.size());
+    }
+
+    // [파일 EventHistory 삭제] : EPC_TIME 정렬 적재를 처음부터 다시 할 때, 중단된 이전 시도가 일부 저장한 행 정리
+    public int deleteEventHistoriesByFile(long fileId) {
+        return jdbcTemplate.update("DELETE FROM event_history WHERE file_id = ?", fileId);
+    }
+
+    // [체크포인트 이후 EventHistory 삭제] : 병렬 저장은 EventHistory를 체크포인트보다 먼저 커밋하므로,
+    // 그 사이에 중단되면 체크포인트 다음 청크의 행이 남음 → 재개 전에 체크포인트의 event_id 상한보다 큰 행을 삭제
+    public int deleteEventHistoriesAfter(long fileId, long eventId) {
+        return jdbcTemplate.update("DELETE FROM event_history WHERE event_id > ? AND file_id = ?", eventId, fileId);
+    }
+
+    // ■■■■■■■■■■■■■■ [ 적재 체크포인트 ] ■■■■■■■■■■■■■
+
+    // [체크포인트 기록] : 청크 저장과 같은 트랜잭션에서 호출 → 청크 커밋과 체크포인트가 함께 반영/롤백됨
+    // event_id 상한은 테이블 전체의 MAX(event_id) (PK 끝 한 번 조회) : 이 파일의 다음 청크는 체크포인트 커밋 뒤에 저장되므로
+    // 그 행의 event_id(AUTO_INCREMENT)는 모두 상한보다 큼 → 재개 시 deleteEventHistoriesAfter로 구분
+    public void saveCheckpoint(long fileId, int ingestedRows, long ingestedOffset, long ingestedChunks) {
+        jdbcTemplate.update("UPDATE csv_file SET ingest_status = ?, ingested_rows = ?, ingested_offset = ?, ingested_chunks = ?, "
+                        + "ingested_event_id = (SELECT COALESCE(MAX(event_id), 0) FROM event_history) "
+                        + "WHERE file_id = ?",
+                IngestStatus.INGESTING.name(), ingestedRows, ingestedOffset >= 0 ? ingestedOffset : null, ingestedChunks, fileId);
+    }
+
+    // [오류 색인 저장] : csv_error_index upsert (체크포인트마다 갱신해 재개 시 이전 시도의 오류 행/앵커를 복원)
+    // 같은 파일의 색인이 이미 있으면 덮어씀 (재개 시 복원한 색인에 이어서 쌓으므로 항상 상위 집합)
+    public void saveErrorIndex(long fileId, ErrorRowIndex errors) {
+        jdbcTemplate.update("INSERT INTO csv_error_index (file_id, total_error_rows, error_rows, row_anchors, created_at) "
+                        + "VALUES (?, ?, ?, ?, ?) "
+                        + "ON DUPLICATE KEY UPDATE total_error_rows = VALUES(total_error_rows), error_rows = VALUES(error_rows), "
+                        + "row_anchors = VALUES(row_anchors), created_at = VALUES(created_at)",
+                fileId, errors.total(), errors.encodeRows(), errors.encodeAnchors(), LocalDateTime.now());
+    }
+
+    // [gzip 재시작 지점 저장] : 보관본을 압축한 뒤 오류 색인에 함께 기록 (압축본 파일명 갱신과 같은 트랜잭션)
+    public void saveArchiveRestarts(long fileId, GzipRestartPoints restarts) {
+        jdbcTemplate.update("UPDATE csv_error_index SET archive_restarts = ? WHERE file_id = ?", restarts.encode(), fileId);
+    }
+
+    // [커밋된 데이터 확인] : 체크포인트 없이 커밋된 행이 있는지 (병렬 저장/정렬 적재는 체크포인트 전에 엔티티·EventHistory를 커밋함)
+    // 하나라도 있으면 csv_file을 FK로 참조하므로 업로드를 삭제할 수 없음
+    public boolean hasCommittedData(long fileId) {
+        Boolean exists = jdbcTemplate.queryForObject(
+                "SELECT EXISTS(SELECT 1 FROM epc WHERE file_id = ?) "
+                        + "OR EXISTS(SELECT 1 FROM csv_product WHERE file_id = ?) "
+                        + "OR EXISTS(SELECT 1 FROM csv_location WHERE file_id = ?) "
+                        + "OR EXISTS(SELECT 1 FROM event_history WHERE file_id = ?)",
+                Boolean.class, fileId, fileId, fileId, fileId);
+        return Boolean.TRUE.equals(exists);
+    }
+
+    public void updateIngestStatus(long fileId, IngestStatus status) {
+        jdbcTemplate.update("UPDATE csv_file SET ingest_status = ? WHERE file_id = ?", status.name(), fileId);
+    }
+
+    // 보관본 압축 후 파일명만 교체 (엔티티 merge로 체크포인트 컬럼을 덮어쓰지 않도록 단일 컬럼 UPDATE)
+    public void updateSavedFileName(long fileId, String savedFileName) {
+        jdbcTemplate.update("UPDATE csv_file SET saved_file_name = ? WHERE file_id = ?", savedFileName, fileId);
+    }
+
+    // [중복 키 복원] : 재개 시 이미 커밋된 EventHistory의 유니크 키를 스트리밍으로 읽어 consumer에 전달
+    public void forEachEventKey(long fileId, EventKeyConsumer consumer) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(
+                    "SELECT epc_id, csv_location_id, csv_product_id, event_time, business_step, event_type "
+                            + "FROM event_history WHERE file_id = ?",
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(Integer.MIN_VALUE); // Connector/J 스트리밍 결과셋 (전체를 메모리에 올리지 않음)
+            ps.setLong(1, fileId);
+            return ps;
+        }, (RowCallbackHandler) rs -> {
+            LocalDateTime t = rs.getObject(4, LocalDateTime.class);
+            consumer.accept(rs.getLong(1), rs.getLong(2), rs.getLong(3),
+                    t != null ? t.toEpochSecond(ZoneOffset.UTC) : EventTimeCodec.MISSING,
+                    rs.getString(5), rs.getString(6));
+        });
+    }
+
+    @FunctionalInterface
+    public interface EventKeyConsumer {
+        void accept(long epcId, long locationId, long productId, long eventTime, String businessStep, String eventType);
+    }
+
+    // ■■■■■■■■■■■■■■ [ Helper ] ■■■■■■■■■■■■■
+
+    // [generated key 회수] : 트랜잭션에 바인딩된 커넥션으로 배치 INSERT 후 getGeneratedKeys()를 입력 순서대로 엔티티에 반영
+    // rewriteBatchedStatements=true 환경에서도 Connector/J는 multi-row INSERT의 키를 입력 순서대로 반환함
+    private <T> void batchInsertReturningKeys(String sql,
+                                              List<T> items,
+                                              RowBinder<T> binder,
+                                              BiConsumer<T, Long> keySetter) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) con -> {
+            try (PreparedStatement ps = con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                for (T item : items) {
+                    binder.bind(ps, item);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+
+                int i = 0;
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    while (keys.next() && i < items.size()) {
+                        keySetter.accept(items.get(i++), keys.getLong(1));
+                    }
+                }
+                if (i != items.size()) {
+                    throw new IllegalStateException("generated key 개수 불일치: 요청 " + items.size() + "건, 반환 " + i + "건");
+                }
+            }
+            return null;
+        });
+    }
+
+    // PreparedStatement 파라미터 바인딩용 함수형 인터페이스
+    @FunctionalInterface
+    private interface RowBinder<T> {
+        void bind(PreparedStatement ps, T item) throws SQLException;
     }
 
 }
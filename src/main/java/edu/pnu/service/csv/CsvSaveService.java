@@ -1,76 +1,93 @@
 package edu.pnu.service.csv;
 
+import edu.pnu.config.CsvIngestProperties;
 import edu.pnu.config.CustomUserDetails;
+import edu.pnu.domain.AssetLocation;
 import edu.pnu.domain.CsvFile;
 import edu.pnu.domain.CsvLocation;
 import edu.pnu.domain.CsvProduct;
 import edu.pnu.domain.Epc;
-import edu.pnu.domain.EventHistory;
+import edu.pnu.domain.IngestStatus;
 import edu.pnu.domain.Member;
 import edu.pnu.events.DbSavedEvent;
 import edu.pnu.exception.BadRequestException;
 import edu.pnu.exception.CsvFileNotFoundException;
 import edu.pnu.exception.CsvFileSaveToDiskException;
 import edu.pnu.exception.FileUploadException;
-import edu.pnu.exception.InvalidCsvFormatException;
-import edu.pnu.repository.CsvLocationRepository;
+import edu.pnu.repository.CsvErrorIndexRepository;
 import edu.pnu.repository.CsvProductRepository;
 import edu.pnu.repository.CsvFileRepository;
 import edu.pnu.repository.EpcRepository;
 import edu.pnu.repository.MemberRepository;
+import edu.pnu.service.csv.ingest.ChunkSource;
+import edu.pnu.service.csv.ingest.CsvIngestPipeline;
+import edu.pnu.service.csv.ingest.CsvLocationRegistry;
+import edu.pnu.service.csv.ingest.ErrorRowIndex;
+import edu.pnu.service.csv.ingest.EventBatch;
+import edu.pnu.service.csv.ingest.EventHistoryWriters;
+import edu.pnu.service.csv.ingest.EventKeySet;
+import edu.pnu.service.csv.ingest.EventSorter;
+import edu.pnu.service.csv.ingest.IngestJob;
+import edu.pnu.service.csv.ingest.IngestScheduler;
+import edu.pnu.service.csv.ingest.MappedCsvChunkSource;
+import edu.pnu.service.csv.ingest.OpenCsvChunkSource;
+import edu.pnu.service.csv.ingest.ParsedChunk;
+import edu.pnu.service.csv.ingest.StringDictionary;
+import edu.pnu.service.csv.support.CsvCompression;
+import edu.pnu.service.csv.support.CsvContentDigest;
+import edu.pnu.service.csv.support.GzipRestartPoints;
 import edu.pnu.service.messaging.WebSocketService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
-import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.ZoneOffset;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
-import java.util.UUID;
-import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
-import com.opencsv.CSVReader;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class CsvSaveService {
 
-    private static final int CHUNK_SIZE = 1000; // 필요시 설정값으로 변경 가능
-    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final int CHUNK_SIZE = 1000; // JDBC 저장 청크 행 수 (LOAD_DATA는 csv.ingest.load-data-chunk-rows)
+    private static final int COPY_BUFFER_SIZE = 64 * 1024; // 업로드 → 보관본 복사 버퍼
+    private static final int SORTED_WRITE_BATCH = 5000; // 정렬 저장 시 INSERT 배치(트랜잭션) 크기 (LOAD_DATA는 청크 행 수 이상)
 
     private final CsvProductRepository csvProductRepo;
-    private final CsvLocationRepository csvLocationRepo;
     private final CsvFileRepository csvRepo;
     private final EpcRepository epcRepo;
     private final MemberRepository memberRepo;
+    private final CsvErrorIndexRepository csvErrorIndexRepo;
 
     private final CsvSaveJdbcService csvSaveJdbcService;
+    private final CsvIngestPipeline csvIngestPipeline;
+    private final CsvLocationRegistry csvLocationRegistry;
+    private final EventHistoryWriters eventHistoryWriters;
+    private final IngestScheduler ingestScheduler;
+    private final CsvIngestProperties csvIngestProperties;
     private final WebSocketService webSocketService;
     // private final AnalysisPipelineService analysisPipelineService;
     private final ApplicationEventPublisher publisher;
+    private final TransactionTemplate transactionTemplate;
 
     @Value("${file.upload.dir}")
     private String fileUploadDir; // 업로드 파일 재다운로드용
@@ -79,95 +96,310 @@ public class CsvSaveService {
         return company + "|" + product;
     }
 
-    // ■■■■■■■■■■■■■■ [ 1단계: CSV 저장/파싱 (동기) ] ■■■■■■■■■■■■■
-    // 업로드된 CSV를 저장·파싱하고 메타데이터 저장 후 비동기 분석 트리거(이벤트 발행)까지 한 번에 수행
-    @Transactional
-    public Long postCsvAndTriggerAsyncProcessing(MultipartFile file, CustomUserDetails user) {
+    // ■■■■■■■■■■■■■■ [ 1단계: 업로드 접수 (요청 스레드) ] ■■■■■■■■■■■■■
+    // 업로드된 CSV를 검사·디스크에 저장하고 메타데이터를 기록 (파싱/적재는 ingestStoredFile에서 비동기로 수행)
+    // [단일 패스를 쓰지 않는 이유] : 업로드 바이트는 보관본 기록과 내용 해시에 한 번만 읽고, 적재는 완성된 보관본을 다시 읽음
+    // - 중복 업로드 연결(linkToAnalysedDuplicate)은 파일 전체 해시가 나와야 판단 가능 → 적재를 먼저 시작하면 중복도 끝까지 적재
+    // - 적재는 IngestScheduler 허용 조건에 따라 대기할 수 있고, 체크포인트 재개·mmap 토크나이저는 크기가 확정된 파일이 필요
+    // 방금 기록한 보관본이라 적재의 다시 읽기는 대부분 페이지 캐시에서 처리됨
+    public CsvFile storeUpload(MultipartFile file, CustomUserDetails user) {
         final String userId = user.getUserId();
         log.debug("[1] [CsvSaveService] [진입] : CsvSaveService 진입 성공 / 업로더 = {}", userId);
         webSocketService.sendMessage(userId, "[1단계/CSV] START - 파일 업로드 시작");
 
-        final Member member = memberRepo.findByUserId(userId)
-                .orElseThrow(() -> new BadRequestException("회원 정보를 찾을 수 없습니다."));
+        final Member member = findMember(userId);
 
         // [file 확장자 검사] .csv 여부 확인
         validateFile(file);
 
-        final CsvFile csv = createAndSaveCsvMetadata(file, member);
+        final CsvFile csv = createAndSaveCsvMetadata(file.getOriginalFilename(), file.getSize(), member);
         webSocketService.sendMessage(userId, "[1단계/CSV] INFO  - 메타데이터 저장 완료 (fileId=" + csv.getFileId() + ")");
 
         // [CSV Meta 정보 저장]
         storeFileToDisk(file, csv);
+        csvRepo.save(csv); // 내용 해시 반영
         webSocketService.sendMessage(userId, "[1단계/CSV] INFO  - 디스크 저장 완료: " + csv.getSavedFileName());
+        return csv;
+    }
 
-        final ImportCache cache = new ImportCache(
-                new HashSet<>(csvLocationRepo.findAllLocationIds()),
-                csvProductRepo.findAllByFileIdAsMap(csv.getFileId()),
-                epcRepo.findAllByFileIdAsMap(csv.getFileId()),
-                epcRepo.findAllEpcCodesByFileId(csv.getFileId())
-        );
+    // 요청 body(raw CSV 바이트)를 multipart 임시파일 없이 바로 디스크 보관본으로 저장
+    public CsvFile storeUploadStream(String originalFileName,
+                                     long contentLength,
+                                     InputStream body,
+                                     CustomUserDetails user) {
+        final String userId = user.getUserId();
+        log.debug("[1] [CsvSaveService] [진입] : 스트리밍 업로드 진입 / 업로더 = {}, file = {}", userId, originalFileName);
+        webSocketService.sendMessage(userId, "[1단계/CSV] START - 스트리밍 업로드 시작");
 
-        webSocketService.sendMessage(userId, "[1단계/CSV] INFO  - 파싱 준비 완료. 청크 처리 시작");
-        // [errorRows] 오류 Row
-        final Map<String, List<Integer>> errorRows = parseAndProcessFile(csv, cache, userId);
+        final Member member = findMember(userId);
+        validateFileName(originalFileName);
+
+        final CsvFile csv = createAndSaveCsvMetadata(originalFileName, contentLength, member);
+        webSocketService.sendMessage(userId, "[1단계/CSV] INFO  - 메타데이터 저장 완료 (fileId=" + csv.getFileId() + ")");
+
+        final long size = storeStreamToDisk(body, csv);
+        if (size != contentLength) {
+            // content-length를 모르는 스트리밍 업로드 대비 실제 크기로 갱신
+            csv.setFileSize(size);
+        }
+        csvRepo.save(csv); // 실제 크기·내용 해시 반영
+        webSocketService.sendMessage(userId, "[1단계/CSV] INFO  - 디스크 저장 완료: " + csv.getSavedFileName());
+        return csv;
+    }
+
+    // [분할 업로드 등록] : 조각을 모두 이어 붙인 보관본(savedFileName)에 대한 메타데이터 기록
+    public CsvFile registerStoredUpload(String originalFileName, String savedFileName, long fileSize, String contentHash,
+                                        CustomUserDetails user) {
+        final String userId = user.getUserId();
+        final CsvFile csv = createAndSaveCsvMetadata(originalFileName, savedFileName, fileSize, findMember(userId));
+        csv.setContentHash(contentHash);
+        csvRepo.save(csv);
+        webSocketService.sendMessage(userId, "[1단계/CSV] INFO  - 분할 업로드 완료, 메타데이터 저장 (fileId=" + csv.getFileId() + ")");
+        return csv;
+    }
+
+    // [중복 업로드 연결] : 같은 위치에서 같은 내용으로 분석까지 끝난 업로드가 있으면 그 결과를 가리키도록 연결
+    // 연결된 업로드는 적재 완료로 기록하고, 커밋 후 자기 보관본은 삭제 (다운로드/분석 결과 조회는 원본을 따라감)
+    public Optional<CsvFile> linkToAnalysedDuplicate(CsvFile csv) {
+        if (csv.getContentHash() == null) return Optional.empty();
+        final String ownCopy = csv.getSavedFileName();
+
+        final Optional<CsvFile> source = transactionTemplate.execute(status -> {
+            final CsvFile upload = csvRepo.findById(csv.getFileId()).orElse(null);
+            if (upload == null) return Optional.<CsvFile>empty();
+            final AssetLocation location = upload.getMember().getAssetLocation();
+            if (location == null) return Optional.<CsvFile>empty();
+
+            final List<CsvFile> candidates = csvRepo.findAnalysedByContentHash(
+                    upload.getContentHash(), location.getLocationId(), PageRequest.of(0, 1));
+            if (candidates.isEmpty()) return Optional.<CsvFile>empty();
+            final CsvFile original = candidates.get(0);
+
+            upload.setDuplicateOfFileId(original.getFileId());
+            upload.setSavedFileName(null);
+            upload.setIngestStatus(IngestStatus.COMPLETED);
+            upload.setIngestedRows(original.getIngestedRows());
+            upload.setIngestedOffset(null);
+            upload.setIngestedChunks(original.getIngestedChunks());
+            return Optional.of(original);
+        });
+
+        if (source == null || source.isEmpty()) return Optional.empty();
+        deleteStoredCopy(ownCopy);
+        log.info("[CsvSaveService] [중복] : fileId = {} 는 fileId = {} 와 같은 내용 → 적재/분석 생략",
+                csv.getFileId(), source.get().getFileId());
+        return source;
+    }
+
+    // [접수 취소] : 적재 대기열이 가득 찼거나 적재에 실패한 업로드의 메타데이터와 보관본 삭제
+    // 메타데이터 삭제가 커밋된 뒤에 보관본을 지움 (삭제가 실패하면 보관본이 남아 있어 다시 적재할 수 있음)
+    public void discardUpload(Long fileId) {
+        csvRepo.findById(fileId).ifPresent(csv -> {
+            transactionTemplate.executeWithoutResult(status -> csvRepo.deleteById(csv.getFileId()));
+            deleteStoredCopy(csv.getSavedFileName());
+        });
+    }
+
+    private void deleteStoredCopy(String savedFileName) {
+        if (savedFileName == null) return;
+        try {
+            Files.deleteIfExists(Paths.get(fileUploadDir, savedFileName));
+        } catch (IOException e) {
+            log.warn("[CsvSaveService] [실패] : 보관본 삭제 실패: {}", savedFileName, e);
+        }
+    }
+
+    // ■■■■■■■■■■■■■■ [ 2단계: 비동기 적재 (ingest 스레드) ] ■■■■■■■■■■■■■
+    // 저장된 CSV를 파싱·적재하고 분석 트리거(이벤트 발행)까지 수행. 진행 상황은 job에 기록
+    // 청크마다 별도 트랜잭션으로 커밋하고 CsvFile에 체크포인트를 남기므로, 중단된 업로드는 마지막 커밋 다음 청크부터 재개됨
+    // (IngestScheduler가 허용한 작업만 호출하며, 끝나면 성공/실패와 무관하게 자원을 반납)
+    @Async("ingestExecutor")
+    public void ingestStoredFile(IngestJob job) {
+        final String userId = job.getUserId();
+        job.start();
+        log.debug("[5] [CsvSaveService] [진입] : [ingestStoredFile] 적재 시작 jobId = {}, fileId = {}", job.getJobId(), job.getFileId());
+        try {
+            final CsvFile csv = csvRepo.findById(job.getFileId())
+                    .orElseThrow(() -> new CsvFileNotFoundException("업로드 정보를 찾을 수 없습니다. fileId=" + job.getFileId()));
+            final ErrorRowIndex errors = parseStoredFile(csv, job);
+
+            // 완료 상태와 오류 색인을 한 트랜잭션으로 기록
+            transactionTemplate.executeWithoutResult(status -> {
+                csvSaveJdbcService.updateIngestStatus(csv.getFileId(), IngestStatus.COMPLETED);
+                finishUpload(csv, errors, userId);
+            });
+
+            job.complete(errors.counts());
+            log.info("[CsvSaveService] [완료] : 적재 완료 jobId = {}, {}행, {}ms", job.getJobId(), job.getRowsProcessed(), job.elapsedMillis());
+
+            // 적재 슬롯·메모리 예산을 먼저 반납하고 분석 트리거 (경로 생성 Job은 비동기 런처에서 실행)
+            ingestScheduler.release(job);
+            triggerAnalysis(csv, userId);
+
+            if (csvIngestProperties.isCompressArchive()) {
+                archiveStoredFile(csv, errors);
+            }
+        } catch (RuntimeException e) {
+            log.error("[CsvSaveService] [실패] : 적재 실패 jobId = {}, fileId = {}", job.getJobId(), job.getFileId(), e);
+            job.fail(e.getMessage());
+            failUpload(job.getFileId());
+        } finally {
+            ingestScheduler.release(job); // 다음 대기 업로드 실행 (이미 반납했으면 무시)
+        }
+    }
 
-        if (!errorRows.isEmpty()) {
-            int total = errorRows.values().stream().mapToInt(List::size).sum();
-            webSocketService.sendMessage(userId, "[1단계/CSV] WARN  - 파싱 오류 라인 " + total + "건 (세부는 서버 로그)");
+    // [분석 트리거] : DbSavedEvent 발행 → TripJobTrigger가 경로 생성 Job 시작
+    // 적재는 이미 COMPLETED로 커밋되었으므로 트리거 실패가 적재 실패로 번지지 않게 기록만 함
+    private void triggerAnalysis(CsvFile csv, String userId) {
+        try {
+            publisher.publishEvent(new DbSavedEvent(csv.getFileId()));
+            webSocketService.sendMessage(userId, "[1단계/CSV] DONE  - CSV 저장 및 파싱 완료. 2단계 분석 시작");
+        } catch (RuntimeException e) {
+            log.error("[CsvSaveService] [실패] : 분석 트리거 실패 fileId = {}", csv.getFileId(), e);
+            webSocketService.sendMessage(userId, "[2단계/분석] ERROR - 분석 시작 실패: " + e.getMessage());
         }
+    }
 
-        // [분석 및 통계 파이프라인] 호출
-        // analysisPipelineService.runAnalysisPipeline(csv.getFileId(), userId);
-        // BatchTriggerEvent 생성
-        publisher.publishEvent(new DbSavedEvent(csv.getFileId()));
-        webSocketService.sendMessage(userId, "[1단계/CSV] DONE  - CSV 저장 및 파싱 완료. 2단계 분석 시작");
-        return csv.getFileId();
+    // [적재 실패] : 커밋된 데이터가 없으면 업로드 자체를 정리, 있으면 FAILED로 남겨 커밋된 데이터와 체크포인트를 보존
+    // 체크포인트(ingestedRows)만 보면 안 됨 : 병렬 저장/정렬 적재는 체크포인트 전에 엔티티·EventHistory를 커밋하므로
+    // 그 상태에서 삭제하면 FK로 실패하고 QUEUED/INGESTING으로 남아 재시작마다 다시 실패함
+    private void failUpload(Long fileId) {
+        Integer committedRows = csvRepo.findById(fileId).map(CsvFile::getIngestedRows).orElse(null);
+        if ((committedRows == null || committedRows == 0) && !csvSaveJdbcService.hasCommittedData(fileId)) {
+            discardUpload(fileId);
+        } else {
+            csvSaveJdbcService.updateIngestStatus(fileId, IngestStatus.FAILED);
+        }
     }
 
-    // ■■■■■■■■■■■■■■ [ 2~4단계: 동기 저장 ] ■■■■■■■■■■■■■
-    // 저장된 CSV 파일을 청크 단위로 읽어 파싱하고 각 청크를 처리하기 위해 processChunk를 호출
-    private Map<String, List<Integer>> parseAndProcessFile(CsvFile csv, ImportCache cache, String userId) {
-        final Map<String, List<Integer>> errorRows = new HashMap<>();
+    // [보관본 압축] : 적재가 끝난 원문 CSV 보관본을 gzip으로 다시 저장하고 원문 삭제 (이미 .csv.gz면 생략)
+    // 압축본 기록 → savedFileName 갱신 → 원문 삭제 순서라 어느 단계에서 멈춰도 다운로드 가능한 파일이 남음
+    // 오류 행이 있으면 압축하며 만든 재시작 지점을 오류 색인에 함께 저장 (오류 리포트가 압축본 중간부터 읽음)
+    // 업로드부터 .csv.gz였던 보관본은 다시 압축하지 않으므로 재시작 지점 없이 처음부터 풀며 읽음
+    private void archiveStoredFile(CsvFile csv, ErrorRowIndex errors) {
+        final String savedFileName = csv.getSavedFileName();
+        if (CsvCompression.isGzip(savedFileName)) return;
+
+        final Path raw = Paths.get(fileUploadDir, savedFileName);
+        final String archivedName = savedFileName + CsvCompression.GZIP_SUFFIX;
+        try {
+            long rawSize = Files.size(raw);
+            GzipRestartPoints restarts = new GzipRestartPoints();
+            long gzSize = CsvCompression.gzip(raw, Paths.get(fileUploadDir, archivedName), restarts);
+            transactionTemplate.executeWithoutResult(status -> {
+                csvSaveJdbcService.updateSavedFileName(csv.getFileId(), archivedName);
+                if (!errors.isEmpty()) csvSaveJdbcService.saveArchiveRestarts(csv.getFileId(), restarts);
+            });
+            Files.delete(raw);
+            log.info("[CsvSaveService] [압축] : fileId = {}, {} → {} bytes", csv.getFileId(), rawSize, gzSize);
+        } catch (IOException | RuntimeException e) {
+            // 압축 실패는 적재 결과에 영향 없음 (원문 보관본 유지)
+            log.warn("[CsvSaveService] [실패] : 보관본 압축 실패 fileId = {}", csv.getFileId(), e);
+        }
+    }
+
+    // [업로드 마무리] : 오류 행 색인 저장·요약 통지 (분석 트리거는 자원 반납 후 triggerAnalysis에서)
+    // 색인은 오류 리포트(GET /api/manager/download/{fileId}/errors)에서 원문 행을 다시 읽는 데 사용
+    // (체크포인트마다 저장된 색인이 이미 있을 수 있으므로 upsert)
+    private void finishUpload(CsvFile csv, ErrorRowIndex errors, String userId) {
+        if (!errors.isEmpty()) {
+            csvSaveJdbcService.saveErrorIndex(csv.getFileId(), errors);
+            webSocketService.sendMessage(userId, "[1단계/CSV] WARN  - 파싱 오류 라인 " + errors.total()
+                    + "건 (오류 리포트: /api/manager/download/" + csv.getFileId() + "/errors)");
+        }
+    }
+
+    // [저장본 파싱] : 디스크에 저장된 CSV 파일을 다시 열어 파싱 (설정에 따라 메모리 매핑 바이트 토크나이저 사용)
+    // 체크포인트가 있으면 커밋된 행 다음부터 이어서 읽음 (mmap은 byte offset으로 바로 이동, OpenCSV는 행 단위로 건너뜀)
+    private ErrorRowIndex parseStoredFile(CsvFile csv, IngestJob job) {
         final Path path = Paths.get(fileUploadDir, csv.getSavedFileName());
+        final int skipRows = csv.getIngestedRows() != null ? csv.getIngestedRows() : 0;
+        final long offset = csv.getIngestedOffset() != null ? csv.getIngestedOffset() : -1;
+        final long seq = csv.getIngestedChunks() != null ? csv.getIngestedChunks() : 0;
+        final int chunkRows = csvIngestProperties.resolveChunkRows(CHUNK_SIZE);
+        if (skipRows > 0) {
+            log.info("[CsvSaveService] [재개] : fileId = {}, {}행 이후부터 적재 재개", csv.getFileId(), skipRows);
+            webSocketService.sendMessage(job.getUserId(), "[1단계/CSV] INFO  - 중단된 적재 재개: " + skipRows + "행 이후부터");
+            // 병렬 저장이 체크포인트 전에 커밋한 다음 청크의 EventHistory 정리 (남겨 두면 중복 키 복원에 섞여 다시 읽은 행이 중복으로 보고됨)
+            if (csv.getIngestedEventId() != null) {
+                int stale = csvSaveJdbcService.deleteEventHistoriesAfter(csv.getFileId(), csv.getIngestedEventId());
+                if (stale > 0) log.info("[CsvSaveService] [재개] : fileId = {}, 체크포인트 이후 EventHistory {}건 삭제", csv.getFileId(), stale);
+            }
+        }
 
-        long processed = 0L;
-
-        log.debug("[5] [CsvSaveService] [진입] : [parseAndProcessFile] 파싱 프로세스 진입 성공");
-
-        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8);
-             CSVReader csvReader = new com.opencsv.CSVReaderBuilder(reader)
-                     .withCSVParser(new com.opencsv.CSVParserBuilder()
-                             .withSeparator(',')
-                             .withQuoteChar('"')
-                             .withEscapeChar('\\')
-                             .withIgnoreLeadingWhiteSpace(true)
-                             .build())
-                     .build()) {
-
-            final String[] header = csvReader.readNext();
-            final Map<String, Integer> colIdx = getColumnIndexMap(header);
-            final Set<Long> seenEventKeys = new HashSet<>();
-
-            String[] row;
-            List<String[]> chunk = new ArrayList<>(CHUNK_SIZE);
-            int rowNum = 1; // header
-
-            while ((row = csvReader.readNext()) != null) {
-                rowNum++;
-                chunk.add(row);
-                if (chunk.size() >= CHUNK_SIZE) {
-                    int startRowNum = rowNum - CHUNK_SIZE;
-                    processChunk(chunk, colIdx, csv, errorRows, startRowNum, cache, seenEventKeys);
-                    processed += chunk.size();
-                    webSocketService.sendMessage(userId, "[1단계/CSV] PROG  - 파싱 진행: " + processed + "행 처리");
-                    chunk.clear();
+        // gzip 보관본은 메모리 매핑할 수 없으므로 압축 해제 스트림을 OpenCSV로 읽음 (재개도 행 단위 건너뛰기)
+        final ChunkSourceOpener opener;
+        if (CsvCompression.isGzip(csv.getSavedFileName())) {
+            opener = () -> OpenCsvChunkSource.open(CsvCompression.openCsvReader(path), chunkRows, skipRows, seq);
+        } else if (csvIngestProperties.getTokenizer() == CsvIngestProperties.Tokenizer.MMAP) {
+            opener = () -> MappedCsvChunkSource.open(path, chunkRows, skipRows, offset, seq);
+        } else {
+            opener = () -> OpenCsvChunkSource.open(Files.newBufferedReader(path, StandardCharsets.UTF_8), chunkRows, skipRows, seq);
+        }
+        return parseAndProcess(opener, csv, loadImportCache(csv, skipRows > 0), skipRows, job);
+    }
+
+    // CSV 소스를 파이프라인(reader → parser pool → writer)으로 읽고, writer 단계에서 processChunk를 순서대로 호출
+    // 청크 하나의 저장과 체크포인트 갱신이 하나의 트랜잭션 (실패 시 그 청크만 롤백되고 이전 청크는 유지)
+    // event-writers > 1 이면 엔티티 커밋 → EventHistory 병렬 저장(K 커넥션) → 체크포인트 순서로 나눠 실행
+    // (EventHistory가 엔티티를 FK로 참조하므로 다른 커넥션에서 보이도록 먼저 커밋, 병렬 저장이 실패하면 체크포인트는 이전 청크에 머묾
+    //  → 체크포인트보다 먼저 커밋된 EventHistory는 재개 시 parseStoredFile이 체크포인트의 event_id 상한으로 삭제)
+    // event-order=epc_time 이면 청크마다 엔티티만 커밋하고 EventHistory는 정렬기에 모았다가 파일 끝에서 (epc_id, event_time) 순으로 저장
+    // (체크포인트는 정렬 저장이 끝난 뒤 한 번만 기록 → 중단되면 처음부터 다시 적재, 이전 시도가 남긴 EventHistory는 시작 시 삭제)
+    // 오류가 난 청크마다 (시작 행, 시작 offset) 앵커를 남겨 오류 리포트가 원문에서 바로 찾아가도록 함 (offset은 mmap만 알 수 있음)
+    // 오류 색인은 오류가 늘어난 청크의 체크포인트와 같은 트랜잭션에 저장 → 재개하면 저장된 색인에 이어서 쌓음
+    private ErrorRowIndex parseAndProcess(ChunkSourceOpener opener,
+                                          CsvFile csv,
+                                          ImportCache cache,
+                                          int skipRows,
+                                          IngestJob job) {
+        final String userId = job.getUserId();
+        final ErrorRowIndex errors = skipRows > 0 ? loadErrorIndex(csv) : new ErrorRowIndex();
+
+        final long[] processed = {skipRows};
+        final long[] chunkStart = {csv.getIngestedOffset() != null ? csv.getIngestedOffset() : -1};
+        final long[] sortedCheckpoint = {-1, -1, -1}; // 정렬 적재 : 마지막 청크의 (끝 행, 끝 offset, 청크 수)
+        job.progress(processed[0], errors.total());
+
+        final boolean sorted = csvIngestProperties.getEventOrder() == CsvIngestProperties.EventOrder.EPC_TIME;
+        if (sorted && skipRows == 0) {
+            int stale = csvSaveJdbcService.deleteEventHistoriesByFile(csv.getFileId());
+            if (stale > 0) log.info("[CsvSaveService] [재개] : fileId = {}, 중단된 정렬 적재의 EventHistory {}건 삭제 후 다시 적재", csv.getFileId(), stale);
+        }
+
+        log.debug("[5] [CsvSaveService] [진입] : [parseAndProcess] 파싱 프로세스 진입 성공");
+        webSocketService.sendMessage(userId, "[1단계/CSV] INFO  - 파싱 준비 완료. 청크 처리 시작");
+
+        try (ChunkSource source = opener.open();
+             EventSorter sorter = sorted ? new EventSorter(csv.getFileId(), sortBufferRows(), Paths.get(fileUploadDir)) : null) {
+            csvIngestPipeline.run(source, chunk -> {
+                final long errorsBefore = errors.total();
+                if (sorter != null) {
+                    sorter.add(transactionTemplate.execute(status -> processChunk(chunk, csv, errors, cache, chunkStart[0])));
+                    sortedCheckpoint[0] = chunk.getStartRowNum() + chunk.size() - 1;
+                    sortedCheckpoint[1] = chunk.getEndOffset();
+                    sortedCheckpoint[2] = chunk.getSeq() + 1;
+                } else if (eventHistoryWriters.isParallel()) {
+                    EventBatch events = transactionTemplate.execute(status -> processChunk(chunk, csv, errors, cache, chunkStart[0]));
+                    eventHistoryWriters.write(events);
+                    transactionTemplate.executeWithoutResult(status -> saveCheckpoint(csv, chunk, errors, errorsBefore));
+                } else {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        csvSaveJdbcService.saveEventHistories(processChunk(chunk, csv, errors, cache, chunkStart[0]));
+                        saveCheckpoint(csv, chunk, errors, errorsBefore);
+                    });
+                }
+                chunkStart[0] = chunk.getEndOffset();
+                processed[0] += chunk.size();
+                job.progress(processed[0], errors.total());
+                webSocketService.sendMessage(userId, "[1단계/CSV] PROG  - 파싱 진행: " + processed[0] + "행 처리"
+                        + (chunk.isLast() ? " (마지막 청크)" : ""));
+            });
+            if (sorter != null) {
+                writeSortedEvents(csv, sorter, userId);
+                if (sortedCheckpoint[0] >= 0) {
+                    csvSaveJdbcService.saveCheckpoint(csv.getFileId(), (int) sortedCheckpoint[0], sortedCheckpoint[1], sortedCheckpoint[2]);
                 }
-            }
-            if (!chunk.isEmpty()) {
-                int startRowNum = rowNum - chunk.size();
-                processChunk(chunk, colIdx, csv, errorRows, startRowNum, cache, seenEventKeys);
-                processed += chunk.size();
-                webSocketService.sendMessage(userId, "[1단계/CSV] PROG  - 파싱 진행: " + processed + "행 처리 (마지막 청크)");
             }
 
         } catch (IOException e) {
@@ -177,200 +409,265 @@ public class CsvSaveService {
             webSocketService.sendMessage(userId, "[1단계/CSV] ERROR - CSV 처리 중 치명적 오류: " + e.getMessage());
             throw new RuntimeException("CSV 처리 중 오류가 발생했습니다.", e);
         }
-        return errorRows;
+        return errors;
+    }
+
+    // 청크 처리 후 오류가 늘었으면 청크 시작 위치를 앵커로 남김
+    private EventBatch processChunk(ParsedChunk chunk, CsvFile csv, ErrorRowIndex errors, ImportCache cache, long chunkStart) {
+        final long errorsBefore = errors.total();
+        final EventBatch events = processChunk(chunk, csv, errors, cache);
+        if (errors.total() > errorsBefore) errors.anchor(chunk.getStartRowNum(), chunkStart);
+        return events;
+    }
+
+    // [체크포인트] : 청크까지 커밋된 위치 기록, 이 청크에서 오류가 늘었으면 오류 색인도 함께 저장 (호출한 트랜잭션 안에서 실행)
+    private void saveCheckpoint(CsvFile csv, ParsedChunk chunk, ErrorRowIndex errors, long errorsBefore) {
+        csvSaveJdbcService.saveCheckpoint(csv.getFileId(),
+                chunk.getStartRowNum() + chunk.size() - 1, chunk.getEndOffset(), chunk.getSeq() + 1);
+        if (errors.total() > errorsBefore) csvSaveJdbcService.saveErrorIndex(csv.getFileId(), errors);
+    }
+
+    // [오류 색인 복원] : 재개 시 이전 시도가 체크포인트와 함께 저장한 오류 행/앵커 (없으면 빈 색인)
+    private ErrorRowIndex loadErrorIndex(CsvFile csv) {
+        ErrorRowIndex errors = csvErrorIndexRepo.findById(csv.getFileId())
+                .map(i -> ErrorRowIndex.decode(i.getErrorRows(), i.getRowAnchors()))
+                .orElseGet(ErrorRowIndex::new);
+        if (!errors.isEmpty()) log.debug("[CsvSaveService] [재개] : 이전 시도의 오류 행 {}건 복원", errors.total());
+        return errors;
+    }
+
+    // [정렬 저장] : 정렬기에 모은 EventHistory를 (epc_id, event_time) 순으로 한 커넥션에서 순서대로 INSERT
+    // 병렬 writer(event-writers)는 묶음끼리 event_id가 섞이므로 사용하지 않음 (배치마다 별도 트랜잭션)
+    private void writeSortedEvents(CsvFile csv, EventSorter sorter, String userId) {
+        log.info("[CsvSaveService] [정렬] : fileId = {}, EventHistory {}건 정렬 저장 (디스크 run {}개)",
+                csv.getFileId(), sorter.size(), sorter.runCount());
+        webSocketService.sendMessage(userId, "[1단계/CSV] INFO  - 이벤트 정렬 저장 시작: " + sorter.size() + "건 (epc, event_time 순)");
+        sorter.drain(Math.max(SORTED_WRITE_BATCH, csvIngestProperties.resolveChunkRows(CHUNK_SIZE)), batch ->
+                transactionTemplate.executeWithoutResult(status -> csvSaveJdbcService.saveEventHistories(batch)));
+    }
+
+    private int sortBufferRows() {
+        long rows = csvIngestProperties.getSortBuffer().toBytes() / EventSorter.ROW_BYTES;
+        return (int) Math.min(Integer.MAX_VALUE - 8, Math.max(csvIngestProperties.resolveChunkRows(CHUNK_SIZE), rows));
+    }
+
+    // [캐시 준비] : 파일 내 기존 Product/EPC를 읽어 ImportCache 구성 (location_id는 전역 CsvLocationRegistry가 관리)
+    // 캐시는 모두 커밋된 DB 상태에서 다시 만들 수 있으므로 체크포인트에는 위치 정보만 저장함
+    // (재개 시에는 이미 커밋된 EventHistory의 유니크 키로 중복 키 집합도 복원)
+    private ImportCache loadImportCache(CsvFile csv, boolean resuming) {
+        final long storedBytes = csv.getFileSize() != null ? csv.getFileSize() : 0;
+        final ImportCache cache = new ImportCache(
+                csvProductRepo.findAllByFileIdAsMap(csv.getFileId()),
+                epcRepo.findAllByFileIdAsMap(csv.getFileId()),
+                // 중복 키 집합은 원문 크기로 추정한 이벤트 수만큼만 미리 잡음 (IngestScheduler 메모리 추정과 같은 계산)
+                new EventKeySet(EventKeySet.expectedEvents(
+                        CsvCompression.estimatedCsvBytes(storedBytes, CsvCompression.isGzip(csv.getSavedFileName()))))
+        );
+        if (resuming) {
+            csvSaveJdbcService.forEachEventKey(csv.getFileId(), (epcId, locationId, productId, eventTime, step, type) ->
+                    cache.seenEventKeys.add(epcId, locationId, productId, eventTime,
+                            cache.eventCodes.encode(step), cache.eventCodes.encode(type)));
+            log.debug("[CsvSaveService] [재개] : 커밋된 이벤트 키 {}건 복원", cache.seenEventKeys.size());
+        }
+        return cache;
     }
 
 
     // ■■■■■■■■■■■■■■ [ 청크 처리 ] ■■■■■■■■■■■■■
-    // 하나의 청크를 파싱하여 Location/Product/EPC를 수집·중복제거하고, 엔티티를 배치로 저장한 뒤 EventHistory를 생성
-    private void processChunk(List<String[]> chunk,
-                              Map<String, Integer> colIdx,
-                              CsvFile csv,
-                              Map<String, List<Integer>> errorRows,
-                              int startRowNum,
-                              ImportCache cache,
-                              Set<Long> seenEventKeys) {
+    // 파싱된 청크로 Location/Product/EPC를 수집·중복제거하고, 엔티티를 배치로 저장한 뒤 EventHistory 묶음을 만들어 반환
+    // (EventHistory 저장은 호출한 parseAndProcess가 event-writers 설정에 따라 수행)
+    // (writer 단계: 파이프라인 호출 스레드에서 청크 순서대로 실행됨)
+    // 청크는 이미 컬럼 배열로 디코딩되어 있으므로 두 단계 모두 행 인덱스로 배열만 읽음
+    // (패키지 공개 : JMH 벤치마크 src/jmh 의 ProcessChunkBenchmark 에서 직접 호출)
+    EventBatch processChunk(ParsedChunk chunk,
+                            CsvFile csv,
+                            ErrorRowIndex errors,
+                            ImportCache cache) {
         log.debug("[진입] : [processChunk] 청크 처리를 위한 private 메서드 진입");
+        final int n = chunk.size();
         List<CsvLocation> newLocations = new ArrayList<>();
+        Set<Long> chunkLocationIds = new HashSet<>(); // 청크 안 중복 제거 (레지스트리에는 저장 후 반영)
         List<CsvProduct> newProducts = new ArrayList<>();
         List<Epc> newEpcs = new ArrayList<>();
-        List<EventHistory> newEvents = new ArrayList<>();
 
-        // 청크 내부 중복 제거 (문자열 키 사용)
-        Set<String> eventDedupInChunk = new HashSet<>();
+        // 행별로 확정된 참조 (1단계에서 한 번만 조회, ID는 2단계 저장 후 채워짐)
+        final CsvProduct[] rowProducts = new CsvProduct[n];
+        final Epc[] rowEpcs = new Epc[n];
+
+        // 파서 단계에서 발견된 오류 행 병합 (행 번호 순서 유지)
+        chunk.getParseErrors().forEach(errors::addAll);
+
+        final long[] locationIds = chunk.getLocationIds();
+        final String[] epcCodes = chunk.getEpcCodes();
+        final String[] epcCompanies = chunk.getEpcCompanies();
+        final String[] epcProducts = chunk.getEpcProducts();
 
         // 1) 마스터 파싱 (Location/Product/EPC)
-        for (String[] row : chunk) {
-            // Location (전역 유일)
-            Long locationId = parseLongSafe(getValue(colIdx, row, "location_id"));
-            if (locationId != null && cache.locationIds.add(locationId)) {
+        CsvProduct lastProduct = null; // 같은 상품이 연속되는 경우 키 문자열 생성/조회 생략
+        for (int i = 0; i < n; i++) {
+            // Location (전역 유일, 이미 등록된 ID는 레지스트리에서 바로 거름)
+            long locationId = locationIds[i];
+            if (locationId != ParsedChunk.NO_VALUE && !csvLocationRegistry.contains(locationId)
+                    && chunkLocationIds.add(locationId)) {
                 newLocations.add(CsvLocation.builder()
                         .csvFile(csv)
                         .csvLocationId(locationId)
-                        .scanLocation(getValue(colIdx, row, "scan_location"))
-                        .operatorId(parseLongSafe(getValue(colIdx, row, "operator_id")))
-                        .deviceId(parseLongSafe(getValue(colIdx, row, "device_id")))
+                        .scanLocation(chunk.getScanLocations()[i])
+                        .operatorId(ParsedChunk.boxed(chunk.getOperatorIds()[i]))
+                        .deviceId(ParsedChunk.boxed(chunk.getDeviceIds()[i]))
                         .build());
             }
 
             // Product (파일 단위 유니크)
-            String epcProduct = getValue(colIdx, row, "epc_product");
-            String epcCompany = getValue(colIdx, row, "epc_company");
+            String epcProduct = epcProducts[i];
+            String epcCompany = epcCompanies[i];
             if (epcProduct != null && epcCompany != null) {
-                String key = productKey(epcCompany, epcProduct);
-                if (!cache.productMap.containsKey(key)) {
-                    CsvProduct p = CsvProduct.builder()
-                            .csvFile(csv)
-                            .csvEpcProduct(epcProduct)
-                            .csvEpcCompany(epcCompany)
-                            .csvProductName(getValue(colIdx, row, "product_name"))
-                            .build();
-                    newProducts.add(p);
-                    cache.productMap.put(key, p); // 메모리 선반영 (ID는 save 후 채워짐)
+                if (lastProduct != null
+                        && epcCompany.equals(lastProduct.getCsvEpcCompany())
+                        && epcProduct.equals(lastProduct.getCsvEpcProduct())) {
+                    rowProducts[i] = lastProduct;
+                } else {
+                    String key = productKey(epcCompany, epcProduct);
+                    CsvProduct p = cache.productMap.get(key);
+                    if (p == null) {
+                        p = CsvProduct.builder()
+                                .csvFile(csv)
+                                .csvEpcProduct(epcProduct)
+                                .csvEpcCompany(epcCompany)
+                                .csvProductName(chunk.getProductNames()[i])
+                                .build();
+                        newProducts.add(p);
+                        cache.productMap.put(key, p); // 메모리 선반영 (ID는 save 후 채워짐)
+                    }
+                    rowProducts[i] = p;
+                    lastProduct = p;
                 }
             }
 
             // EPC (파일 단위 유니크)
-            String epcCode = getValue(colIdx, row, "epc_code");
-            if (epcCode != null && cache.epcCodes.add(epcCode)) {
-                newEpcs.add(Epc.builder()
-                        .csvFile(csv)
-                        .epcCode(epcCode)
-                        .epcHeader(getValue(colIdx, row, "epc_header"))
-                        .epcLot(getValue(colIdx, row, "epc_lot"))
-                        .epcSerial(getValue(colIdx, row, "epc_serial"))
-                        .manufactureDate(tryParseDateTime(getValue(colIdx, row, "manufacture_date"),
-                                DATE_TIME_FORMATTER, null, 0, ""))
-                        .expiryDate(tryParseDate(getValue(colIdx, row, "expiry_date"),
-                                DATE_FORMATTER, null, 0, ""))
-                        .build());
+            String epcCode = epcCodes[i];
+            if (epcCode != null) {
+                Epc e = cache.epcMap.get(epcCode);
+                if (e == null) {
+                    e = Epc.builder()
+                            .csvFile(csv)
+                            .epcCode(epcCode)
+                            .epcHeader(chunk.getEpcHeaders()[i])
+                            .epcLot(chunk.getEpcLots()[i])
+                            .epcSerial(chunk.getEpcSerials()[i])
+                            .manufactureDate(chunk.getManufactureDate(i))
+                            .expiryDate(chunk.getExpiryDate(i))
+                            .build();
+                    newEpcs.add(e);
+                    cache.epcMap.put(epcCode, e); // 메모리 선반영 (ID는 save 후 채워짐)
+                }
+                rowEpcs[i] = e;
             }
         }
 
-        // 2) 배치 저장 (REQUIRES_NEW 권장: CsvSaveJdbcService 내부에서 처리)
-        if (!newLocations.isEmpty()) csvSaveJdbcService.saveCsvLocations(newLocations);
+        // 2) 배치 저장 (parseAndProcess가 청크마다 연 트랜잭션 안에서 실행)
+        // Product/Epc는 INSERT 시 반환된 generated key가 엔티티에 바로 채워지므로 파일 전체를 재조회하지 않음
+        // (1단계에서 행별로 잡아 둔 rowProducts/rowEpcs도 같은 객체라 ID가 함께 채워짐)
+        if (!newLocations.isEmpty()) csvLocationRegistry.register(newLocations);
         if (!newProducts.isEmpty()) csvSaveJdbcService.saveCsvProducts(newProducts);
         if (!newEpcs.isEmpty()) csvSaveJdbcService.saveEpcs(newEpcs);
 
-        // 저장 완료된 엔티티로 캐시 확정(신규만 반영)
-        // 저장 완료된 엔티티로 캐시 확정(신규만 '영속 객체'로 반영)
-        if (!newProducts.isEmpty()) {
-            Map<String, CsvProduct> freshProducts = csvProductRepo.findAllByFileIdAsMap(csv.getFileId());
-            for (CsvProduct p : newProducts) {
-                String key = productKey(p.getCsvEpcProduct(), p.getCsvEpcProduct());
-                CsvProduct persisted = freshProducts.get(key);
-                if (persisted != null) {
-                    cache.productMap.put(key, persisted); // ← ID가 채워진 객체로 교체
-                } else {
-                    // 안전장치: 혹시 INSERT 무시/중복 등으로 못 찾았을 때 대비
-                    cache.productMap.remove(key);
-                }
-            }
-        }
-        if (!newEpcs.isEmpty()) {
-            Map<String, Epc> freshEpcs = epcRepo.findAllByFileIdAsMap(csv.getFileId());
-            for (Epc e : newEpcs) {
-                String code = e.getEpcCode();
-                Epc persisted = freshEpcs.get(code);
-                if (persisted != null) {
-                    cache.epcMap.put(code, persisted); // ← ID가 채워진 객체로 교체
-                } else {
-                    cache.epcMap.remove(code);
-                }
-            }
-        }
-
-        // 3) EventHistory 파싱/중복 제거/저장
-        for (int i = 0; i < chunk.size(); i++) {
-            String[] row = chunk.get(i);
-            int currentRowNum = startRowNum + i;
-
-            String epcCode = getValue(colIdx, row, "epc_code");
-            String epcCompany = getValue(colIdx, row, "epc_company");
-            String epcProduct = getValue(colIdx, row, "epc_product");
-            Long locationId = parseLongSafe(getValue(colIdx, row, "location_id"));
-
-            Epc epc = epcCode != null ? cache.epcMap.get(epcCode) : null;
-            CsvProduct product = (epcCompany != null && epcProduct != null)
-                    ? cache.productMap.get(productKey(epcCompany, epcProduct))
-                    : null;
-            CsvLocation locationRef = (locationId != null) ? csvLocationRepo.getReferenceById(locationId) : null;
-
-            LocalDateTime evTime = tryParseDateTime(getValue(colIdx, row, "event_time"),
-                    DATE_TIME_FORMATTER, errorRows, currentRowNum, "event_time");
-            String originalStep = getValue(colIdx, row, "business_step");
-            String step = normalizeBusinessStep(originalStep);
-            String type = getValue(colIdx, row, "event_type");
-            String hub = getValue(colIdx, row, "hub_type");
-
-            // DB 유니크 제약과 동일한 구성으로 키 생성
-            String keyStr = buildEventKey(csv.getFileId(), epc, locationId, product, evTime, step, type);
-            long keyHash = hash64(keyStr);
-
-            if (epc != null && product != null && locationRef != null
-                    && evTime != null // 권장: null이면 저장하지 않음(유니크 제약 일관성)
-                    && eventDedupInChunk.add(keyStr)
-                    && seenEventKeys.add(keyHash)) {
-
-                newEvents.add(EventHistory.builder()
-                        .csvFile(csv)
-                        .epc(epc)
-                        .csvProduct(product)
-                        .csvLocation(locationRef)
-                        .eventTime(evTime)
-                        .businessStep(step)
-                        .eventType(type)
-                        .hubType(hub)
-                        .businessOriginal(originalStep)
-                        .build());
+        // 3) EventHistory 중복 제거/저장
+        final long[] eventTimes = chunk.getEventTimes();
+        final int[] steps = chunk.getBusinessSteps();
+        final int[] types = chunk.getEventTypes();
+        final StringDictionary dict = chunk.getDictionary();
+        // 청크마다 사전이 다르므로 파일 전역 코드로 바꿔서 중복 키를 비교
+        final int[] globalCode = toGlobalCodes(dict, cache.eventCodes);
+        final EventBatch events = new EventBatch(csv.getFileId(), dict, n);
+        for (int i = 0; i < n; i++) {
+            int currentRowNum = chunk.getStartRowNum() + i;
+
+            Epc epc = rowEpcs[i];
+            CsvProduct product = rowProducts[i];
+            long locationId = locationIds[i];
+            long evTime = eventTimes[i];
+
+            // DB 유니크 제약과 동일한 구성(파일 내 EPC·로케이션·제품·시간·스텝·이벤트타입)으로 중복 검사
+            if (epc != null && product != null && locationId != ParsedChunk.NO_VALUE
+                    && evTime != ParsedChunk.NO_VALUE // 권장: null이면 저장하지 않음(유니크 제약 일관성)
+                    && cache.seenEventKeys.add(epc.getEpcId(), locationId, product.getCsvProductId(), evTime,
+                            globalCode(globalCode, steps[i]), globalCode(globalCode, types[i]))) {
+                events.add(epc.getEpcId(), locationId, product.getCsvProductId(), evTime,
+                        steps[i], types[i], chunk.getHubTypes()[i], chunk.getBusinessOriginals()[i]);
             } else {
-                errorRows.computeIfAbsent("참조오류/중복/시간누락", k -> new ArrayList<>()).add(currentRowNum);
+                errors.add("참조오류/중복/시간누락", currentRowNum);
             }
         }
 
-        if (!newEvents.isEmpty()) csvSaveJdbcService.saveEventHistories(newEvents);
+        return events;
     }
 
     // ■■■■■■■■■■■■■■ [ Helper ] ■■■■■■■■■■■■■
 
-    // [file 확장자 검사] .csv 여부 확인
+    // 업로더 회원 조회
+    private Member findMember(String userId) {
+        return memberRepo.findByUserId(userId)
+                .orElseThrow(() -> new BadRequestException("회원 정보를 찾을 수 없습니다."));
+    }
+
+    // [file 확장자 검사] .csv / .csv.gz 여부 확인
     private void validateFile(MultipartFile file) {
         log.debug("[2] [CsvSaveService] [진입] : [validateFile] file 확장자 검사");
         if (file == null || file.isEmpty())
             throw new CsvFileNotFoundException("업로드된 파일이 없습니다.");
-        String name = Objects.requireNonNull(file.getOriginalFilename()).toLowerCase();
-        if (!name.endsWith(".csv")) {
-            throw new FileUploadException("CSV 파일 형식이 아닙니다.");
-        }
-
-
-
+        validateFileName(file.getOriginalFilename());
         log.debug("[2] [CsvSaveService] [진입] : [validateFile] file 확장자 검사 완료");
     }
 
+    // [파일명 검사] .csv / .csv.gz 확장자 여부 확인 (분할 업로드 세션 생성 시에도 사용)
+    public void validateFileName(String originalFileName) {
+        String name = Objects.requireNonNull(originalFileName, "파일명이 없습니다.");
+        if (!CsvCompression.isSupportedName(name)) {
+            throw new FileUploadException("CSV(.csv, .csv.gz) 파일 형식이 아닙니다.");
+        }
+    }
+
     // [CSV Meta 정보 저장] : 업로드 파일의 메타데이터(Csv 엔티티)를 생성·DB에 저장하고 저장된 Csv를 반환
-    private CsvFile createAndSaveCsvMetadata(MultipartFile file, Member member) {
+    private CsvFile createAndSaveCsvMetadata(String originalFileName, long fileSize, Member member) {
+        return createAndSaveCsvMetadata(originalFileName, CsvCompression.storedFileName(originalFileName), fileSize, member);
+    }
+
+    private CsvFile createAndSaveCsvMetadata(String originalFileName, String savedFileName, long fileSize, Member member) {
         log.debug("[3] [CsvSaveService] [진입] : [createAndSaveCsvMetadata] CSV Meta 정보 저장 진입");
-        String originalFileName = file.getOriginalFilename();
-        String savedFileName = UUID.randomUUID() + ".csv";
         CsvFile csv = CsvFile.builder()
                 .fileName(originalFileName)
                 .savedFileName(savedFileName)
                 .filePath(fileUploadDir)
-                .fileSize(file.getSize())
+                .fileSize(fileSize)
                 .member(member)
+                .ingestStatus(IngestStatus.QUEUED)
+                .ingestedRows(0)
+                .ingestedChunks(0L)
                 .build();
         log.debug("[3] [CsvSaveService] [진입] : [createAndSaveCsvMetadata] CSV Meta 정보 저장 성공, originalFileName = {}", originalFileName);
         return csvRepo.save(csv);
     }
 
+    // [스트림 저장] : 요청 body를 보관본 파일로 기록하고 기록한 바이트 수를 반환 (기록하면서 내용 해시 계산)
+    private long storeStreamToDisk(InputStream in, CsvFile csvFile) {
+        log.debug("[4] [CsvSaveService] [진입] : [storeStreamToDisk] 스트림 저장 진입");
+        try (InputStream body = in) {
+            long size = copyToDisk(body, csvFile);
+            log.debug("[4] [CsvSaveService] [완료] : [storeStreamToDisk] 저장 완료, {} bytes", size);
+            return size;
+        } catch (IOException e) {
+            log.error("[4] [CsvSaveService] [실패] : [storeStreamToDisk] 파일 저장 실패: {}", csvFile.getSavedFileName(), e);
+            throw new CsvFileSaveToDiskException("파일을 디스크에 저장하는 데 실패했습니다.");
+        }
+    }
+
     // [파일 저장] : 업로드된 MultipartFile을 지정된 디스크 위치(fileUploadDir)에 저장
+    // transferTo(임시파일 이동) 대신 스트림으로 복사 → 복사하는 한 번의 읽기로 해시까지 계산 (보관본을 다시 읽지 않음)
     private void storeFileToDisk(MultipartFile file, CsvFile csvFile) {
-        try {
-            log.debug("[4] [CsvSaveService] [진입] : [storeFileToDisk] BE 서버에 저장 진입");
-            Path targetLocation = Paths.get(fileUploadDir).resolve(csvFile.getSavedFileName());
-            Files.createDirectories(targetLocation.getParent());
-            Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
+        log.debug("[4] [CsvSaveService] [진입] : [storeFileToDisk] BE 서버에 저장 진입");
+        try (InputStream in = file.getInputStream()) {
+            copyToDisk(in, csvFile);
             log.debug("[4] [CsvSaveService] [완료] : [storeFileToDisk] BE 서버에 저장 완료");
         } catch (IOException e) {
             log.error("[4] [CsvSaveService] [진입] : [storeFileToDisk] 파일 저장 실패: {}", csvFile.getSavedFileName(), e);
@@ -378,140 +675,52 @@ public class CsvSaveService {
         }
     }
 
-    // [필수 칼럼 확인] : CSV 헤더 배열로부터 컬럼명→인덱스 맵을 만들고 필수 컬럼 누락 체크를 수행
-    private Map<String, Integer> getColumnIndexMap(String[] header) {
-        if (header == null)
-            throw new InvalidCsvFormatException("CSV 파일에 헤더가 없습니다.");
-        Map<String, Integer> colIdx = new HashMap<>(header.length * 2);
-        for (int i = 0; i < header.length; i++) {
-            String h = header[i];
-            if (h == null) continue;                    // ← null 방어
-            String key = h.trim().toLowerCase();
-            if (key.isEmpty()) continue;                // ← 빈 헤더 스킵
-            colIdx.put(key, i);
-        }
-        List<String> required = Arrays.asList(
-                "location_id","scan_location","operator_id","device_id",
-                "epc_code","epc_header","epc_lot","epc_serial",
-                "epc_product","epc_company","product_name",
-                "event_time","business_step","event_type","hub_type"
-        );
-        List<String> missing = required.stream()
-                .filter(r -> !colIdx.containsKey(r))
-                .collect(Collectors.toList());
-        if (!missing.isEmpty()) {
-            throw new InvalidCsvFormatException("누락된 헤더: " + missing);
-        }
-
-        return colIdx;
-    }
-
-    // [빈값 및 null 확인] : 주어진 행(row)에서 컬럼명에 해당하는 값을 안전하게 읽어와 null/빈값을 처리
-    private String getValue(Map<String, Integer> colIdx, String[] row, String colName) {
-        Integer idx = colIdx.get(colName.toLowerCase());
-        if (idx == null || idx >= row.length) return null;
-        String v = row[idx];
-        return (v == null || v.isBlank()) ? null : v.trim();
-        // 필요시 "NULL"/"null" 같은 문자열도 무시하도록 확장 가능
-    }
-
-    // 문자열을 Long으로 변환하되 포맷오류 발생 시 null을 반환하는 안전 변환기
-    private Long parseLongSafe(String s) {
-        if (s == null) return null;
-        try {
-            return Long.parseLong(s);
-        } catch (NumberFormatException e) {
-            return null;
-        }
-    }
-
-    // [날짜 + 시간 변환] : 문자열을 LocalDateTime으로 파싱하고 실패 시 errorRows에 행번호를 기록한 뒤 null을 반환
-    private LocalDateTime tryParseDateTime(String value,
-                                           DateTimeFormatter formatter,
-                                           Map<String, List<Integer>> errorRows,
-                                           int rowNum,
-                                           String fieldName) {
-        if (value == null) return null;
-        try {
-            return LocalDateTime.parse(value, formatter);
-        } catch (DateTimeParseException e) {
-            if (errorRows != null) {
-                errorRows.computeIfAbsent(fieldName + " 날짜 형식 오류", k -> new ArrayList<>()).add(rowNum);
+    // 업로드 바이트를 보관본으로 기록하면서 압축 해제한 CSV 내용 해시 계산 (.csv 와 .csv.gz 가 같은 내용이면 같은 해시)
+    private long copyToDisk(InputStream in, CsvFile csvFile) throws IOException {
+        final Path target = Paths.get(fileUploadDir).resolve(csvFile.getSavedFileName());
+        Files.createDirectories(target.getParent());
+        final CsvContentDigest digest = CsvContentDigest.forFile(csvFile.getSavedFileName());
+        final byte[] buf = new byte[COPY_BUFFER_SIZE];
+        long size = 0;
+        try (OutputStream out = Files.newOutputStream(target)) {
+            int n;
+            while ((n = in.read(buf)) != -1) {
+                out.write(buf, 0, n);
+                digest.update(buf, 0, n);
+                size += n;
             }
-            return null;
         }
+        csvFile.setContentHash(digest.hex());
+        return size;
     }
 
-    // [날짜 변환] : 문자열을 LocalDate으로 파싱하고 실패 시 errorRows에 행번호를 기록한 뒤 null을 반환
-    private LocalDate tryParseDate(String value,
-                                   DateTimeFormatter formatter,
-                                   Map<String, List<Integer>> errorRows,
-                                   int rowNum,
-                                   String fieldName) {
-        if (value == null) return null;
-        try {
-            return LocalDate.parse(value, formatter);
-        } catch (DateTimeParseException e) {
-            if (errorRows != null) {
-                errorRows.computeIfAbsent(fieldName + " 날짜 형식 오류", k -> new ArrayList<>()).add(rowNum);
-            }
-            return null;
+    // 청크 사전 코드 → 파일 전역 코드 매핑표 (사전 크기는 step/type/hub 종류 수 정도로 작음)
+    private static int[] toGlobalCodes(StringDictionary chunkDict, StringDictionary global) {
+        int[] map = new int[chunkDict.size()];
+        for (int c = 0; c < map.length; c++) {
+            map[c] = global.encode(chunkDict.decode(c));
         }
+        return map;
     }
 
-    // [business_step 변환] : 입력된 business_step 문자열을 내부 표준(Factory, WMS, LogiHub 등)으로 정규화
-    private String normalizeBusinessStep(String input) {
-        if (input == null) return null;
-        String s = input.trim().toLowerCase();
-        if (s.contains("factory")) return "Factory";
-        if (s.contains("wms")) return "WMS";
-        if (s.contains("logistics_hub") || s.contains("logi") || s.contains("hub")) return "LogiHub";
-        if (s.startsWith("w_stock")) return "Wholesaler";
-        if (s.startsWith("r_stock")) return "Reseller";
-        if (s.contains("pos")) return "POS";
-        return input;
-    }
-
-    // EventHistory의 유니크 제약을 만족하는 문자열 키(파일ID·EPC·로케이션·제품·시간·스텝·이벤트타입 조합)를 생성
-    private String buildEventKey(Long fileId,
-                                 Epc epc,
-                                 Long locationId,
-                                 CsvProduct product,
-                                 LocalDateTime eventTime,
-                                 String businessStep,
-                                 String eventType) {
-        String epoch = (eventTime != null)
-                ? String.valueOf(eventTime.atZone(ZoneOffset.UTC).toEpochSecond())
-                : "null";
-        return String.join("|",
-                String.valueOf(fileId),
-                epc != null ? String.valueOf(epc.getEpcId()) : "null",
-                locationId != null ? String.valueOf(locationId) : "null",
-                product != null ? String.valueOf(product.getCsvProductId()) : "null",
-                epoch,
-                businessStep != null ? businessStep : "null",
-                eventType != null ? eventType : "null"
-        );
+    private static int globalCode(int[] map, int chunkCode) {
+        return chunkCode == StringDictionary.NULL_CODE ? StringDictionary.NULL_CODE : map[chunkCode];
     }
-    // [Hash64] : FNV-1a 알고리즘으로 주어진 문자열의 64비트 해시값을 계산하여 반환
-    private long hash64(String s) {
-        // FNV-1a 64-bit
-        long h = 0xcbf29ce484222325L;
-        for (int i = 0; i < s.length(); i++) {
-            h ^= s.charAt(i);
-            h *= 0x100000001b3L;
-        }
-        return h;
+
+    // 헤더 검증까지 마친 ChunkSource를 여는 함수 (parseAndProcess의 try-with-resources 안에서 열어 IO 오류 처리를 일원화)
+    @FunctionalInterface
+    private interface ChunkSourceOpener {
+        ChunkSource open() throws IOException;
     }
 
     // ■■■■■■■■■■■■■■ [ 인메모리 캐시 ] ■■■■■■■■■■■■■
-    // 청크 처리 중 사용하는 인메모리 캐시(locationIds, productMap, epcMap, epcCodes)를 초기화
+    // 청크 처리 중 사용하는 인메모리 캐시(productMap, epcMap, 이벤트 중복 키)를 초기화
     @RequiredArgsConstructor
-    private static final class ImportCache {
-        final Set<Long> locationIds;              // 전역 locationId (CsvLocation PK) 중복 체크
+    static final class ImportCache {
         final Map<String, CsvProduct> productMap; // 파일 내 product 키 -> CsvProduct
-        final Map<String, Epc> epcMap;            // 파일 내 epcCode -> Epc
-        final Set<String> epcCodes;               // 파일 내 epcCode 중복 체크
+        final Map<String, Epc> epcMap;            // 파일 내 epcCode -> Epc (중복 체크 겸용)
+        final StringDictionary eventCodes = new StringDictionary(); // step/type 파일 전역 코드 (중복 키 비교용)
+        final EventKeySet seenEventKeys;          // 파일 전체 EventHistory 유니크 키 (부족하면 자동 확장)
     }
 
 }
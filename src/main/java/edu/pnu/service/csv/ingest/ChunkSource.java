@@ -0,0 +1,13 @@
+package edu.pnu.service.csv.ingest;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.Callable;
+
+// [reader 단계 소스] : 원본 CSV를 청크 단위 파싱 작업으로 잘라냄
+// nextChunk()는 reader 스레드에서만 호출되고, 반환된 작업은 파서 풀에서 병렬 실행됨
+public interface ChunkSource extends Closeable {
+
+    // 다음 청크의 파싱 작업. 더 이상 읽을 행이 없으면 null
+    Callable<ParsedChunk> nextChunk() throws IOException;
+}
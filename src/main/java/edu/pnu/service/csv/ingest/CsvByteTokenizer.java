@@ -0,0 +1,152 @@
+package edu.pnu.service.csv.ingest;
+
+import edu.pnu.service.csv.support.EventTimeCodec;
+
+import java.nio.charset.StandardCharsets;
+
+/*
+ * [바이트 토크나이저] : UTF-8 바이트 한 행을 직접 스캔해 필드 경계만 기록하는 토크나이저
+ * - 행마다 String[]/필드별 String을 만들지 않고, 실제로 읽는 컬럼만 문자열로 만듦
+ * - 숫자 컬럼(location_id, operator_id, device_id)과 event_time은 바이트에서 바로 long으로 변환
+ * - ',' '"' '\n' 은 UTF-8 멀티바이트 시퀀스 안에 나타나지 않으므로 바이트 단위 분리가 안전함
+ * 지원 범위는 MappedCsvChunkSource의 블록 경계 스캔을 통과한 형식(행 안의 단순 따옴표 필드)으로 한정.
+ * 파서 스레드마다 하나씩 생성해서 사용 (스레드 안전하지 않음)
+ */
+final class CsvByteTokenizer implements CsvRowParser.RowFields {
+
+    private static final int MAX_FAST_DIGITS = 18; // 18자리까지는 long 오버플로가 없음
+
+    private final int[] starts;
+    private final int[] ends;
+    private final boolean[] quoted;
+    private byte[] buf;
+    private int fieldCount;
+
+    CsvByteTokenizer(int columnCount) {
+        this.starts = new int[columnCount];
+        this.ends = new int[columnCount];
+        this.quoted = new boolean[columnCount];
+    }
+
+    // [행 분리] : buf[from, to) 한 행('\n' 제외)을 필드 경계로 분리. 헤더 컬럼 수를 넘는 필드는 무시
+    void tokenize(byte[] buf, int from, int to) {
+        this.buf = buf;
+        if (to > from && buf[to - 1] == '\r') to--;
+
+        int n = 0;
+        int p = from;
+        while (true) {
+            // 앞쪽 공백 건너뛰기 (OpenCSV ignoreLeadingWhiteSpace 와 동일)
+            while (p < to && isSpace(buf[p])) p++;
+
+            int fieldStart, fieldEnd;
+            boolean isQuoted = p < to && buf[p] == '"';
+            if (isQuoted) {
+                fieldStart = ++p;
+                while (p < to) {
+                    if (buf[p] == '"') {
+                        if (p + 1 < to && buf[p + 1] == '"') { p += 2; continue; } // "" → "
+                        break;
+                    }
+                    p++;
+                }
+                fieldEnd = p;
+                if (p < to) p++; // 닫는 따옴표
+                while (p < to && buf[p] != ',') p++;
+            } else {
+                fieldStart = p;
+                while (p < to && buf[p] != ',') p++;
+                fieldEnd = p;
+            }
+
+            if (n < starts.length) {
+                starts[n] = fieldStart;
+                ends[n] = fieldEnd;
+                quoted[n] = isQuoted;
+            }
+            n++;
+
+            if (p >= to) break;
+            p++; // ','
+        }
+        fieldCount = Math.min(n, starts.length);
+    }
+
+    // [문자열 값] : 앞뒤 공백 제거 후 빈값이면 null (OpenCSV 경로의 getValue 와 동일한 결과)
+    @Override
+    public String value(int idx) {
+        if (idx < 0 || idx >= fieldCount) return null;
+        int s = starts[idx];
+        int e = ends[idx];
+        while (s < e && (buf[s] & 0xff) <= ' ') s++;
+        while (e > s && (buf[e - 1] & 0xff) <= ' ') e--;
+        if (s == e) return null;
+
+        String v = quoted[idx] ? unescapeQuotes(s, e) : new String(buf, s, e - s, StandardCharsets.UTF_8);
+        // 비ASCII 공백(전각 공백 등)만 있는 값도 OpenCSV 경로와 동일하게 null 처리
+        return v.isBlank() ? null : v;
+    }
+
+    // [숫자 값] : ASCII 숫자만 있으면 바이트에서 바로 변환, 그 외 형식은 문자열 경로로 위임
+    @Override
+    public long longValue(int idx) {
+        if (idx < 0 || idx >= fieldCount) return ParsedChunk.NO_VALUE;
+        int s = starts[idx];
+        int e = ends[idx];
+        while (s < e && (buf[s] & 0xff) <= ' ') s++;
+        while (e > s && (buf[e - 1] & 0xff) <= ' ') e--;
+        if (s == e) return ParsedChunk.NO_VALUE;
+
+        boolean negative = false;
+        int p = s;
+        if (buf[p] == '-' || buf[p] == '+') {
+            negative = buf[p] == '-';
+            p++;
+        }
+        int digits = e - p;
+        if (digits == 0 || digits > MAX_FAST_DIGITS) return CsvRowParser.parseLong(value(idx));
+
+        long v = 0;
+        for (; p < e; p++) {
+            int d = buf[p] - '0';
+            if (d < 0 || d > 9) return CsvRowParser.parseLong(value(idx));
+            v = v * 10 + d;
+        }
+        return negative ? -v : v;
+    }
+
+    // [날짜+시간 값] : 따옴표 없는 필드는 바이트에서 바로 epoch seconds로 변환 (문자열 생성 없음)
+    @Override
+    public long dateTimeValue(int idx, EventTimeCodec codec) {
+        if (idx < 0 || idx >= fieldCount) return EventTimeCodec.MISSING;
+        if (quoted[idx]) return codec.parseDateTime(value(idx));
+        int s = starts[idx];
+        int e = ends[idx];
+        while (s < e && (buf[s] & 0xff) <= ' ') s++;
+        while (e > s && (buf[e - 1] & 0xff) <= ' ') e--;
+        if (s == e) return EventTimeCodec.MISSING;
+        if (e - s != EventTimeCodec.DATE_TIME_LENGTH) return codec.parseDateTime(value(idx)); // 비ASCII 공백 등은 문자열 경로
+        return codec.parseDateTime(buf, s, e);
+    }
+
+    // 따옴표 필드 안의 "" 를 " 로 복원
+    private String unescapeQuotes(int s, int e) {
+        int q = -1;
+        for (int i = s; i < e; i++) {
+            if (buf[i] == '"') { q = i; break; }
+        }
+        if (q < 0) return new String(buf, s, e - s, StandardCharsets.UTF_8);
+
+        byte[] out = new byte[e - s];
+        int n = 0;
+        for (int i = s; i < e; i++) {
+            out[n++] = buf[i];
+            if (buf[i] == '"' && i + 1 < e && buf[i + 1] == '"') i++;
+        }
+        return new String(out, 0, n, StandardCharsets.UTF_8);
+    }
+
+    private static boolean isSpace(byte b) {
+        return b == ' ' || b == '\t';
+    }
+}
@@ -0,0 +1,116 @@
+package edu.pnu.service.csv.ingest;
+
+import edu.pnu.config.CsvIngestProperties;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+/*
+ * [CSV 수집 파이프라인]
+ * reader(1) → parser pool(N) → writer(호출 스레드) 3단계로 CSV를 처리함.
+ *  - reader  : ChunkSource(OpenCSV/메모리 매핑)에서 청크 단위 파싱 작업을 잘라 파서 풀에 제출
+ *  - parser  : 원본 행/바이트 → ParsedChunk 컬럼 배열로 타입 변환 (DB 접근 없음)
+ *  - writer  : 제출 순서(seq)대로 ParsedChunk를 받아 handler 실행
+ * writer는 호출 스레드에서 돌기 때문에 트랜잭션/커넥션은 기존과 동일하게 유지되고,
+ * 중복 제거·캐시 갱신·INSERT 순서도 단일 스레드 처리와 완전히 같음.
+ * 순서 큐의 용량(queueCapacity)이 동시에 메모리에 올라가는 청크 수의 상한.
+ * 파서 풀은 모든 적재가 공유하는 csvParserExecutor (적재마다 풀을 만들고 없애지 않음)
+ */
+@Slf4j
+@Component
+public class CsvIngestPipeline {
+
+    private final CsvIngestProperties props;
+    private final AsyncTaskExecutor parsers;
+
+    public CsvIngestPipeline(CsvIngestProperties props,
+                             @Qualifier("csvParserExecutor") AsyncTaskExecutor parsers) {
+        this.props = props;
+        this.parsers = parsers;
+    }
+
+    // writer 단계에서 청크를 처리하는 콜백
+    @FunctionalInterface
+    public interface ChunkHandler {
+        void handle(ParsedChunk chunk);
+    }
+
+    public void run(ChunkSource source, ChunkHandler handler) throws IOException {
+        final BlockingQueue<Future<ParsedChunk>> ordered = new ArrayBlockingQueue<>(props.getQueueCapacity());
+        final Thread reader = new CustomizableThreadFactory("csv-reader-")
+                .newThread(() -> readBlocks(source, ordered));
+
+        log.debug("[CsvIngestPipeline] [시작] : parserThreads={}, queueCapacity={}", props.resolveParserThreads(), props.getQueueCapacity());
+        reader.start();
+        try {
+            while (true) {
+                ParsedChunk chunk = ordered.take().get();
+                if (chunk == null) break; // reader 종료 마커
+                handler.handle(chunk);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("CSV 파이프라인 대기 중 인터럽트 발생", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException io) throw io;
+            if (cause instanceof RuntimeException re) throw re;
+            if (cause instanceof Error err) throw err;
+            throw new IllegalStateException("CSV 파싱 중 오류가 발생했습니다.", cause);
+        } finally {
+            // 정상 종료/오류 모두 reader를 정리하고 (put에서 대기 중이면 인터럽트로 해제)
+            // 공유 풀에 남은 이 적재의 파싱 작업은 취소
+            reader.interrupt();
+            joinQuietly(reader);
+            Future<ParsedChunk> pending;
+            while ((pending = ordered.poll()) != null) pending.cancel(true);
+        }
+    }
+
+    // [reader 단계] : 소스에서 청크 파싱 작업을 꺼내 파서 풀에 제출하고, 결과 Future를 순서 큐에 넣음
+    private void readBlocks(ChunkSource source,
+                            BlockingQueue<Future<ParsedChunk>> ordered) {
+        try {
+            Callable<ParsedChunk> task;
+            while ((task = source.nextChunk()) != null) {
+                Future<ParsedChunk> parsed = parsers.submit(task);
+                try {
+                    ordered.put(parsed);
+                } catch (InterruptedException e) {
+                    parsed.cancel(true); // 큐에 넣지 못한 작업도 취소
+                    throw e;
+                }
+            }
+            ordered.put(CompletableFuture.completedFuture(null));
+        } catch (InterruptedException e) {
+            // writer가 중단됨 → 조용히 종료
+            Thread.currentThread().interrupt();
+        } catch (IOException | RuntimeException e) {
+            log.error("[CsvIngestPipeline] [실패] : CSV 읽기 오류", e);
+            try {
+                ordered.put(CompletableFuture.failedFuture(e));
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void joinQuietly(Thread t) {
+        try {
+            t.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package edu.pnu.service.csv.ingest;
+
+import edu.pnu.domain.CsvLocation;
+import edu.pnu.repository.CsvLocationRepository;
+import edu.pnu.service.csv.CsvSaveJdbcService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/*
+ * [로케이션 레지스트리] : csv_location(전역 PK = location_id)에 이미 있는 ID를 애플리케이션 전체에서 공유하는 집합
+ * - 첫 사용 시 한 번만 DB에서 읽어 채우고, 이후 업로드는 조회 없이 바로 시작
+ * - 새 로케이션은 INSERT ... ON DUPLICATE KEY UPDATE 로 저장 → 동시 업로드가 같은 ID를 새 로케이션으로 판단해도 PK 충돌 없음
+ * - 집합에는 커밋이 끝난 뒤에만 추가 (롤백된 청크의 ID를 "있음"으로 기억하지 않도록)
+ *   커밋 전 다른 업로드가 같은 ID를 다시 INSERT 해도 ON DUPLICATE KEY 로 무시됨
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CsvLocationRegistry {
+
+    private final CsvLocationRepository csvLocationRepo;
+    private final CsvSaveJdbcService csvSaveJdbcService;
+
+    private final Set<Long> known = ConcurrentHashMap.newKeySet();
+    private volatile boolean warmed;
+
+    // DB에 있는 것으로 확인된 location_id
+    public boolean contains(long locationId) {
+        warmUp();
+        return known.contains(locationId);
+    }
+
+    // [등록] : 레지스트리에 없는 로케이션만 저장 (현재 트랜잭션이 있으면 커밋 후 반영)
+    public void register(List<CsvLocation> locations) {
+        warmUp();
+        List<CsvLocation> missing = new ArrayList<>(locations.size());
+        for (CsvLocation l : locations) {
+            if (!known.contains(l.getCsvLocationId())) missing.add(l);
+        }
+        if (missing.isEmpty()) return;
+
+        csvSaveJdbcService.saveCsvLocations(missing);
+        List<Long> ids = missing.stream().map(CsvLocation::getCsvLocationId).toList();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    known.addAll(ids);
+                }
+            });
+        } else {
+            known.addAll(ids);
+        }
+    }
+
+    public int size() {
+        warmUp();
+        return known.size();
+    }
+
+    // 최초 1회 전체 location_id 적재 (동시에 호출돼도 한 번만 조회)
+    private void warmUp() {
+        if (warmed) return;
+        synchronized (this) {
+            if (warmed) return;
+            known.addAll(csvLocationRepo.findAllLocationIds());
+            warmed = true;
+            log.info("[CsvLocationRegistry] [완료] : location_id {}건 적재", known.size());
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package edu.pnu.service.csv.ingest;
+
+import edu.pnu.exception.InvalidCsvFormatException;
+import edu.pnu.service.csv.support.EventTimeCodec;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// CSV 원본 행을 컬럼 배열(ParsedChunk)로 변환하는 파서
+// 상태가 없으므로(헤더에서 해석한 컬럼 인덱스만 보유) 여러 파서 스레드가 공유해도 안전함
+public class CsvRowParser {
+
+    // [행 필드 접근자] : OpenCSV(String[])와 바이트 토크나이저(메모리 매핑)가 같은 변환 로직을 쓰기 위한 공통 인터페이스
+    interface RowFields {
+        String value(int idx);   // 앞뒤 공백 제거, 빈값/범위 밖이면 null
+        long longValue(int idx); // 숫자 형식이 아니면 ParsedChunk.NO_VALUE
+        long dateTimeValue(int idx, EventTimeCodec codec); // "yyyy-MM-dd HH:mm:ss" → epoch seconds (빈값 MISSING, 오류 INVALID)
+    }
+
+    private final Map<String, Integer> colIdx;
+    private final int columnCount;
+
+    // 헤더에서 한 번만 해석해 두는 컬럼 인덱스 (행마다 컬럼명 해싱을 하지 않음, 없는 컬럼은 -1)
+    private final int locationIdIdx, scanLocationIdx, operatorIdIdx, deviceIdIdx;
+    private final int epcProductIdx, epcCompanyIdx, productNameIdx;
+    private final int epcCodeIdx, epcHeaderIdx, epcLotIdx, epcSerialIdx, manufactureDateIdx, expiryDateIdx;
+    private final int eventTimeIdx, businessStepIdx, eventTypeIdx, hubTypeIdx;
+
+    private CsvRowParser(Map<String, Integer> colIdx, int columnCount) {
+        this.colIdx = colIdx;
+        this.columnCount = columnCount;
+        this.locationIdIdx = columnIndex("location_id");
+        this.scanLocationIdx = columnIndex("scan_location");
+        this.operatorIdIdx = columnIndex("operator_id");
+        this.deviceIdIdx = columnIndex("device_id");
+        this.epcProductIdx = columnIndex("epc_product");
+        this.epcCompanyIdx = columnIndex("epc_company");
+        this.productNameIdx = columnIndex("product_name");
+        this.epcCodeIdx = columnIndex("epc_code");
+        this.epcHeaderIdx = columnIndex("epc_header");
+        this.epcLotIdx = columnIndex("epc_lot");
+        this.epcSerialIdx = columnIndex("epc_serial");
+        this.manufactureDateIdx = columnIndex("manufacture_date");
+        this.expiryDateIdx = columnIndex("expiry_date");
+        this.eventTimeIdx = columnIndex("event_time");
+        this.businessStepIdx = columnIndex("business_step");
+        this.eventTypeIdx = columnIndex("event_type");
+        this.hubTypeIdx = columnIndex("hub_type");
+    }
+
+    // [필수 칼럼 확인] : CSV 헤더 배열로부터 컬럼명→인덱스 맵을 만들고 필수 컬럼 누락 체크를 수행
+    public static CsvRowParser fromHeader(String[] header) {
+        if (header == null)
+            throw new InvalidCsvFormatException("CSV 파일에 헤더가 없습니다.");
+        Map<String, Integer> colIdx = new HashMap<>(header.length * 2);
+        for (int i = 0; i < header.length; i++) {
+            String h = header[i];
+            if (h == null) continue;                    // ← null 방어
+            String key = h.trim().toLowerCase();
+            if (key.isEmpty()) continue;                // ← 빈 헤더 스킵
+            colIdx.put(key, i);
+        }
+        List<String> required = Arrays.asList(
+                "location_id","scan_location","operator_id","device_id",
+                "epc_code","epc_header","epc_lot","epc_serial",
+                "epc_product","epc_company","product_name",
+                "event_time","business_step","event_type","hub_type"
+        );
+        List<String> missing = required.stream()
+                .filter(r -> !colIdx.containsKey(r))
+                .collect(Collectors.toList());
+        if (!missing.isEmpty()) {
+            throw new InvalidCsvFormatException("누락된 헤더: " + missing);
+        }
+
+        return new CsvRowParser(colIdx, header.length);
+    }
+
+    // 컬럼명의 인덱스 (없으면 -1)
+    public int columnIndex(String colName) {
+        Integer idx = colIdx.get(colName.toLowerCase());
+        return idx != null ? idx : -1;
+    }
+
+    // 헤더의 컬럼 수 (토크나이저가 필드 경계 배열 크기로 사용)
+    public int columnCount() {
+        return columnCount;
+    }
+
+    // [청크 파싱] : 원본 행 묶음을 컬럼 배열(ParsedChunk)로 변환. 행 단위 오류는 청크 로컬 맵에 기록
+    public ParsedChunk parseChunk(long seq, int startRowNum, List<String[]> rows, boolean last) {
+        ParsedChunk chunk = new ParsedChunk(seq, startRowNum, rows.size(), last);
+        StringArrayFields fields = new StringArrayFields();
+        for (int i = 0; i < rows.size(); i++) {
+            fields.row = rows.get(i);
+            parseRow(fields, chunk, i);
+        }
+        return chunk;
+    }
+
+    // [행 파싱] : 한 행의 필드를 타입 변환해 청크의 i번째 칸에 기록 (event_time 형식 오류만 parseErrors에 기록)
+    void parseRow(RowFields f, ParsedChunk chunk, int i) {
+        chunk.getLocationIds()[i] = f.longValue(locationIdIdx);
+        chunk.getScanLocations()[i] = f.value(scanLocationIdx);
+        chunk.getOperatorIds()[i] = f.longValue(operatorIdIdx);
+        chunk.getDeviceIds()[i] = f.longValue(deviceIdIdx);
+
+        chunk.getEpcProducts()[i] = f.value(epcProductIdx);
+        chunk.getEpcCompanies()[i] = f.value(epcCompanyIdx);
+        chunk.getProductNames()[i] = f.value(productNameIdx);
+
+        chunk.getEpcCodes()[i] = f.value(epcCodeIdx);
+        chunk.getEpcHeaders()[i] = f.value(epcHeaderIdx);
+        chunk.getEpcLots()[i] = f.value(epcLotIdx);
+        chunk.getEpcSerials()[i] = f.value(epcSerialIdx);
+        chunk.getManufactureDates()[i] = f.value(manufactureDateIdx);
+        chunk.getExpiryDates()[i] = f.value(expiryDateIdx);
+
+        long eventTime = f.dateTimeValue(eventTimeIdx, chunk.getCodec());
+        if (eventTime == EventTimeCodec.INVALID) {
+            chunk.getParseErrors().computeIfAbsent("event_time 날짜 형식 오류", k -> new ArrayList<>()).add(chunk.getStartRowNum() + i);
+            eventTime = ParsedChunk.NO_VALUE;
+        }
+        chunk.getEventTimes()[i] = eventTime;
+        chunk.setBusinessStep(i, f.value(businessStepIdx));
+        chunk.getEventTypes()[i] = chunk.getDictionary().encode(f.value(eventTypeIdx));
+        chunk.getHubTypes()[i] = chunk.getDictionary().encode(f.value(hubTypeIdx));
+    }
+
+    // [빈값 및 null 확인] : OpenCSV 행(String[])에서 인덱스에 해당하는 값을 안전하게 읽어와 null/빈값을 처리
+    private static final class StringArrayFields implements RowFields {
+        String[] row;
+
+        @Override
+        public String value(int idx) {
+            if (idx < 0 || idx >= row.length) return null;
+            String v = row[idx];
+            return (v == null || v.isBlank()) ? null : v.trim();
+            // 필요시 "NULL"/"null" 같은 문자열도 무시하도록 확장 가능
+        }
+
+        @Override
+        public long longValue(int idx) {
+            return parseLong(value(idx));
+        }
+
+        @Override
+        public long dateTimeValue(int idx, EventTimeCodec codec) {
+            return codec.parseDateTime(value(idx));
+        }
+    }
+
+    // 문자열을 long으로 변환하되 null/포맷오류면 ParsedChunk.NO_VALUE를 반환하는 안전 변환기
+    static long parseLong(String s) {
+        if (s == null) return ParsedChunk.NO_VALUE;
+        try {
+            return Long.parseLong(s);
+        } catch (NumberFormatException e) {
+            return ParsedChunk.NO_VALUE;
+        }
+    }
+
+    // [business_step 변환] : 입력된 business_step 문자열을 내부 표준(Factory, WMS, LogiHub 등)으로 정규화
+    static String normalizeBusinessStep(String input) {
+        if (input == null) return null;
+        String s = input.trim().toLowerCase();
+        if (s.contains("factory")) return "Factory";
+        if (s.contains("wms")) return "WMS";
+        if (s.contains("logistics_hub") || s.contains("logi") || s.contains("hub")) return "LogiHub";
+        if (s.startsWith("w_stock")) return "Wholesaler";
+        if (s.startsWith("r_stock")) return "Reseller";
+        if (s.contains("pos")) return "POS";
+        return input;
+    }
+}
@@ -0,0 +1,151 @@
+package edu.pnu.service.csv.ingest;
+
+import edu.pnu.service.csv.support.RowBitmap;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/*
+ * [오류 행 색인] : 적재 중 발견한 오류 행을 유형별 RowBitmap으로 모으고, 오류 리포트용 행 → byte offset 앵커를 기록
+ * - 앵커 : 오류가 있는 청크의 (시작 행 번호, 원문 CSV 기준 byte offset). 리포트는 가장 가까운 앵커로 이동한 뒤 줄을 읽음
+ *   (offset을 알 수 없는 토크나이저/gzip 입력은 앵커 없음. gzip 보관본은 압축 시 만든 GzipRestartPoints로 중간부터 읽음)
+ * - 적재 완료 시 CsvErrorIndex(csv_error_index)로 저장하고, 리포트 요청 시 decode로 복원
+ * writer 단계 한 스레드에서만 갱신함 (동기화 없음)
+ */
+public class ErrorRowIndex {
+
+    private static final int FORMAT_VERSION = 1;
+
+    private final Map<String, RowBitmap> categories = new LinkedHashMap<>();
+    private int[] anchorRows = new int[16];
+    private long[] anchorOffsets = new long[16];
+    private int anchors;
+    private long total;
+
+    public void add(String category, int row) {
+        if (categories.computeIfAbsent(category, k -> new RowBitmap()).add(row)) total++;
+    }
+
+    public void addAll(String category, Collection<Integer> rows) {
+        for (int row : rows) add(category, row);
+    }
+
+    // [앵커] : row번째 데이터 행이 원문 offset에서 시작함 (행 번호 오름차순으로만 기록)
+    public void anchor(int row, long offset) {
+        if (offset < 0 || (anchors > 0 && row <= anchorRows[anchors - 1])) return;
+        if (anchors == anchorRows.length) {
+            anchorRows = Arrays.copyOf(anchorRows, anchors * 2);
+            anchorOffsets = Arrays.copyOf(anchorOffsets, anchors * 2);
+        }
+        anchorRows[anchors] = row;
+        anchorOffsets[anchors++] = offset;
+    }
+
+    // 유형별 오류 행 수의 합 (한 행이 여러 유형이면 유형마다 셈)
+    public long total() {
+        return total;
+    }
+
+    public boolean isEmpty() {
+        return total == 0;
+    }
+
+    public Map<String, Integer> counts() {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        categories.forEach((k, rows) -> counts.put(k, rows.cardinality()));
+        return counts;
+    }
+
+    public Map<String, RowBitmap> categories() {
+        return Collections.unmodifiableMap(categories);
+    }
+
+    // row 이하에서 가장 가까운 앵커의 위치 (없으면 -1)
+    public int floorAnchor(int row) {
+        int i = Arrays.binarySearch(anchorRows, 0, anchors, row);
+        return i >= 0 ? i : -i - 2;
+    }
+
+    public int anchorRow(int i) {
+        return anchorRows[i];
+    }
+
+    public long anchorOffset(int i) {
+        return anchorOffsets[i];
+    }
+
+    // ■■■■■■■■■■■■■■ [ 저장 형식 ] ■■■■■■■■■■■■■
+    // rows    : version, 유형 수, (유형명, 행 수, 비트맵 길이, 비트맵)...
+    // anchors : 앵커 수, (행 번호, offset)...
+
+    public byte[] encodeRows() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(categories.size());
+            for (Map.Entry<String, RowBitmap> e : categories.entrySet()) {
+                byte[] bitmap = e.getValue().toBytes();
+                out.writeUTF(e.getKey());
+                out.writeInt(e.getValue().cardinality());
+                out.writeInt(bitmap.length);
+                out.write(bitmap);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // 메모리 스트림은 IOException 없음
+        }
+        return bytes.toByteArray();
+    }
+
+    public byte[] encodeAnchors() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(4 + anchors * 12);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(anchors);
+            for (int i = 0; i < anchors; i++) {
+                out.writeInt(anchorRows[i]);
+                out.writeLong(anchorOffsets[i]);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static ErrorRowIndex decode(byte[] rows, byte[] anchors) {
+        ErrorRowIndex index = new ErrorRowIndex();
+        try {
+            if (rows != null) {
+                DataInputStream in = new DataInputStream(new ByteArrayInputStream(rows));
+                int version = in.readInt();
+                if (version != FORMAT_VERSION) {
+                    throw new IllegalStateException("지원하지 않는 오류 색인 형식입니다: " + version);
+                }
+                for (int n = in.readInt(); n > 0; n--) {
+                    String category = in.readUTF();
+                    int cardinality = in.readInt();
+                    byte[] bitmap = new byte[in.readInt()];
+                    in.readFully(bitmap);
+                    index.categories.put(category, RowBitmap.fromBytes(bitmap, cardinality));
+                    index.total += cardinality;
+                }
+            }
+            if (anchors != null) {
+                DataInputStream in = new DataInputStream(new ByteArrayInputStream(anchors));
+                for (int n = in.readInt(); n > 0; n--) {
+                    index.anchor(in.readInt(), in.readLong());
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("오류 색인을 읽을 수 없습니다.", e);
+        }
+        return index;
+    }
+}
@@ -0,0 +1,80 @@
+package edu.pnu.service.csv.ingest;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+// [이벤트 배치] : writer 단계에서 참조(EPC/상품/위치)까지 확정된 EventHistory 행 묶음 (struct-of-arrays)
+// CsvSaveJdbcService가 엔티티/프록시 없이 배열에서 바로 PreparedStatement에 바인딩함
+@Getter
+public class EventBatch {
+
+    private final long fileId;
+    private final StringDictionary dictionary; // 코드 컬럼을 해석할 사전 (원본 청크의 사전)
+
+    private final long[] epcIds;
+    private final long[] locationIds;
+    private final long[] productIds;
+    private final long[] eventTimes;           // epoch seconds (UTC 기준 LocalDateTime)
+    private final int[] businessSteps;
+    private final int[] eventTypes;
+    private final int[] hubTypes;
+    private final int[] businessOriginals;
+
+    @Getter(AccessLevel.NONE)
+    private int size;
+
+    public EventBatch(long fileId, StringDictionary dictionary, int capacity) {
+        this.fileId = fileId;
+        this.dictionary = dictionary;
+        this.epcIds = new long[capacity];
+        this.locationIds = new long[capacity];
+        this.productIds = new long[capacity];
+        this.eventTimes = new long[capacity];
+        this.businessSteps = new int[capacity];
+        this.eventTypes = new int[capacity];
+        this.hubTypes = new int[capacity];
+        this.businessOriginals = new int[capacity];
+    }
+
+    public void add(long epcId, long locationId, long productId, long eventTime,
+                    int businessStep, int eventType, int hubType, int businessOriginal) {
+        epcIds[size] = epcId;
+        locationIds[size] = locationId;
+        productIds[size] = productId;
+        eventTimes[size] = eventTime;
+        businessSteps[size] = businessStep;
+        eventTypes[size] = eventType;
+        hubTypes[size] = hubType;
+        businessOriginals[size] = businessOriginal;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // [분할] : epc_id 해시로 k개 묶음으로 나눔 (같은 EPC의 이벤트는 항상 같은 묶음, 묶음 안 순서는 원래 순서 유지)
+    // 사전은 원본과 공유하므로 코드 컬럼은 그대로 복사
+    public EventBatch[] partitionByEpc(int k) {
+        if (k <= 1) return new EventBatch[]{this};
+        final int[] part = new int[size];
+        final int[] counts = new int[k];
+        for (int i = 0; i < size; i++) {
+            part[i] = Math.floorMod(Long.hashCode(epcIds[i] * 0x9E3779B97F4A7C15L), k);
+            counts[part[i]]++;
+        }
+        final EventBatch[] parts = new EventBatch[k];
+        for (int p = 0; p < k; p++) {
+            parts[p] = new EventBatch(fileId, dictionary, counts[p]);
+        }
+        for (int i = 0; i < size; i++) {
+            parts[part[i]].add(epcIds[i], locationIds[i], productIds[i], eventTimes[i],
+                    businessSteps[i], eventTypes[i], hubTypes[i], businessOriginals[i]);
+        }
+        return parts;
+    }
+}
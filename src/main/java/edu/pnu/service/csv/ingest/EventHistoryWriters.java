@@ -0,0 +1,89 @@
+package edu.pnu.service.csv.ingest;
+
+import edu.pnu.config.CsvIngestProperties;
+import edu.pnu.service.csv.CsvSaveJdbcService;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/*
+ * [EventHistory 병렬 저장] : 청크의 EventBatch를 epc_id 해시로 K개로 나눠 K개 커넥션에서 동시에 INSERT
+ * - K = csv.ingest.event-writers, eventWriterExecutor 스레드마다 각자 트랜잭션(커넥션)으로 저장
+ * - 호출한 적재 스레드는 모든 묶음이 끝날 때까지 기다림 → 청크 단위로 성공/실패가 결정되고, 성공한 뒤에만 체크포인트 기록
+ * - 일부 묶음만 실패하면 커밋된 묶음을 유니크 키로 삭제해 청크 전체를 되돌린 뒤 예외를 던짐
+ *   (재개 시 중복 키 집합을 DB에서 복원하므로, 남은 행이 있으면 다시 적재할 때 중복으로 분류되기 때문)
+ * EventHistory는 Epc/CsvProduct/CsvLocation을 FK로 참조하므로, 호출 전에 그 청크의 엔티티 트랜잭션이 커밋되어 있어야 함
+ */
+@Slf4j
+@Component
+public class EventHistoryWriters {
+
+    private final CsvSaveJdbcService csvSaveJdbcService;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor executor;
+    private final int writers;
+
+    public EventHistoryWriters(CsvSaveJdbcService csvSaveJdbcService,
+                               TransactionTemplate transactionTemplate,
+                               @Qualifier("eventWriterExecutor") Executor executor,
+                               CsvIngestProperties csvIngestProperties) {
+        this.csvSaveJdbcService = csvSaveJdbcService;
+        this.transactionTemplate = transactionTemplate;
+        this.executor = executor;
+        this.writers = csvIngestProperties.getEventWriters();
+    }
+
+    // K > 1 이면 병렬 저장 (1이면 기존처럼 청크 트랜잭션 안에서 한 커넥션으로 저장)
+    public boolean isParallel() {
+        return writers > 1;
+    }
+
+    // [청크 저장] : 묶음별 트랜잭션으로 병렬 INSERT, 모두 커밋되면 반환 / 하나라도 실패하면 되돌리고 예외
+    public void write(EventBatch batch) {
+        if (batch.isEmpty()) return;
+
+        final EventBatch[] parts = batch.partitionByEpc(writers);
+        final List<EventBatch> submitted = new ArrayList<>(parts.length);
+        final List<CompletableFuture<Void>> futures = new ArrayList<>(parts.length);
+        for (EventBatch part : parts) {
+            if (part.isEmpty()) continue;
+            submitted.add(part);
+            futures.add(CompletableFuture.runAsync(() ->
+                    transactionTemplate.executeWithoutResult(status -> csvSaveJdbcService.saveEventHistories(part)), executor));
+        }
+
+        // 모든 묶음이 끝날 때까지 대기 (실패해도 나머지의 커밋/롤백이 끝나야 되돌릴 대상을 알 수 있음)
+        RuntimeException failure = null;
+        final List<EventBatch> committed = new ArrayList<>(submitted.size());
+        for (int p = 0; p < futures.size(); p++) {
+            try {
+                futures.get(p).join();
+                committed.add(submitted.get(p));
+            } catch (CompletionException e) {
+                RuntimeException cause = e.getCause() instanceof RuntimeException re ? re : e;
+                if (failure == null) failure = cause;
+                else failure.addSuppressed(cause);
+            }
+        }
+        if (failure == null) return;
+
+        log.warn("[EventHistoryWriters] [실패] : fileId = {}, 묶음 {}개 중 {}개 실패 → 커밋된 {}개 되돌림",
+                batch.getFileId(), submitted.size(), submitted.size() - committed.size(), committed.size());
+        try {
+            transactionTemplate.executeWithoutResult(status -> committed.forEach(csvSaveJdbcService::deleteEventHistories));
+        } catch (RuntimeException e) {
+            // 되돌리기까지 실패하면 재개 시 남은 행이 중복 오류로 분류될 수 있음 (데이터 자체는 유지됨)
+            log.error("[EventHistoryWriters] [실패] : 커밋된 묶음 되돌리기 실패 fileId = {}", batch.getFileId(), e);
+            failure.addSuppressed(e);
+        }
+        throw failure;
+    }
+}
@@ -0,0 +1,126 @@
+package edu.pnu.service.csv.ingest;
+
+/*
+ * [이벤트 중복 키 집합] : EventHistory 유니크 제약(파일 내 epc·location·product·time·step·type)과 같은 튜플의 집합
+ * - long[] 하나에 슬롯당 6칸(지문, epcId, locationId, productId, epoch seconds, step|type 코드)을 저장하는 open addressing
+ * - 128비트 해시 중 앞 64비트로 슬롯 위치를 정하고, 뒤 64비트를 지문으로 저장해 대부분의 비교를 한 번에 끝냄
+ * - 지문이 같으면 튜플 전체를 비교하므로 해시 충돌로 실제 이벤트가 버려지지 않음
+ * 이벤트당 고정 크기(슬롯 48바이트 / 적재율 최대 0.7)만 쓰고 박싱 객체를 만들지 않음. 파일(업로드) 하나당 writer 스레드 전용.
+ */
+public final class EventKeySet {
+
+    private static final int STRIDE = 6;
+    private static final int TAG = 0, EPC = 1, LOCATION = 2, PRODUCT = 3, TIME = 4, CODES = 5;
+    private static final int MAX_CAPACITY = 1 << 28;   // 슬롯 수 상한 (long[] 길이 한계)
+    private static final double MAX_LOAD = 0.7;
+    private static final int CSV_ROW_BYTES = 160;      // 원문 CSV 한 행 평균 바이트 (초기 크기 추정용, 17개 컬럼 기준)
+    private static final int MIN_EXPECTED = 1 << 12;   // 작은 파일의 최소 초기 크기 (슬롯 8192개 = 384KB)
+
+    private long[] table;
+    private int mask;     // 슬롯 수 - 1
+    private int size;
+    private int resizeAt;
+
+    public EventKeySet(int expectedSize) {
+        allocate(slotsFor(expectedSize));
+    }
+
+    // [초기 크기 추정] : 원문 CSV 바이트로 이벤트 수 추정 (실제가 더 많으면 grow로 확장)
+    public static int expectedEvents(long csvBytes) {
+        long rows = Math.max(0, csvBytes) / CSV_ROW_BYTES;
+        return (int) Math.min((long) (MAX_CAPACITY * MAX_LOAD), Math.max(MIN_EXPECTED, rows));
+    }
+
+    // [메모리 추정] : expectedSize로 만든 집합의 힙 사용량 (확장 중에는 옛 테이블과 새 테이블이 함께 있으므로 1.5배로 잡음)
+    public static long estimateBytes(int expectedSize) {
+        return (long) slotsFor(expectedSize) * STRIDE * Long.BYTES * 3 / 2;
+    }
+
+    // [추가] : 처음 보는 튜플이면 저장 후 true, 이미 있으면 false
+    public boolean add(long epcId, long locationId, long productId, long eventTime, int stepCode, int typeCode) {
+        final long codes = ((long) stepCode << 32) | (typeCode & 0xffffffffL);
+        final long h1 = hash(epcId, locationId, productId, eventTime, codes, 0x9E3779B97F4A7C15L);
+        final long tag = hash(epcId, locationId, productId, eventTime, codes, 0xC2B2AE3D27D4EB4FL) | 1L; // 0은 빈 슬롯 표시
+
+        int slot = (int) h1 & mask;
+        while (true) {
+            int base = slot * STRIDE;
+            long t = table[base + TAG];
+            if (t == 0) {
+                table[base + TAG] = tag;
+                table[base + EPC] = epcId;
+                table[base + LOCATION] = locationId;
+                table[base + PRODUCT] = productId;
+                table[base + TIME] = eventTime;
+                table[base + CODES] = codes;
+                if (++size >= resizeAt) grow();
+                return true;
+            }
+            if (t == tag
+                    && table[base + EPC] == epcId
+                    && table[base + LOCATION] == locationId
+                    && table[base + PRODUCT] == productId
+                    && table[base + TIME] == eventTime
+                    && table[base + CODES] == codes) {
+                return false;
+            }
+            slot = (slot + 1) & mask; // linear probing
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private static int slotsFor(int expectedSize) {
+        return Integer.highestOneBit(Math.max(16, (int) Math.min(MAX_CAPACITY, expectedSize / MAX_LOAD)) - 1) << 1;
+    }
+
+    private void allocate(int slots) {
+        table = new long[slots * STRIDE];
+        mask = slots - 1;
+        resizeAt = (int) (slots * MAX_LOAD);
+    }
+
+    // 슬롯 수를 두 배로 늘리고 기존 튜플을 다시 배치 (h1을 다시 계산, 지문은 그대로 복사)
+    private void grow() {
+        int slots = mask + 1;
+        if (slots >= MAX_CAPACITY) {
+            throw new IllegalStateException("이벤트 중복 키 집합 용량 초과: " + size);
+        }
+        long[] old = table;
+        allocate(slots << 1);
+        for (int base = 0; base < old.length; base += STRIDE) {
+            if (old[base + TAG] == 0) continue;
+            long h1 = hash(old[base + EPC], old[base + LOCATION], old[base + PRODUCT], old[base + TIME], old[base + CODES],
+                    0x9E3779B97F4A7C15L);
+            int slot = (int) h1 & mask;
+            while (table[slot * STRIDE + TAG] != 0) slot = (slot + 1) & mask;
+            System.arraycopy(old, base, table, slot * STRIDE, STRIDE);
+        }
+    }
+
+    // 필드별로 섞은 뒤 murmur3 fmix64로 마무리하는 64비트 해시 (seed를 달리해 서로 독립적인 두 값을 얻음)
+    private static long hash(long a, long b, long c, long d, long e, long seed) {
+        long h = seed;
+        h = (h ^ mix(a)) * 0xFF51AFD7ED558CCDL;
+        h = (h ^ mix(b)) * 0xFF51AFD7ED558CCDL;
+        h = (h ^ mix(c)) * 0xFF51AFD7ED558CCDL;
+        h = (h ^ mix(d)) * 0xFF51AFD7ED558CCDL;
+        h = (h ^ mix(e)) * 0xFF51AFD7ED558CCDL;
+        return fmix64(h ^ seed);
+    }
+
+    private static long mix(long v) {
+        return Long.rotateLeft(v * 0x87C37B91114253D5L, 31) * 0x4CF5AD432745937FL;
+    }
+
+    private static long fmix64(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,268 @@
+package edu.pnu.service.csv.ingest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+
+/*
+ * [이벤트 정렬] : 파일 전체 EventHistory 행을 (epc_id, event_time) 순으로 정렬해 내보냄 (csv.ingest.event-order=epc_time)
+ * - 다운스트림 조회가 모두 epc_id, event_time 순이므로 그 순서로 INSERT하면 event_id(클러스터 인덱스) 순서와 일치
+ * - 메모리 버퍼(최대 maxRows행)가 차면 정렬한 run을 디스크에 쓰고, 끝에서 run들을 k-way 병합 (외부 정렬)
+ *   파일이 버퍼에 들어가면 디스크를 쓰지 않음
+ * - 같은 (epc_id, event_time) 은 입력(CSV) 순서 유지 (안정 정렬, 병합 시 앞 run 우선)
+ * - 청크마다 다른 사전 코드는 정렬기 전역 사전 코드로 바꿔 보관하고, 내보내는 EventBatch도 이 사전을 사용
+ * 한 적재 스레드에서만 사용 (동기화 없음). close 시 run 파일 삭제
+ */
+@Slf4j
+public class EventSorter implements Closeable {
+
+    private static final int INITIAL_CAPACITY = 64 * 1024;
+    public static final int ROW_BYTES = 4 * Long.BYTES + 4 * Integer.BYTES + 2 * Integer.BYTES; // 컬럼 + 정렬 인덱스 2개
+
+    private final long fileId;
+    private final int maxRows;
+    private final Path spillDir;
+    private final StringDictionary dictionary = new StringDictionary();
+    private final List<Path> runs = new ArrayList<>();
+
+    private long[] epcIds, locationIds, productIds, eventTimes;
+    private int[] businessSteps, eventTypes, hubTypes, businessOriginals;
+    private int size;
+    private long total;
+
+    public EventSorter(long fileId, int maxRows, Path spillDir) {
+        this.fileId = fileId;
+        this.maxRows = Math.max(1, maxRows);
+        this.spillDir = spillDir;
+        allocate(Math.min(this.maxRows, INITIAL_CAPACITY));
+    }
+
+    // [추가] : writer 단계가 만든 청크 EventBatch를 버퍼에 복사 (버퍼가 차면 run으로 내림)
+    public void add(EventBatch batch) {
+        if (batch.isEmpty()) return;
+        final StringDictionary chunkDict = batch.getDictionary();
+        final int[] codeMap = new int[chunkDict.size()];
+        for (int c = 0; c < codeMap.length; c++) {
+            codeMap[c] = dictionary.encode(chunkDict.decode(c));
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            if (size == epcIds.length) {
+                if (size == maxRows) spill();
+                else allocate(Math.min(maxRows, size * 2));
+            }
+            epcIds[size] = batch.getEpcIds()[i];
+            locationIds[size] = batch.getLocationIds()[i];
+            productIds[size] = batch.getProductIds()[i];
+            eventTimes[size] = batch.getEventTimes()[i];
+            businessSteps[size] = code(codeMap, batch.getBusinessSteps()[i]);
+            eventTypes[size] = code(codeMap, batch.getEventTypes()[i]);
+            hubTypes[size] = code(codeMap, batch.getHubTypes()[i]);
+            businessOriginals[size] = code(codeMap, batch.getBusinessOriginals()[i]);
+            size++;
+            total++;
+        }
+    }
+
+    public long size() {
+        return total;
+    }
+
+    public int runCount() {
+        return runs.size();
+    }
+
+    // [출력] : 정렬된 행을 batchSize행 EventBatch로 나눠 sink에 순서대로 전달
+    public void drain(int batchSize, Consumer<EventBatch> sink) {
+        if (runs.isEmpty()) {
+            final int[] order = sortedOrder();
+            EventBatch out = new EventBatch(fileId, dictionary, Math.min(batchSize, Math.max(1, size)));
+            for (int k = 0; k < size; k++) {
+                int i = order[k];
+                out.add(epcIds[i], locationIds[i], productIds[i], eventTimes[i],
+                        businessSteps[i], eventTypes[i], hubTypes[i], businessOriginals[i]);
+                if (out.size() == batchSize) {
+                    sink.accept(out);
+                    out = new EventBatch(fileId, dictionary, batchSize);
+                }
+            }
+            if (!out.isEmpty()) sink.accept(out);
+            return;
+        }
+
+        spill(); // 남은 버퍼도 run으로 → 모든 run을 병합
+        log.debug("[EventSorter] [병합] : fileId = {}, {}행, run {}개", fileId, total, runs.size());
+        final PriorityQueue<RunReader> heap = new PriorityQueue<>();
+        try {
+            for (int r = 0; r < runs.size(); r++) {
+                RunReader reader = new RunReader(r, runs.get(r));
+                if (reader.next()) heap.add(reader);
+                else reader.close();
+            }
+            EventBatch out = new EventBatch(fileId, dictionary, batchSize);
+            while (!heap.isEmpty()) {
+                RunReader top = heap.poll();
+                out.add(top.epcId, top.locationId, top.productId, top.eventTime,
+                        top.businessStep, top.eventType, top.hubType, top.businessOriginal);
+                if (out.size() == batchSize) {
+                    sink.accept(out);
+                    out = new EventBatch(fileId, dictionary, batchSize);
+                }
+                if (top.next()) heap.add(top);
+                else top.close();
+            }
+            if (!out.isEmpty()) sink.accept(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException("정렬 run 파일을 읽을 수 없습니다.", e);
+        } finally {
+            for (RunReader reader : heap) reader.closeQuietly();
+        }
+    }
+
+    @Override
+    public void close() {
+        for (Path run : runs) {
+            try {
+                Files.deleteIfExists(run);
+            } catch (IOException e) {
+                log.warn("[EventSorter] [실패] : run 파일 삭제 실패 {}", run, e);
+            }
+        }
+        runs.clear();
+    }
+
+    // ■■■■■■■■■■■■■■ [ Helper ] ■■■■■■■■■■■■■
+
+    // 버퍼를 정렬해 run 파일 하나로 기록하고 버퍼를 비움
+    private void spill() {
+        if (size == 0) return;
+        final int[] order = sortedOrder();
+        try {
+            Path run = Files.createTempFile(spillDir, "event-sort-" + fileId + "-", ".run");
+            runs.add(run);
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run), 256 * 1024))) {
+                for (int k = 0; k < size; k++) {
+                    int i = order[k];
+                    out.writeLong(epcIds[i]);
+                    out.writeLong(locationIds[i]);
+                    out.writeLong(productIds[i]);
+                    out.writeLong(eventTimes[i]);
+                    out.writeInt(businessSteps[i]);
+                    out.writeInt(eventTypes[i]);
+                    out.writeInt(hubTypes[i]);
+                    out.writeInt(businessOriginals[i]);
+                }
+            }
+            log.debug("[EventSorter] [분할] : fileId = {}, run {} 기록 ({}행)", fileId, runs.size(), size);
+        } catch (IOException e) {
+            throw new UncheckedIOException("정렬 run 파일을 쓸 수 없습니다: " + spillDir, e);
+        }
+        size = 0;
+    }
+
+    // (epc_id, event_time) 안정 정렬 순서 (인덱스 배열 병합 정렬, 박싱 없음)
+    private int[] sortedOrder() {
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) order[i] = i;
+        int[] tmp = new int[size];
+        for (int width = 1; width < size; width *= 2) {
+            for (int lo = 0; lo < size; lo += 2 * width) {
+                int mid = Math.min(lo + width, size), hi = Math.min(lo + 2 * width, size);
+                if (mid >= hi || compare(order[mid - 1], order[mid]) <= 0) {
+                    System.arraycopy(order, lo, tmp, lo, hi - lo); // 이미 정렬된 구간 (CSV가 대체로 EPC별로 모여 있으면 대부분 여기)
+                    continue;
+                }
+                int a = lo, b = mid, k = lo;
+                while (a < mid && b < hi) tmp[k++] = compare(order[a], order[b]) <= 0 ? order[a++] : order[b++];
+                while (a < mid) tmp[k++] = order[a++];
+                while (b < hi) tmp[k++] = order[b++];
+            }
+            int[] swap = order;
+            order = tmp;
+            tmp = swap;
+        }
+        return order;
+    }
+
+    private int compare(int a, int b) {
+        int c = Long.compare(epcIds[a], epcIds[b]);
+        return c != 0 ? c : Long.compare(eventTimes[a], eventTimes[b]);
+    }
+
+    private void allocate(int capacity) {
+        epcIds = epcIds == null ? new long[capacity] : Arrays.copyOf(epcIds, capacity);
+        locationIds = locationIds == null ? new long[capacity] : Arrays.copyOf(locationIds, capacity);
+        productIds = productIds == null ? new long[capacity] : Arrays.copyOf(productIds, capacity);
+        eventTimes = eventTimes == null ? new long[capacity] : Arrays.copyOf(eventTimes, capacity);
+        businessSteps = businessSteps == null ? new int[capacity] : Arrays.copyOf(businessSteps, capacity);
+        eventTypes = eventTypes == null ? new int[capacity] : Arrays.copyOf(eventTypes, capacity);
+        hubTypes = hubTypes == null ? new int[capacity] : Arrays.copyOf(hubTypes, capacity);
+        businessOriginals = businessOriginals == null ? new int[capacity] : Arrays.copyOf(businessOriginals, capacity);
+    }
+
+    private static int code(int[] codeMap, int chunkCode) {
+        return chunkCode == StringDictionary.NULL_CODE ? StringDictionary.NULL_CODE : codeMap[chunkCode];
+    }
+
+    // run 파일 하나를 순서대로 읽는 커서 (heap 순서 : epc_id, event_time, run 번호)
+    private static final class RunReader implements Comparable<RunReader> {
+        private final int run;
+        private final DataInputStream in;
+        long epcId, locationId, productId, eventTime;
+        int businessStep, eventType, hubType, businessOriginal;
+
+        RunReader(int run, Path path) throws IOException {
+            this.run = run;
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 64 * 1024));
+        }
+
+        boolean next() throws IOException {
+            try {
+                epcId = in.readLong();
+            } catch (EOFException e) {
+                return false;
+            }
+            locationId = in.readLong();
+            productId = in.readLong();
+            eventTime = in.readLong();
+            businessStep = in.readInt();
+            eventType = in.readInt();
+            hubType = in.readInt();
+            businessOriginal = in.readInt();
+            return true;
+        }
+
+        void close() throws IOException {
+            in.close();
+        }
+
+        void closeQuietly() {
+            try {
+                in.close();
+            } catch (IOException ignored) {
+                // 정리 단계 : 원래 예외를 우선
+            }
+        }
+
+        @Override
+        public int compareTo(RunReader o) {
+            int c = Long.compare(epcId, o.epcId);
+            if (c != 0) return c;
+            c = Long.compare(eventTime, o.eventTime);
+            return c != 0 ? c : Integer.compare(run, o.run);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package edu.pnu.service.csv.ingest;
+
+import lombok.Getter;
+
+import java.util.Map;
+
+// [적재 작업] : 업로드 1건의 비동기 적재 진행 상태 (ingest 스레드가 갱신하고, 상태 조회 API가 읽음)
+// 갱신은 작업을 실행하는 ingest 스레드 하나에서만 일어나므로 volatile 필드로 충분함
+@Getter
+public class IngestJob {
+
+    public enum Stage { QUEUED, PARSING, COMPLETED, FAILED }
+
+    private final String jobId;
+    private final Long fileId;
+    private final String userId;
+    private final long acceptedAt;      // 접수 시각 (epoch millis)
+
+    private volatile Stage stage = Stage.QUEUED;
+    private volatile long startedAt;    // 파싱 시작 시각 (epoch millis, 0이면 대기 중)
+    private volatile long finishedAt;   // 완료/실패 시각 (epoch millis, 0이면 진행 중)
+    private volatile long rowsProcessed;
+    private volatile long errorRows;
+    private volatile Map<String, Integer> errorCounts = Map.of(); // 오류 유형별 행 수
+    private volatile String message;
+    private volatile Long duplicateOfFileId; // 같은 내용의 분석 완료 업로드 (적재/분석을 생략한 경우)
+    private volatile int queuePosition;      // 적재 대기 순번 (1부터, 0이면 대기 중 아님)
+
+    public IngestJob(String jobId, Long fileId, String userId) {
+        this.jobId = jobId;
+        this.fileId = fileId;
+        this.userId = userId;
+        this.acceptedAt = System.currentTimeMillis();
+    }
+
+    // IngestScheduler가 대기 순번을 갱신 (바뀌었으면 true → 사용자에게 알림)
+    boolean queued(int position) {
+        if (queuePosition == position) return false;
+        queuePosition = position;
+        return true;
+    }
+
+    public void start() {
+        startedAt = System.currentTimeMillis();
+        stage = Stage.PARSING;
+    }
+
+    // [진행] : 청크 하나를 반영할 때마다 누적 처리 행 수/오류 행 수 갱신
+    public void progress(long rowsProcessed, long errorRows) {
+        this.rowsProcessed = rowsProcessed;
+        this.errorRows = errorRows;
+    }
+
+    public void complete(Map<String, Integer> errorCounts) {
+        this.errorCounts = Map.copyOf(errorCounts);
+        this.errorRows = errorCounts.values().stream().mapToLong(Integer::longValue).sum();
+        finishedAt = System.currentTimeMillis();
+        stage = Stage.COMPLETED;
+    }
+
+    // [중복 완료] : 적재 없이 원본 업로드의 결과를 재사용하는 경우 (접수 즉시 완료)
+    public void completeAsDuplicate(Long sourceFileId, long rows) {
+        this.duplicateOfFileId = sourceFileId;
+        this.rowsProcessed = rows;
+        this.message = "같은 내용의 업로드(fileId=" + sourceFileId + ")의 적재·분석 결과를 재사용";
+        startedAt = finishedAt = System.currentTimeMillis();
+        stage = Stage.COMPLETED;
+    }
+
+    public void fail(String message) {
+        this.message = message;
+        finishedAt = System.currentTimeMillis();
+        stage = Stage.FAILED;
+    }
+
+    public boolean isFinished() {
+        return stage == Stage.COMPLETED || stage == Stage.FAILED;
+    }
+
+    // 파싱 시작 이후 경과 시간 (대기 중이면 0)
+    public long elapsedMillis() {
+        if (startedAt == 0) return 0;
+        return (finishedAt != 0 ? finishedAt : System.currentTimeMillis()) - startedAt;
+    }
+
+    // 초당 처리 행 수
+    public double rowsPerSecond() {
+        long elapsed = elapsedMillis();
+        return elapsed == 0 ? 0 : rowsProcessed * 1000.0 / elapsed;
+    }
+}
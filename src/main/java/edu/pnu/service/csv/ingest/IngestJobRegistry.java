@@ -0,0 +1,38 @@
+package edu.pnu.service.csv.ingest;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+// [적재 작업 목록] : 진행 중/최근 완료된 적재 작업을 jobId로 보관 (인메모리, 서버 재시작 시 초기화)
+// 완료된 작업은 RETENTION_MILLIS 동안만 조회 가능하며, 새 작업을 등록할 때 정리함
+@Component
+public class IngestJobRegistry {
+
+    private static final long RETENTION_MILLIS = 60 * 60 * 1000L; // 완료 후 1시간 보관
+
+    private final Map<String, IngestJob> jobs = new ConcurrentHashMap<>();
+
+    public IngestJob register(Long fileId, String userId) {
+        evictFinished();
+        IngestJob job = new IngestJob(UUID.randomUUID().toString(), fileId, userId);
+        jobs.put(job.getJobId(), job);
+        return job;
+    }
+
+    public Optional<IngestJob> find(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    public void remove(IngestJob job) {
+        jobs.remove(job.getJobId());
+    }
+
+    private void evictFinished() {
+        long cutoff = System.currentTimeMillis() - RETENTION_MILLIS;
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt() < cutoff);
+    }
+}
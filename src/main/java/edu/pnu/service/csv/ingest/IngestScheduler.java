@@ -0,0 +1,262 @@
+package edu.pnu.service.csv.ingest;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import edu.pnu.config.CsvIngestProperties;
+import edu.pnu.service.csv.support.CsvCompression;
+import edu.pnu.service.messaging.WebSocketService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/*
+ * [적재 스케줄러] : 접수된 업로드를 사용자별 대기열에 넣고, 자원이 허락할 때만 ingestExecutor로 넘김
+ * - 동시 적재 수 : csv.ingest.job-threads 이하
+ * - 메모리 : 실행 중인 적재의 추정 힙 사용량 합이 csv.ingest.memory-budget 이하 (파일 크기로 추정)
+ * - DB 커넥션 : Hikari 풀의 여유 커넥션이 csv.ingest.min-free-connections 이상 (분석/배치 몫 확보)
+ * 대기열은 사용자 단위 라운드로빈이고, 실행 중인 적재가 적은 사용자가 먼저 차례를 받음
+ *   → 한 사용자가 여러 파일을 연달아 올려도 다른 사용자의 업로드가 뒤로 밀리지 않음
+ * 실행 중인 적재가 하나도 없으면 조건과 무관하게 1건은 허용 (큰 파일이 영원히 대기하지 않도록)
+ * 대기 순번이 바뀔 때마다 WebSocket으로 알리고, 자원 부족으로 멈춘 대기열은 주기적으로 다시 확인함
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IngestScheduler {
+
+    private static final long PIPELINE_BASE_BYTES = 64L * 1024 * 1024; // 청크 대기열·파서 버퍼 등 파일 크기와 무관한 몫
+
+    private final CsvIngestProperties csvIngestProperties;
+    private final DataSource dataSource;
+    private final WebSocketService webSocketService;
+
+    private final Map<String, Deque<Ticket>> waiting = new LinkedHashMap<>(); // userId → 대기 작업 (키 순서 = 다음 차례 순서)
+    private final Map<String, Ticket> running = new HashMap<>();              // jobId → 실행 중 작업
+    private final Map<String, Integer> runningByUser = new HashMap<>();       // userId → 실행 중 작업 수
+    private int waitingCount;
+    private long reservedBytes;
+    private HikariDataSource hikari;
+    private boolean hikariResolved;
+
+    private record Ticket(IngestJob job, long memoryBytes, Runnable launcher) {
+    }
+
+    // [접수] : 대기열에 넣고 가능하면 바로 실행. 대기열이 가득 차서 넣지 못하면 false
+    public boolean submit(IngestJob job, long storedBytes, boolean gzip, Runnable launcher) {
+        final List<Ticket> launches;
+        final List<IngestJob> moved;
+        final boolean rejected;
+        synchronized (this) {
+            Ticket ticket = new Ticket(job, estimateMemory(storedBytes, gzip) + sortBufferBytes(storedBytes, gzip), launcher);
+            waiting.computeIfAbsent(job.getUserId(), k -> new ArrayDeque<>()).addLast(ticket);
+            waitingCount++;
+            launches = dispatch();
+            rejected = !running.containsKey(job.getJobId()) && waitingCount > csvIngestProperties.getJobQueueCapacity();
+            if (rejected) {
+                removeWaiting(ticket);
+            }
+            moved = updatePositions();
+        }
+        launch(launches);
+        notifyPositions(moved);
+        return !rejected;
+    }
+
+    // [반납] : 적재가 끝나면(성공/실패 모두) 호출. 자원을 돌려받고 다음 차례 작업을 실행
+    public void release(IngestJob job) {
+        final List<Ticket> launches;
+        final List<IngestJob> moved;
+        synchronized (this) {
+            Ticket ticket = running.remove(job.getJobId());
+            if (ticket == null) return;
+            reservedBytes -= ticket.memoryBytes();
+            runningByUser.computeIfPresent(job.getUserId(), (k, n) -> n > 1 ? n - 1 : null);
+            launches = dispatch();
+            moved = updatePositions();
+        }
+        launch(launches);
+        notifyPositions(moved);
+    }
+
+    // 메모리/커넥션 부족으로 멈춘 대기열 재확인 (실행 중 작업이 끝나지 않아도 분석·배치가 커넥션을 돌려주면 진행)
+    @Scheduled(fixedDelayString = "${csv.ingest.admission-retry-millis:2000}")
+    public void retryAdmission() {
+        final List<Ticket> launches;
+        final List<IngestJob> moved;
+        synchronized (this) {
+            if (waitingCount == 0) return;
+            launches = dispatch();
+            if (launches.isEmpty()) return;
+            moved = updatePositions();
+        }
+        launch(launches);
+        notifyPositions(moved);
+    }
+
+    public synchronized int waitingCount() {
+        return waitingCount;
+    }
+
+    public synchronized int runningCount() {
+        return running.size();
+    }
+
+    // ■■■■■■■■■■■■■■ [ Helper ] ■■■■■■■■■■■■■
+
+    // 차례가 된 사용자의 맨 앞 작업부터 조건이 허락하는 만큼 실행 목록으로 옮김 (잠금 상태에서 호출)
+    // 맨 앞 작업이 자원 조건에 맞지 않으면 뒤 작업을 먼저 보내지 않고 멈춤 (큰 파일 기아 방지)
+    private List<Ticket> dispatch() {
+        List<Ticket> launches = new ArrayList<>();
+        while (waitingCount > 0 && running.size() < csvIngestProperties.getJobThreads()) {
+            String userId = nextUser();
+            Deque<Ticket> queue = waiting.get(userId);
+            Ticket ticket = queue.peekFirst();
+            if (!running.isEmpty() && !admits(ticket)) break;
+
+            queue.pollFirst();
+            waiting.remove(userId);
+            if (!queue.isEmpty()) {
+                waiting.put(userId, queue); // 남은 작업이 있으면 맨 뒤 차례로
+            }
+            waitingCount--;
+            running.put(ticket.job().getJobId(), ticket);
+            runningByUser.merge(userId, 1, Integer::sum);
+            reservedBytes += ticket.memoryBytes();
+            ticket.job().queued(0);
+            launches.add(ticket);
+        }
+        return launches;
+    }
+
+    // 실행 중인 적재가 가장 적은 사용자 (같으면 대기열 순서가 앞선 사용자)
+    private String nextUser() {
+        String next = null;
+        int fewest = Integer.MAX_VALUE;
+        for (String userId : waiting.keySet()) {
+            int n = runningByUser.getOrDefault(userId, 0);
+            if (n < fewest) {
+                next = userId;
+                fewest = n;
+            }
+        }
+        return next;
+    }
+
+    private boolean admits(Ticket ticket) {
+        if (reservedBytes + ticket.memoryBytes() > memoryBudget()) return false;
+        return freeConnections() >= csvIngestProperties.getMinFreeConnections();
+    }
+
+    private void launch(List<Ticket> launches) {
+        for (Ticket ticket : launches) {
+            IngestJob job = ticket.job();
+            log.info("[IngestScheduler] [실행] : jobId = {}, fileId = {}, 추정 메모리 = {}MB",
+                    job.getJobId(), job.getFileId(), ticket.memoryBytes() >> 20);
+            try {
+                ticket.launcher().run();
+            } catch (TaskRejectedException e) {
+                // 실행 슬롯 수만큼만 넘기므로 정상 상황에서는 발생하지 않음 (종료 중 등). 업로드는 QUEUED로 남아 재시작 시 재개
+                log.error("[IngestScheduler] [실패] : 적재 실행 거절 jobId = {}", job.getJobId(), e);
+                job.fail("적재를 시작하지 못했습니다. 서버 재시작 후 자동으로 재개됩니다.");
+                release(job);
+            }
+        }
+    }
+
+    // 라운드로빈 순서(각 사용자의 1번째 → 2번째 ...)로 대기 순번을 매기고, 순번이 바뀐 작업 목록 반환 (잠금 상태에서 호출)
+    // 실행 중 작업 수에 따른 우선순위는 첫 바퀴 순서에만 반영한 추정치
+    private List<IngestJob> updatePositions() {
+        List<IngestJob> moved = new ArrayList<>();
+        List<String> users = new ArrayList<>(waiting.keySet());
+        users.sort(Comparator.comparingInt(u -> runningByUser.getOrDefault(u, 0))); // 안정 정렬 → 같으면 대기열 순서
+        List<Iterator<Ticket>> queues = new ArrayList<>();
+        users.forEach(u -> queues.add(waiting.get(u).iterator()));
+        int position = 0;
+        while (!queues.isEmpty()) {
+            Iterator<Iterator<Ticket>> round = queues.iterator();
+            while (round.hasNext()) {
+                Iterator<Ticket> q = round.next();
+                if (!q.hasNext()) {
+                    round.remove();
+                    continue;
+                }
+                IngestJob job = q.next().job();
+                if (job.queued(++position)) moved.add(job);
+            }
+        }
+        return moved;
+    }
+
+    private void notifyPositions(List<IngestJob> moved) {
+        for (IngestJob job : moved) {
+            webSocketService.sendMessage(job.getUserId(), "[1단계/CSV] QUEUE - 적재 대기 " + job.getQueuePosition()
+                    + "번째 (jobId=" + job.getJobId() + ")");
+        }
+    }
+
+    private void removeWaiting(Ticket ticket) {
+        Deque<Ticket> queue = waiting.get(ticket.job().getUserId());
+        if (queue != null && queue.remove(ticket)) {
+            waitingCount--;
+            if (queue.isEmpty()) waiting.remove(ticket.job().getUserId());
+        }
+    }
+
+    // [메모리 추정] : 파이프라인 고정분 + EPC/상품 맵(원문 1바이트당 힙 약 1바이트) + 중복 키 집합
+    // 중복 키 집합은 CsvSaveService가 같은 원문 크기 추정(EventKeySet.expectedEvents)으로 만드는 크기 그대로 계산
+    // mmap 토크나이저는 파일을 힙 밖에 매핑하므로 원문 자체는 포함하지 않음
+    static long estimateMemory(long storedBytes, boolean gzip) {
+        long csvBytes = CsvCompression.estimatedCsvBytes(storedBytes, gzip);
+        return PIPELINE_BASE_BYTES + csvBytes + EventKeySet.estimateBytes(EventKeySet.expectedEvents(csvBytes));
+    }
+
+    // EPC_TIME 정렬 적재는 정렬 버퍼만큼 더 씀 (작은 파일은 원문 크기를 넘지 않음)
+    private long sortBufferBytes(long storedBytes, boolean gzip) {
+        if (csvIngestProperties.getEventOrder() != CsvIngestProperties.EventOrder.EPC_TIME) return 0;
+        long csvBytes = CsvCompression.estimatedCsvBytes(storedBytes, gzip);
+        return Math.min(csvIngestProperties.getSortBuffer().toBytes(), csvBytes);
+    }
+
+    private long memoryBudget() {
+        if (csvIngestProperties.getMemoryBudget() != null && csvIngestProperties.getMemoryBudget().toBytes() > 0) {
+            return csvIngestProperties.getMemoryBudget().toBytes();
+        }
+        return Runtime.getRuntime().maxMemory() / 2; // 미설정 시 최대 힙의 절반
+    }
+
+    // Hikari 풀의 여유 커넥션 (최대 크기 - 사용 중). Hikari가 아니거나 풀 시작 전이면 제한 없음
+    private int freeConnections() {
+        HikariDataSource hikari = hikari();
+        HikariPoolMXBean pool = hikari != null ? hikari.getHikariPoolMXBean() : null;
+        if (pool == null) return Integer.MAX_VALUE;
+        return hikari.getMaximumPoolSize() - pool.getActiveConnections();
+    }
+
+    private HikariDataSource hikari() {
+        if (!hikariResolved) {
+            try {
+                hikari = dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+            } catch (SQLException e) {
+                hikari = null;
+            }
+            hikariResolved = true;
+        }
+        return hikari;
+    }
+}
@@ -0,0 +1,251 @@
+package edu.pnu.service.csv.ingest;
+
+import edu.pnu.exception.InvalidCsvFormatException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Callable;
+
+/*
+ * [메모리 매핑 소스] : 디스크에 저장된 CSV를 FileChannel.map 으로 매핑하고 UTF-8 바이트를 직접 스캔함
+ * - reader 스레드 : 바이트를 한 번 훑으며 chunkSize 행 단위로 블록 경계만 찾음 (복사/디코딩 없음)
+ * - parser 스레드 : 블록 바이트를 CsvByteTokenizer로 분리해 필요한 컬럼만 문자열/숫자로 변환
+ * 블록 경계를 찾는 스캔에서 토크나이저가 다루지 않는 형식(escape 문자 '\', 따옴표 필드 안 줄바꿈,
+ * 따옴표 밖 따옴표, 단독 '\r')을 만나면 그 블록의 시작(행 경계)부터 OpenCSV 소스로 전환함.
+ * 행 번호/청크 순번은 그대로 이어지므로 결과는 처음부터 OpenCSV로 읽은 것과 같음.
+ */
+@Slf4j
+public class MappedCsvChunkSource implements ChunkSource {
+
+    private static final long WINDOW_SIZE = 256L * 1024 * 1024; // 한 번에 매핑하는 최대 크기
+    private static final long MAX_WINDOW_SIZE = Integer.MAX_VALUE;
+    private static final int READER_BUFFER_SIZE = 64 * 1024;
+
+    // 블록 스캔 상태 (행 경계에서 항상 FIELD_START)
+    private static final int FIELD_START = 0; // 필드 시작 (앞쪽 공백만 읽음)
+    private static final int UNQUOTED = 1;
+    private static final int QUOTED = 2;
+    private static final int AFTER_QUOTE = 3; // 따옴표 필드의 닫는 따옴표(또는 "" 의 첫 따옴표) 직후
+    private static final int UNSUPPORTED = -1;
+    private static final int NEED_MORE = -2;  // 윈도우 끝에서 블록이 잘림
+
+    private final FileChannel channel;
+    private final long fileSize;
+    private final CsvRowParser rowParser;
+    private final int chunkSize;
+
+    private MappedByteBuffer window;
+    private long windowStart;
+    private long pos;   // 다음 블록의 시작 위치 (항상 행 경계)
+    private long seq;
+    private int rowNum; // 마지막으로 읽은 행 번호 (header = 1)
+    private OpenCsvChunkSource fallback;
+
+    private MappedCsvChunkSource(FileChannel channel, long fileSize, CsvRowParser rowParser, int chunkSize, long pos) {
+        this.channel = channel;
+        this.fileSize = fileSize;
+        this.rowParser = rowParser;
+        this.chunkSize = chunkSize;
+        this.pos = pos;
+        this.rowNum = 1;
+    }
+
+    // 헤더를 읽어 필수 컬럼을 검증한 소스를 생성. 헤더부터 지원하지 않는 형식이면 OpenCSV 소스를 반환
+    public static ChunkSource open(Path path, int chunkSize) throws IOException {
+        return open(path, chunkSize, 0, -1, 0);
+    }
+
+    /*
+     * [체크포인트 재개] : 헤더 검증 후 커밋된 skipRows개 데이터 행 다음(byte offset)부터 seq 번째 청크로 이어 읽음
+     * offset을 모르면(이전 적재가 OpenCSV로 전환된 경우) OpenCSV 소스로 처음부터 행 단위로 건너뜀
+     */
+    public static ChunkSource open(Path path, int chunkSize, int skipRows, long offset, long seq) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long fileSize = channel.size();
+            MappedByteBuffer head = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(fileSize, WINDOW_SIZE));
+
+            int headerEnd = scanRows(head, 0, head.limit(), 1, fileSize <= WINDOW_SIZE);
+            if (headerEnd < 0 || fileSize == 0 || (skipRows > 0 && offset < 0)) {
+                log.debug("[MappedCsvChunkSource] [전환] : 헤더 형식이 바이트 토크나이저 범위 밖이거나 재개 위치를 모름 → OpenCSV 사용");
+                return OpenCsvChunkSource.open(openReader(channel, 0), chunkSize, skipRows, seq);
+            }
+
+            MappedCsvChunkSource source = new MappedCsvChunkSource(
+                    channel, fileSize, CsvRowParser.fromHeader(readHeader(head, headerEnd)), chunkSize, headerEnd);
+            source.window = head;
+            if (skipRows > 0) {
+                source.pos = offset;
+                source.rowNum = 1 + skipRows;
+                source.seq = seq;
+            }
+            return source;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public Callable<ParsedChunk> nextChunk() throws IOException {
+        if (fallback != null) return fallback.nextChunk();
+        if (pos >= fileSize) return null;
+
+        long mapSize = WINDOW_SIZE;
+        while (true) {
+            if (window == null || pos < windowStart || pos >= windowStart + window.limit()) {
+                remap(pos, mapSize);
+            }
+            final int off = (int) (pos - windowStart);
+            final boolean windowAtEof = windowStart + window.limit() == fileSize;
+            final int end = scanRows(window, off, window.limit(), chunkSize, windowAtEof);
+
+            if (end == UNSUPPORTED) {
+                log.debug("[MappedCsvChunkSource] [전환] : {}행 이후 토크나이저 범위 밖 형식 → OpenCSV로 이어 읽기", rowNum);
+                fallback = OpenCsvChunkSource.resume(openReader(channel, pos), rowParser, chunkSize, seq, rowNum);
+                return fallback.nextChunk();
+            }
+            if (end == NEED_MORE) {
+                // 윈도우 끝에서 블록이 잘림 → 블록 시작 위치부터 다시 매핑 (블록이 윈도우보다 크면 윈도우 확대)
+                if (windowStart == pos) {
+                    if (mapSize >= MAX_WINDOW_SIZE) {
+                        throw new InvalidCsvFormatException((rowNum + 1) + "행부터 " + chunkSize + "행 블록이 너무 큽니다.");
+                    }
+                    mapSize = Math.min(MAX_WINDOW_SIZE, mapSize * 2);
+                }
+                window = null;
+                continue;
+            }
+
+            final int len = end - off;
+            final int rows = countRows(window, off, end);
+            final ByteBuffer block = window.slice(off, len);
+            final long chunkSeq = seq++;
+            final int startRowNum = rowNum; // 데이터 k번째 행 = k (OpenCSV 소스와 동일한 번호 체계)
+            rowNum += rows;
+            pos += len;
+            final boolean last = pos >= fileSize;
+            final long endOffset = pos;
+            return () -> parseBlock(chunkSeq, startRowNum, block, rows, last, endOffset);
+        }
+    }
+
+    // [블록 파싱] : parser 스레드에서 실행. 블록 바이트를 힙으로 한 번 복사한 뒤 행 단위로 토큰화
+    private ParsedChunk parseBlock(long chunkSeq, int startRowNum, ByteBuffer block, int rows, boolean last, long endOffset) {
+        final byte[] buf = new byte[block.remaining()];
+        block.get(0, buf);
+
+        final ParsedChunk chunk = new ParsedChunk(chunkSeq, startRowNum, rows, last);
+        chunk.setEndOffset(endOffset);
+        final CsvByteTokenizer tokenizer = new CsvByteTokenizer(rowParser.columnCount());
+        int lineStart = 0;
+        for (int i = 0; i < rows; i++) {
+            int lineEnd = lineStart;
+            while (lineEnd < buf.length && buf[lineEnd] != '\n') lineEnd++;
+            tokenizer.tokenize(buf, lineStart, lineEnd);
+            rowParser.parseRow(tokenizer, chunk, i);
+            lineStart = lineEnd + 1;
+        }
+        return chunk;
+    }
+
+    private void remap(long from, long size) throws IOException {
+        windowStart = from;
+        window = channel.map(FileChannel.MapMode.READ_ONLY, from, Math.min(size, fileSize - from));
+    }
+
+    /*
+     * [블록 경계 스캔] : buf[from, limit)에서 maxRows 행을 읽은 직후 위치를 반환
+     * - atEof 이고 행이 모자라면 limit (마지막 행은 '\n' 없이 끝날 수 있음)
+     * - atEof 가 아닌데 limit에 도달하면 NEED_MORE (다시 매핑 필요)
+     * - 지원하지 않는 형식이면 UNSUPPORTED(-1)
+     */
+    private static int scanRows(ByteBuffer buf, int from, int limit, int maxRows, boolean atEof) {
+        int state = FIELD_START;
+        int rows = 0;
+        for (int i = from; i < limit; i++) {
+            byte b = buf.get(i);
+            if (b == '\n') {
+                if (state == QUOTED) return UNSUPPORTED; // 따옴표 필드 안 줄바꿈
+                state = FIELD_START;
+                if (++rows == maxRows) return i + 1;
+                continue;
+            }
+            if (b == '\\') return UNSUPPORTED; // OpenCSV escape 문자
+            if (b == '\r') {
+                if (state == QUOTED) return UNSUPPORTED;
+                if (i + 1 < limit && buf.get(i + 1) != '\n') return UNSUPPORTED; // 단독 '\r' 줄바꿈
+                continue;
+            }
+            switch (state) {
+                case FIELD_START:
+                    if (b == '"') state = QUOTED;
+                    else if (b != ',' && b != ' ' && b != '\t') state = UNQUOTED;
+                    break;
+                case UNQUOTED:
+                    if (b == '"') return UNSUPPORTED;   // 따옴표 밖 따옴표
+                    if (b == ',') state = FIELD_START;
+                    break;
+                case QUOTED:
+                    if (b == '"') state = AFTER_QUOTE;
+                    break;
+                default: // AFTER_QUOTE
+                    if (b == '"') state = QUOTED;       // "" → "
+                    else if (b == ',') state = FIELD_START;
+                    else return UNSUPPORTED;           // 닫는 따옴표 뒤 문자
+                    break;
+            }
+        }
+        if (!atEof) return NEED_MORE;
+        return state == QUOTED ? UNSUPPORTED : limit;
+    }
+
+    // 블록 안의 행 수 ('\n' 없이 끝나는 마지막 행 포함)
+    private static int countRows(ByteBuffer buf, int from, int end) {
+        int rows = 0;
+        for (int i = from; i < end; i++) {
+            if (buf.get(i) == '\n') rows++;
+        }
+        if (end > from && buf.get(end - 1) != '\n') rows++;
+        return rows;
+    }
+
+    // 헤더 행을 문자열 배열로 변환
+    private static String[] readHeader(ByteBuffer head, int headerEnd) {
+        byte[] buf = new byte[headerEnd];
+        head.get(0, buf);
+        int lineEnd = headerEnd > 0 && buf[headerEnd - 1] == '\n' ? headerEnd - 1 : headerEnd;
+
+        int columns = 1;
+        boolean inQuotes = false;
+        for (int i = 0; i < lineEnd; i++) {
+            if (buf[i] == '"') inQuotes = !inQuotes;
+            else if (buf[i] == ',' && !inQuotes) columns++;
+        }
+        CsvByteTokenizer tokenizer = new CsvByteTokenizer(columns);
+        tokenizer.tokenize(buf, 0, lineEnd);
+        String[] header = new String[columns];
+        for (int i = 0; i < columns; i++) header[i] = tokenizer.value(i);
+        return header;
+    }
+
+    private static BufferedReader openReader(FileChannel channel, long from) throws IOException {
+        return new BufferedReader(new InputStreamReader(
+                Channels.newInputStream(channel.position(from)), StandardCharsets.UTF_8), READER_BUFFER_SIZE);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (fallback != null) fallback.close();
+        channel.close();
+    }
+}
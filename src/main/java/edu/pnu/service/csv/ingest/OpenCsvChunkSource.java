@@ -0,0 +1,99 @@
+package edu.pnu.service.csv.ingest;
+
+import edu.pnu.exception.InvalidCsvFormatException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import com.opencsv.CSVParserBuilder;
+import com.opencsv.CSVReader;
+import com.opencsv.CSVReaderBuilder;
+import com.opencsv.exceptions.CsvValidationException;
+
+// [OpenCSV 소스] : 범용 CSVReader로 행을 읽어 청크로 묶음 (따옴표/escape가 복잡한 파일도 처리 가능한 기본 경로)
+public class OpenCsvChunkSource implements ChunkSource {
+
+    private final CSVReader csvReader;
+    private final CsvRowParser rowParser;
+    private final int chunkSize;
+
+    private long seq;
+    private int rowNum; // 마지막으로 읽은 행 번호 (header = 1)
+    private boolean eof;
+
+    private OpenCsvChunkSource(CSVReader csvReader, CsvRowParser rowParser, int chunkSize, long seq, int rowNum) {
+        this.csvReader = csvReader;
+        this.rowParser = rowParser;
+        this.chunkSize = chunkSize;
+        this.seq = seq;
+        this.rowNum = rowNum;
+    }
+
+    // 헤더까지 읽어 필수 컬럼을 검증한 소스를 생성 (실패 시 reader를 닫음)
+    public static OpenCsvChunkSource open(Reader reader, int chunkSize) throws IOException {
+        return open(reader, chunkSize, 0, 0);
+    }
+
+    // [체크포인트 재개] : 헤더 검증 후 이미 커밋된 skipRows개 데이터 행을 읽어서 버리고 seq 번째 청크부터 이어 읽음
+    public static OpenCsvChunkSource open(Reader reader, int chunkSize, int skipRows, long seq) throws IOException {
+        CSVReader csvReader = newCsvReader(reader);
+        try {
+            CsvRowParser rowParser = CsvRowParser.fromHeader(csvReader.readNext());
+            int rowNum = 1;
+            while (rowNum <= skipRows && csvReader.readNext() != null) rowNum++;
+            return new OpenCsvChunkSource(csvReader, rowParser, chunkSize, seq, rowNum);
+        } catch (CsvValidationException e) {
+            csvReader.close();
+            throw new InvalidCsvFormatException("CSV 헤더를 읽을 수 없습니다: " + e.getMessage());
+        } catch (IOException | RuntimeException e) {
+            csvReader.close();
+            throw e;
+        }
+    }
+
+    // [이어 읽기] : 헤더를 이미 해석한 상태에서 행 경계부터 읽는 소스 (메모리 매핑 소스의 fallback 용)
+    static OpenCsvChunkSource resume(Reader reader, CsvRowParser rowParser, int chunkSize, long seq, int rowNum) {
+        return new OpenCsvChunkSource(newCsvReader(reader), rowParser, chunkSize, seq, rowNum);
+    }
+
+    private static CSVReader newCsvReader(Reader reader) {
+        return new CSVReaderBuilder(reader)
+                .withCSVParser(new CSVParserBuilder()
+                        .withSeparator(',')
+                        .withQuoteChar('"')
+                        .withEscapeChar('\\')
+                        .withIgnoreLeadingWhiteSpace(true)
+                        .build())
+                .build();
+    }
+
+    @Override
+    public Callable<ParsedChunk> nextChunk() throws IOException {
+        if (eof) return null;
+        List<String[]> block = new ArrayList<>(chunkSize);
+        try {
+            String[] row;
+            while (block.size() < chunkSize && (row = csvReader.readNext()) != null) {
+                rowNum++;
+                block.add(row);
+            }
+        } catch (CsvValidationException e) {
+            throw new InvalidCsvFormatException(rowNum + "행 근처 CSV 형식 오류: " + e.getMessage());
+        }
+        if (block.size() < chunkSize) eof = true;
+        if (block.isEmpty()) return null;
+
+        final long chunkSeq = seq++;
+        final int startRowNum = rowNum - block.size();
+        final boolean last = eof; // EOF에서 잘린 마지막 청크
+        return () -> rowParser.parseChunk(chunkSeq, startRowNum, block, last);
+    }
+
+    @Override
+    public void close() throws IOException {
+        csvReader.close();
+    }
+}
@@ -0,0 +1,131 @@
+package edu.pnu.service.csv.ingest;
+
+import edu.pnu.service.csv.support.EventTimeCodec;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * [파싱 청크] : 파서 스레드가 한 번만 디코딩해 둔 청크 단위 결과 (struct-of-arrays)
+ * - 숫자 컬럼은 long[] (값이 없으면 NO_VALUE), event_time은 epoch seconds(UTC 기준 LocalDateTime)
+ * - business_step / business_original / event_type / hub_type 는 청크 사전(StringDictionary) 코드
+ * - 마스터 데이터에만 쓰이는 문자열 컬럼은 String[] 로 보관 (manufacture/expiry 는 새 EPC 생성 시에만 변환)
+ * writer는 seq 순서대로 받아 행 인덱스(0 ~ size-1)로 접근함
+ */
+@Getter
+public class ParsedChunk {
+
+    public static final long NO_VALUE = Long.MIN_VALUE; // long 컬럼의 null
+
+    private final long seq;                             // 읽은 순서 (0부터)
+    private final int startRowNum;                      // 첫 행의 행 번호 (오류 리포트용, 기존 청크 처리와 동일한 기준)
+    @Getter(AccessLevel.NONE)
+    private final int size;
+    private final boolean last;                         // EOF에서 잘린 마지막 청크 여부
+    @Setter(AccessLevel.PACKAGE)
+    private long endOffset = -1;                        // 청크 끝(다음 행 시작)의 byte offset (알 수 없으면 -1, 체크포인트용)
+    private final Map<String, List<Integer>> parseErrors = new HashMap<>(); // 파싱 단계에서 발견된 오류 행
+
+    // 숫자 컬럼
+    private final long[] locationIds;
+    private final long[] operatorIds;
+    private final long[] deviceIds;
+    private final long[] eventTimes;
+
+    // 사전 코드 컬럼
+    private final StringDictionary dictionary = new StringDictionary();
+    private final int[] businessOriginals;
+    private final int[] businessSteps;                  // business_original 을 정규화한 값
+    private final int[] eventTypes;
+    private final int[] hubTypes;
+
+    // 마스터 데이터 문자열 컬럼
+    private final String[] scanLocations;
+    private final String[] epcProducts;
+    private final String[] epcCompanies;
+    private final String[] productNames;
+    private final String[] epcCodes;
+    private final String[] epcHeaders;
+    private final String[] epcLots;
+    private final String[] epcSerials;
+    private final String[] manufactureDates;            // 원본 문자열 (getManufactureDate(i)로 변환)
+    private final String[] expiryDates;                 // 원본 문자열 (getExpiryDate(i)로 변환)
+
+    // 시각 변환 코덱 (파서 스레드가 채우고, writer가 새 EPC의 제조/유통기한 변환에 이어서 사용)
+    private final EventTimeCodec codec = new EventTimeCodec();
+
+    // business_original 코드 → 정규화된 business_step 코드 (청크 안에서 원본 값마다 한 번만 정규화)
+    @Getter(AccessLevel.NONE)
+    private int[] stepCodeByOriginal = new int[0];
+
+    public ParsedChunk(long seq, int startRowNum, int size, boolean last) {
+        this.seq = seq;
+        this.startRowNum = startRowNum;
+        this.size = size;
+        this.last = last;
+        this.locationIds = new long[size];
+        this.operatorIds = new long[size];
+        this.deviceIds = new long[size];
+        this.eventTimes = new long[size];
+        this.businessOriginals = new int[size];
+        this.businessSteps = new int[size];
+        this.eventTypes = new int[size];
+        this.hubTypes = new int[size];
+        this.scanLocations = new String[size];
+        this.epcProducts = new String[size];
+        this.epcCompanies = new String[size];
+        this.productNames = new String[size];
+        this.epcCodes = new String[size];
+        this.epcHeaders = new String[size];
+        this.epcLots = new String[size];
+        this.epcSerials = new String[size];
+        this.manufactureDates = new String[size];
+        this.expiryDates = new String[size];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // [business_step 저장] : 원본 값을 사전 코드로 저장하고, 정규화 결과는 원본 값마다 한 번만 계산
+    void setBusinessStep(int i, String original) {
+        int originalCode = dictionary.encode(original);
+        businessOriginals[i] = originalCode;
+        if (originalCode == StringDictionary.NULL_CODE) {
+            businessSteps[i] = StringDictionary.NULL_CODE;
+            return;
+        }
+        if (originalCode >= stepCodeByOriginal.length) {
+            int from = stepCodeByOriginal.length;
+            stepCodeByOriginal = Arrays.copyOf(stepCodeByOriginal, Math.max(8, originalCode * 2));
+            Arrays.fill(stepCodeByOriginal, from, stepCodeByOriginal.length, Integer.MIN_VALUE);
+        }
+        int stepCode = stepCodeByOriginal[originalCode];
+        if (stepCode == Integer.MIN_VALUE) {
+            stepCode = dictionary.encode(CsvRowParser.normalizeBusinessStep(original));
+            stepCodeByOriginal[originalCode] = stepCode;
+        }
+        businessSteps[i] = stepCode;
+    }
+
+    // 새 EPC 생성 시에만 필요하므로 writer에서 필요할 때 변환 (형식 오류는 기존과 동일하게 null, 오류 기록 없음)
+    public LocalDateTime getManufactureDate(int i) {
+        return EventTimeCodec.toLocalDateTime(codec.parseDateTime(manufactureDates[i]));
+    }
+
+    public LocalDate getExpiryDate(int i) {
+        return EventTimeCodec.toLocalDate(codec.parseDate(expiryDates[i]));
+    }
+
+    // long 컬럼 값을 Long으로 (NO_VALUE → null)
+    public static Long boxed(long value) {
+        return value == NO_VALUE ? null : value;
+    }
+}
@@ -0,0 +1,37 @@
+package edu.pnu.service.csv.ingest;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// [문자열 사전] : 종류가 적고 반복이 많은 컬럼(business_step, event_type, hub_type 등)을 int 코드로 저장하기 위한 사전
+// 같은 값은 하나의 String 인스턴스만 보관됨. 청크(파서 스레드) 단위로 생성해서 사용 (스레드 안전하지 않음)
+public final class StringDictionary {
+
+    public static final int NULL_CODE = -1;
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+
+    // 값 → 코드 (처음 보는 값이면 새 코드 부여, null이면 NULL_CODE)
+    public int encode(String value) {
+        if (value == null) return NULL_CODE;
+        Integer code = codes.get(value);
+        if (code == null) {
+            code = values.size();
+            codes.put(value, code);
+            values.add(value);
+        }
+        return code;
+    }
+
+    // 코드 → 값 (NULL_CODE면 null)
+    public String decode(int code) {
+        return code == NULL_CODE ? null : values.get(code);
+    }
+
+    public int size() {
+        return values.size();
+    }
+}
@@ -0,0 +1,28 @@
+package edu.pnu.service.csv.support;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/*
+ * [내용 해시] : SHA-256 (소문자 hex 64자)
+ * - 업로드 내용 해시는 CsvContentDigest가 디스크에 기록하는 동안 함께 계산 (.csv.gz는 압축 해제한 CSV 내용)
+ * - 같은 해시 = 같은 CSV 내용이므로 분석 결과 재사용 판단에 사용, 분할 업로드 조각 체크섬은 받은 바이트 그대로
+ */
+public final class ContentHash {
+
+    private ContentHash() {
+    }
+
+    public static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e); // 모든 JVM에 필수 제공되는 알고리즘
+        }
+    }
+
+    public static String hex(MessageDigest digest) {
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
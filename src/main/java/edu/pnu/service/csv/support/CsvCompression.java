@@ -0,0 +1,159 @@
+package edu.pnu.service.csv.support;
+
+import java.io.BufferedReader;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/*
+ * [CSV 압축] : 업로드/보관본 CSV의 gzip 처리 규칙
+ * - 파일명이 ".csv.gz"면 gzip 스트림으로 취급 (업로드 원본 / 디스크 보관본 모두 동일 규칙)
+ * - 보관본은 적재 후 gzip으로 다시 저장하고, 다운로드 시 압축 바이트를 그대로 전송 (Content-Encoding: gzip)
+ * 논리적인 파일(압축 해제한 CSV 내용)은 어느 경우에도 바뀌지 않음
+ */
+public final class CsvCompression {
+
+    public static final String CSV_SUFFIX = ".csv";
+    public static final String GZIP_SUFFIX = ".gz";
+    public static final String GZIP_CSV_SUFFIX = CSV_SUFFIX + GZIP_SUFFIX;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int GZIP_EXPANSION = 8; // .csv.gz 보관본 → 원문 크기 추정 배율
+    private static final long RESTART_INTERVAL_BYTES = 4L * 1024 * 1024; // 보관본 gzip 재시작 지점 간격 (원문 기준)
+
+    private CsvCompression() {
+    }
+
+    // 허용 업로드 파일명 : .csv / .csv.gz
+    public static boolean isSupportedName(String fileName) {
+        String name = fileName.toLowerCase(Locale.ROOT);
+        return name.endsWith(CSV_SUFFIX) || name.endsWith(GZIP_CSV_SUFFIX);
+    }
+
+    public static boolean isGzip(String fileName) {
+        return fileName != null && fileName.toLowerCase(Locale.ROOT).endsWith(GZIP_SUFFIX);
+    }
+
+    // [원문 크기 추정] : 보관본 크기로 압축 해제한 CSV 바이트 추정 (적재 메모리/중복 키 집합 크기 산정용)
+    public static long estimatedCsvBytes(long storedBytes, boolean gzip) {
+        return Math.max(0, storedBytes) * (gzip ? GZIP_EXPANSION : 1);
+    }
+
+    // 업로드 원본 형식을 유지하는 보관본 파일명 (UUID.csv / UUID.csv.gz)
+    public static String storedFileName(String originalFileName) {
+        return UUID.randomUUID() + (isGzip(originalFileName) ? GZIP_CSV_SUFFIX : CSV_SUFFIX);
+    }
+
+    // 사용자에게 보여줄 논리 파일명 (report.csv.gz → report.csv)
+    public static String logicalFileName(String fileName) {
+        return isGzip(fileName) ? fileName.substring(0, fileName.length() - GZIP_SUFFIX.length()) : fileName;
+    }
+
+    // 보관본을 압축 해제한 CSV 내용으로 읽는 스트림
+    public static InputStream openCsvStream(Path path) throws IOException {
+        InputStream in = Files.newInputStream(path);
+        if (!isGzip(path.getFileName().toString())) return in;
+        try {
+            return new GZIPInputStream(in, BUFFER_SIZE);
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    public static BufferedReader openCsvReader(Path path) throws IOException {
+        return new BufferedReader(new InputStreamReader(openCsvStream(path), StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    // [보관본 압축] : source(원문 CSV)를 gzip으로 target에 기록 (임시 파일에 쓰고 이동하므로 중간 실패 시 target 없음)
+    // 원문 RESTART_INTERVAL_BYTES마다 줄 경계에서 재시작 지점을 만들어 restarts에 기록 (오류 리포트가 압축본 중간부터 읽음)
+    // 반환값은 압축된 크기 (bytes)
+    public static long gzip(Path source, Path target, GzipRestartPoints restarts) throws IOException {
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (InputStream in = Files.newInputStream(source);
+             CountingOutputStream file = new CountingOutputStream(Files.newOutputStream(tmp));
+             RestartableGzipOutputStream out = new RestartableGzipOutputStream(file)) {
+            byte[] buf = new byte[BUFFER_SIZE];
+            long csvOffset = 0;     // 원문 기준 다음 byte 위치
+            long nextRestart = RESTART_INTERVAL_BYTES;
+            int row = 0;            // csvOffset에서 시작하는 행 번호 (헤더 = 0)
+            int n;
+            while ((n = in.read(buf)) != -1) {
+                int from = 0;
+                for (int i = 0; i < n; i++) {
+                    if (buf[i] != '\n') continue;
+                    row++;
+                    if (csvOffset + i + 1 < nextRestart) continue;
+                    // 줄 끝까지 쓰고 사전을 비운 뒤, 다음 행이 시작하는 압축본 위치를 기록
+                    out.write(buf, from, i + 1 - from);
+                    from = i + 1;
+                    out.restartPoint();
+                    restarts.add(row, csvOffset + from, file.count());
+                    nextRestart = csvOffset + from + RESTART_INTERVAL_BYTES;
+                }
+                out.write(buf, from, n - from);
+                csvOffset += n;
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return Files.size(target);
+    }
+
+    // 재시작 지점마다 FULL_FLUSH로 압축 사전을 비우는 gzip 스트림 (멤버는 하나 그대로)
+    private static final class RestartableGzipOutputStream extends GZIPOutputStream {
+
+        RestartableGzipOutputStream(OutputStream out) throws IOException {
+            super(out, BUFFER_SIZE);
+            def.setLevel(Deflater.BEST_SPEED); // 반복 패턴이 많은 이벤트 CSV는 낮은 레벨로도 충분히 줄어듦
+        }
+
+        // 지금까지 쓴 내용을 byte 경계까지 모두 내보내고 사전을 비움 → 이후 압축 데이터는 이 위치부터 단독으로 풀림
+        void restartPoint() throws IOException {
+            int len;
+            while ((len = def.deflate(buf, 0, buf.length, Deflater.FULL_FLUSH)) > 0) {
+                out.write(buf, 0, len);
+                if (len < buf.length) break;
+            }
+        }
+    }
+
+    // 기록한 byte 수 (재시작 지점의 압축본 offset)
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        long count() {
+            return count;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package edu.pnu.service.csv.support;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/*
+ * [CSV 내용 해시] : 업로드 바이트를 받은 순서대로 넣으면 압축 해제한 CSV 내용의 SHA-256을 계산
+ * - .csv 업로드는 받은 바이트 그대로, .csv.gz 업로드는 gzip 멤버를 그 자리에서 풀어 해시 → 같은 데이터의 .csv 와 .csv.gz 가 같은 해시
+ * - 밀어 넣는 방식이라 디스크 기록 루프, 분할 업로드 조각 이어 붙이기에 그대로 끼움 (보관본을 다시 읽지 않음)
+ * - gzip 멤버가 여러 개 이어진 파일도 처리. 첫 멤버 뒤의 gzip이 아닌 바이트는 GZIPInputStream처럼 무시
+ * - gzip 형식이 깨졌거나 중간에 끝나면 해시 없음(null) → 중복 업로드 판단에서 제외 (적재 단계에서 형식 오류로 실패)
+ */
+public final class CsvContentDigest {
+
+    private static final int OUT_BUFFER_SIZE = 64 * 1024;
+    private static final int TRAILER_BYTES = 8; // CRC32 + ISIZE
+
+    // gzip 헤더 플래그 (RFC 1952)
+    private static final int FHCRC = 2;
+    private static final int FEXTRA = 4;
+    private static final int FNAME = 8;
+    private static final int FCOMMENT = 16;
+
+    private enum State { HEADER, DATA, TRAILER, TRAILING, INVALID }
+
+    private final MessageDigest digest = ContentHash.newDigest();
+    private final Inflater inflater; // null이면 압축 없는 CSV
+    private final byte[] out;
+    private final byte[] header = new byte[10];
+    private State state = State.HEADER;
+    private int headerRead;   // 고정 헤더 10바이트 중 받은 수
+    private int flags;        // 고정 헤더의 FLG (선택 필드를 읽으면서 하나씩 지움)
+    private int extraLength = -1; // FEXTRA 길이 (-1 : 길이 2바이트를 아직 다 받지 않음)
+    private int extraRead;
+    private int hcrcRead;     // FHCRC 2바이트 중 받은 수
+    private int skip;         // 트레일러/FEXTRA에서 건너뛸 남은 바이트 수
+    private boolean firstMember = true;
+
+    public CsvContentDigest(boolean gzip) {
+        this.inflater = gzip ? new Inflater(true) : null;
+        this.out = gzip ? new byte[OUT_BUFFER_SIZE] : null;
+    }
+
+    public static CsvContentDigest forFile(String fileName) {
+        return new CsvContentDigest(CsvCompression.isGzip(fileName));
+    }
+
+    public void update(byte[] b, int off, int len) {
+        if (inflater == null) {
+            digest.update(b, off, len);
+            return;
+        }
+        final int end = off + len;
+        while (off < end) {
+            switch (state) {
+                case HEADER -> off = readHeader(b, off, end);
+                case DATA -> off = inflate(b, off, end);
+                case TRAILER -> {
+                    int n = Math.min(skip, end - off);
+                    skip -= n;
+                    off += n;
+                    if (skip == 0) startMember();
+                }
+                case TRAILING, INVALID -> off = end;
+            }
+        }
+    }
+
+    public void update(ByteBuffer buf) {
+        if (buf.hasArray()) {
+            update(buf.array(), buf.arrayOffset() + buf.position(), buf.remaining());
+            buf.position(buf.limit());
+        } else {
+            byte[] tmp = new byte[buf.remaining()];
+            buf.get(tmp);
+            update(tmp, 0, tmp.length);
+        }
+    }
+
+    // 지금까지 넣은 내용의 해시 (이후에는 사용하지 않음), gzip이 온전한 멤버로 끝나지 않았으면 null
+    public String hex() {
+        if (inflater == null) return ContentHash.hex(digest);
+        inflater.end();
+        boolean complete = state == State.TRAILING || (state == State.HEADER && headerRead == 0 && !firstMember);
+        return complete ? ContentHash.hex(digest) : null;
+    }
+
+    // ■■■■■■■■■■■■■■ [ gzip ] ■■■■■■■■■■■■■
+
+    private void startMember() {
+        state = State.HEADER;
+        headerRead = 0;
+        extraLength = -1;
+        extraRead = 0;
+        hcrcRead = 0;
+        firstMember = false;
+    }
+
+    // 고정 헤더 10바이트 → FEXTRA → FNAME → FCOMMENT → FHCRC 순서로 건너뜀
+    private int readHeader(byte[] b, int off, int end) {
+        while (headerRead < header.length) {
+            if (off == end) return off;
+            header[headerRead++] = b[off++];
+            if (headerRead == 2 && ((header[0] & 0xff) != 0x1f || (header[1] & 0xff) != 0x8b)) return notGzip(end);
+            if (headerRead == 3 && header[2] != 8) return notGzip(end);
+            if (headerRead == header.length) flags = header[3] & 0xff;
+        }
+        if ((flags & FEXTRA) != 0) {
+            while (extraLength < 0) {
+                if (off == end) return off;
+                if (extraRead == 0) {
+                    skip = b[off++] & 0xff;
+                    extraRead = 1;
+                } else {
+                    extraLength = skip | (b[off++] & 0xff) << 8;
+                    skip = extraLength;
+                }
+            }
+            int n = Math.min(skip, end - off);
+            skip -= n;
+            off += n;
+            if (skip > 0) return off;
+            flags &= ~FEXTRA;
+        }
+        for (int field : new int[]{FNAME, FCOMMENT}) {
+            if ((flags & field) == 0) continue;
+            while (off < end && b[off] != 0) off++;
+            if (off == end) return off;
+            off++; // 0 종료 바이트
+            flags &= ~field;
+        }
+        if ((flags & FHCRC) != 0) {
+            while (hcrcRead < 2) {
+                if (off == end) return off;
+                off++;
+                hcrcRead++;
+            }
+            flags &= ~FHCRC;
+        }
+        inflater.reset();
+        state = State.DATA;
+        return off;
+    }
+
+    private int inflate(byte[] b, int off, int end) {
+        inflater.setInput(b, off, end - off);
+        try {
+            while (true) {
+                int n = inflater.inflate(out);
+                if (n > 0) digest.update(out, 0, n);
+                if (inflater.finished()) {
+                    int consumed = end - off - inflater.getRemaining();
+                    state = State.TRAILER;
+                    skip = TRAILER_BYTES;
+                    return off + consumed;
+                }
+                if (inflater.needsDictionary()) {
+                    state = State.INVALID; // gzip은 사전을 쓰지 않음
+                    return end;
+                }
+                if (n == 0 && inflater.needsInput()) return end;
+            }
+        } catch (DataFormatException e) {
+            state = State.INVALID;
+            return end;
+        }
+    }
+
+    // 첫 멤버가 gzip이 아니면 형식 오류, 이후 멤버 자리의 다른 바이트는 무시
+    private int notGzip(int end) {
+        state = firstMember ? State.INVALID : State.TRAILING;
+        return end;
+    }
+}
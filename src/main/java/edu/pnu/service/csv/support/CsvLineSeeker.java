@@ -0,0 +1,147 @@
+package edu.pnu.service.csv.support;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/*
+ * [보관본 줄 읽기] : 보관본 CSV(.csv / .csv.gz)에서 지정한 행의 원문 줄만 읽음 (오류 리포트용)
+ * - 행 번호는 업로드 오류 행 번호 기준 (헤더 = 0, k번째 데이터 행 = k), 오름차순으로 요청할 때 가장 빠름
+ * - 앵커(행 번호, 원문 byte offset)가 주어지면 그 위치로 바로 이동 : 원문은 파일 위치 이동, gzip은 압축을 풀며 건너뜀
+ *   앵커가 없으면 현재 위치부터 줄 단위로 건너뜀
+ * - gzip 보관본에 재시작 지점(GzipRestartPoints)이 있으면 요청 행 이전의 가장 가까운 지점부터 압축 해제를 새로 시작
+ *   (그 뒤 앵커/줄 단위 건너뛰기는 재시작 지점 이후 구간만 풂)
+ * 따옴표 안 줄바꿈이 있는 행은 한 행이 여러 줄이므로 이후 행 번호가 어긋날 수 있음 (업로드 데이터에는 없음)
+ */
+public final class CsvLineSeeker implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path path;
+    private final boolean gzip;
+    private final GzipRestartPoints restarts;
+    private FileChannel channel;  // 원문 보관본 / 재시작 지점부터 읽는 gzip 보관본
+    private Inflater inflater;    // 재시작 지점부터 읽을 때의 raw deflate 해제기
+    private InputStream in;
+    private long pos;             // 다음에 읽을 byte의 원문 기준 offset
+    private int nextRow;          // 다음에 읽을 줄의 행 번호
+    private byte[] line = new byte[256];
+
+    private CsvLineSeeker(Path path, GzipRestartPoints restarts) {
+        this.path = path;
+        this.gzip = CsvCompression.isGzip(path.getFileName().toString());
+        this.restarts = restarts;
+    }
+
+    public static CsvLineSeeker open(Path path) throws IOException {
+        return open(path, new GzipRestartPoints());
+    }
+
+    public static CsvLineSeeker open(Path path, GzipRestartPoints restarts) throws IOException {
+        CsvLineSeeker seeker = new CsvLineSeeker(path, restarts);
+        seeker.reopen(0);
+        return seeker;
+    }
+
+    public String header() throws IOException {
+        return line(0, -1, -1);
+    }
+
+    // [행 읽기] : row번째 줄 (파일 끝을 넘으면 null). anchorRow < 0 이면 앵커 없음
+    public String line(int row, int anchorRow, long anchorOffset) throws IOException {
+        if (row < nextRow) reopen(0);
+        if (gzip) {
+            int r = restarts.floor(row);
+            if (r >= 0 && restarts.row(r) > nextRow) restart(r);
+        }
+        if (anchorRow >= 0 && anchorRow <= row && anchorRow > nextRow) {
+            seek(anchorRow, anchorOffset);
+        }
+        while (nextRow < row) {
+            if (readLine() < 0) return null;
+        }
+        int n = readLine();
+        return n < 0 ? null : new String(line, 0, n, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (in != null) in.close();
+        if (channel != null) channel.close();
+        if (inflater != null) inflater.end();
+        inflater = null;
+    }
+
+    // ■■■■■■■■■■■■■■ [ Helper ] ■■■■■■■■■■■■■
+
+    private void seek(int row, long offset) throws IOException {
+        if (gzip) {
+            if (offset < pos) reopen(0);
+            long remaining = offset - pos;
+            while (remaining > 0) {
+                long skipped = in.skip(remaining);
+                if (skipped <= 0) {
+                    if (in.read() < 0) break;
+                    skipped = 1;
+                }
+                remaining -= skipped;
+            }
+            pos = offset - remaining;
+        } else {
+            channel.position(offset);
+            in = new BufferedInputStream(Channels.newInputStream(channel), BUFFER_SIZE);
+            pos = offset;
+        }
+        nextRow = row;
+    }
+
+    // 재시작 지점의 압축본 offset부터 raw deflate로 풀기 시작 (FULL_FLUSH 지점이라 앞 데이터 없이 풀림)
+    private void restart(int i) throws IOException {
+        close();
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+        channel.position(restarts.gzipOffset(i));
+        inflater = new Inflater(true);
+        in = new BufferedInputStream(new InflaterInputStream(Channels.newInputStream(channel), inflater, BUFFER_SIZE), BUFFER_SIZE);
+        pos = restarts.csvOffset(i);
+        nextRow = restarts.row(i);
+    }
+
+    private void reopen(long offset) throws IOException {
+        close();
+        if (gzip) {
+            channel = null;
+            in = new BufferedInputStream(CsvCompression.openCsvStream(path), BUFFER_SIZE);
+        } else {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+            channel.position(offset);
+            in = new BufferedInputStream(Channels.newInputStream(channel), BUFFER_SIZE);
+        }
+        pos = offset;
+        nextRow = 0;
+    }
+
+    // 한 줄을 line 버퍼에 읽고 길이 반환 (줄바꿈/CR 제외, 파일 끝이면 -1)
+    private int readLine() throws IOException {
+        int n = 0;
+        int b;
+        while ((b = in.read()) >= 0) {
+            pos++;
+            if (b == '\n') break;
+            if (n == line.length) line = Arrays.copyOf(line, n * 2);
+            line[n++] = (byte) b;
+        }
+        if (b < 0 && n == 0) return -1;
+        nextRow++;
+        if (n > 0 && line[n - 1] == '\r') n--;
+        return n;
+    }
+}
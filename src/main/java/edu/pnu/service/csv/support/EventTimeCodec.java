@@ -0,0 +1,250 @@
+package edu.pnu.service.csv.support;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/*
+ * [이벤트 시각 코덱] : CSV/DB/AI 전송에서 쓰는 고정 형식 시각을 epoch seconds(UTC 기준 LocalDateTime)로 직접 변환
+ *  - "yyyy-MM-dd HH:mm:ss" ↔ epoch seconds, "yyyyMMdd" → epoch day
+ *  - 형식 오류는 예외 없이 INVALID, 빈값은 MISSING 으로 반환 (행마다 DateTimeParseException 비용 없음)
+ *  - 직전 날짜(yyyy-MM-dd) 부분을 캐시해 같은 날짜가 반복되는 행은 검증/epoch day 계산을 생략
+ * 결과는 기존 DateTimeFormatter(ResolverStyle.SMART) 파싱과 동일함
+ * (월말을 넘는 일자는 그 달 마지막 날로 보정, 24:00:00 은 다음날 00:00:00, 5자리 이상 연도는 기존 파서로 처리).
+ * 인스턴스는 캐시를 가지므로 스레드마다(청크마다) 하나씩 사용. static 메서드는 스레드 안전.
+ */
+public final class EventTimeCodec {
+
+    public static final long MISSING = Long.MIN_VALUE;     // 값 없음 (ParsedChunk.NO_VALUE 와 같은 값)
+    public static final long INVALID = Long.MIN_VALUE + 1; // 형식 오류
+
+    public static final int DATE_TIME_LENGTH = 19;         // "yyyy-MM-dd HH:mm:ss"
+    private static final int DATE_LENGTH = 8;              // "yyyyMMdd"
+    private static final int SECONDS_PER_DAY = 86_400;
+    private static final long DAYS_0000_TO_1970 = 719_528L;
+
+    // 5자리 이상 연도처럼 고정 길이가 아닌 드문 입력만 기존 포맷터로 처리
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    // 직전에 변환한 날짜 캐시 (yyyymmdd → epoch day)
+    private int cachedYmd = -1;
+    private long cachedEpochDay;
+
+    // ■■■■■■■■■■■■■■ [ 파싱 ] ■■■■■■■■■■■■■
+
+    // [날짜+시간] : "yyyy-MM-dd HH:mm:ss" → epoch seconds (null/빈값 MISSING, 형식 오류 INVALID)
+    public long parseDateTime(CharSequence s) {
+        if (s == null || s.length() == 0) return MISSING;
+        if (s.length() != DATE_TIME_LENGTH) return parseDateTimeSlow(s);
+
+        if (s.charAt(4) != '-' || s.charAt(7) != '-' || s.charAt(10) != ' '
+                || s.charAt(13) != ':' || s.charAt(16) != ':') return INVALID;
+        int year = digits(s, 0, 4);
+        int month = digits(s, 5, 2);
+        int day = digits(s, 8, 2);
+        int hour = digits(s, 11, 2);
+        int minute = digits(s, 14, 2);
+        int second = digits(s, 17, 2);
+        return toEpochSecond(year, month, day, hour, minute, second);
+    }
+
+    // [날짜+시간] : UTF-8 바이트 buf[from, to) 에서 바로 변환 (바이트 토크나이저용, 문자열 생성 없음)
+    public long parseDateTime(byte[] b, int from, int to) {
+        int len = to - from;
+        if (len <= 0) return MISSING;
+        if (len != DATE_TIME_LENGTH) {
+            return parseDateTimeSlow(new String(b, from, len, StandardCharsets.UTF_8));
+        }
+
+        if (b[from + 4] != '-' || b[from + 7] != '-' || b[from + 10] != ' '
+                || b[from + 13] != ':' || b[from + 16] != ':') return INVALID;
+        int year = digits(b, from, 4);
+        int month = digits(b, from + 5, 2);
+        int day = digits(b, from + 8, 2);
+        int hour = digits(b, from + 11, 2);
+        int minute = digits(b, from + 14, 2);
+        int second = digits(b, from + 17, 2);
+        return toEpochSecond(year, month, day, hour, minute, second);
+    }
+
+    // [날짜] : "yyyyMMdd" → epoch day (null/빈값 MISSING, 형식 오류 INVALID)
+    public long parseDate(CharSequence s) {
+        if (s == null || s.length() == 0) return MISSING;
+        if (s.length() != DATE_LENGTH) return parseDateSlow(s);
+        int year = digits(s, 0, 4);
+        int month = digits(s, 4, 2);
+        int day = digits(s, 6, 2);
+        if (year < 0 || month < 0 || day < 0) return INVALID;
+        return epochDay(year, month, day);
+    }
+
+    private long toEpochSecond(int year, int month, int day, int hour, int minute, int second) {
+        if ((year | month | day | hour | minute | second) < 0) return INVALID;
+        if (minute > 59 || second > 59) return INVALID;
+        if (hour > 23) {
+            // SMART 해석: 24:00:00 은 다음날 자정
+            if (hour != 24 || minute != 0 || second != 0) return INVALID;
+        }
+        long epochDay = epochDay(year, month, day);
+        if (epochDay == INVALID) return INVALID;
+        return epochDay * SECONDS_PER_DAY + hour * 3600L + minute * 60L + second;
+    }
+
+    // [epoch day] : 직전 날짜와 같으면 캐시 사용, 아니면 검증 후 계산
+    private long epochDay(int year, int month, int day) {
+        int ymd = year * 10_000 + month * 100 + day;
+        if (ymd == cachedYmd) return cachedEpochDay;
+
+        if (year < 1 || month < 1 || month > 12 || day < 1 || day > 31) return INVALID;
+        day = Math.min(day, lengthOfMonth(year, month)); // SMART 해석: 월말 보정
+        long epochDay = toEpochDay(year, month, day);
+        cachedYmd = ymd;
+        cachedEpochDay = epochDay;
+        return epochDay;
+    }
+
+    private static long parseDateTimeSlow(CharSequence s) {
+        try {
+            return LocalDateTime.parse(s, DATE_TIME_FORMATTER).toEpochSecond(ZoneOffset.UTC);
+        } catch (DateTimeParseException e) {
+            return INVALID;
+        }
+    }
+
+    private static long parseDateSlow(CharSequence s) {
+        try {
+            return LocalDate.parse(s, DATE_FORMATTER).toEpochDay();
+        } catch (DateTimeParseException e) {
+            return INVALID;
+        }
+    }
+
+    // ASCII 숫자 n자리를 int로 (숫자가 아니면 -1)
+    private static int digits(CharSequence s, int off, int n) {
+        int v = 0;
+        for (int i = off; i < off + n; i++) {
+            int d = s.charAt(i) - '0';
+            if (d < 0 || d > 9) return -1;
+            v = v * 10 + d;
+        }
+        return v;
+    }
+
+    private static int digits(byte[] b, int off, int n) {
+        int v = 0;
+        for (int i = off; i < off + n; i++) {
+            int d = b[i] - '0';
+            if (d < 0 || d > 9) return -1;
+            v = v * 10 + d;
+        }
+        return v;
+    }
+
+    // ■■■■■■■■■■■■■■ [ 변환 ] ■■■■■■■■■■■■■
+
+    // epoch seconds → LocalDateTime (MISSING/INVALID면 null)
+    public static LocalDateTime toLocalDateTime(long epochSecond) {
+        if (epochSecond == MISSING || epochSecond == INVALID) return null;
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+
+    // epoch day → LocalDate (MISSING/INVALID면 null)
+    public static LocalDate toLocalDate(long epochDay) {
+        if (epochDay == MISSING || epochDay == INVALID) return null;
+        return LocalDate.ofEpochDay(epochDay);
+    }
+
+    // ■■■■■■■■■■■■■■ [ 출력 ] ■■■■■■■■■■■■■
+
+    // [출력] : LocalDateTime → "yyyy-MM-dd HH:mm:ss" 를 out[0..19)에 기록 (4자리 연도 기준, String/Formatter 생성 없음)
+    public static void format(LocalDateTime t, char[] out) {
+        put4(out, 0, t.getYear());
+        out[4] = '-';
+        put2(out, 5, t.getMonthValue());
+        out[7] = '-';
+        put2(out, 8, t.getDayOfMonth());
+        out[10] = ' ';
+        put2(out, 11, t.getHour());
+        out[13] = ':';
+        put2(out, 14, t.getMinute());
+        out[16] = ':';
+        put2(out, 17, t.getSecond());
+    }
+
+    private static void put4(char[] out, int off, int v) {
+        out[off] = (char) ('0' + v / 1000 % 10);
+        out[off + 1] = (char) ('0' + v / 100 % 10);
+        out[off + 2] = (char) ('0' + v / 10 % 10);
+        out[off + 3] = (char) ('0' + v % 10);
+    }
+
+    private static void put2(char[] out, int off, int v) {
+        out[off] = (char) ('0' + v / 10);
+        out[off + 1] = (char) ('0' + v % 10);
+    }
+
+    // [JSON 직렬화] : AI 전송 DTO의 LocalDateTime을 "yyyy-MM-dd HH:mm:ss" 문자열 값으로 바로 기록
+    // (JavaTimeModule 없이 동작하고, 4자리 범위 밖 연도는 기존 포맷터로 처리)
+    public static class JsonWriter extends StdSerializer<LocalDateTime> {
+        private static final long serialVersionUID = 1L;
+
+        public JsonWriter() {
+            super(LocalDateTime.class);
+        }
+
+        @Override
+        public void serialize(LocalDateTime value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            if (value.getYear() < 1 || value.getYear() > 9999) {
+                gen.writeString(DATE_TIME_FORMATTER.format(value));
+                return;
+            }
+            char[] buf = new char[DATE_TIME_LENGTH];
+            format(value, buf);
+            gen.writeString(buf, 0, DATE_TIME_LENGTH);
+        }
+    }
+
+    // ■■■■■■■■■■■■■■ [ 달력 계산 ] ■■■■■■■■■■■■■
+
+    private static boolean isLeap(long year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                return isLeap(year) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    // LocalDate.toEpochDay 와 같은 계산
+    private static long toEpochDay(int year, int month, int day) {
+        long y = year;
+        long m = month;
+        long total = 365 * y;
+        total += (y + 3) / 4 - (y + 99) / 100 + (y + 399) / 400;
+        total += ((367 * m - 362) / 12);
+        total += day - 1;
+        if (m > 2) {
+            total--;
+            if (!isLeap(year)) total--;
+        }
+        return total - DAYS_0000_TO_1970;
+    }
+}
@@ -0,0 +1,92 @@
+package edu.pnu.service.csv.support;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+/*
+ * [gzip 재시작 지점] : 보관본 gzip 안에서 압축 해제를 새로 시작할 수 있는 위치 목록 (오류 리포트용)
+ * - (행 번호, 원문 byte offset, 압축본 byte offset) : 보관본을 압축할 때 일정 원문 크기마다 줄 경계에서 FULL_FLUSH로 기록
+ *   (FULL_FLUSH는 압축 사전을 비우므로 압축본 offset부터 raw deflate로 바로 풀 수 있음 → 앞부분을 풀며 건너뛰지 않음)
+ * - 보관본은 gzip 멤버 하나 그대로라 일반 gzip 도구·Content-Encoding: gzip 다운로드에 영향 없음
+ * - 원문 offset은 압축 여부와 무관한 위치라 ErrorRowIndex 앵커와 함께 사용 (재시작 지점으로 이동 후 앵커까지 풀며 건너뜀)
+ */
+public final class GzipRestartPoints {
+
+    private int[] rows = new int[16];
+    private long[] csvOffsets = new long[16];
+    private long[] gzipOffsets = new long[16];
+    private int size;
+
+    // 행 번호 오름차순으로만 기록
+    public void add(int row, long csvOffset, long gzipOffset) {
+        if (size > 0 && row <= rows[size - 1]) return;
+        if (size == rows.length) {
+            rows = Arrays.copyOf(rows, size * 2);
+            csvOffsets = Arrays.copyOf(csvOffsets, size * 2);
+            gzipOffsets = Arrays.copyOf(gzipOffsets, size * 2);
+        }
+        rows[size] = row;
+        csvOffsets[size] = csvOffset;
+        gzipOffsets[size++] = gzipOffset;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // row 이하에서 가장 가까운 재시작 지점의 위치 (없으면 -1)
+    public int floor(int row) {
+        int i = Arrays.binarySearch(rows, 0, size, row);
+        return i >= 0 ? i : -i - 2;
+    }
+
+    public int row(int i) {
+        return rows[i];
+    }
+
+    public long csvOffset(int i) {
+        return csvOffsets[i];
+    }
+
+    public long gzipOffset(int i) {
+        return gzipOffsets[i];
+    }
+
+    // ■■■■■■■■■■■■■■ [ 저장 형식 ] ■■■■■■■■■■■■■
+    // 지점 수, (행 번호, 원문 offset, 압축본 offset)...
+
+    public byte[] encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(4 + size * 20);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(size);
+            for (int i = 0; i < size; i++) {
+                out.writeInt(rows[i]);
+                out.writeLong(csvOffsets[i]);
+                out.writeLong(gzipOffsets[i]);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // 메모리 스트림은 IOException 없음
+        }
+        return bytes.toByteArray();
+    }
+
+    // null(재시작 지점 없이 압축된 보관본)이면 빈 목록
+    public static GzipRestartPoints decode(byte[] bytes) {
+        GzipRestartPoints points = new GzipRestartPoints();
+        if (bytes == null) return points;
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            int n = in.readInt();
+            for (int i = 0; i < n; i++) {
+                points.add(in.readInt(), in.readLong(), in.readLong());
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("gzip 재시작 지점을 읽을 수 없습니다.", e);
+        }
+        return points;
+    }
+}
@@ -0,0 +1,176 @@
+package edu.pnu.service.csv.support;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+/*
+ * [LOAD DATA 버퍼] : MySQL LOAD DATA 기본 형식(탭 구분, '\n' 행 구분, '\' 이스케이프, NULL = \N)의 UTF-8 바이트를 쌓는 버퍼
+ * - 문자열 값의 '\t' '\n' '\r' '\' 는 이스케이프해서 기록 (LOAD DATA 가 원래 값으로 복원)
+ * - 시각은 EventTimeCodec.format 으로 "yyyy-MM-dd HH:mm:ss" 를 바로 기록 (Formatter/String 생성 없음)
+ * 한 번의 LOAD DATA 분량을 담고 asInputStream() 으로 넘긴 뒤 reset() 해서 재사용. 스레드 안전하지 않음
+ */
+public final class LoadDataBuffer {
+
+    private static final byte TAB = '\t';
+    private static final byte NEWLINE = '\n';
+    private static final byte[] NULL = {'\\', 'N'};
+
+    private byte[] buf;
+    private int size;
+    private int rows;
+    private boolean rowStart = true;
+    private final char[] dateTime = new char[EventTimeCodec.DATE_TIME_LENGTH];
+
+    public LoadDataBuffer(int initialCapacity) {
+        this.buf = new byte[initialCapacity];
+    }
+
+    public LoadDataBuffer addLong(long v) {
+        separator();
+        if (v == Long.MIN_VALUE) {
+            writeAscii(Long.toString(v));
+            return this;
+        }
+        if (v < 0) {
+            write((byte) '-');
+            v = -v;
+        }
+        ensure(19);
+        int start = size;
+        do {
+            buf[size++] = (byte) ('0' + v % 10);
+            v /= 10;
+        } while (v != 0);
+        reverse(start, size - 1);
+        return this;
+    }
+
+    // [문자열] : null이면 \N, 아니면 UTF-8로 기록하면서 LOAD DATA 특수 문자 이스케이프
+    public LoadDataBuffer addString(String s) {
+        separator();
+        if (s == null) {
+            writeBytes(NULL);
+            return this;
+        }
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c >= 0x80) { // 비ASCII가 있으면 나머지를 한 번에 인코딩
+                writeEscaped(s.substring(i).getBytes(StandardCharsets.UTF_8));
+                return this;
+            }
+            writeEscapedByte((byte) c);
+        }
+        return this;
+    }
+
+    // [시각] : epoch seconds(UTC 기준 LocalDateTime) → "yyyy-MM-dd HH:mm:ss", MISSING/INVALID면 \N
+    public LoadDataBuffer addDateTime(long epochSecond) {
+        if (epochSecond == EventTimeCodec.MISSING || epochSecond == EventTimeCodec.INVALID) {
+            return addString(null);
+        }
+        separator();
+        LocalDateTime t = EventTimeCodec.toLocalDateTime(epochSecond);
+        if (t.getYear() < 1 || t.getYear() > 9999) { // 4자리 밖 연도는 드물어서 문자열로 처리
+            writeAscii(String.format("%d-%02d-%02d %02d:%02d:%02d", t.getYear(), t.getMonthValue(), t.getDayOfMonth(),
+                    t.getHour(), t.getMinute(), t.getSecond()));
+            return this;
+        }
+        EventTimeCodec.format(t, dateTime);
+        ensure(dateTime.length);
+        for (char c : dateTime) buf[size++] = (byte) c;
+        return this;
+    }
+
+    public void endRow() {
+        write(NEWLINE);
+        rows++;
+        rowStart = true;
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // 지금까지 기록한 바이트를 복사 없이 읽는 스트림 (reset 전까지만 유효)
+    public InputStream asInputStream() {
+        return new ByteArrayInputStream(buf, 0, size);
+    }
+
+    public void reset() {
+        size = 0;
+        rows = 0;
+        rowStart = true;
+    }
+
+    private void separator() {
+        if (!rowStart) write(TAB);
+        rowStart = false;
+    }
+
+    private void writeEscaped(byte[] bytes) {
+        for (byte b : bytes) writeEscapedByte(b);
+    }
+
+    private void writeEscapedByte(byte b) {
+        byte escaped;
+        switch (b) {
+            case '\\':
+                escaped = '\\';
+                break;
+            case '\t':
+                escaped = 't';
+                break;
+            case '\n':
+                escaped = 'n';
+                break;
+            case '\r':
+                escaped = 'r';
+                break;
+            case 0:
+                escaped = '0';
+                break;
+            default:
+                write(b);
+                return;
+        }
+        write((byte) '\\');
+        write(escaped);
+    }
+
+    private void writeAscii(String s) {
+        ensure(s.length());
+        for (int i = 0; i < s.length(); i++) buf[size++] = (byte) s.charAt(i);
+    }
+
+    private void writeBytes(byte[] bytes) {
+        ensure(bytes.length);
+        System.arraycopy(bytes, 0, buf, size, bytes.length);
+        size += bytes.length;
+    }
+
+    private void write(byte b) {
+        ensure(1);
+        buf[size++] = b;
+    }
+
+    private void reverse(int from, int to) {
+        while (from < to) {
+            byte t = buf[from];
+            buf[from++] = buf[to];
+            buf[to--] = t;
+        }
+    }
+
+    private void ensure(int extra) {
+        if (size + extra > buf.length) {
+            buf = Arrays.copyOf(buf, Math.max(buf.length * 2, size + extra));
+        }
+    }
+}
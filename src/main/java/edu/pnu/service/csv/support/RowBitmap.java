@@ -0,0 +1,178 @@
+package edu.pnu.service.csv.support;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/*
+ * [압축 행 비트맵] : 오류 행 번호 집합을 연속 구간(run) 단위로 압축해 저장
+ * - 구간마다 (직전 구간 끝과의 간격, 구간 길이 - 1) 을 varint로 기록 → 연속 오류는 길이와 무관하게 수 바이트,
+ *   드문 오류도 행당 1~3바이트 (boxed Integer 리스트 대비 수십 분의 1)
+ * - 적재 중에는 행 번호가 오름차순으로 들어오므로 add는 마지막 구간만 늘리거나 새 구간을 추가 (O(1))
+ *   순서가 어긋난 행은 전체를 다시 인코딩해서 넣음 (정상 경로에서는 발생하지 않음)
+ * 행 번호는 1 이상 (업로드 오류 행 번호 기준 : 헤더 제외 k번째 데이터 행 = k)
+ */
+public final class RowBitmap {
+
+    private byte[] buf;
+    private int len;
+    private int lastEnd;          // 기록된 마지막 구간의 끝 (없으면 0)
+    private int runStart = -1;    // 아직 기록하지 않은 열린 구간 [runStart, runEnd]
+    private int runEnd = -1;
+    private int cardinality;
+
+    public RowBitmap() {
+        this.buf = new byte[16];
+    }
+
+    private RowBitmap(byte[] encoded, int cardinality) {
+        this.buf = encoded;
+        this.len = encoded.length;
+        this.cardinality = cardinality;
+        PrimitiveIterator.OfInt it = runIterator(encoded, encoded.length);
+        while (it.hasNext()) {
+            it.nextInt();
+            lastEnd = it.nextInt();
+        }
+    }
+
+    // 새로 추가됐으면 true (이미 있던 행이면 false)
+    public boolean add(int row) {
+        if (row < 1) throw new IllegalArgumentException("행 번호는 1 이상이어야 합니다: " + row);
+        if (runStart >= 0) {
+            if (row == runEnd + 1) {
+                runEnd = row;
+                cardinality++;
+                return true;
+            }
+            if (row > runEnd) {
+                flushRun();
+            } else {
+                return row >= runStart ? false : addOutOfOrder(row);
+            }
+        } else if (row <= lastEnd) {
+            return addOutOfOrder(row);
+        }
+        runStart = runEnd = row;
+        cardinality++;
+        return true;
+    }
+
+    public int cardinality() {
+        return cardinality;
+    }
+
+    public boolean isEmpty() {
+        return cardinality == 0;
+    }
+
+    // 인코딩된 구간 바이트 (cardinality는 따로 보관해야 복원 가능)
+    public byte[] toBytes() {
+        flushRun();
+        return Arrays.copyOf(buf, len);
+    }
+
+    public static RowBitmap fromBytes(byte[] encoded, int cardinality) {
+        return new RowBitmap(encoded.clone(), cardinality);
+    }
+
+    // 오름차순 행 번호
+    public PrimitiveIterator.OfInt iterator() {
+        flushRun();
+        final PrimitiveIterator.OfInt runs = runIterator(buf, len);
+        return new PrimitiveIterator.OfInt() {
+            private int next = 1, end = 0;
+
+            @Override
+            public boolean hasNext() {
+                return next <= end || runs.hasNext();
+            }
+
+            @Override
+            public int nextInt() {
+                if (next > end) {
+                    if (!runs.hasNext()) throw new NoSuchElementException();
+                    next = runs.nextInt();
+                    end = runs.nextInt();
+                }
+                return next++;
+            }
+        };
+    }
+
+    // ■■■■■■■■■■■■■■ [ Helper ] ■■■■■■■■■■■■■
+
+    private void flushRun() {
+        if (runStart < 0) return;
+        writeVarint(runStart - lastEnd);
+        writeVarint(runEnd - runStart);
+        lastEnd = runEnd;
+        runStart = runEnd = -1;
+    }
+
+    private boolean addOutOfOrder(int row) {
+        int[] rows = new int[cardinality + 1];
+        int n = 0;
+        boolean inserted = false;
+        for (PrimitiveIterator.OfInt it = iterator(); it.hasNext(); ) {
+            int r = it.nextInt();
+            if (r == row) return false;
+            if (!inserted && row < r) {
+                rows[n++] = row;
+                inserted = true;
+            }
+            rows[n++] = r;
+        }
+        if (!inserted) rows[n++] = row;
+        len = 0;
+        lastEnd = 0;
+        cardinality = 0;
+        for (int i = 0; i < n; i++) add(rows[i]);
+        return true;
+    }
+
+    private void writeVarint(int v) {
+        if (len + 5 > buf.length) buf = Arrays.copyOf(buf, Math.max(buf.length * 2, len + 5));
+        while ((v & ~0x7F) != 0) {
+            buf[len++] = (byte) ((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        buf[len++] = (byte) v;
+    }
+
+    // (구간 시작, 구간 끝) 을 번갈아 반환
+    private static PrimitiveIterator.OfInt runIterator(byte[] buf, int len) {
+        return new PrimitiveIterator.OfInt() {
+            private int pos, prevEnd, pendingEnd = -1;
+
+            @Override
+            public boolean hasNext() {
+                return pendingEnd >= 0 || pos < len;
+            }
+
+            @Override
+            public int nextInt() {
+                if (pendingEnd >= 0) {
+                    int end = pendingEnd;
+                    pendingEnd = -1;
+                    return end;
+                }
+                if (pos >= len) throw new NoSuchElementException();
+                int start = prevEnd + readVarint();
+                prevEnd = pendingEnd = start + readVarint();
+                return start;
+            }
+
+            private int readVarint() {
+                int v = 0, shift = 0;
+                byte b;
+                do {
+                    b = buf[pos++];
+                    v |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while ((b & 0x80) != 0);
+                return v;
+            }
+        };
+    }
+}
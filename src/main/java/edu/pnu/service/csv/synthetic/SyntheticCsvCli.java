@@ -0,0 +1,133 @@
+package edu.pnu.service.csv.synthetic;
+
+import edu.pnu.domain.AssetLocation;
+import edu.pnu.domain.AssetProduct;
+import edu.pnu.domain.AssetRoute;
+import edu.pnu.service.csv.synthetic.SyntheticCsvGenerator.GenerationReport;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/*
+ * [합성 CSV CLI] : SyntheticCsvGenerator 명령행 실행 (스프링 컨텍스트 없이 실행)
+ *   java -cp target/classes:<의존성> edu.pnu.service.csv.synthetic.SyntheticCsvCli \
+ *        --out=load-10m.csv.gz --rows=10000000 --seed=42 --route-violation-rate=0.01 --clone-rate=0.002 \
+ *        --unknown-product-rate=0.005 --duplicate-row-rate=0.001 --bad-timestamp-rate=0.0005 --assets=assets/
+ * - --truth 미지정 시 <out>.truth.csv 에 정답(row_num,anomaly,epc_code) 기록, --truth=none 이면 생략
+ * - --assets 지정 시 같은 공급망 구성을 asset_location.csv / asset_route.csv / asset_product.csv 로 기록
+ *   (컬럼명은 asset_* 테이블 컬럼과 동일 → 그대로 적재해 경로/상품 탐지 기준으로 사용)
+ */
+public final class SyntheticCsvCli {
+
+    private SyntheticCsvCli() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        String out, truth, assets;
+        SyntheticCsvOptions options;
+        try {
+            Map<String, String> opts = parse(args);
+            out = opts.remove("out");
+            if (out == null) throw new IllegalArgumentException("--out 은 필수입니다.");
+            truth = opts.remove("truth");
+            if (truth == null) truth = out.replaceFirst("\\.csv(\\.gz)?$", "") + ".truth.csv";
+            assets = opts.remove("assets");
+            options = toOptions(opts);
+        } catch (IllegalArgumentException | DateTimeException e) {
+            usage(e.getMessage());
+            return;
+        }
+
+        SyntheticCsvGenerator generator = new SyntheticCsvGenerator(options);
+        long started = System.nanoTime();
+        GenerationReport report = generator.writeCsv(Path.of(out), "none".equals(truth) ? null : Path.of(truth));
+        long millis = (System.nanoTime() - started) / 1_000_000;
+        System.out.printf("[SyntheticCsvCli] [완료] : %s 행 = %d, EPC = %d, 소요 = %dms%n", out, report.rows(), report.epcs(), millis);
+        report.anomalies().forEach((kind, n) -> System.out.printf("  %s = %d%n", kind, n));
+
+        if (assets != null) {
+            writeAssets(generator.getWorld(), Path.of(assets));
+            System.out.printf("[SyntheticCsvCli] [완료] : asset CSV 기록 → %s%n", assets);
+        }
+    }
+
+    // ■■■■■■■■■■■■■■ [ Helper ] ■■■■■■■■■■■■■
+
+    private static SyntheticCsvOptions toOptions(Map<String, String> opts) {
+        SyntheticCsvOptions.SyntheticCsvOptionsBuilder b = SyntheticCsvOptions.builder();
+        for (Map.Entry<String, String> e : opts.entrySet()) {
+            String v = e.getValue();
+            switch (e.getKey()) {
+                case "rows" -> b.rows(Long.parseLong(v.replace("_", "")));
+                case "seed" -> b.seed(Long.parseLong(v));
+                case "start-date" -> b.startDate(LocalDate.parse(v));
+                case "days" -> b.days(Integer.parseInt(v));
+                case "complete-trip-rate" -> b.completeTripRate(Double.parseDouble(v));
+                case "route-violation-rate" -> b.routeViolationRate(Double.parseDouble(v));
+                case "unknown-product-rate" -> b.unknownProductRate(Double.parseDouble(v));
+                case "clone-rate" -> b.cloneRate(Double.parseDouble(v));
+                case "duplicate-row-rate" -> b.duplicateRowRate(Double.parseDouble(v));
+                case "bad-timestamp-rate" -> b.badTimestampRate(Double.parseDouble(v));
+                default -> throw new IllegalArgumentException("알 수 없는 옵션입니다: --" + e.getKey());
+            }
+        }
+        SyntheticCsvOptions options = b.build();
+        options.validate();
+        return options;
+    }
+
+    // --key=value 형식만 허용
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> opts = new LinkedHashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("옵션은 --key=value 형식이어야 합니다: " + arg);
+            }
+            opts.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return opts;
+    }
+
+    private static void writeAssets(SyntheticWorld world, Path dir) throws IOException {
+        Files.createDirectories(dir);
+        try (BufferedWriter w = Files.newBufferedWriter(dir.resolve("asset_location.csv"), StandardCharsets.UTF_8)) {
+            w.write("location_id,scan_location,latitude,longitude\n");
+            for (AssetLocation l : world.assetLocations()) {
+                w.write(l.getLocationId() + "," + l.getScanLocation() + "," + l.getLatitude() + "," + l.getLongitude() + "\n");
+            }
+        }
+        try (BufferedWriter w = Files.newBufferedWriter(dir.resolve("asset_route.csv"), StandardCharsets.UTF_8)) {
+            w.write("from_location_id,to_location_id,from_scan_location,to_scan_location,"
+                    + "from_business_step,to_business_step,from_event_type,to_event_type\n");
+            for (AssetRoute r : world.assetRoutes()) {
+                w.write(r.getFromLocationId().getLocationId() + "," + r.getToLocationId().getLocationId() + ","
+                        + r.getFromScanLocation() + "," + r.getToScanLocation() + ","
+                        + r.getFromBusinessStep() + "," + r.getToBusinessStep() + ","
+                        + r.getFromEventType() + "," + r.getToEventType() + "\n");
+            }
+        }
+        try (BufferedWriter w = Files.newBufferedWriter(dir.resolve("asset_product.csv"), StandardCharsets.UTF_8)) {
+            w.write("epc_product,epc_company,product_name\n");
+            for (AssetProduct p : world.assetProducts()) {
+                w.write(p.getEpcProduct() + "," + p.getEpcCompany() + "," + p.getProductName() + "\n");
+            }
+        }
+    }
+
+    private static void usage(String error) {
+        System.err.println("[SyntheticCsvCli] [실패] : " + error);
+        System.err.println("사용법 : --out=<file.csv|file.csv.gz> [--rows=N] [--seed=N] [--start-date=yyyy-MM-dd] [--days=N]");
+        System.err.println("        [--complete-trip-rate=R] [--route-violation-rate=R] [--unknown-product-rate=R]");
+        System.err.println("        [--clone-rate=R] [--duplicate-row-rate=R] [--bad-timestamp-rate=R]");
+        System.err.println("        [--truth=<file>|none] [--assets=<dir>]");
+        System.exit(2);
+    }
+}
@@ -0,0 +1,362 @@
+package edu.pnu.service.csv.synthetic;
+
+import edu.pnu.service.analysis.be.support.EpcSerialValidatorService;
+import edu.pnu.service.csv.support.CsvCompression;
+import edu.pnu.service.csv.support.EventTimeCodec;
+import edu.pnu.service.csv.synthetic.SyntheticWorld.Product;
+import edu.pnu.service.csv.synthetic.SyntheticWorld.Site;
+import edu.pnu.service.csv.synthetic.SyntheticWorld.Stage;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.zip.GZIPOutputStream;
+
+/*
+ * [합성 CSV 생성기] : 실제 업로드 형식과 같은 공급망 이벤트 CSV를 시드 기반으로 스트리밍 생성 (부하/규모 테스트용)
+ * - EPC 하나가 Factory → WMS → Logistics_HUB → W_Stock → R_Stock → POS 를 SyntheticWorld 경로대로 이동
+ *   (중간 로케이션은 입고/출고 2행, 공장·마지막 로케이션은 1행. completeTripRate 외의 EPC는 중간에서 멈춤)
+ * - EPC의 공장/Lot/시리얼은 EpcSerialValidatorService 범위 안에서 순서대로 발급 (범위를 다 쓰면 제조일자를 넘겨 재사용)
+ * - 이상 주입 : 경로 위반 / 미등록 상품 / 복제 EPC / 중복 행 / event_time 형식 오류
+ *   주입한 위치는 TruthSink로 (행 번호, 종류, epc_code) 보고 → 적재·탐지·KPI 결과를 정답과 비교
+ * 메모리는 EPC 한 개 분량만 사용하므로 행 수와 무관 (수천만 행도 그대로 파일로 기록)
+ * 행 번호는 업로드 오류 행 번호와 같은 기준 (헤더 제외 k번째 데이터 행 = k)
+ */
+public class SyntheticCsvGenerator {
+
+    public static final String[] HEADER = {
+            "location_id", "scan_location", "operator_id", "device_id",
+            "epc_code", "epc_header", "epc_lot", "epc_serial", "epc_product", "epc_company", "product_name",
+            "event_time", "business_step", "event_type", "hub_type", "manufacture_date", "expiry_date"
+    };
+
+    public enum Anomaly {
+        ROUTE_VIOLATION,  // AssetRoute에 없는 경로로 이동한 첫 행
+        UNKNOWN_PRODUCT,  // 상품/제조사/상품명/Lot/시리얼 모두 미등록인 EPC의 첫 행
+        CLONE,            // 같은 epc_code가 다른 권역에서 겹치는 시간에 다시 나타난 첫 행
+        DUPLICATE_ROW,    // 직전 행과 완전히 같은 행
+        BAD_TIMESTAMP     // event_time 형식 오류 행
+    }
+
+    @FunctionalInterface
+    public interface RowSink {
+        void row(String[] row) throws IOException;
+    }
+
+    @FunctionalInterface
+    public interface TruthSink {
+        TruthSink NONE = (kind, epcCode, rowNum) -> { };
+
+        void anomaly(Anomaly kind, String epcCode, long rowNum) throws IOException;
+    }
+
+    public record GenerationReport(long rows, long epcs, Map<Anomaly, Long> anomalies) {
+    }
+
+    private static final String EPC_HEADER = "001";
+    private static final String UNKNOWN_COMPANY = "8800001";
+    private static final String[] BAD_TIMESTAMPS = {
+            "2025-13-01 10:00:00", "2025-07-32 10:00:00", "2025-07-01 25:61:00", "2025/07/01 10:00", "", "N/A"};
+    private static final DateTimeFormatter YYYYMMDD = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final long HOUR = 3600;
+
+    private final SyntheticWorld world;
+    private final EpcSerialValidatorService serials;
+    private final SyntheticCsvOptions options;
+
+    public SyntheticCsvGenerator(SyntheticCsvOptions options) {
+        this(SyntheticWorld.standard(), new EpcSerialValidatorService(), options);
+    }
+
+    public SyntheticCsvGenerator(SyntheticWorld world, EpcSerialValidatorService serials, SyntheticCsvOptions options) {
+        options.validate();
+        this.world = world;
+        this.serials = serials;
+        this.options = options;
+    }
+
+    public SyntheticWorld getWorld() {
+        return world;
+    }
+
+    // [생성] : 데이터 행(헤더 제외)을 순서대로 rows에 전달. 전달된 배열은 호출자가 보관해도 됨 (행마다 새 배열)
+    public GenerationReport generate(RowSink rows, TruthSink truth) throws IOException {
+        Run run = new Run(rows, truth);
+        while (run.written < options.getRows()) {
+            run.emitEpc();
+        }
+        return new GenerationReport(run.written, run.epcs, Collections.unmodifiableMap(run.counts));
+    }
+
+    // 작은 파일(벤치마크·단위 검증)용 : 전체 행을 메모리 목록으로 반환
+    public List<String[]> generateRows() {
+        List<String[]> out = new ArrayList<>((int) Math.min(options.getRows(), Integer.MAX_VALUE - 8));
+        try {
+            generate(out::add, TruthSink.NONE);
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // 목록 추가는 IOException 없음
+        }
+        return out;
+    }
+
+    // [파일 기록] : csv(.csv / .csv.gz) 와 정답 파일(truth, null이면 생략)을 기록
+    // 정답 파일 형식 : row_num,anomaly,epc_code
+    public GenerationReport writeCsv(Path csv, Path truth) throws IOException {
+        try (Writer out = open(csv); Writer truthOut = truth != null ? open(truth) : null) {
+            out.write(String.join(",", HEADER));
+            out.write('\n');
+            StringBuilder line = new StringBuilder(256);
+            RowSink rowSink = row -> {
+                line.setLength(0);
+                for (int i = 0; i < row.length; i++) {
+                    if (i > 0) line.append(',');
+                    line.append(row[i]);
+                }
+                line.append('\n');
+                out.append(line);
+            };
+            TruthSink truthSink = TruthSink.NONE;
+            if (truthOut != null) {
+                truthOut.write("row_num,anomaly,epc_code\n");
+                truthSink = (kind, epcCode, rowNum) -> truthOut.append(Long.toString(rowNum)).append(',')
+                        .append(kind.name()).append(',').append(epcCode).append('\n');
+            }
+            return generate(rowSink, truthSink);
+        }
+    }
+
+    private static Writer open(Path path) throws IOException {
+        OutputStream os = Files.newOutputStream(path);
+        if (CsvCompression.isGzip(path.getFileName().toString())) {
+            os = new GZIPOutputStream(os, 64 * 1024);
+        }
+        return new BufferedWriter(new OutputStreamWriter(os, StandardCharsets.UTF_8), 256 * 1024);
+    }
+
+    // ■■■■■■■■■■■■■■ [ 생성 1회 상태 ] ■■■■■■■■■■■■■
+
+    private final class Run {
+        private final RowSink rows;
+        private final TruthSink truth;
+        private final SplittableRandom random = new SplittableRandom(options.getSeed());
+        private final Map<Anomaly, Long> counts = new EnumMap<>(Anomaly.class);
+        private final char[] timeBuf = new char[EventTimeCodec.DATE_TIME_LENGTH];
+
+        private final long baseEpoch = options.getStartDate().atTime(8, 0).toEpochSecond(ZoneOffset.UTC);
+        private final double spacing; // EPC 간 평균 출고 간격 (초)
+
+        // 공장별 시리얼 발급 위치
+        private final List<List<String>> lots = new ArrayList<>();
+        private final int[] lotIndex;
+        private final int[] nextSerial;
+        private final LocalDate[] minMfgDate;  // 시리얼을 재사용하는 회차의 최소 제조일자 (epc_code 중복 방지)
+        private final LocalDate[] lastMfgDate;
+
+        private long written;
+        private long epcs;
+
+        Run(RowSink rows, TruthSink truth) {
+            this.rows = rows;
+            this.truth = truth;
+            double c = options.getCompleteTripRate();
+            double rowsPerEpc = 10 * c + 5 * (1 - c); // 전체 경로 10행, 중간 정지 평균 5행
+            double expectedEpcs = Math.max(1.0, options.getRows() / rowsPerEpc);
+            this.spacing = options.getDays() * 86_400.0 / expectedEpcs;
+
+            int factories = world.factories().size();
+            lotIndex = new int[factories];
+            nextSerial = new int[factories];
+            minMfgDate = new LocalDate[factories];
+            lastMfgDate = new LocalDate[factories];
+            for (int f = 0; f < factories; f++) {
+                List<String> factoryLots = serials.getLots(world.factories().get(f).factory());
+                if (factoryLots.isEmpty()) {
+                    throw new IllegalStateException("시리얼 규칙이 없는 공장입니다: " + world.factories().get(f).factory());
+                }
+                lots.add(factoryLots);
+                nextSerial[f] = serials.getSerialRange(world.factories().get(f).factory(), factoryLots.get(0))[0];
+            }
+        }
+
+        void emitEpc() throws IOException {
+            long epcIndex = epcs++;
+            boolean unknown = random.nextDouble() < options.getUnknownProductRate();
+            boolean violate = random.nextDouble() < options.getRouteViolationRate();
+            boolean clone = random.nextDouble() < options.getCloneRate();
+
+            int f = random.nextInt(world.factories().size());
+            int stops = random.nextDouble() < options.getCompleteTripRate()
+                    ? Stage.values().length
+                    : 2 + random.nextInt(Stage.values().length - 2);
+            if (clone) stops = Math.max(stops, 3); // 복제본은 물류센터부터 갈라지므로 최소 3곳
+
+            // 경로 : 위반 EPC는 한 구간만 연결되지 않은 같은 단계 로케이션으로 보내고, 이후는 그 로케이션 기준 정상 경로
+            Site[] path = new Site[stops];
+            path[0] = world.factories().get(f);
+            int violationHop = violate ? 1 + random.nextInt(stops - 1) : -1;
+            for (int i = 1; i < stops; i++) {
+                path[i] = i == violationHop ? unlinked(path[i - 1]) : pick(world.nextSites(path[i - 1]));
+            }
+
+            // 시각 : 출고 시각은 기간 전체에 고르게 분산, 제조는 출고 1~3시간 전
+            long start = baseEpoch + (long) (epcIndex * spacing) + random.nextLong(Math.max(1, (long) spacing));
+            long mfg = start - HOUR - random.nextLong(2 * HOUR);
+
+            // EPC 식별자
+            Product product;
+            String lot;
+            int serial;
+            if (unknown) {
+                product = new Product(String.format("99%05d", random.nextInt(100_000)), UNKNOWN_COMPANY,
+                        "Unknown Product " + random.nextInt(1000), 365);
+                lot = String.format("99%04d", random.nextInt(10_000));     // 등록된 Lot 범위 밖
+                serial = 900_000_000 + (int) (epcIndex % 99_999_999);     // 등록된 시리얼 범위 밖
+            } else {
+                product = pick(world.products());
+                lot = lots.get(f).get(lotIndex[f]);
+                serial = nextSerial[f];
+                LocalDate mfgDate = date(mfg);
+                if (minMfgDate[f] != null && mfgDate.isBefore(minMfgDate[f])) {
+                    long shift = minMfgDate[f].atTime(9, 0).toEpochSecond(ZoneOffset.UTC) - mfg;
+                    mfg += shift;
+                    start += shift;
+                }
+                advanceSerial(f, date(mfg));
+            }
+            LocalDate mfgDate = date(mfg);
+            String epcSerial = String.format("%09d", serial);
+            String epcCode = EPC_HEADER + "." + product.epcCompany() + "." + product.epcProduct() + "."
+                    + lot + "." + YYYYMMDD.format(mfgDate) + "." + epcSerial;
+            String[] epcFields = {
+                    epcCode, EPC_HEADER, lot, epcSerial, product.epcProduct(), product.epcCompany(), product.productName(),
+                    formatTime(mfg), YYYYMMDD.format(mfgDate.plusDays(product.shelfLifeDays()))};
+
+            long firstRow = written + 1;
+            long[] times = new long[stops];
+            long violationRow = emitTrip(path, 0, start, epcIndex, epcFields, times, violationHop);
+            if (written >= firstRow) {
+                if (unknown) record(Anomaly.UNKNOWN_PRODUCT, epcCode, firstRow);
+                if (violationRow > 0) record(Anomaly.ROUTE_VIOLATION, epcCode, violationRow);
+            }
+
+            // 복제 EPC : 원본이 물류센터에 도착한 직후 같은 창고의 다른 물류센터에서 같은 epc_code로 하위 경로를 다시 진행
+            if (clone) {
+                Site[] clonePath = path.clone();
+                clonePath[2] = pickOther(world.nextSites(path[1]), path[2]);
+                for (int i = 3; i < stops; i++) {
+                    clonePath[i] = pick(world.nextSites(clonePath[i - 1]));
+                }
+                long cloneRow = written + 1;
+                long cloneStart = times[2] + 300 + random.nextLong(2 * HOUR);
+                emitTrip(clonePath, 2, cloneStart, epcIndex, epcFields, new long[stops], -1);
+                if (written >= cloneRow) record(Anomaly.CLONE, epcCode, cloneRow);
+            }
+        }
+
+        // path[from..] 순서로 스캔 행을 기록하고, violationHop 로케이션에 처음 도착한 행 번호 반환 (없거나 기록 못 하면 0)
+        // times[i] : i번째 로케이션 도착 시각
+        private long emitTrip(Site[] path, int from, long start, long epcIndex, String[] epcFields,
+                              long[] times, int violationHop) throws IOException {
+            long violationRow = 0;
+            long t = start;
+            for (int i = from; i < path.length; i++) {
+                Site site = path[i];
+                boolean last = i == path.length - 1;
+                times[i] = t;
+                long row = emitScan(site, site.stage().arrivalType(), t, epcIndex, epcFields, 1);
+                if (i == violationHop) violationRow = row;
+                if (!last && site.stage().scansTwice()) {
+                    t += HOUR + random.nextLong(11 * HOUR);     // 체류 1~12시간
+                    emitScan(site, site.stage().departureType(), t, epcIndex, epcFields, 2);
+                }
+                t += 6 * HOUR + random.nextLong(42 * HOUR);     // 이동 6~48시간
+            }
+            return violationRow;
+        }
+
+        // 스캔 1건 기록 (행 단위 이상 주입 포함). 기록한 행 번호, 행 한도에 도달했으면 0
+        private long emitScan(Site site, String eventType, long time, long epcIndex, String[] epc, int device) throws IOException {
+            boolean badTime = random.nextDouble() < options.getBadTimestampRate();
+            boolean duplicate = random.nextDouble() < options.getDuplicateRowRate();
+            if (written >= options.getRows()) return 0;
+
+            String[] row = {
+                    Long.toString(site.locationId()), site.scanLocation(),
+                    Long.toString(site.locationId() * 10 + epcIndex % 3), Long.toString(site.locationId() * 100 + device),
+                    epc[0], epc[1], epc[2], epc[3], epc[4], epc[5], epc[6],
+                    badTime ? BAD_TIMESTAMPS[random.nextInt(BAD_TIMESTAMPS.length)] : formatTime(time),
+                    site.stage().businessStep, eventType, site.hubType(), epc[7], epc[8]};
+            long rowNum = written + 1;
+            rows.row(row);
+            written++;
+            if (badTime) record(Anomaly.BAD_TIMESTAMP, epc[0], rowNum);
+
+            if (duplicate && written < options.getRows()) {
+                rows.row(row.clone());
+                written++;
+                record(Anomaly.DUPLICATE_ROW, epc[0], rowNum + 1);
+            }
+            return rowNum;
+        }
+
+        // 공장 f의 다음 시리얼로 이동. Lot 범위를 모두 쓰면 처음 Lot으로 돌아가고 이후 제조일자는 다음 날부터
+        private void advanceSerial(int f, LocalDate mfgDate) {
+            if (lastMfgDate[f] == null || mfgDate.isAfter(lastMfgDate[f])) lastMfgDate[f] = mfgDate;
+            String factory = world.factories().get(f).factory();
+            int[] range = serials.getSerialRange(factory, lots.get(f).get(lotIndex[f]));
+            if (++nextSerial[f] <= range[1]) return;
+            if (++lotIndex[f] == lots.get(f).size()) {
+                lotIndex[f] = 0;
+                minMfgDate[f] = lastMfgDate[f].plusDays(1);
+            }
+            nextSerial[f] = serials.getSerialRange(factory, lots.get(f).get(lotIndex[f]))[0];
+        }
+
+        private void record(Anomaly kind, String epcCode, long rowNum) throws IOException {
+            counts.merge(kind, 1L, Long::sum);
+            truth.anomaly(kind, epcCode, rowNum);
+        }
+
+        // from과 연결되지 않은 다음 단계 로케이션
+        private Site unlinked(Site from) {
+            List<Site> linked = world.nextSites(from);
+            List<Site> candidates = world.sitesOf(linked.get(0).stage()).stream()
+                    .filter(s -> !linked.contains(s))
+                    .toList();
+            return pick(candidates);
+        }
+
+        private Site pickOther(List<Site> sites, Site except) {
+            List<Site> others = sites.stream().filter(s -> !s.equals(except)).toList();
+            return others.isEmpty() ? except : pick(others);
+        }
+
+        private <T> T pick(List<T> list) {
+            return list.get(random.nextInt(list.size()));
+        }
+
+        private String formatTime(long epochSecond) {
+            EventTimeCodec.format(LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC), timeBuf);
+            return new String(timeBuf);
+        }
+
+        private LocalDate date(long epochSecond) {
+            return LocalDate.ofEpochDay(Math.floorDiv(epochSecond, 86_400));
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package edu.pnu.service.csv.synthetic;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDate;
+
+/*
+ * [합성 CSV 옵션] : 같은 옵션(시드 포함)이면 항상 바이트 단위로 같은 파일이 생성됨
+ * - EPC 단위 비율 : routeViolationRate / unknownProductRate / cloneRate
+ * - 행 단위 비율 : duplicateRowRate (직전 행을 그대로 한 번 더) / badTimestampRate (event_time 형식 오류)
+ */
+@Getter
+@Builder(toBuilder = true)
+@ToString
+public class SyntheticCsvOptions {
+
+    @Builder.Default private final long rows = 1_000_000;             // 헤더 제외 데이터 행 수 (정확히 이 수만큼 기록)
+    @Builder.Default private final long seed = 1L;
+    @Builder.Default private final LocalDate startDate = LocalDate.of(2025, 7, 1);
+    @Builder.Default private final int days = 30;                     // 공장 출고 시각을 분산할 기간
+    @Builder.Default private final double completeTripRate = 0.7;     // POS 판매까지 가는 EPC 비율 (나머지는 중간 단계에서 멈춤)
+
+    @Builder.Default private final double routeViolationRate = 0.0;
+    @Builder.Default private final double unknownProductRate = 0.0;
+    @Builder.Default private final double cloneRate = 0.0;
+    @Builder.Default private final double duplicateRowRate = 0.0;
+    @Builder.Default private final double badTimestampRate = 0.0;
+
+    void validate() {
+        if (rows < 1) throw new IllegalArgumentException("rows는 1 이상이어야 합니다: " + rows);
+        if (days < 1) throw new IllegalArgumentException("days는 1 이상이어야 합니다: " + days);
+        checkRate("completeTripRate", completeTripRate);
+        checkRate("routeViolationRate", routeViolationRate);
+        checkRate("unknownProductRate", unknownProductRate);
+        checkRate("cloneRate", cloneRate);
+        checkRate("duplicateRowRate", duplicateRowRate);
+        checkRate("badTimestampRate", badTimestampRate);
+    }
+
+    private static void checkRate(String name, double rate) {
+        if (!(rate >= 0.0 && rate <= 1.0)) {
+            throw new IllegalArgumentException(name + "는 0 ~ 1 사이여야 합니다: " + rate);
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package edu.pnu.service.csv.synthetic;
+
+import edu.pnu.domain.AssetLocation;
+import edu.pnu.domain.AssetProduct;
+import edu.pnu.domain.AssetRoute;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/*
+ * [합성 공급망] : 합성 CSV 생성기가 사용하는 고정 로케이션/경로/상품 구성
+ * - 공장 4곳(화성/인천/구미/양산, EpcSerialValidatorService 공장명과 동일) → 공장 창고 → 권역 물류센터 → 도매 → 소매 → POS
+ * - 공장 창고는 두 권역 물류센터로만 출고하고, 그 아래는 트리 구조 (하위 로케이션은 한 상위에만 연결)
+ *   → "상위에 연결되지 않은 같은 단계 로케이션"으로 보내면 AssetRoute에 없는 경로(경로 위반)가 됨
+ * - 입고/출고를 모두 찍는 로케이션은 자기 자신으로의 경로(입고 → 출고)도 정상 경로에 포함
+ * assetLocations/assetRoutes/assetProducts 로 같은 구성을 asset_* 테이블 행으로 내보내 탐지기 기준 데이터로 사용
+ */
+public final class SyntheticWorld {
+
+    // [단계] : CSV business_step 원문값(실제 내보내기 형식)과 입고/출고 event_type
+    public enum Stage {
+        FACTORY("Factory", null, "Aggregation"),
+        WMS("WMS", "WMS_Inbound", "WMS_Outbound"),
+        HUB("Logistics_HUB", "HUB_Inbound", "HUB_Outbound"),
+        WHOLESALER("W_Stock", "W_Stock_Inbound", "W_Stock_Outbound"),
+        RESELLER("R_Stock", "R_Stock_Inbound", "R_Stock_Outbound"),
+        POS("POS", "POS_Sell", null);
+
+        final String businessStep;
+        final String inboundType;  // null이면 입고 스캔 없음
+        final String outboundType; // null이면 출고 스캔 없음
+
+        Stage(String businessStep, String inboundType, String outboundType) {
+            this.businessStep = businessStep;
+            this.inboundType = inboundType;
+            this.outboundType = outboundType;
+        }
+
+        // 들어올 때 찍히는 event_type (공장은 출고 스캔 하나뿐)
+        String arrivalType() {
+            return inboundType != null ? inboundType : outboundType;
+        }
+
+        // 떠날 때 찍히는 event_type
+        String departureType() {
+            return outboundType != null ? outboundType : inboundType;
+        }
+
+        boolean scansTwice() {
+            return inboundType != null && outboundType != null;
+        }
+    }
+
+    public record Site(long locationId, String scanLocation, String hubType, Stage stage,
+                       String factory, double latitude, double longitude) {
+    }
+
+    public record Product(String epcProduct, String epcCompany, String productName, int shelfLifeDays) {
+    }
+
+    private static final String[][] FACTORIES = { // 공장명(시리얼 규칙 키), 코드, 위도, 경도
+            {"화성", "HWS", "37.1995", "126.8312"},
+            {"인천", "ICN", "37.4563", "126.7052"},
+            {"구미", "GUM", "36.1195", "128.3446"},
+            {"양산", "YGS", "35.3350", "129.0373"}};
+    private static final String[][] REGIONS = { // 권역명, 코드, 위도, 경도
+            {"수도권", "SEL", "37.4138", "127.1185"},
+            {"충청", "CCN", "36.3504", "127.3845"},
+            {"영남", "YNM", "35.8714", "128.6014"},
+            {"호남", "HNM", "35.1595", "126.8526"}};
+    private static final String[] COMPANIES = {"8804823", "8805843"};
+    private static final int PRODUCTS = 20;
+    private static final int WHOLESALERS_PER_HUB = 3;
+    private static final int RESELLERS_PER_WHOLESALER = 3;
+    private static final int POS_PER_RESELLER = 2;
+
+    private final List<Site> sites = new ArrayList<>();
+    private final Map<Long, List<Site>> next = new HashMap<>();
+    private final Map<Stage, List<Site>> byStage = new LinkedHashMap<>();
+    private final List<Product> products = new ArrayList<>();
+
+    private SyntheticWorld() {
+    }
+
+    // 항상 같은 구성 (생성기 시드와 무관) → 같은 asset 데이터로 여러 파일을 비교 가능
+    public static SyntheticWorld standard() {
+        SyntheticWorld w = new SyntheticWorld();
+        SplittableRandom jitter = new SplittableRandom(0);
+
+        List<Site> hubs = new ArrayList<>();
+        for (String[] r : REGIONS) {
+            hubs.add(w.add(r[0] + "물류센터", r[1] + "_Logi_HUB", Stage.HUB, null,
+                    Double.parseDouble(r[2]), Double.parseDouble(r[3])));
+        }
+        for (int f = 0; f < FACTORIES.length; f++) {
+            String[] spec = FACTORIES[f];
+            double lat = Double.parseDouble(spec[2]), lon = Double.parseDouble(spec[3]);
+            Site factory = w.add(spec[0] + "공장", spec[1] + "_Factory", Stage.FACTORY, spec[0], lat, lon);
+            Site wms = w.add(spec[0] + "공장창고", spec[1] + "_WMS", Stage.WMS, spec[0], lat + 0.01, lon + 0.01);
+            w.link(factory, wms);
+            w.link(wms, hubs.get(f));
+            w.link(wms, hubs.get((f + 1) % hubs.size()));
+        }
+        for (int h = 0; h < hubs.size(); h++) {
+            Site hub = hubs.get(h);
+            String region = REGIONS[h][0], code = REGIONS[h][1];
+            int rs = 0, pos = 0;
+            for (int ws = 1; ws <= WHOLESALERS_PER_HUB; ws++) {
+                Site wholesaler = w.add(region + "_도매상" + ws, code + "_WS" + ws, Stage.WHOLESALER, null,
+                        near(hub.latitude(), jitter), near(hub.longitude(), jitter));
+                w.link(hub, wholesaler);
+                for (int r = 0; r < RESELLERS_PER_WHOLESALER; r++) {
+                    rs++;
+                    Site reseller = w.add(region + "_소매상" + rs, code + "_RS" + rs, Stage.RESELLER, null,
+                            near(wholesaler.latitude(), jitter), near(wholesaler.longitude(), jitter));
+                    w.link(wholesaler, reseller);
+                    for (int p = 0; p < POS_PER_RESELLER; p++) {
+                        pos++;
+                        Site shop = w.add(region + "_POS" + pos, code + "_POS" + pos, Stage.POS, null,
+                                near(reseller.latitude(), jitter), near(reseller.longitude(), jitter));
+                        w.link(reseller, shop);
+                    }
+                }
+            }
+        }
+        for (int i = 1; i <= PRODUCTS; i++) {
+            w.products.add(new Product(String.format("%07d", 2932000 + i), COMPANIES[i % COMPANIES.length],
+                    "Product " + i, 365 + 30 * (i % 12)));
+        }
+        return w;
+    }
+
+    public List<Site> sites() {
+        return Collections.unmodifiableList(sites);
+    }
+
+    public List<Site> factories() {
+        return byStage.get(Stage.FACTORY);
+    }
+
+    public List<Site> sitesOf(Stage stage) {
+        return byStage.getOrDefault(stage, List.of());
+    }
+
+    public List<Site> nextSites(Site site) {
+        return next.getOrDefault(site.locationId(), List.of());
+    }
+
+    public boolean isRoute(Site from, Site to) {
+        return from.locationId() == to.locationId() ? from.stage().scansTwice() : nextSites(from).contains(to);
+    }
+
+    public List<Product> products() {
+        return Collections.unmodifiableList(products);
+    }
+
+    // ■■■■■■■■■■■■■■ [ asset 테이블 내보내기 ] ■■■■■■■■■■■■■
+
+    public List<AssetLocation> assetLocations() {
+        return sites.stream()
+                .map(s -> AssetLocation.builder()
+                        .locationId(s.locationId())
+                        .scanLocation(s.scanLocation())
+                        .latitude(s.latitude())
+                        .longitude(s.longitude())
+                        .build())
+                .toList();
+    }
+
+    // 로케이션 간 출고 → 입고 경로 + 입고/출고를 모두 찍는 로케이션의 자기 경로
+    public List<AssetRoute> assetRoutes() {
+        Map<Long, AssetLocation> locations = new HashMap<>();
+        assetLocations().forEach(l -> locations.put(l.getLocationId(), l));
+        List<AssetRoute> routes = new ArrayList<>();
+        for (Site from : sites) {
+            if (from.stage().scansTwice()) {
+                routes.add(route(from, from, from.stage().inboundType, from.stage().outboundType, locations));
+            }
+            for (Site to : nextSites(from)) {
+                routes.add(route(from, to, from.stage().departureType(), to.stage().arrivalType(), locations));
+            }
+        }
+        return routes;
+    }
+
+    public List<AssetProduct> assetProducts() {
+        return products.stream()
+                .map(p -> AssetProduct.builder()
+                        .epcProduct(p.epcProduct())
+                        .epcCompany(p.epcCompany())
+                        .productName(p.productName())
+                        .build())
+                .toList();
+    }
+
+    // ■■■■■■■■■■■■■■ [ Helper ] ■■■■■■■■■■■■■
+
+    private Site add(String scanLocation, String hubType, Stage stage, String factory, double lat, double lon) {
+        Site site = new Site(sites.size() + 1, scanLocation, hubType, stage, factory, lat, lon);
+        sites.add(site);
+        byStage.computeIfAbsent(stage, k -> new ArrayList<>()).add(site);
+        return site;
+    }
+
+    private void link(Site from, Site to) {
+        next.computeIfAbsent(from.locationId(), k -> new ArrayList<>()).add(to);
+    }
+
+    private static AssetRoute route(Site from, Site to, String fromType, String toType, Map<Long, AssetLocation> locations) {
+        return AssetRoute.builder()
+                .fromScanLocation(from.scanLocation())
+                .toScanLocation(to.scanLocation())
+                .fromLocationId(locations.get(from.locationId()))
+                .toLocationId(locations.get(to.locationId()))
+                .fromBusinessStep(from.stage().businessStep)
+                .toBusinessStep(to.stage().businessStep)
+                .fromEventType(fromType)
+                .toEventType(toType)
+                .build();
+    }
+
+    // 상위 로케이션 주변 반경 약 0.3도 안의 좌표 (소수 4자리)
+    private static double near(double base, SplittableRandom random) {
+        return Math.round((base + (random.nextDouble() - 0.5) * 0.6) * 10_000) / 10_000.0;
+    }
+}
@@ -0,0 +1,410 @@
+package edu.pnu.service.csv.upload;
+
+import edu.pnu.config.CsvIngestProperties;
+import edu.pnu.config.CustomUserDetails;
+import edu.pnu.domain.CsvFile;
+import edu.pnu.exception.BadRequestException;
+import edu.pnu.exception.CsvFileSaveToDiskException;
+import edu.pnu.exception.FileAccessDeniedException;
+import edu.pnu.exception.NoDataFoundException;
+import edu.pnu.service.csv.CsvIngestJobService;
+import edu.pnu.service.csv.CsvSaveService;
+import edu.pnu.service.csv.ingest.IngestJob;
+import edu.pnu.service.csv.support.ContentHash;
+import edu.pnu.service.csv.support.CsvContentDigest;
+import edu.pnu.service.csv.support.CsvCompression;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/*
+ * [분할 업로드] : 세션 생성 → 조각 PUT(번호 + SHA-256) → 받은 조각 조회 → 완료 순서로 큰 CSV를 받음
+ * - 요청 하나가 조각 하나(partSize)만 담으므로 multipart 크기 제한/요청 버퍼와 무관하게 큰 파일을 받을 수 있고,
+ *   네트워크 오류 시 실패한 조각만 다시 보내면 됨
+ * - 1번부터 연속으로 도착한 조각은 받는 즉시 보관본에 이어 붙임 (완료 시 조립 없이 바로 적재 대기열에 등록)
+ * - 세션 정보는 조각 디렉터리의 매니페스트(session.properties + 조각 체크섬 parts.log)에도 기록 → 서버 재시작 후 복원
+ *   (이어 붙인 조각 수와 전체 파일 해시는 보관본 길이/내용으로 다시 계산)
+ * SESSION_TTL_MILLIS 동안 요청이 없는 세션은 주기적으로 조각/보관본과 함께 정리함
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CsvUploadSessionService {
+
+    private static final String PART_ROOT = ".parts";
+    private static final String MANIFEST = "session.properties"; // 세션 생성 정보 (마지막 요청 시각 = 파일 수정 시각)
+    private static final String PART_LOG = "parts.log";          // 받은 조각 "번호 체크섬" 한 줄씩 추가
+    private static final long SESSION_TTL_MILLIS = 24 * 60 * 60 * 1000L; // 마지막 요청 후 24시간
+    private static final int MIN_PART_SIZE = 1024 * 1024;                // 1MB
+    private static final int MAX_PART_SIZE = 64 * 1024 * 1024;           // 64MB
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private final CsvIngestProperties csvIngestProperties;
+    private final CsvSaveService csvSaveService;
+    private final CsvIngestJobService csvIngestJobService;
+
+    private final Map<String, UploadSession> sessions = new ConcurrentHashMap<>();
+
+    @Value("${file.upload.dir}")
+    private String fileUploadDir;
+
+    // [세션 생성] : 파일명/전체 크기를 검사하고 조각 저장 디렉터리 준비 (partSize를 생략하면 설정값 사용)
+    public UploadSession create(String fileName, long totalSize, Integer partSize, CustomUserDetails user) {
+        evictExpired();
+        csvSaveService.validateFileName(fileName);
+        long maxSize = csvIngestProperties.getUploadMaxSize().toBytes();
+        if (totalSize <= 0 || totalSize > maxSize) {
+            throw new BadRequestException("업로드 크기가 허용 범위를 벗어났습니다. (1 ~ " + maxSize + " bytes)");
+        }
+        int size = partSize != null ? partSize : (int) csvIngestProperties.getUploadPartSize().toBytes();
+        if (size < MIN_PART_SIZE || size > MAX_PART_SIZE) {
+            throw new BadRequestException("조각 크기는 " + MIN_PART_SIZE + " ~ " + MAX_PART_SIZE + " bytes 여야 합니다.");
+        }
+
+        String sessionId = UUID.randomUUID().toString();
+        String savedFileName = CsvCompression.storedFileName(fileName);
+        Path partDir = Paths.get(fileUploadDir, PART_ROOT, sessionId);
+        Path target = Paths.get(fileUploadDir, savedFileName);
+        UploadSession session = new UploadSession(sessionId, user.getUserId(), fileName, savedFileName,
+                totalSize, size, partDir, target);
+        try {
+            Files.createDirectories(partDir);
+            Files.createFile(target);
+            writeManifest(session);
+        } catch (IOException e) {
+            log.error("[CsvUploadSessionService] [실패] : 분할 업로드 디렉터리 생성 실패: {}", partDir, e);
+            cleanup(session);
+            throw new CsvFileSaveToDiskException("분할 업로드를 준비하지 못했습니다.");
+        }
+        sessions.put(sessionId, session);
+        log.info("[CsvUploadSessionService] [생성] : sessionId = {}, file = {}, {} bytes, {}개 조각",
+                sessionId, fileName, totalSize, session.getTotalParts());
+        return session;
+    }
+
+    // [조각 수신] : 기대 크기/체크섬을 확인한 뒤 저장하고, 연속된 조각은 보관본에 이어 붙임
+    public UploadSession putPart(String sessionId, int partNumber, String checksum, InputStream body,
+                                 CustomUserDetails user) {
+        UploadSession session = get(sessionId, user);
+        if (partNumber < 1 || partNumber > session.getTotalParts()) {
+            throw new BadRequestException("조각 번호는 1 ~ " + session.getTotalParts() + " 이어야 합니다.");
+        }
+        if (checksum == null || checksum.isBlank()) {
+            throw new BadRequestException("조각 체크섬(SHA-256)이 필요합니다.");
+        }
+        final String expectedChecksum = checksum.trim().toLowerCase();
+
+        synchronized (session) {
+            touch(session);
+            if (session.isReceived(partNumber)) {
+                return duplicatePart(session, partNumber, expectedChecksum);
+            }
+        }
+
+        // 조각 쓰기는 잠금 밖에서 (여러 조각을 동시에 받을 수 있음)
+        Path tmp = session.getPartDir().resolve(partNumber + "." + UUID.randomUUID() + ".tmp");
+        writePart(session, partNumber, expectedChecksum, body, tmp);
+
+        synchronized (session) {
+            try {
+                if (session.isReceived(partNumber)) { // 같은 조각이 동시에 두 번 도착
+                    Files.deleteIfExists(tmp);
+                    return duplicatePart(session, partNumber, expectedChecksum);
+                }
+                Files.move(tmp, session.partFile(partNumber), StandardCopyOption.REPLACE_EXISTING);
+                session.markReceived(partNumber, expectedChecksum);
+                logReceivedPart(session, partNumber, expectedChecksum); // 이어 붙이기 전에 체크섬부터 기록 (복원 시 필요)
+                appendContiguousParts(session);
+            } catch (IOException e) {
+                log.error("[CsvUploadSessionService] [실패] : 조각 저장 실패 sessionId = {}, part = {}", sessionId, partNumber, e);
+                throw new CsvFileSaveToDiskException("조각을 저장하지 못했습니다.");
+            }
+        }
+        return session;
+    }
+
+    public UploadSession status(String sessionId, CustomUserDetails user) {
+        UploadSession session = get(sessionId, user);
+        synchronized (session) {
+            touch(session);
+        }
+        return session;
+    }
+
+    // [완료] : 모든 조각이 보관본에 붙었는지 확인하고 메타데이터 기록 후 적재 대기열에 등록
+    public IngestJob complete(String sessionId, CustomUserDetails user) {
+        UploadSession session = get(sessionId, user);
+        synchronized (session) {
+            if (!session.isAssembled()) {
+                throw new BadRequestException("아직 받지 못한 조각이 있습니다. (받은 조각 "
+                        + session.getReceived().cardinality() + "/" + session.getTotalParts() + ")");
+            }
+            sessions.remove(sessionId);
+        }
+        deleteDirectory(session.getPartDir());
+
+        CsvFile csv = csvSaveService.registerStoredUpload(session.getFileName(), session.getSavedFileName(),
+                session.getTotalSize(), session.getContentDigest().hex(), user);
+        log.info("[CsvUploadSessionService] [완료] : sessionId = {} → fileId = {}", sessionId, csv.getFileId());
+        return csvIngestJobService.acceptStoredUpload(csv, user.getUserId());
+    }
+
+    // [취소] : 받은 조각과 조립 중인 보관본 삭제
+    public void abort(String sessionId, CustomUserDetails user) {
+        UploadSession session = get(sessionId, user);
+        synchronized (session) {
+            sessions.remove(sessionId);
+        }
+        cleanup(session);
+    }
+
+    // [만료 정리] : 마지막 요청 후 SESSION_TTL_MILLIS가 지난 세션의 조각/보관본 삭제 (새 세션을 만들지 않아도 주기적으로 실행)
+    @Scheduled(fixedDelayString = "${csv.ingest.upload-session-evict-millis:3600000}")
+    public void evictExpired() {
+        long cutoff = System.currentTimeMillis() - SESSION_TTL_MILLIS;
+        sessions.values().removeIf(session -> {
+            synchronized (session) {
+                if (session.getLastAccessedAt() >= cutoff) return false;
+            }
+            log.info("[CsvUploadSessionService] [만료] : sessionId = {}", session.getSessionId());
+            cleanup(session);
+            return true;
+        });
+    }
+
+    // [재시작 복원] : 서버가 재시작되면 조각 디렉터리의 매니페스트로 진행 중이던 세션을 다시 등록 (만료된 세션은 바로 정리)
+    @EventListener(ApplicationReadyEvent.class)
+    public void restoreSessions() {
+        Path root = Paths.get(fileUploadDir, PART_ROOT);
+        if (!Files.isDirectory(root)) return;
+        try (Stream<Path> dirs = Files.list(root)) {
+            dirs.filter(Files::isDirectory).forEach(this::restoreSession);
+        } catch (IOException e) {
+            log.warn("[CsvUploadSessionService] [실패] : 분할 업로드 디렉터리 조회 실패: {}", root, e);
+        }
+        evictExpired();
+    }
+
+    // ■■■■■■■■■■■■■■ [ Helper ] ■■■■■■■■■■■■■
+
+    private UploadSession get(String sessionId, CustomUserDetails user) {
+        UploadSession session = sessions.get(sessionId);
+        if (session == null) {
+            throw new NoDataFoundException("업로드 세션을 찾을 수 없습니다: " + sessionId);
+        }
+        if (!session.getUserId().equals(user.getUserId())) {
+            throw new FileAccessDeniedException("다른 사용자의 업로드 세션입니다.");
+        }
+        return session;
+    }
+
+    // 이미 받은 조각의 재전송: 체크섬이 같으면 성공으로 처리(재시도 멱등), 다르면 거절
+    private UploadSession duplicatePart(UploadSession session, int partNumber, String checksum) {
+        if (!checksum.equals(session.checksumOf(partNumber))) {
+            throw new BadRequestException(partNumber + "번 조각은 이미 다른 내용으로 받았습니다.");
+        }
+        return session;
+    }
+
+    // 요청 body를 임시 파일로 기록하면서 SHA-256 계산. 크기/체크섬이 다르면 임시 파일을 지우고 거절
+    private void writePart(UploadSession session, int partNumber, String expectedChecksum, InputStream body, Path tmp) {
+        final long expectedSize = session.expectedSize(partNumber);
+        final MessageDigest digest = ContentHash.newDigest();
+        long written = 0;
+        try (InputStream in = body; OutputStream out = Files.newOutputStream(tmp)) {
+            byte[] buf = new byte[COPY_BUFFER_SIZE];
+            int n;
+            while ((n = in.read(buf)) != -1) {
+                written += n;
+                if (written > expectedSize) break; // 크기 초과 → 더 읽지 않음
+                digest.update(buf, 0, n);
+                out.write(buf, 0, n);
+            }
+        } catch (IOException e) {
+            deleteQuietly(tmp);
+            log.warn("[CsvUploadSessionService] [실패] : 조각 수신 중단 sessionId = {}, part = {}", session.getSessionId(), partNumber, e);
+            throw new CsvFileSaveToDiskException("조각을 끝까지 받지 못했습니다. 같은 조각을 다시 보내 주세요.");
+        }
+
+        if (written != expectedSize) {
+            deleteQuietly(tmp);
+            throw new BadRequestException(partNumber + "번 조각 크기 불일치 (기대 " + expectedSize + " bytes)");
+        }
+        String actual = ContentHash.hex(digest);
+        if (!actual.equals(expectedChecksum)) {
+            deleteQuietly(tmp);
+            throw new BadRequestException(partNumber + "번 조각 체크섬 불일치");
+        }
+    }
+
+    // 1번부터 연속으로 받은 조각을 보관본 뒤에 이어 붙이고 조각 파일 삭제 (세션 잠금 상태에서 호출)
+    // 붙이는 순서가 곧 파일 순서이므로 이때 전체 파일 해시도 함께 누적 (방금 쓴 조각이라 페이지 캐시에서 읽힘)
+    private void appendContiguousParts(UploadSession session) throws IOException {
+        if (!session.isReceived(session.nextPartToAppend())) return;
+        final CsvContentDigest digest = session.getContentDigest();
+        final ByteBuffer buf = ByteBuffer.allocate(COPY_BUFFER_SIZE);
+        try (FileChannel out = FileChannel.open(session.getTarget(), StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            while (session.nextPartToAppend() <= session.getTotalParts() && session.isReceived(session.nextPartToAppend())) {
+                Path part = session.partFile(session.nextPartToAppend());
+                try (FileChannel in = FileChannel.open(part, StandardOpenOption.READ)) {
+                    while (in.read(buf) != -1) {
+                        buf.flip();
+                        digest.update(buf.duplicate());
+                        while (buf.hasRemaining()) out.write(buf);
+                        buf.clear();
+                    }
+                }
+                Files.delete(part);
+                session.markAppended();
+            }
+        }
+    }
+
+    // 마지막 요청 시각 갱신 (재시작 후 만료 판단을 위해 매니페스트 수정 시각에도 기록)
+    private void touch(UploadSession session) {
+        session.touch();
+        try {
+            Files.setLastModifiedTime(session.getPartDir().resolve(MANIFEST), FileTime.fromMillis(session.getLastAccessedAt()));
+        } catch (IOException e) {
+            log.debug("[CsvUploadSessionService] [실패] : 매니페스트 시각 갱신 실패 sessionId = {}", session.getSessionId());
+        }
+    }
+
+    // ■■■■■■■■■■■■■■ [ 매니페스트 ] ■■■■■■■■■■■■■
+
+    // 세션 생성 정보 (생성 시 한 번 기록)
+    private void writeManifest(UploadSession session) throws IOException {
+        Properties p = new Properties();
+        p.setProperty("userId", session.getUserId());
+        p.setProperty("fileName", session.getFileName());
+        p.setProperty("savedFileName", session.getSavedFileName());
+        p.setProperty("totalSize", Long.toString(session.getTotalSize()));
+        p.setProperty("partSize", Integer.toString(session.getPartSize()));
+        Path tmp = session.getPartDir().resolve(MANIFEST + ".tmp");
+        try (OutputStream out = Files.newOutputStream(tmp)) {
+            p.store(out, null);
+        }
+        Files.move(tmp, session.getPartDir().resolve(MANIFEST), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // 받은 조각 한 줄 추가 (중단으로 끝이 잘린 줄은 복원 시 무시)
+    private void logReceivedPart(UploadSession session, int partNumber, String checksum) throws IOException {
+        Files.writeString(session.getPartDir().resolve(PART_LOG), partNumber + " " + checksum + "\n",
+                StandardCharsets.US_ASCII, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private void restoreSession(Path partDir) {
+        Properties p = new Properties();
+        try {
+            try (InputStream in = Files.newInputStream(partDir.resolve(MANIFEST))) {
+                p.load(in);
+            }
+            String savedFileName = p.getProperty("savedFileName");
+            UploadSession session = new UploadSession(partDir.getFileName().toString(), p.getProperty("userId"),
+                    p.getProperty("fileName"), savedFileName, Long.parseLong(p.getProperty("totalSize")),
+                    Integer.parseInt(p.getProperty("partSize")), partDir, Paths.get(fileUploadDir, savedFileName));
+            readPartLog(session);
+            restoreAppended(session, Files.getLastModifiedTime(partDir.resolve(MANIFEST)).toMillis());
+            sessions.put(session.getSessionId(), session);
+            log.info("[CsvUploadSessionService] [복원] : sessionId = {}, 받은 조각 {}/{}",
+                    session.getSessionId(), session.getReceived().cardinality(), session.getTotalParts());
+        } catch (IOException | RuntimeException e) {
+            // 매니페스트가 없거나 손상된 세션은 이어 받을 수 없으므로 정리 (클라이언트는 새 세션으로 다시 업로드)
+            log.warn("[CsvUploadSessionService] [실패] : 업로드 세션 복원 실패, 조각 삭제: {}", partDir, e);
+            deleteDirectory(partDir);
+            if (p.getProperty("savedFileName") != null) deleteQuietly(Paths.get(fileUploadDir, p.getProperty("savedFileName")));
+        }
+    }
+
+    private void readPartLog(UploadSession session) throws IOException {
+        Path partLog = session.getPartDir().resolve(PART_LOG);
+        if (!Files.exists(partLog)) return;
+        for (String line : Files.readAllLines(partLog, StandardCharsets.US_ASCII)) {
+            String[] f = line.split(" ");
+            if (f.length != 2 || f[1].length() != 64) continue; // 끝이 잘린 줄
+            int partNumber = Integer.parseInt(f[0]);
+            if (partNumber >= 1 && partNumber <= session.getTotalParts()) session.markReceived(partNumber, f[1]);
+        }
+    }
+
+    // 보관본 길이로 이어 붙인 조각 수를 다시 계산 (붙이던 중 중단된 조각은 잘라내고 남아 있는 조각 파일에서 다시 붙임)
+    // 전체 파일 해시는 이어 붙인 부분을 다시 읽어 누적
+    private void restoreAppended(UploadSession session, long lastAccessedAt) throws IOException {
+        final long length = Files.size(session.getTarget());
+        final int appended = length == session.getTotalSize() ? session.getTotalParts()
+                : (int) Math.min(session.getTotalParts() - 1, length / session.getPartSize());
+        final long appendedBytes = appended == session.getTotalParts() ? session.getTotalSize() : (long) appended * session.getPartSize();
+
+        final CsvContentDigest digest = session.getContentDigest();
+        final ByteBuffer buf = ByteBuffer.allocate(COPY_BUFFER_SIZE);
+        try (FileChannel ch = FileChannel.open(session.getTarget(), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ch.truncate(appendedBytes);
+            while (ch.read(buf) != -1) {
+                buf.flip();
+                digest.update(buf);
+                buf.clear();
+            }
+        }
+        for (int n = 1; n <= session.getTotalParts(); n++) {
+            if (n <= appended) {
+                if (!session.isReceived(n)) throw new IllegalStateException(n + "번 조각의 체크섬 기록이 없습니다.");
+                deleteQuietly(session.partFile(n)); // 붙인 뒤 삭제 전에 중단된 조각
+            } else if (session.isReceived(n) && !Files.exists(session.partFile(n))) {
+                session.unmarkReceived(n);
+            }
+        }
+        try (Stream<Path> files = Files.list(session.getPartDir())) {
+            files.filter(f -> f.getFileName().toString().endsWith(".tmp")).forEach(this::deleteQuietly); // 받던 중 중단된 조각
+        }
+        session.restore(appended, lastAccessedAt);
+        appendContiguousParts(session);
+    }
+
+    private void cleanup(UploadSession session) {
+        deleteDirectory(session.getPartDir());
+        deleteQuietly(session.getTarget());
+    }
+
+    private void deleteDirectory(Path dir) {
+        if (!Files.exists(dir)) return;
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(this::deleteQuietly);
+        } catch (IOException e) {
+            log.warn("[CsvUploadSessionService] [실패] : 조각 디렉터리 삭제 실패: {}", dir, e);
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("[CsvUploadSessionService] [실패] : 파일 삭제 실패: {}", path, e);
+        }
+    }
+
+}
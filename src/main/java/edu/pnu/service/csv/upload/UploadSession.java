@@ -0,0 +1,109 @@
+package edu.pnu.service.csv.upload;
+
+import edu.pnu.service.csv.support.CsvContentDigest;
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/*
+ * [분할 업로드 세션] : 큰 CSV를 partSize 단위 조각(1번부터)으로 나눠 받는 업로드 1건의 상태
+ * - 받은 조각은 세션 디렉터리에 <번호>.part 로 저장되고, 1번부터 연속된 조각은 즉시 보관본(target) 뒤에 이어 붙임
+ *   → 완료 요청 시 조립 단계 없이 바로 적재 대기열에 등록
+ * - 조각별 SHA-256을 보관해서 같은 조각 재전송(네트워크 재시도)은 멱등 처리
+ * 상태 변경은 CsvUploadSessionService가 세션 객체를 잠근 상태에서만 수행
+ */
+@Getter
+public class UploadSession {
+
+    private final String sessionId;
+    private final String userId;
+    private final String fileName;      // 원본 파일명
+    private final String savedFileName; // 보관본 파일명 (UUID.csv)
+    private final long totalSize;
+    private final int partSize;
+    private final int totalParts;
+    private final Path partDir;         // 조각 임시 저장 디렉터리
+    private final Path target;          // 조립 중인 보관본
+
+    private final BitSet received = new BitSet();   // 받은 조각 번호
+    private final String[] checksums;               // 조각별 SHA-256 (hex)
+    private int appendedParts;                      // 보관본에 이어 붙인 조각 수 (1 ~ appendedParts 완료)
+    private final CsvContentDigest contentDigest;   // 이어 붙인 순서대로 누적하는 전체 파일 내용 해시 (.csv.gz는 압축 해제한 내용)
+    private long lastAccessedAt = System.currentTimeMillis();
+
+    public UploadSession(String sessionId, String userId, String fileName, String savedFileName,
+                         long totalSize, int partSize, Path partDir, Path target) {
+        this.sessionId = sessionId;
+        this.userId = userId;
+        this.fileName = fileName;
+        this.savedFileName = savedFileName;
+        this.totalSize = totalSize;
+        this.partSize = partSize;
+        this.totalParts = (int) Math.max(1, (totalSize + partSize - 1) / partSize);
+        this.partDir = partDir;
+        this.target = target;
+        this.checksums = new String[totalParts + 1];
+        this.contentDigest = CsvContentDigest.forFile(savedFileName);
+    }
+
+    // 조각 번호별 기대 크기 (마지막 조각만 나머지 크기)
+    public long expectedSize(int partNumber) {
+        if (partNumber < totalParts) return partSize;
+        return totalSize - (long) partSize * (totalParts - 1);
+    }
+
+    public boolean isReceived(int partNumber) {
+        return received.get(partNumber);
+    }
+
+    public String checksumOf(int partNumber) {
+        return checksums[partNumber];
+    }
+
+    void markReceived(int partNumber, String checksum) {
+        received.set(partNumber);
+        checksums[partNumber] = checksum;
+    }
+
+    // 재시작 복원 시 조각 파일이 없는 조각은 받지 않은 것으로 되돌림
+    void unmarkReceived(int partNumber) {
+        received.clear(partNumber);
+        checksums[partNumber] = null;
+    }
+
+    // 이어 붙일 다음 조각 번호 (모두 붙였으면 totalParts + 1)
+    int nextPartToAppend() {
+        return appendedParts + 1;
+    }
+
+    void markAppended() {
+        appendedParts++;
+    }
+
+    void touch() {
+        lastAccessedAt = System.currentTimeMillis();
+    }
+
+    // 재시작 복원 : 보관본 길이로 다시 계산한 이어 붙인 조각 수와 매니페스트의 마지막 요청 시각
+    void restore(int appendedParts, long lastAccessedAt) {
+        this.appendedParts = appendedParts;
+        this.lastAccessedAt = lastAccessedAt;
+    }
+
+    public boolean isAssembled() {
+        return appendedParts == totalParts;
+    }
+
+    public List<Integer> receivedParts() {
+        List<Integer> parts = new ArrayList<>(received.cardinality());
+        received.stream().forEach(parts::add);
+        return parts;
+    }
+
+    Path partFile(int partNumber) {
+        return partDir.resolve(partNumber + ".part");
+    }
+}
@@ -4,6 +4,7 @@ import edu.pnu.domain.AnalysisSummary;
 import edu.pnu.dto.DashboardDTO;
 import edu.pnu.repository.AnalysisSummaryRepository;
 import edu.pnu.repository.BeAnalysisRepository;
+import edu.pnu.repository.CsvFileRepository;
 import edu.pnu.repository.EventHistoryRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -20,22 +21,28 @@ public class DashboardService {
     private final AnalysisSummaryRepository analysisSummaryRepo;
     private final EventHistoryRepository eventHistoryRepo;
     private final BeAnalysisRepository beAnalysisRepo;
+    private final CsvFileRepository csvFileRepo;
 
     public DashboardDTO.KpiResponse getKPIAnalysis(Long fileId) {
         log.info("[진입] : [StatisticsFindService] KPI 전송 서비스");
-        AnalysisSummary k = analysisSummaryRepo.findByCsv_FileId(fileId);
+        AnalysisSummary k = analysisSummaryRepo.findByCsv_FileId(analysisFileId(fileId));
         DashboardDTO.KpiResponse dto = DashboardDTO.KpiResponse.fromEntity(k);
         return dto;
     }
 
     public List<DashboardDTO.InventoryItem> getInventory (Long fileId){
         log.info("[진입] : [StatisticsFindService] Inventory 전송 서비스");
-        return eventHistoryRepo.calculateInventoryByBusinessStep(fileId);
+        return eventHistoryRepo.calculateInventoryByBusinessStep(analysisFileId(fileId));
     }
 
     public List<DashboardDTO.ByProductInfo> getByProduct (Long fileId){
         log.info("[진입] : [StatisticsFindService] ByProduct 전송 서비스");
-        return beAnalysisRepo.countByProduct(fileId);
+        return beAnalysisRepo.countByProduct(analysisFileId(fileId));
+    }
+
+    // 중복 업로드는 원본 업로드의 분석 결과를 조회
+    private Long analysisFileId(Long fileId) {
+        return csvFileRepo.findAnalysisFileId(fileId).orElse(fileId);
     }
 
 }
@@ -0,0 +1,154 @@
+package edu.pnu.batch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import edu.pnu.service.analysis.trips.CsvRouteJdbcService;
+import edu.pnu.service.analysis.trips.TripBatch;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/*
+ * [경로 생성 엔진 동등성] : 같은 event_history에서 JVM 엔진(EpcTripReader → EpcTripProcessor → CsvRouteItemWriter)과
+ * SQL 엔진(CsvRouteJdbcService.insertTripsBySql)이 같은 csv_route 행을 만드는지 비교 (batch.trips.engine 전환 안전성)
+ * - 같은 시각 이벤트(event_id 순), 이벤트 1개뿐인 EPC, 시간 역순으로 적재된 이벤트, 다른 파일의 이벤트, 파티션 경계 포함
+ * - 실제 MySQL 8 (LAG 윈도 함수, Connector/J 스트리밍 커서)이 필요하므로 Testcontainers 사용. Docker가 없으면 건너뜀
+ * 스키마는 두 엔진이 읽고 쓰는 컬럼만 만듦 (FK 없음)
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class TripEngineEquivalenceTest {
+
+    private static final long FILE_ID = 1L;
+    private static final long OTHER_FILE_ID = 2L;
+    private static final LocalDateTime T0 = LocalDateTime.of(2025, 7, 1, 9, 0);
+
+    // csv_route 비교 컬럼 (trip_id는 엔진마다 다르므로 제외)
+    private static final String ROUTES = "SELECT epc_id, from_location_id, to_location_id, from_scan_location, to_scan_location, "
+            + "from_business_step, to_business_step, from_event_time, to_event_time, has_anomaly, related_event_id "
+            + "FROM csv_route ORDER BY epc_id, related_event_id";
+
+    @Container
+    static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0");
+
+    private static DataSource dataSource;
+    private static JdbcTemplate jdbcTemplate;
+    private static CsvRouteJdbcService csvRouteJdbcService;
+
+    @BeforeAll
+    static void createSchema() {
+        dataSource = new DriverManagerDataSource(MYSQL.getJdbcUrl() + "?rewriteBatchedStatements=true",
+                MYSQL.getUsername(), MYSQL.getPassword());
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        csvRouteJdbcService = new CsvRouteJdbcService(jdbcTemplate);
+
+        jdbcTemplate.execute("CREATE TABLE csv_location (csv_location_id BIGINT PRIMARY KEY, scan_location VARCHAR(255))");
+        jdbcTemplate.execute("CREATE TABLE event_history (event_id BIGINT AUTO_INCREMENT PRIMARY KEY, file_id BIGINT NOT NULL, "
+                + "epc_id BIGINT NOT NULL, csv_location_id BIGINT NOT NULL, event_time DATETIME(6) NOT NULL, "
+                + "business_step VARCHAR(255), INDEX ix_eh_epc_time (epc_id, event_time))");
+        jdbcTemplate.execute("CREATE TABLE csv_route (trip_id BIGINT AUTO_INCREMENT PRIMARY KEY, epc_id BIGINT, "
+                + "from_location_id BIGINT, to_location_id BIGINT, from_scan_location VARCHAR(255), to_scan_location VARCHAR(255), "
+                + "from_business_step VARCHAR(255), to_business_step VARCHAR(255), from_event_time DATETIME(6), "
+                + "to_event_time DATETIME(6), has_anomaly BIT(1) NOT NULL, related_event_id BIGINT)");
+
+        jdbcTemplate.update("INSERT INTO csv_location VALUES (1, '공장'), (2, '물류센터'), (3, '도매상'), (4, '소매상')");
+
+        // EPC 10 : 3번째·4번째 이벤트가 같은 시각 → event_id 순으로 이어져야 함
+        event(FILE_ID, 10, 1, T0, "Factory");
+        event(FILE_ID, 10, 2, T0.plusHours(1), "WMS");
+        event(FILE_ID, 10, 3, T0.plusHours(2), "Wholesaler");
+        event(FILE_ID, 10, 4, T0.plusHours(2), "Reseller");
+        // EPC 11 : 이벤트 1개 → 경로 없음
+        event(FILE_ID, 11, 1, T0, "Factory");
+        // EPC 12 : 시간 역순으로 적재 (event_id 순서와 시간 순서가 반대)
+        event(FILE_ID, 12, 4, T0.plusHours(3), "Reseller");
+        event(FILE_ID, 12, 2, T0.plusHours(1), "WMS");
+        event(FILE_ID, 12, 1, T0, "Factory");
+        // EPC 13 : 같은 시각 이벤트만 3개
+        event(FILE_ID, 13, 3, T0.plusDays(1), "Wholesaler");
+        event(FILE_ID, 13, 1, T0.plusDays(1), "Factory");
+        event(FILE_ID, 13, 2, T0.plusDays(1), "WMS");
+        // 다른 파일의 EPC → 어느 엔진에서도 제외
+        event(OTHER_FILE_ID, 20, 1, T0, "Factory");
+        event(OTHER_FILE_ID, 20, 2, T0.plusHours(1), "WMS");
+    }
+
+    @BeforeEach
+    void clearRoutes() {
+        jdbcTemplate.update("DELETE FROM csv_route");
+    }
+
+    @Test
+    void sqlEngineProducesSameRoutesAsJvmEngine() throws Exception {
+        // JVM 엔진 : epc_id 11을 경계로 두 파티션 (파티션 경계에 걸친 EPC 처리 확인)
+        runJvmEngine(0, 11);
+        runJvmEngine(11, Long.MAX_VALUE);
+        List<List<Object>> jvm = routes();
+
+        clearRoutes();
+        int inserted = csvRouteJdbcService.insertTripsBySql(FILE_ID);
+        List<List<Object>> sql = routes();
+
+        assertThat(jvm).hasSize(3 + 2 + 2); // EPC 10 : 3, EPC 11 : 0, EPC 12 : 2, EPC 13 : 2
+        assertThat(inserted).isEqualTo(jvm.size());
+        assertThat(sql).containsExactlyElementsOf(jvm);
+    }
+
+    @Test
+    void sameTimestampEventsFollowEventIdOrder() {
+        csvRouteJdbcService.insertTripsBySql(FILE_ID);
+
+        // EPC 13 : 같은 시각 이벤트 3개 → event_id 순 (Wholesaler → Factory → WMS)
+        List<String> steps = jdbcTemplate.queryForList(
+                "SELECT CONCAT(from_business_step, '>', to_business_step) FROM csv_route WHERE epc_id = 13 "
+                        + "ORDER BY related_event_id", String.class);
+        assertThat(steps).containsExactly("Wholesaler>Factory", "Factory>WMS");
+    }
+
+    // ■■■■■■■■■■■■■■ [ Helper ] ■■■■■■■■■■■■■
+
+    private static void event(long fileId, long epcId, long locationId, LocalDateTime time, String step) {
+        jdbcTemplate.update("INSERT INTO event_history (file_id, epc_id, csv_location_id, event_time, business_step) "
+                + "VALUES (?, ?, ?, ?, ?)", fileId, epcId, locationId, time, step);
+    }
+
+    // 배치 Step 없이 Reader → Processor → Writer를 한 청크로 실행
+    private static void runJvmEngine(long afterEpcId, long toEpcId) throws Exception {
+        EpcTripReader reader = new EpcTripReader(dataSource, FILE_ID, afterEpcId, toEpcId);
+        EpcTripProcessor processor = new EpcTripProcessor();
+        Chunk<TripBatch> chunk = new Chunk<>();
+        reader.open(new ExecutionContext());
+        try {
+            List<TripEvent> events;
+            while ((events = reader.read()) != null) {
+                TripBatch trips = processor.process(events);
+                if (trips != null) chunk.add(trips);
+            }
+        } finally {
+            reader.close();
+        }
+        new CsvRouteItemWriter(csvRouteJdbcService).write(chunk);
+    }
+
+    private static List<List<Object>> routes() {
+        return jdbcTemplate.query(ROUTES, (rs, i) -> {
+            int columns = rs.getMetaData().getColumnCount();
+            List<Object> row = new ArrayList<>(columns);
+            for (int c = 1; c <= columns; c++) row.add(rs.getObject(c));
+            return row;
+        });
+    }
+}